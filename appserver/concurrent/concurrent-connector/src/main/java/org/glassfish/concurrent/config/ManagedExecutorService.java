@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -87,6 +87,22 @@ public interface ManagedExecutorService
      */
     void setTaskQueueCapacity(String taskQueueCapacity) throws PropertyVetoException;
 
+    /**
+     * Gets the value of the {@code useVirtualThreads} property.
+     * If true, threads are virtual and thread priority and pool sizes are ignored.
+     *
+     * @return possible object is {@link String}
+     */
+    @Attribute(defaultValue = "false", dataType = Boolean.class)
+    String getUseVirtualThreads();
+
+    /**
+     * Sets the value of the {@code useVirtualThreads} property.
+     *
+     * @param useVirtualThreads allowed object is {@link String}
+     */
+    void setUseVirtualThreads(String useVirtualThreads) throws PropertyVetoException;
+
     @Override
     default String getIdentity() {
         return getJndiName();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -55,6 +55,9 @@ public class CreateManagedExecutorService extends CreateManagedExecutorServiceBa
     @Param(name="taskqueuecapacity", alias="taskQueueCapacity", defaultValue=""+Integer.MAX_VALUE, optional=true)
     private Integer taskqueuecapacity;
 
+    @Param(name="usevirtualthreads", alias="useVirtualThreads", defaultValue="false", optional=true)
+    private Boolean usevirtualthreads;
+
     @Inject
     private Domain domain;
 
@@ -66,6 +69,7 @@ public class CreateManagedExecutorService extends CreateManagedExecutorServiceBa
         super.setAttributeList(attrList);
         attrList.put(ConcurrencyTagNames.MAXIMUM_POOL_SIZE, maximumpoolsize.toString());
         attrList.put(ConcurrencyTagNames.TASK_QUEUE_CAPACITY, taskqueuecapacity.toString());
+        attrList.put(ConcurrencyTagNames.USE_VIRTUAL_THREADS, usevirtualthreads.toString());
     }
 
     /**
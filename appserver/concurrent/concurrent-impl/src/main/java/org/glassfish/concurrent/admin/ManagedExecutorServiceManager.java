@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2013, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -34,6 +34,7 @@ import org.jvnet.hk2.config.TransactionFailure;
 
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.MAXIMUM_POOL_SIZE;
 import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.TASK_QUEUE_CAPACITY;
+import static com.sun.enterprise.deployment.xml.ConcurrencyTagNames.USE_VIRTUAL_THREADS;
 
 /**
  *
@@ -47,12 +48,14 @@ public class ManagedExecutorServiceManager extends ManagedExecutorServiceBaseMan
 
     private String maximumPoolSize = ""+Integer.MAX_VALUE;
     private String taskQueueCapacity = ""+Integer.MAX_VALUE;
+    private String useVirtualThreads = Boolean.FALSE.toString();
 
     @Override
     protected void setAttributes(Map<String, String> attributes, String target) {
         super.setAttributes(attributes, target);
         maximumPoolSize = attributes.get(MAXIMUM_POOL_SIZE);
         taskQueueCapacity = attributes.get(TASK_QUEUE_CAPACITY);
+        useVirtualThreads = attributes.get(USE_VIRTUAL_THREADS);
     }
 
     @Override
@@ -78,6 +81,7 @@ public class ManagedExecutorServiceManager extends ManagedExecutorServiceBaseMan
         setAttributesOnConfigBean(managedExecutorService, properties);
         managedExecutorService.setMaximumPoolSize(maximumPoolSize);
         managedExecutorService.setTaskQueueCapacity(taskQueueCapacity);
+        managedExecutorService.setUseVirtualThreads(useVirtualThreads);
         return managedExecutorService;
     }
 
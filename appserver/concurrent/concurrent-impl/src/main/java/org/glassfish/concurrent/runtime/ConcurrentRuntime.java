@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -32,6 +32,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -162,7 +163,12 @@ public class ConcurrentRuntime {
                 toManagedThreadFactoryName(jndiName),
                 null,
                 config.getThreadPriority());
-        ManagedExecutorServiceImpl mes = new ManagedExecutorServiceImpl(jndiName.toString(),
+        ThreadFactory virtualThreadFactory = config.isUseVirtualThreads()
+            ? createVirtualThreadFactory(jndiName, toManagedThreadFactoryName(jndiName))
+            : null;
+        final ManagedExecutorServiceImpl mes;
+        if (virtualThreadFactory == null) {
+            mes = new ManagedExecutorServiceImpl(jndiName.toString(),
                 managedThreadFactory,
                 config.getHungAfterSeconds() * 1000L, // in millis
                 config.isLongRunningTasks(),
@@ -173,6 +179,14 @@ public class ConcurrentRuntime {
                 config.getTaskQueueCapacity(),
                 contextService,
                 AbstractManagedExecutorService.RejectPolicy.ABORT);
+        } else {
+            mes = new VirtualThreadsManagedExecutorService(jndiName.toString(),
+                managedThreadFactory,
+                config.getHungAfterSeconds() * 1000L, // in millis
+                config.isLongRunningTasks(),
+                contextService,
+                virtualThreadFactory);
+        }
         if (config.getHungAfterSeconds() > 0L && !config.isLongRunningTasks()) {
             scheduleInternalTimer(config.getHungLoggerInitialDelaySeconds(), config.getHungLoggerIntervalSeconds(), config.isHungLoggerPrintOnce());
         }
@@ -222,15 +236,21 @@ public class ConcurrentRuntime {
             return managedThreadFactoryMap.get(jndiName);
         }
         ContextServiceImpl contextService = getContextService(config.getServiceConfig(), true);
-        GlassFishManagedThreadFactory managedThreadFactory = createManagedThreadFactory(config, contextService);
+        ManagedThreadFactoryImpl managedThreadFactory = createManagedThreadFactory(config, contextService);
         managedThreadFactoryMap.put(jndiName, managedThreadFactory);
         return managedThreadFactory;
     }
 
 
-    public GlassFishManagedThreadFactory createManagedThreadFactory(ManagedThreadFactoryCfg config, ContextServiceImpl contextService) {
+    public ManagedThreadFactoryImpl createManagedThreadFactory(ManagedThreadFactoryCfg config, ContextServiceImpl contextService) {
         SimpleJndiName jndiName = config.getServiceConfig().getJndiName();
-        return new GlassFishManagedThreadFactory(jndiName, contextService, config.getThreadPriority());
+        ThreadFactory virtualThreadFactory = config.isUseVirtualThreads()
+            ? createVirtualThreadFactory(jndiName, jndiName)
+            : null;
+        if (virtualThreadFactory == null) {
+            return new GlassFishManagedThreadFactory(jndiName, contextService, config.getThreadPriority());
+        }
+        return new VirtualThreadsManagedThreadFactory(jndiName, contextService, virtualThreadFactory);
     }
 
 
@@ -374,6 +394,20 @@ public class ConcurrentRuntime {
     }
 
 
+    /**
+     * @param jndiName name of the configured resource
+     * @param threadFactoryName name of the thread factory, prefix of thread names
+     * @return factory of virtual threads or null if this JVM does not support them
+     */
+    private ThreadFactory createVirtualThreadFactory(SimpleJndiName jndiName, SimpleJndiName threadFactoryName) {
+        ThreadFactory virtualThreadFactory = VirtualThreads.createThreadFactory(threadFactoryName + "-VirtualThread-");
+        if (virtualThreadFactory == null) {
+            LOG.log(Level.WARNING, LogFacade.VIRTUAL_THREADS_NOT_SUPPORTED, jndiName);
+        }
+        return virtualThreadFactory;
+    }
+
+
     private TransactionSetupProvider createTxSetupProvider(boolean keepTransactionUnchanged, boolean clearTransaction) {
         return new TransactionSetupProviderImpl(transactionManager, keepTransactionUnchanged, clearTransaction);
     }
@@ -433,6 +467,7 @@ public class ConcurrentRuntime {
 
         private final Boolean logOnce;
         private final Map<String, Collection<AbstractManagedThread>> cachedHungThreadsMap = new HashMap<>();
+        private final Map<String, Collection<VirtualThreadTasks.RunningTask>> cachedHungTasksMap = new HashMap<>();
 
         HungTasksLogger(Boolean logOnce) {
             this.logOnce = logOnce;
@@ -456,6 +491,12 @@ public class ConcurrentRuntime {
                 }
             }
             for (ManagedExecutorServiceImpl mes: executorServices) {
+                if (mes instanceof VirtualThreadsManagedExecutorService) {
+                    Collection<VirtualThreadTasks.RunningTask> hungTasks
+                        = ((VirtualThreadsManagedExecutorService) mes).getHungVirtualThreads();
+                    logHungVirtualThreads(hungTasks, mes.getManagedThreadFactory(), mes.getName());
+                    continue;
+                }
                 Collection<AbstractManagedThread> hungThreads = mes.getHungThreads();
                 logHungThreads(hungThreads, mes.getManagedThreadFactory(), mes.getName());
             }
@@ -498,6 +539,29 @@ public class ConcurrentRuntime {
                 }
             }
         }
+
+
+        private void logHungVirtualThreads(Collection<VirtualThreadTasks.RunningTask> hungTasks,
+            ManagedThreadFactoryImpl mtf, String mesName) {
+            Collection<VirtualThreadTasks.RunningTask> targetHungTasks = new HashSet<>(hungTasks);
+            if (logOnce) {
+                Collection<VirtualThreadTasks.RunningTask> cachedHungTasks = cachedHungTasksMap.get(mesName);
+                if (cachedHungTasks != null) {
+                    targetHungTasks.removeAll(cachedHungTasks);
+                }
+                if (hungTasks.isEmpty()) {
+                    cachedHungTasksMap.remove(mesName);
+                } else {
+                    cachedHungTasksMap.put(mesName, hungTasks);
+                }
+            }
+            long now = System.currentTimeMillis();
+            for (VirtualThreadTasks.RunningTask hungTask : targetHungTasks) {
+                Object[] params = {hungTask.getIdentityName(), hungTask.getThread().getName(),
+                    hungTask.getRunTime(now) / 1000, mtf.getHungTaskThreshold() / 1000, mesName};
+                LOG.log(Level.WARNING, LogFacade.UNRESPONSIVE_TASK, params);
+            }
+        }
     }
 
     private static class GlassFishManagedThreadFactory extends ManagedThreadFactoryImpl {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -79,4 +79,13 @@ public class LogFacade {
     )
     public static final String DEPLOY_ERROR_NULL_CONFIG = prefix + "00004";
 
+    @LogMessageInfo(
+            message = "Virtual threads are not supported by this JVM, {0} will use platform threads.",
+            comment = "The resource is configured to use virtual threads, but the JVM does not provide them.",
+            level = "WARNING",
+            cause = "The server runs on a JVM older than Java 21.",
+            action = "Run the server on Java 21 or newer or set the useVirtualThreads attribute of the resource to false. "
+    )
+    public static final String VIRTUAL_THREADS_NOT_SUPPORTED = prefix + "00005";
+
 }
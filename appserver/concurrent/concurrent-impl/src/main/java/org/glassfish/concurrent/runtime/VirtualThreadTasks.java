@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tasks running in virtual threads, by thread.
+ * <p>
+ * Virtual threads cannot extend {@link org.glassfish.enterprise.concurrent.AbstractManagedThread},
+ * so they don't implement {@link jakarta.enterprise.concurrent.ManageableThread} either. The start
+ * time of the task and the shutdown state, which the managed platform threads keep themselves, are
+ * kept here instead, for the hung task detection and for {@link #isShutdown(Thread)}.
+ * <p>
+ * A thread is registered only while it runs a task, so threads created but never started are not
+ * retained.
+ */
+final class VirtualThreadTasks {
+
+    private final Map<Thread, RunningTask> tasks = new ConcurrentHashMap<>();
+    private volatile boolean shutdown;
+
+    /**
+     * Registers the task run by the current thread.
+     *
+     * @param identityName identity name of the task, used when it is logged as hung
+     * @return false if {@link #shutdown()} was called, then the task must not run
+     */
+    boolean starting(String identityName) {
+        Thread thread = Thread.currentThread();
+        tasks.put(thread, new RunningTask(thread, identityName, System.currentTimeMillis()));
+        // checked after the registration, so shutdown() either sees the thread or this sees shutdown
+        if (shutdown) {
+            tasks.remove(thread);
+            return false;
+        }
+        return true;
+    }
+
+
+    /**
+     * Unregisters the task run by the current thread.
+     */
+    void done() {
+        tasks.remove(Thread.currentThread());
+    }
+
+
+    /**
+     * Marks all threads as shut down and interrupts the running tasks.
+     */
+    void shutdown() {
+        shutdown = true;
+        for (Thread thread : tasks.keySet()) {
+            thread.interrupt();
+        }
+    }
+
+
+    /**
+     * @param thread a thread running a task, usually the current thread
+     * @return true if the thread was shut down, the equivalent of
+     *         {@link jakarta.enterprise.concurrent.ManageableThread#isShutdown()}
+     */
+    boolean isShutdown(Thread thread) {
+        return shutdown && (tasks.containsKey(thread) || thread == Thread.currentThread());
+    }
+
+
+    /**
+     * @param hungTaskThreshold in milliseconds, zero or less disables the detection
+     * @param now current time in milliseconds
+     * @return tasks running longer than the threshold
+     */
+    Collection<RunningTask> getHungTasks(long hungTaskThreshold, long now) {
+        List<RunningTask> hungTasks = new ArrayList<>();
+        if (hungTaskThreshold <= 0L) {
+            return hungTasks;
+        }
+        for (RunningTask task : tasks.values()) {
+            if (task.getRunTime(now) > hungTaskThreshold) {
+                hungTasks.add(task);
+            }
+        }
+        return hungTasks;
+    }
+
+
+    /**
+     * A task and the virtual thread running it.
+     */
+    static final class RunningTask {
+
+        private final Thread thread;
+        private final String identityName;
+        private final long startTime;
+
+        RunningTask(Thread thread, String identityName, long startTime) {
+            this.thread = thread;
+            this.identityName = identityName;
+            this.startTime = startTime;
+        }
+
+
+        Thread getThread() {
+            return thread;
+        }
+
+
+        String getIdentityName() {
+            return identityName;
+        }
+
+
+        long getStartTime() {
+            return startTime;
+        }
+
+
+        /**
+         * @param now current time in milliseconds
+         * @return milliseconds since the task started
+         */
+        long getRunTime(long now) {
+            return now - startTime;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Access to virtual threads. Reflection is used because the server still runs on JVMs
+ * without virtual threads.
+ */
+final class VirtualThreads {
+
+    private static final Logger LOG = LogFacade.getLogger();
+
+    private VirtualThreads() {
+        // utility class
+    }
+
+
+    /**
+     * Creates a factory of virtual threads. Like the platform threads of managed thread factories,
+     * created threads don't inherit the context classloader of the creating thread; it is set up
+     * by the context service when the task starts.
+     *
+     * @param namePrefix prefix of thread names, followed by a counter
+     * @return the factory or null if this JVM does not support virtual threads
+     */
+    static ThreadFactory createThreadFactory(String namePrefix) {
+        final ThreadFactory factory;
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            LOG.log(Level.FINEST, "Virtual threads are not supported", e);
+            return null;
+        }
+        return runnable -> {
+            Thread thread = factory.newThread(runnable);
+            thread.setContextClassLoader(null);
+            return thread;
+        };
+    }
+
+
+    /**
+     * Creates an executor starting a new thread for every task.
+     *
+     * @param threadFactory factory created by {@link #createThreadFactory(String)}
+     * @return the executor
+     */
+    static ExecutorService createThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create executor of virtual threads", e);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.enterprise.concurrent.AbstractManagedExecutorService;
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedExecutorServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
+import org.glassfish.enterprise.concurrent.internal.ManagedFutureTask;
+
+/**
+ * Managed executor service running every task on a new virtual thread.
+ * <p>
+ * Tasks are wrapped and their context is set up and reset exactly like in the thread pool
+ * of the {@link ManagedExecutorServiceImpl}, only the pool is replaced. There is nothing to size:
+ * pool sizes, queue capacity, keep alive and thread lifetime don't apply.
+ * <p>
+ * Virtual threads are not {@link org.glassfish.enterprise.concurrent.AbstractManagedThread}s,
+ * so {@link Thread#currentThread()} is not a {@link jakarta.enterprise.concurrent.ManageableThread}
+ * in tasks and {@link #getHungThreads()} finds nothing. Running tasks are tracked by
+ * {@link VirtualThreadTasks} instead, hung tasks are reported by {@link #getHungVirtualThreads()}.
+ */
+class VirtualThreadsManagedExecutorService extends ManagedExecutorServiceImpl {
+
+    private final VirtualThreadsExecutor virtualThreadsExecutor;
+    private final long hungTaskThreshold;
+
+    /**
+     * @param name name of the executor service
+     * @param managedThreadFactory factory notified about starting and finished tasks
+     * @param hungTaskThreshold in milliseconds
+     * @param longRunningTasks
+     * @param contextService context service capturing the context of submitted tasks
+     * @param virtualThreadFactory factory of threads running the tasks
+     */
+    VirtualThreadsManagedExecutorService(String name, ManagedThreadFactoryImpl managedThreadFactory,
+        long hungTaskThreshold, boolean longRunningTasks, ContextServiceImpl contextService,
+        ThreadFactory virtualThreadFactory) {
+        // The thread pool of the parent is created, but never used, so it never starts a thread.
+        super(name, managedThreadFactory, hungTaskThreshold, longRunningTasks, 0, 1, 0L, TimeUnit.SECONDS, 0L,
+            Integer.MAX_VALUE, contextService, AbstractManagedExecutorService.RejectPolicy.ABORT);
+        // long running tasks are never hung
+        this.hungTaskThreshold = longRunningTasks ? 0L : hungTaskThreshold;
+        this.virtualThreadsExecutor = new VirtualThreadsExecutor(
+            VirtualThreads.createThreadPerTaskExecutor(virtualThreadFactory));
+    }
+
+
+    @Override
+    public void execute(Runnable command) {
+        ManagedFutureTask<Void> task = getNewTaskFor(command, null);
+        task.submitted();
+        virtualThreadsExecutor.execute(task);
+    }
+
+
+    @Override
+    protected ExecutorService getThreadPoolExecutor() {
+        return virtualThreadsExecutor;
+    }
+
+
+    /**
+     * @return tasks running longer than the hung task threshold, empty for long running tasks
+     */
+    Collection<VirtualThreadTasks.RunningTask> getHungVirtualThreads() {
+        return virtualThreadsExecutor.tasks.getHungTasks(hungTaskThreshold, System.currentTimeMillis());
+    }
+
+
+    /**
+     * Replaces {@link jakarta.enterprise.concurrent.ManageableThread#isShutdown()}, which virtual
+     * threads don't implement.
+     *
+     * @param thread thread running a task of this executor
+     * @return true if this executor was shut down by {@link #shutdownNow()}
+     */
+    boolean isShutdown(Thread thread) {
+        return virtualThreadsExecutor.tasks.isShutdown(thread);
+    }
+
+
+    @Override
+    public long getTaskCount() {
+        return virtualThreadsExecutor.taskCount.sum();
+    }
+
+
+    @Override
+    public long getCompletedTaskCount() {
+        return virtualThreadsExecutor.completedTaskCount.sum();
+    }
+
+
+    /**
+     * Runs the {@link ManagedFutureTask} with the same callbacks as the
+     * {@link org.glassfish.enterprise.concurrent.internal.ManagedThreadPoolExecutor}.
+     */
+    private static final class VirtualThreadsExecutor extends AbstractExecutorService {
+
+        private final ExecutorService threadPerTaskExecutor;
+        private final VirtualThreadTasks tasks = new VirtualThreadTasks();
+        private final LongAdder taskCount = new LongAdder();
+        private final LongAdder completedTaskCount = new LongAdder();
+
+        VirtualThreadsExecutor(ExecutorService threadPerTaskExecutor) {
+            this.threadPerTaskExecutor = threadPerTaskExecutor;
+        }
+
+
+        @Override
+        public void execute(Runnable command) {
+            taskCount.increment();
+            try {
+                threadPerTaskExecutor.execute(() -> runTask(command));
+            } catch (RejectedExecutionException e) {
+                taskCount.decrement();
+                throw e;
+            }
+        }
+
+
+        private void runTask(Runnable command) {
+            ManagedFutureTask<?> task = command instanceof ManagedFutureTask ? (ManagedFutureTask<?>) command : null;
+            if (!tasks.starting(task == null ? command.toString() : task.getTaskIdentityName())) {
+                if (task != null) {
+                    task.cancel(false);
+                }
+                return;
+            }
+            try {
+                runStarted(command, task);
+            } finally {
+                tasks.done();
+            }
+        }
+
+
+        private void runStarted(Runnable command, ManagedFutureTask<?> task) {
+            if (task != null) {
+                task.setupContext();
+                task.starting(Thread.currentThread());
+            }
+            Throwable thrown = null;
+            try {
+                command.run();
+            } catch (RuntimeException | Error e) {
+                thrown = e;
+                throw e;
+            } finally {
+                if (task != null) {
+                    task.done(thrown);
+                    task.resetContext();
+                }
+                completedTaskCount.increment();
+            }
+        }
+
+
+        @Override
+        public void shutdown() {
+            threadPerTaskExecutor.shutdown();
+        }
+
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            tasks.shutdown();
+            return threadPerTaskExecutor.shutdownNow();
+        }
+
+
+        @Override
+        public boolean isShutdown() {
+            return threadPerTaskExecutor.isShutdown();
+        }
+
+
+        @Override
+        public boolean isTerminated() {
+            return threadPerTaskExecutor.isTerminated();
+        }
+
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return threadPerTaskExecutor.awaitTermination(timeout, unit);
+        }
+    }
+}
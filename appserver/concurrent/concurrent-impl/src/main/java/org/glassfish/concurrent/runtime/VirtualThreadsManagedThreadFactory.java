@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.api.naming.SimpleJndiName;
+import org.glassfish.enterprise.concurrent.ContextServiceImpl;
+import org.glassfish.enterprise.concurrent.ManagedThreadFactoryImpl;
+import org.glassfish.enterprise.concurrent.spi.ContextHandle;
+import org.glassfish.enterprise.concurrent.spi.ContextSetupProvider;
+
+/**
+ * Managed thread factory creating virtual threads.
+ * <p>
+ * The context of the thread calling {@link #newThread(Runnable)} is captured by the context
+ * service and set up in the new thread before the task starts, the same way as for platform
+ * managed threads. Thread priority doesn't apply to virtual threads. Threads created for
+ * a {@link java.util.concurrent.ForkJoinPool} are still platform threads.
+ * <p>
+ * Virtual threads are not {@link jakarta.enterprise.concurrent.ManageableThread}s, so tasks can't
+ * cast {@link Thread#currentThread()} to check whether the factory was stopped. The running tasks
+ * and the shutdown state are kept by {@link VirtualThreadTasks}, see {@link #isShutdown(Thread)}.
+ * Threads are registered when they start running the task, threads never started are not retained.
+ */
+class VirtualThreadsManagedThreadFactory extends ManagedThreadFactoryImpl {
+
+    private static final Logger LOG = LogFacade.getLogger();
+
+    private final ContextServiceImpl contextService;
+    private final ThreadFactory virtualThreadFactory;
+    private final VirtualThreadTasks tasks = new VirtualThreadTasks();
+    private volatile boolean stopped;
+
+    VirtualThreadsManagedThreadFactory(SimpleJndiName name, ContextServiceImpl contextService,
+        ThreadFactory virtualThreadFactory) {
+        super(name.toString(), contextService);
+        this.contextService = contextService;
+        this.virtualThreadFactory = virtualThreadFactory;
+    }
+
+
+    @Override
+    public Thread newThread(Runnable task) {
+        final ContextSetupProvider contextSetupProvider = getContextSetupProvider();
+        final ContextHandle contextHandleForSetup;
+        if (savedContextHandleForSetup != null) {
+            contextHandleForSetup = savedContextHandleForSetup;
+        } else if (contextSetupProvider == null) {
+            contextHandleForSetup = null;
+        } else {
+            contextHandleForSetup = contextSetupProvider.saveContext(contextService);
+        }
+        if (stopped) {
+            throw new IllegalStateException(MANAGED_THREAD_FACTORY_STOPPED);
+        }
+        return virtualThreadFactory.newThread(() -> run(task, contextSetupProvider, contextHandleForSetup));
+    }
+
+
+    @Override
+    public void stop() {
+        super.stop();
+        stopped = true;
+        tasks.shutdown();
+    }
+
+
+    /**
+     * Replaces {@link jakarta.enterprise.concurrent.ManageableThread#isShutdown()}, which virtual
+     * threads don't implement.
+     *
+     * @param thread thread created by this factory
+     * @return true if this factory was stopped
+     */
+    boolean isShutdown(Thread thread) {
+        return tasks.isShutdown(thread);
+    }
+
+
+    private void run(Runnable task, ContextSetupProvider contextSetupProvider, ContextHandle contextHandleForSetup) {
+        LOG.log(Level.FINEST, "run(task={0}, contextHandleForSetup={1})", new Object[] {task, contextHandleForSetup});
+        if (!tasks.starting(task.toString())) {
+            LOG.log(Level.FINE, "Factory was stopped before the task {0} started, skipping it.", task);
+            return;
+        }
+        ContextHandle contextHandleForReset = null;
+        try {
+            if (contextHandleForSetup != null) {
+                contextHandleForReset = contextSetupProvider.setup(contextHandleForSetup);
+            }
+            task.run();
+        } finally {
+            if (contextHandleForReset != null) {
+                contextSetupProvider.reset(contextHandleForReset);
+            }
+            tasks.done();
+        }
+    }
+}
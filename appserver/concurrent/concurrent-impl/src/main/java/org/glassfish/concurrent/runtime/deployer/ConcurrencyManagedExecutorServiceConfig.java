@@ -329,6 +329,17 @@ public class ConcurrencyManagedExecutorServiceConfig implements ManagedExecutorS
     }
 
 
+    @Override
+    public String getUseVirtualThreads() {
+        return Boolean.FALSE.toString();
+    }
+
+
+    @Override
+    public void setUseVirtualThreads(String value) throws PropertyVetoException {
+    }
+
+
     @Override
     public String getIdentity() {
         return null;
@@ -218,6 +218,17 @@ public class ConcurrencyManagedThreadFactoryConfig implements ManagedThreadFacto
     }
 
 
+    @Override
+    public String getUseVirtualThreads() {
+        return Boolean.FALSE.toString();
+    }
+
+
+    @Override
+    public void setUseVirtualThreads(String value) throws PropertyVetoException {
+    }
+
+
     @Override
     public String getIdentity() {
         return null;
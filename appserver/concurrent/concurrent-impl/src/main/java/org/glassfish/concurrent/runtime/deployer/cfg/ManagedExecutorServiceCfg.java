@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -47,6 +47,7 @@ public class ManagedExecutorServiceCfg implements Serializable {
     private final int maximumPoolSize;
     private final int taskQueueCapacity;
     private final long threadLifeTimeSeconds;
+    private final boolean useVirtualThreads;
 
     public ManagedExecutorServiceCfg(ManagedExecutorService config) {
         Set<ConcurrencyContextType> propagated = parseContextInfo(config.getContextInfo(), config.getContextInfoEnabled());
@@ -62,6 +63,7 @@ public class ManagedExecutorServiceCfg implements Serializable {
         maximumPoolSize = parseInt(config.getMaximumPoolSize(), Integer.MAX_VALUE);
         taskQueueCapacity = parseInt(config.getTaskQueueCapacity(), Integer.MAX_VALUE);
         threadLifeTimeSeconds = parseLong(config.getThreadLifetimeSeconds(), 0L);
+        useVirtualThreads = Boolean.valueOf(config.getUseVirtualThreads());
     }
 
     public ConcurrentServiceCfg getServiceConfig() {
@@ -122,4 +124,9 @@ public class ManagedExecutorServiceCfg implements Serializable {
     public long getThreadLifeTimeSeconds() {
         return threadLifeTimeSeconds;
     }
+
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
 }
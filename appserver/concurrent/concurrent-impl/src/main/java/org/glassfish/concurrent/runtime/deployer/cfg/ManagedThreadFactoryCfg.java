@@ -35,11 +35,13 @@ public class ManagedThreadFactoryCfg implements Serializable {
 
     private final ConcurrentServiceCfg serviceConfig;
     private final int threadPriority;
+    private final boolean useVirtualThreads;
 
     public ManagedThreadFactoryCfg(ManagedThreadFactory config) {
         Set<ConcurrencyContextType> propagated = parseContextInfo(config.getContextInfo(), config.getContextInfoEnabled());
         serviceConfig = new ConcurrentServiceCfg(config.getJndiName(), propagated, config.getContext());
         threadPriority = parseInt(config.getThreadPriority(), Thread.NORM_PRIORITY);
+        useVirtualThreads = Boolean.valueOf(config.getUseVirtualThreads());
     }
 
     public ConcurrentServiceCfg getServiceConfig() {
@@ -50,4 +52,9 @@ public class ManagedThreadFactoryCfg implements Serializable {
     public int getThreadPriority() {
         return threadPriority;
     }
+
+
+    public boolean isUseVirtualThreads() {
+        return useVirtualThreads;
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,7 +17,17 @@
 
 package org.glassfish.concurrent.runtime;
 
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.api.invocation.InvocationManager;
 
 import org.glassfish.concurrent.config.ContextService;
 import org.glassfish.concurrent.config.ManagedExecutorService;
@@ -38,17 +48,23 @@ import static com.sun.enterprise.deployment.types.StandardContextType.Remaining;
 import static com.sun.enterprise.deployment.types.StandardContextType.Security;
 import static com.sun.enterprise.deployment.types.StandardContextType.WorkArea;
 import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.replay;
 import static org.glassfish.tests.utils.ReflectionUtils.getField;
+import static org.glassfish.tests.utils.ReflectionUtils.setField;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class ConcurrentRuntimeTest {
 
+    private static final boolean VIRTUAL_THREADS_SUPPORTED = Runtime.version().feature() >= 21;
+
     private ConcurrentRuntime runtime;
 
     @BeforeEach
@@ -88,6 +104,7 @@ public class ConcurrentRuntimeTest {
         expect(managedThreadFactoryCfg.getContextInfoEnabled()).andReturn("true").anyTimes();
         expect(managedThreadFactoryCfg.getJndiName()).andReturn("concurrent/ctxSrv").anyTimes();
         expect(managedThreadFactoryCfg.getThreadPriority()).andReturn("8").anyTimes();
+        expect(managedThreadFactoryCfg.getUseVirtualThreads()).andReturn("false").anyTimes();
         replay(managedThreadFactoryCfg);
 
         ManagedThreadFactoryCfg cfg = new ManagedThreadFactoryCfg(managedThreadFactoryCfg);
@@ -128,6 +145,7 @@ public class ConcurrentRuntimeTest {
         expect(config.getKeepAliveSeconds()).andReturn("88").anyTimes();
         expect(config.getThreadPriority()).andReturn("3").anyTimes();
         expect(config.getThreadLifetimeSeconds()).andReturn("99").anyTimes();
+        expect(config.getUseVirtualThreads()).andReturn("false").anyTimes();
         replay(config);
 
         ManagedExecutorServiceCfg managedExecutorServiceCfg = new ManagedExecutorServiceCfg(config);
@@ -158,4 +176,106 @@ public class ConcurrentRuntimeTest {
         int threadPriority = getField(managedThreadFactory, "priority", ManagedThreadFactoryImpl.class);
         assertEquals(3, threadPriority);
     }
+
+
+    @Test
+    public void testCreateManagedThreadFactoryWithVirtualThreads() throws Exception {
+        InvocationManager invocationManager = createNiceMock(InvocationManager.class);
+        replay(invocationManager);
+        setField(runtime, "invocationManager", invocationManager);
+        ManagedThreadFactory config = createMock(ManagedThreadFactory.class);
+        expect(config.getContext()).andReturn(null).anyTimes();
+        expect(config.getContextInfo()).andReturn("Classloader").anyTimes();
+        expect(config.getContextInfoEnabled()).andReturn("true").anyTimes();
+        expect(config.getJndiName()).andReturn("concurrent/virtualThreadFactory").anyTimes();
+        expect(config.getThreadPriority()).andReturn("5").anyTimes();
+        expect(config.getUseVirtualThreads()).andReturn("true").anyTimes();
+        replay(config);
+
+        ManagedThreadFactoryImpl managedThreadFactory = runtime.getManagedThreadFactory(new ManagedThreadFactoryCfg(config));
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        AtomicReference<ClassLoader> taskClassLoader = new AtomicReference<>();
+        Thread thread = withContextClassLoader(classLoader,
+            () -> managedThreadFactory.newThread(() -> taskClassLoader.set(Thread.currentThread().getContextClassLoader())));
+        thread.start();
+        thread.join(10_000L);
+        assertAll(
+            () -> assertEquals(VIRTUAL_THREADS_SUPPORTED, isVirtual(thread)),
+            () -> assertSame(classLoader, taskClassLoader.get())
+        );
+
+        managedThreadFactory.stop();
+        assertThrows(IllegalStateException.class, () -> managedThreadFactory.newThread(() -> {}));
+    }
+
+
+    @Test
+    public void testCreateManagedExecutorServiceWithVirtualThreads() throws Exception {
+        InvocationManager invocationManager = createNiceMock(InvocationManager.class);
+        replay(invocationManager);
+        setField(runtime, "invocationManager", invocationManager);
+        ManagedExecutorService config = createMock(ManagedExecutorService.class);
+        expect(config.getContext()).andReturn(null).anyTimes();
+        expect(config.getContextInfo()).andReturn("Classloader").anyTimes();
+        expect(config.getContextInfoEnabled()).andReturn("true").anyTimes();
+        expect(config.getJndiName()).andReturn("concurrent/virtualExecutor").anyTimes();
+        expect(config.getHungAfterSeconds()).andReturn("0").anyTimes();
+        expect(config.getHungLoggerPrintOnce()).andReturn("false").anyTimes();
+        expect(config.getHungLoggerInitialDelaySeconds()).andReturn("60").anyTimes();
+        expect(config.getHungLoggerIntervalSeconds()).andReturn("60").anyTimes();
+        expect(config.getLongRunningTasks()).andReturn("false").anyTimes();
+        expect(config.getTaskQueueCapacity()).andReturn("1").anyTimes();
+        expect(config.getCorePoolSize()).andReturn("1").anyTimes();
+        expect(config.getMaximumPoolSize()).andReturn("1").anyTimes();
+        expect(config.getKeepAliveSeconds()).andReturn("60").anyTimes();
+        expect(config.getThreadPriority()).andReturn("5").anyTimes();
+        expect(config.getThreadLifetimeSeconds()).andReturn("0").anyTimes();
+        expect(config.getUseVirtualThreads()).andReturn("true").anyTimes();
+        replay(config);
+
+        ManagedExecutorServiceImpl mes = runtime.getManagedExecutorService(new ManagedExecutorServiceCfg(config));
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        // More tasks than the pool size and queue capacity would allow for platform threads
+        int taskCount = VIRTUAL_THREADS_SUPPORTED ? 100 : 1;
+        CountDownLatch allStarted = new CountDownLatch(taskCount);
+        List<Future<ClassLoader>> results = new ArrayList<>();
+        withContextClassLoader(classLoader, () -> {
+            for (int i = 0; i < taskCount; i++) {
+                results.add(mes.submit(() -> {
+                    allStarted.countDown();
+                    allStarted.await();
+                    return Thread.currentThread().getContextClassLoader();
+                }));
+            }
+            return null;
+        });
+        for (Future<ClassLoader> result : results) {
+            assertSame(classLoader, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(taskCount, mes.getTaskCount());
+
+        mes.shutdown();
+        assertTrue(mes.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(taskCount, mes.getCompletedTaskCount());
+    }
+
+
+    private static <T> T withContextClassLoader(ClassLoader classLoader, Callable<T> action) throws Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader originalClassLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(classLoader);
+        try {
+            return action.call();
+        } finally {
+            thread.setContextClassLoader(originalClassLoader);
+        }
+    }
+
+
+    private static boolean isVirtual(Thread thread) throws Exception {
+        if (!VIRTUAL_THREADS_SUPPORTED) {
+            return false;
+        }
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.concurrent.runtime;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VirtualThreadTasksTest {
+
+    private final VirtualThreadTasks tasks = new VirtualThreadTasks();
+
+    @Test
+    public void reportsTasksRunningLongerThanThreshold() throws Exception {
+        assertTrue(tasks.starting("task"));
+        long now = System.currentTimeMillis();
+        assertTrue(tasks.getHungTasks(1000L, now).isEmpty());
+        assertTrue(tasks.getHungTasks(0L, now + 5000L).isEmpty());
+
+        Collection<VirtualThreadTasks.RunningTask> hungTasks = tasks.getHungTasks(1000L, now + 5000L);
+        assertEquals(1, hungTasks.size());
+        VirtualThreadTasks.RunningTask hungTask = hungTasks.iterator().next();
+        assertEquals("task", hungTask.getIdentityName());
+        assertEquals(Thread.currentThread(), hungTask.getThread());
+
+        tasks.done();
+        assertTrue(tasks.getHungTasks(1000L, now + 5000L).isEmpty());
+    }
+
+    @Test
+    public void shutdownInterruptsRunningTasks() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicBoolean shutdown = new AtomicBoolean();
+        Thread thread = new Thread(() -> {
+            tasks.starting("task");
+            try {
+                started.countDown();
+                Thread.sleep(60_000L);
+            } catch (InterruptedException e) {
+                shutdown.set(tasks.isShutdown(Thread.currentThread()));
+            } finally {
+                tasks.done();
+            }
+        });
+        thread.start();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        tasks.shutdown();
+        thread.join(10_000L);
+
+        assertFalse(thread.isAlive());
+        assertTrue(shutdown.get());
+    }
+
+    @Test
+    public void tasksDoNotStartAfterShutdown() {
+        tasks.shutdown();
+        assertFalse(tasks.starting("task"));
+        assertTrue(tasks.getHungTasks(1L, System.currentTimeMillis() + 5000L).isEmpty());
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+import com.sun.logging.LogDomains;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lock-free datastructure for the pool, similar to a concurrent bag.
+ * <p>
+ * Every resource is wrapped in an entry holding an atomic state, so taking a resource
+ * is a single compare-and-set on the entry. Position of the entry in the shared array is kept
+ * in {@link ResourceHandle#getIndex()}, so returning a resource needs no lookup. A resource returned by a thread is remembered
+ * in a small thread local list and that thread tries those entries first on the next
+ * {@link #getResource()}, which is the common case for request threads doing a get/return
+ * cycle against a warm pool. Otherwise the shared array of entries is scanned starting
+ * at a random offset to spread the contention.
+ * <p>
+ * The lock is used only when resources are added or removed; get and return never block.
+ */
+public class ConcurrentBagDataStructure implements DataStructure {
+
+    private static final Logger LOG = LogDomains.getLogger(ConcurrentBagDataStructure.class, LogDomains.RSR_LOGGER);
+
+    /** Count of recently returned resources remembered by each thread */
+    private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+    private static final BagEntry[] NO_ENTRIES = new BagEntry[0];
+
+    private final ReentrantLock structureLock = new ReentrantLock();
+    private final DataStructureSemaphore availableResources;
+    private final ResourceHandler handler;
+    private final LongAdder freeCount = new LongAdder();
+    private final ThreadLocal<List<WeakReference<BagEntry>>> recentlyReturned = ThreadLocal
+        .withInitial(() -> new ArrayList<>(MAX_THREAD_LOCAL_ENTRIES));
+
+    private volatile BagEntry[] entries = NO_ENTRIES;
+    private volatile int maxSize;
+
+    public ConcurrentBagDataStructure(String parameters, int maxSize, ResourceHandler handler, String strategyClass) {
+        this.availableResources = new DataStructureSemaphore(maxSize);
+        this.handler = handler;
+        this.maxSize = maxSize;
+
+        LOG.log(Level.FINEST, "pool.datastructure.concurrentbagds.init");
+    }
+
+
+    @Override
+    public int addResource(ResourceAllocator allocator, int count) throws PoolingException {
+        int numResAdded = 0;
+        for (int i = 0; i < count; i++) {
+            if (!availableResources.tryAcquire()) {
+                break;
+            }
+
+            ResourceHandle resource;
+            try {
+                resource = handler.createResource(allocator);
+            } catch (Exception e) {
+                availableResources.release();
+                throw new PoolingException(e.getMessage(), e);
+            }
+
+            BagEntry entry = new BagEntry(resource);
+            // Count it before the entry is visible to getResource
+            freeCount.increment();
+            structureLock.lock();
+            try {
+                BagEntry[] currentEntries = entries;
+                resource.setIndex(currentEntries.length);
+                BagEntry[] newEntries = Arrays.copyOf(currentEntries, currentEntries.length + 1);
+                newEntries[currentEntries.length] = entry;
+                entries = newEntries;
+            } finally {
+                structureLock.unlock();
+            }
+            numResAdded++;
+        }
+        return numResAdded;
+    }
+
+    @Override
+    public ResourceHandle getResource() {
+        List<WeakReference<BagEntry>> returnedByThisThread = recentlyReturned.get();
+        for (int i = returnedByThisThread.size() - 1; i >= 0; i--) {
+            BagEntry entry = returnedByThisThread.remove(i).get();
+            if (entry != null && entry.tryAcquire()) {
+                freeCount.decrement();
+                return entry.resource;
+            }
+        }
+
+        BagEntry[] currentEntries = entries;
+        int length = currentEntries.length;
+        if (length == 0) {
+            return null;
+        }
+        int index = ThreadLocalRandom.current().nextInt(length);
+        for (int i = 0; i < length; i++) {
+            BagEntry entry = currentEntries[index];
+            if (entry.tryAcquire()) {
+                freeCount.decrement();
+                return entry.resource;
+            }
+            if (++index == length) {
+                index = 0;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void removeResource(ResourceHandle resource) {
+        structureLock.lock();
+        try {
+            BagEntry[] currentEntries = entries;
+            int removeIndex = findIndex(currentEntries, resource);
+            if (removeIndex < 0) {
+                return;
+            }
+            // Mark it before the array is replaced, threads may still scan the old one
+            if (currentEntries[removeIndex].markRemoved() == BagEntry.STATE_FREE) {
+                freeCount.decrement();
+            }
+            int lastIndex = currentEntries.length - 1;
+            BagEntry[] newEntries = Arrays.copyOf(currentEntries, lastIndex);
+            if (removeIndex < lastIndex) {
+                // Move last resource in place of removed
+                BagEntry lastEntry = currentEntries[lastIndex];
+                lastEntry.resource.setIndex(removeIndex);
+                newEntries[removeIndex] = lastEntry;
+            }
+            entries = newEntries;
+        } finally {
+            structureLock.unlock();
+        }
+
+        availableResources.release();
+        handler.deleteResource(resource);
+    }
+
+    @Override
+    public void returnResource(ResourceHandle resource) {
+        BagEntry[] currentEntries = entries;
+        int returnIndex = findIndex(currentEntries, resource);
+        if (returnIndex < 0) {
+            return;
+        }
+        BagEntry entry = currentEntries[returnIndex];
+        if (!entry.tryRelease()) {
+            return;
+        }
+        freeCount.increment();
+
+        List<WeakReference<BagEntry>> returnedByThisThread = recentlyReturned.get();
+        if (returnedByThisThread.size() < MAX_THREAD_LOCAL_ENTRIES) {
+            returnedByThisThread.add(entry.reference);
+        }
+    }
+
+    @Override
+    public int getFreeListSize() {
+        return (int) freeCount.sum();
+    }
+
+    @Override
+    public void removeAll() {
+        BagEntry[] entriesToRemove;
+        structureLock.lock();
+        try {
+            entriesToRemove = entries;
+            entries = NO_ENTRIES;
+            for (BagEntry entry : entriesToRemove) {
+                if (entry.markRemoved() == BagEntry.STATE_FREE) {
+                    freeCount.decrement();
+                }
+            }
+        } finally {
+            structureLock.unlock();
+        }
+
+        for (BagEntry entry : entriesToRemove) {
+            availableResources.release();
+            handler.deleteResource(entry.resource);
+        }
+    }
+
+    @Override
+    public int getResourcesSize() {
+        return entries.length;
+    }
+
+    @Override
+    public synchronized void setMaxSize(int newMaxSize) {
+        int permits = newMaxSize - maxSize;
+
+        switch (Integer.signum(permits)) {
+            case 1:
+                availableResources.release(permits);
+                break;
+            case -1:
+                availableResources.reducePermits(Math.abs(permits));
+                break;
+            default:
+                return;
+        }
+
+        this.maxSize = newMaxSize;
+    }
+
+    @Override
+    public List<ResourceHandle> getAllResources() {
+        BagEntry[] currentEntries = entries;
+        List<ResourceHandle> allResources = new ArrayList<>(currentEntries.length);
+        for (BagEntry entry : currentEntries) {
+            allResources.add(entry.resource);
+        }
+        return allResources;
+    }
+
+    /**
+     * The index in the resource is updated under the lock, so a thread not holding it can see
+     * a stale value while another resource is being removed. Then we have to search the array.
+     *
+     * @return index of the resource in the array or -1 if it is not there
+     */
+    private static int findIndex(BagEntry[] currentEntries, ResourceHandle resource) {
+        int index = resource.getIndex();
+        if (index < currentEntries.length && currentEntries[index].resource == resource) {
+            return index;
+        }
+        for (int i = 0; i < currentEntries.length; i++) {
+            if (currentEntries[i].resource == resource) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Resource with its pool state. The weak self reference is created once, so the thread
+     * local lists do not allocate on return and do not keep removed resources alive.
+     */
+    private static final class BagEntry {
+
+        static final int STATE_FREE = 0;
+        static final int STATE_IN_USE = 1;
+        static final int STATE_REMOVED = -1;
+
+        private static final AtomicIntegerFieldUpdater<BagEntry> STATE = AtomicIntegerFieldUpdater
+            .newUpdater(BagEntry.class, "state");
+
+        final ResourceHandle resource;
+        final WeakReference<BagEntry> reference;
+        private volatile int state = STATE_FREE;
+
+        BagEntry(ResourceHandle resource) {
+            this.resource = resource;
+            this.reference = new WeakReference<>(this);
+        }
+
+        boolean tryAcquire() {
+            return state == STATE_FREE && STATE.compareAndSet(this, STATE_FREE, STATE_IN_USE);
+        }
+
+        boolean tryRelease() {
+            return STATE.compareAndSet(this, STATE_IN_USE, STATE_FREE);
+        }
+
+        int markRemoved() {
+            return STATE.getAndSet(this, STATE_REMOVED);
+        }
+    }
+
+    /**
+     * Semaphore whose available permits change according to the
+     * changes in max-pool-size via a reconfiguration.
+     */
+    private static final class DataStructureSemaphore extends Semaphore {
+
+        public DataStructureSemaphore(int permits) {
+            super(permits);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.resource.pool.datastructure;
+
+import com.sun.appserv.connectors.internal.api.PoolingException;
+import com.sun.enterprise.resource.ResourceHandle;
+import com.sun.enterprise.resource.allocator.ResourceAllocator;
+import com.sun.enterprise.resource.pool.ResourceHandler;
+
+import jakarta.resource.spi.ManagedConnection;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Compares throughput of a get/return cycle on a warm pool for all pool datastructures.
+ * <p>
+ * The pool is always larger than the count of threads, so the numbers show the cost
+ * of the datastructure itself, not waiting for a free resource. Iterations are short to keep
+ * the build fast; for comparable numbers run the benchmark via {@code org.openjdk.jmh.Main}
+ * with longer warmup and measurement on a machine with enough cores.
+ */
+public class DataStructureBenchmarkTest {
+
+    private static final int POOL_SIZE = 1024;
+
+    @ParameterizedTest(name = "threads={0}")
+    @ValueSource(ints = {1, 8, 64, 512})
+    public void getAndReturnResource(int threadCount) throws Exception {
+        Options options = new OptionsBuilder()
+            .include(getClass().getName() + ".*")
+            .warmupIterations(1).warmupTime(TimeValue.milliseconds(100L))
+            .measurementIterations(1).forks(1).measurementTime(TimeValue.milliseconds(200L))
+            .threads(threadCount).syncIterations(false).timeout(TimeValue.seconds(10L))
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .mode(Mode.Throughput).shouldFailOnError(true)
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, hasSize(3));
+        for (RunResult result : results) {
+            assertThat(result.getParams().getParam("dataStructureClass"), result.getPrimaryResult().getScore(),
+                greaterThan(0d));
+        }
+    }
+
+
+    @Benchmark
+    public ResourceHandle getAndReturn(PoolState pool) {
+        ResourceHandle resource = pool.dataStructure.getResource();
+        if (resource != null) {
+            pool.dataStructure.returnResource(resource);
+        }
+        return resource;
+    }
+
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"com.sun.enterprise.resource.pool.datastructure.ListDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.RWLockDataStructure",
+            "com.sun.enterprise.resource.pool.datastructure.ConcurrentBagDataStructure"})
+        public String dataStructureClass;
+
+        DataStructure dataStructure;
+
+        @Setup
+        public void createPool() throws PoolingException {
+            dataStructure = DataStructureFactory.getDataStructure(dataStructureClass, null, POOL_SIZE,
+                new SimpleResourceHandler(), null);
+            dataStructure.addResource(null, POOL_SIZE);
+        }
+
+        @TearDown
+        public void destroyPool() {
+            dataStructure.removeAll();
+        }
+    }
+
+
+    private static class SimpleResourceHandler implements ResourceHandler {
+
+        @Override
+        public void deleteResource(ResourceHandle resourceHandle) {
+            // nothing to close
+        }
+
+        @Override
+        public ResourceHandle createResource(ResourceAllocator allocator) {
+            return new ResourceHandle(null, null, allocator, null);
+        }
+
+        @Override
+        public void createResourceAndAddToPool() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<ManagedConnection> getInvalidConnections(Set<ManagedConnection> connections) {
+            return Set.of();
+        }
+
+        @Override
+        public void invalidConnectionDetected(ResourceHandle resourceHandle) {
+            // no validation in benchmarks
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,6 +27,7 @@ import com.sun.ejb.MethodLockInfo;
 import com.sun.ejb.codegen.EjbOptionalIntfGenerator;
 import com.sun.ejb.containers.interceptors.InterceptorManager;
 import com.sun.ejb.containers.interceptors.SystemInterceptorProxy;
+import com.sun.ejb.containers.util.MethodDispatchTable;
 import com.sun.ejb.containers.util.MethodMap;
 import com.sun.ejb.monitoring.probes.EjbCacheProbeProvider;
 import com.sun.ejb.monitoring.probes.EjbMonitoringProbeProvider;
@@ -235,6 +236,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     private static final byte[] homeInstanceKey = { HOME_KEY };
 
     protected static final String SINGLETON_BEAN_POOL_PROP = "singleton-bean-pool";
+    protected static final String CONCURRENT_BEAN_POOL_PROP = "concurrent-bean-pool";
 
     protected final ClassLoader loader;
     protected Class<?> ejbClass;
@@ -411,6 +413,10 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
     // optimized method map for proxies to resolve invocation info
     private MethodMap proxyInvocationInfoMap;
 
+    // Lookup of the Method instances of the local proxies, shared by all
+    // local object invocation handlers of this container
+    private MethodDispatchTable localProxyDispatchTable;
+
     protected Method[] ejbIntfMethods;
     protected InvocationInfo[] ejbIntfMethodInfo;
 
@@ -3109,6 +3115,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
         // the (method -> invocationInfo) lookup has been measured to be
         // 6X greater than the overhead of the reflective call itself.
         proxyInvocationInfoMap = new MethodMap(invocationInfoMap);
+        localProxyDispatchTable = new MethodDispatchTable(proxyInvocationInfoMap);
 
         // Store InvocationInfo by standard ejb interface method type
         // to avoid an invocation info map lookup during authorizeLocalMethod
@@ -3287,7 +3294,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
     protected EJBLocalObjectImpl instantiateEJBLocalObjectImpl(Object key) throws Exception {
         EJBLocalObjectImpl localObjImpl = null;
-        EJBLocalObjectInvocationHandler handler = new EJBLocalObjectInvocationHandler(proxyInvocationInfoMap, localIntf);
+        EJBLocalObjectInvocationHandler handler = new EJBLocalObjectInvocationHandler(localProxyDispatchTable, localIntf);
         localObjImpl = handler;
 
         try {
@@ -3311,7 +3318,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
     protected EJBLocalObjectImpl instantiateEJBLocalBusinessObjectImpl() throws Exception {
 
-        EJBLocalObjectInvocationHandler handler = new EJBLocalObjectInvocationHandler(proxyInvocationInfoMap, false);
+        EJBLocalObjectInvocationHandler handler = new EJBLocalObjectInvocationHandler(localProxyDispatchTable, false);
 
         EJBLocalObjectImpl localBusinessObjImpl = handler;
         Proxy.newProxyInstance(loader, ejbLocalBusinessProxyInterfaces, handler);
@@ -3328,7 +3335,7 @@ public abstract class BaseContainer implements Container, EjbContainerFacade, Ja
 
     protected EJBLocalObjectImpl instantiateOptionalEJBLocalBusinessObjectImpl() throws Exception {
 
-        EJBLocalObjectInvocationHandler handler = new EJBLocalObjectInvocationHandler(proxyInvocationInfoMap, true);
+        EJBLocalObjectInvocationHandler handler = new EJBLocalObjectInvocationHandler(localProxyDispatchTable, true);
         EJBLocalObjectImpl localBusinessObjImpl = handler;
         Proxy.newProxyInstance(loader, ejbOptionalLocalBusinessHomeProxyInterfaces, handler);
         localBusinessObjImpl.setContainer(this);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,7 +37,6 @@ import java.io.Serializable;
 import java.lang.reflect.Method;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
@@ -45,7 +44,12 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -131,6 +135,15 @@ public class EJBTimerService {
     private static final String RESCHEDULE_FAILED_TIMER = "reschedule-failed-timer";
     private boolean rescheduleFailedTimer;
 
+    // Maximum number of worker threads delivering expired timers at the
+    // same time. Defaults to the maximum size of the ejb thread pool.
+    private static final String EXPIRED_TIMER_DISPATCHERS = "expired-timer-dispatchers";
+    private int maxExpiredTimerDispatchers_;
+
+    // Timers which expired and wait for a dispatcher to deliver them.
+    private final Queue<TimerPrimaryKey> expiredTimers_ = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeExpiredTimerDispatchers_ = new AtomicInteger();
+
     // Flag that allows to load EJBTimerService on the 1st access and
     // distinguish between not available and not loaded
     private static volatile boolean _timerServiceVerified;
@@ -253,6 +266,12 @@ public class EJBTimerService {
 
                 rescheduleFailedTimer = Boolean.valueOf(ejbt.getPropertyValue(RESCHEDULE_FAILED_TIMER));
 
+                valString = ejbt.getPropertyValue(EXPIRED_TIMER_DISPATCHERS);
+                val = (valString != null) ? Long.parseLong(valString) : -1;
+                if( val > 0 ) {
+                    maxExpiredTimerDispatchers_ = (int) Math.min(val, Integer.MAX_VALUE);
+                }
+
                 // Load confing listener
                 ejbContainerUtil.getServices().getService(EJBTimerServiceConfigListener.class);
             }
@@ -262,10 +281,18 @@ public class EJBTimerService {
                "domain.xml properties.  Defaults will be used instead.", e);
         }
 
+        if( maxExpiredTimerDispatchers_ <= 0 ) {
+            ThreadPoolExecutor executor = ejbContainerUtil.getThreadPoolExecutor(null);
+            maxExpiredTimerDispatchers_ = (executor != null) ?
+                executor.getMaximumPoolSize() :
+                Runtime.getRuntime().availableProcessors();
+        }
+
         logger.log(Level.FINE, "EJB Timer Service properties : " +
                    "min delivery interval = " + getMinimumDeliveryInterval() +
                    "\nmax redeliveries = " + maxRedeliveries_ +
-                   "\nredelivery interval = " + getRedeliveryInterval());
+                   "\nredelivery interval = " + getRedeliveryInterval() +
+                   "\nexpired timer dispatchers = " + maxExpiredTimerDispatchers_);
     }
 
     synchronized void timedObjectCount() {
@@ -1369,30 +1396,34 @@ public class EJBTimerService {
      * This method is called back from the EJBTimerTask object
      * on the JDK Timer Thread.  Work performed in this callback
      * should be short-lived, so do a little bookkeeping and then
-     * launch a separate thread to invoke ejbTimeout, etc.
+     * hand the timer over to a dispatcher thread to invoke ejbTimeout, etc.
      */
 
     void taskExpired(TimerPrimaryKey timerId) {
         RuntimeTimerState timerState = getTimerState(timerId);
 
         if( timerState != null ) {
+            boolean delivered = false;
             synchronized(timerState) {
                 if( timerState.isScheduled() ) {
                     timerState.delivered();
+                    delivered = true;
 
                     if( logger.isLoggable(Level.FINE) ) {
                         logger.log(Level.FINE,
-                           "Adding work pool task for timer " + timerId);
+                           "Queueing expired timer " + timerId);
                     }
-
-                    TaskExpiredWork work = new TaskExpiredWork(this, timerId);
-                    ejbContainerUtil.addWork(work);
                 } else {
                     logger.log(Level.FINE, "Timer " + timerId +
                                " is not in scheduled state.  Current state = "
                                + timerState.stateToString());
                 }
             }
+
+            if( delivered ) {
+                expiredTimers_.offer(timerId);
+                startExpiredTimerDispatcher();
+            }
         } else {
             logger.log(Level.FINE, "null timer state for timer id " + timerId);
         }
@@ -1400,6 +1431,65 @@ public class EJBTimerService {
         return;
     }
 
+    /**
+     * Starts one more dispatcher of the expired timers, unless the maximum
+     * number of dispatchers are already running. The timers which expire
+     * at the same time are thus delivered by a bounded number of work pool
+     * tasks instead of one task per timer.
+     */
+    private void startExpiredTimerDispatcher() {
+        while( true ) {
+            int active = activeExpiredTimerDispatchers_.get();
+            if( active >= maxExpiredTimerDispatchers_ ) {
+                return;
+            }
+            if( activeExpiredTimerDispatchers_.compareAndSet(active, active + 1) ) {
+                break;
+            }
+        }
+
+        try {
+            ejbContainerUtil.addWork(new ExpiredTimerDispatcher(this));
+        } catch(Exception e) {
+            // The timers stay queued for the next dispatcher
+            activeExpiredTimerDispatchers_.decrementAndGet();
+            logger.log(Level.WARNING, "Cannot add work pool task for expired timers", e);
+        }
+    }
+
+    /**
+     * Delivers the queued expired timers until the queue is empty.
+     */
+    void dispatchExpiredTimers() {
+        while( true ) {
+            TimerPrimaryKey timerId;
+            while( (timerId = expiredTimers_.poll()) != null ) {
+                if( !expiredTimers_.isEmpty() ) {
+                    // More timers are due, let another thread help
+                    startExpiredTimerDispatcher();
+                }
+                try {
+                    deliverTimeout(timerId);
+                } catch(Throwable t) {
+                    logger.log(Level.WARNING, "Error delivering timeout of timer " + timerId, t);
+                }
+            }
+
+            activeExpiredTimerDispatchers_.decrementAndGet();
+
+            // A timer may have been queued after the last poll while this
+            // dispatcher was still counted as active.
+            if( expiredTimers_.isEmpty() ) {
+                return;
+            }
+            int active = activeExpiredTimerDispatchers_.get();
+            if( active >= maxExpiredTimerDispatchers_ ||
+                    !activeExpiredTimerDispatchers_.compareAndSet(active, active + 1) ) {
+                return;
+            }
+        }
+    }
+
     /**
      * Generate a unique key for the persistent timer object.
      * Key must be unique across server shutdown and startup, and
@@ -1684,35 +1774,25 @@ public class EJBTimerService {
     public static class TimerCache {
 
         // Maps timer id to timer state.
-        private final Map timers_;
+        private final Map<TimerPrimaryKey, RuntimeTimerState> timers_;
 
-        // Map of timer information per container.
-        //
-        // For stateless session beans and message-driven beans,
-        // container id is mapped to a Long value representing the
-        // number of timers.
-        //
-        //
-        // For entity beans, container id is mapped to a list of
-        // primary keys.  NOTE : This list can contain duplicate primary keys
-        // in the case where the same entity bean identity has more
-        // than one associated timer.
-
-        private final Map containerTimers_;
+        // Map of timer information per container. A container entry
+        // only exists while the container has timers. Entries are
+        // updated with ConcurrentHashMap#compute, so timers of
+        // different containers do not contend with each other.
+        private final Map<Long, ContainerTimers> containerTimers_;
 
         // Map of non-persistent timer id to timer state.
         private final Map<TimerPrimaryKey, RuntimeTimerState> nonpersistentTimers_;
 
         public TimerCache() {
-            // Create unsynchronized collections.  TimerCache will
-            // provide concurrency control.
-            timers_ = new HashMap();
-            containerTimers_ = new HashMap();
-            nonpersistentTimers_ = new HashMap<>();
+            timers_ = new ConcurrentHashMap<>();
+            containerTimers_ = new ConcurrentHashMap<>();
+            nonpersistentTimers_ = new ConcurrentHashMap<>();
         }
 
-        public synchronized void addTimer(TimerPrimaryKey timerId,
-                                          RuntimeTimerState timerState) {
+        public void addTimer(TimerPrimaryKey timerId,
+                             RuntimeTimerState timerState) {
             if( logger.isLoggable(Level.FINE) ) {
                 logger.log(Level.FINE, "Adding timer " + timerState);
             }
@@ -1722,28 +1802,13 @@ public class EJBTimerService {
                 nonpersistentTimers_.put(timerId, timerState);
             }
 
-            Long containerId = timerState.getContainerId();
-
-            Object containerInfo = containerTimers_.get(containerId);
-
-            if( timerState.timedObjectIsEntity() ) {
-                Collection entityBeans;
+            containerTimers_.compute(timerState.getContainerId(), (containerId, containerInfo) -> {
                 if( containerInfo == null ) {
-                    // NOTE : This list *can* contain duplicates, since
-                    // the same entity bean can be the timed object for
-                    // multiple timers.
-                    entityBeans = new ArrayList();
-                    containerTimers_.put(containerId, entityBeans);
-                } else {
-                    entityBeans = (Collection) containerInfo;
+                    containerInfo = new ContainerTimers();
                 }
-                entityBeans.add(timerState.getTimedObjectPrimaryKey());
-            } else {
-                Long timerCount = (containerInfo == null) ? 1 :
-                    ((Long) containerInfo).longValue() + 1;
-                containerTimers_.put(containerId, timerCount);
-            }
-
+                containerInfo.add(timerId, timerState);
+                return containerInfo;
+            });
         }
 
         /**
@@ -1751,13 +1816,12 @@ public class EJBTimerService {
          * defensively since it's possible it will be called multiple
          * times for the same timer.
          */
-        public synchronized void removeTimer(TimerPrimaryKey timerId) {
+        public void removeTimer(TimerPrimaryKey timerId) {
             if( logger.isLoggable(Level.FINE) ) {
                 logger.log(Level.FINE, "Removing timer " + timerId);
             }
 
-            RuntimeTimerState timerState = (RuntimeTimerState)
-                timers_.remove(timerId);
+            RuntimeTimerState timerState = timers_.remove(timerId);
 
             if( timerState == null) {
                 return;
@@ -1766,94 +1830,64 @@ public class EJBTimerService {
             if (!timerState.isPersistent()) {
                 nonpersistentTimers_.remove(timerId);
             }
-            Long containerId = timerState.getContainerId();
-            Object containerInfo = containerTimers_.get(containerId);
 
-            if( containerInfo != null ) {
-                if( timerState.timedObjectIsEntity() ) {
-                    Collection entityBeans = (Collection) containerInfo;
-                    if( entityBeans.size() == 1 ) {
-                        // Only one left -- blow away the container.
-                        containerTimers_.remove(containerId);
-                    } else {
-                        // Remove a single instance of this primary key
-                        // from the list.  There could still be other
-                        // instances of the same primary key.
-                        entityBeans.remove
-                            (timerState.getTimedObjectPrimaryKey());
-                    }
-                } else {
-                    long timerCount = ((Long) containerInfo).longValue();
-                    if( timerCount == 1 ) {
-                        // Only one left -- blow away the container
-                        containerTimers_.remove(containerId);
-                    } else {
-                        Long newCount = timerCount - 1;
-                        containerTimers_.put(containerId, newCount);
-                    }
-                }
-            }
+            // Blow away the container entry once its last timer is removed
+            containerTimers_.computeIfPresent(timerState.getContainerId(),
+                (containerId, containerInfo) -> containerInfo.remove(timerId, timerState) ? containerInfo : null);
         }
 
-        public synchronized RuntimeTimerState getTimerState(TimerPrimaryKey
-                                                            timerId) {
-            return (RuntimeTimerState) timers_.get(timerId);
+        public RuntimeTimerState getTimerState(TimerPrimaryKey timerId) {
+            return timers_.get(timerId);
         }
 
-        public synchronized RuntimeTimerState getNonPersistentTimerState(
+        public RuntimeTimerState getNonPersistentTimerState(
                               TimerPrimaryKey timerId) {
             return nonpersistentTimers_.get(timerId);
         }
 
         // True if the given entity bean has any timers and false otherwise.
-        public synchronized boolean entityBeanHasTimers(long containerId,
-                                                        Object pkey) {
-            Object containerInfo = containerTimers_.get(containerId);
+        public boolean entityBeanHasTimers(long containerId, Object pkey) {
+            ContainerTimers containerInfo = containerTimers_.get(containerId);
             return (containerInfo != null) ?
-                ((Collection) containerInfo).contains(pkey) : false;
+                containerInfo.entityBeans.containsKey(pkey) : false;
         }
 
         // True if the ejb represented by this container id has any timers
         // and false otherwise.
-        public synchronized boolean containerHasTimers(long containerId) {
+        public boolean containerHasTimers(long containerId) {
             return containerTimers_.containsKey(containerId);
         }
 
         // Placeholder for logic to ensure timer cache consistency.
-        public synchronized void validate() {
+        public void validate() {
         }
 
         // Returns a Set of non-persistent timer ids for this container
-        public synchronized Set<TimerPrimaryKey> getNonPersistentTimerIdsForContainer(
+        public Set<TimerPrimaryKey> getNonPersistentTimerIdsForContainer(
                                         long containerId_) {
-            Set<TimerPrimaryKey> result = new HashSet<>();
-            for (Map.Entry<TimerPrimaryKey, RuntimeTimerState> entry : nonpersistentTimers_.entrySet()) {
-                TimerPrimaryKey key = entry.getKey();
-                RuntimeTimerState rt = entry.getValue();
-                if ((rt.getContainerId() == containerId_)) {
-                    result.add(key);
-                }
-            }
-
-            return result;
+            ContainerTimers containerInfo = containerTimers_.get(containerId_);
+            return (containerInfo != null) ?
+                new HashSet<>(containerInfo.nonpersistentTimers) : new HashSet<>();
         }
 
         // Returns a Set of active non-persistent timer ids for this container
-        public synchronized Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsForContainer(
+        public Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsForContainer(
                                         long containerId_) {
             Set<TimerPrimaryKey> result = new HashSet<>();
-            for (Map.Entry<TimerPrimaryKey, RuntimeTimerState> entry : nonpersistentTimers_.entrySet()) {
-                TimerPrimaryKey key = entry.getKey();
-                RuntimeTimerState rt = entry.getValue();
-                if ((rt.getContainerId() == containerId_) && rt.isActive()) {
-                    result.add(key);
+            ContainerTimers containerInfo = containerTimers_.get(containerId_);
+            if (containerInfo != null) {
+                for (TimerPrimaryKey key : containerInfo.nonpersistentTimers) {
+                    RuntimeTimerState rt = nonpersistentTimers_.get(key);
+                    if (rt != null && rt.isActive()) {
+                        result.add(key);
+                    }
                 }
             }
             return result;
         }
 
         // Returns a Set of active non-persistent timer ids for this server
-        public synchronized Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsByThisServer() {
+        public Set<TimerPrimaryKey> getNonPersistentActiveTimerIdsByThisServer() {
             Set<TimerPrimaryKey> result = new HashSet<>();
             for (Map.Entry<TimerPrimaryKey, RuntimeTimerState> entry : nonpersistentTimers_.entrySet()) {
                 TimerPrimaryKey key = entry.getKey();
@@ -1866,29 +1900,66 @@ public class EJBTimerService {
             return result;
         }
 
+        /**
+         * Timers of one container. Updated under the lock of the
+         * container entry in containerTimers_, read without locking.
+         */
+        private static class ContainerTimers {
+
+            // Number of timers of the container.
+            private long timerCount;
+
+            // For entity beans, number of timers per primary key.
+            private final Map<Object, Integer> entityBeans = new ConcurrentHashMap<>();
+
+            // Ids of the non-persistent timers of the container.
+            private final Set<TimerPrimaryKey> nonpersistentTimers = ConcurrentHashMap.newKeySet();
+
+            void add(TimerPrimaryKey timerId, RuntimeTimerState timerState) {
+                timerCount++;
+                if( timerState.timedObjectIsEntity() ) {
+                    entityBeans.merge(timerState.getTimedObjectPrimaryKey(), 1, Integer::sum);
+                }
+                if( !timerState.isPersistent() ) {
+                    nonpersistentTimers.add(timerId);
+                }
+            }
+
+            /**
+             * @return false if the container has no timers left
+             */
+            boolean remove(TimerPrimaryKey timerId, RuntimeTimerState timerState) {
+                if( timerState.timedObjectIsEntity() ) {
+                    entityBeans.computeIfPresent(timerState.getTimedObjectPrimaryKey(),
+                        (pkey, count) -> count == 1 ? null : count - 1);
+                }
+                if( !timerState.isPersistent() ) {
+                    nonpersistentTimers.remove(timerId);
+                }
+                return --timerCount > 0;
+            }
+        }
+
     } //TimerCache{}
 
     /**
      * This class gets a callback on a worker thread where the actual
-     * ejbTimeout invocation will be made.
+     * ejbTimeout invocations of the expired timers will be made.
      */
-    private static class TaskExpiredWork implements Runnable {
+    private static class ExpiredTimerDispatcher implements Runnable {
         private final EJBTimerService timerService_;
-        private final TimerPrimaryKey timerId_;
 
-        public TaskExpiredWork(EJBTimerService timerService,
-                               TimerPrimaryKey timerId) {
+        public ExpiredTimerDispatcher(EJBTimerService timerService) {
             timerService_ = timerService;
-            timerId_ = timerId;
         }
 
         @Override
         public void run() {
             // Delegate to Timer Service.
-            timerService_.deliverTimeout(timerId_);
+            timerService_.dispatchExpiredTimers();
         }
 
-    } // TaskExpiredWork
+    } // ExpiredTimerDispatcher
 
     private static class TimerSynch implements Synchronization {
 
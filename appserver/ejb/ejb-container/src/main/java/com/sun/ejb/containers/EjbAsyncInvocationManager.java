@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -24,9 +25,13 @@ import org.jvnet.hk2.annotations.Service;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import com.sun.ejb.Container;
+import com.sun.ejb.monitoring.stats.EjbAsyncInvocationStatsProvider;
 import com.sun.logging.LogDomains;
 import java.lang.reflect.Method;
 import jakarta.ejb.EJBException;
+import org.glassfish.ejb.config.EjbContainer;
+import org.glassfish.external.probe.provider.PluginPoint;
+import org.glassfish.external.probe.provider.StatsProviderManager;
 
 /**
  * @author Mahesh Kannan
@@ -35,11 +40,19 @@ import jakarta.ejb.EJBException;
 public class EjbAsyncInvocationManager {
     private static final Logger _logger = LogDomains.getLogger(EjbAsyncInvocationManager.class, LogDomains.EJB_LOGGER);
 
+    // ejb-container properties of the remote async result store
+    static final String ASYNC_RESULT_TTL_PROP = "async-result-ttl-in-seconds";
+    static final String MAX_ASYNC_RESULTS_PROP = "max-async-results";
+
+    static final long DEFAULT_ASYNC_RESULT_TTL_SECONDS = 3600L;
+    static final int DEFAULT_MAX_ASYNC_RESULTS = 100_000;
+
+    private static final long MAX_PURGE_INTERVAL_MILLIS = 60_000L;
+
     private AtomicLong invCounter = new AtomicLong();
 
-    // Map of Remote Future<> tasks.
-    private ConcurrentHashMap<Long, EjbFutureTask> remoteTaskMap =
-            new ConcurrentHashMap<Long, EjbFutureTask>();
+    // Remote Future<> tasks, created on the first remote async invocation.
+    private volatile RemoteAsyncResultStore remoteTaskMap;
 
     public Future createLocalFuture(EjbInvocation inv) {
         return createFuture(inv);
@@ -63,7 +76,7 @@ public class EjbAsyncInvocationManager {
         // identify all tasks for a given container for cleanup.
         Method m = inv.getMethod();
         if( !(m.getReturnType().equals(Void.TYPE))) {
-            remoteTaskMap.put(inv.getInvId(), localFutureTask);
+            getRemoteTaskMap().put(inv.getInvId(), localFutureTask);
         }
 
         return returnFuture;
@@ -124,6 +137,11 @@ public class EjbAsyncInvocationManager {
 
     public void cleanupContainerTasks(Container container) {
 
+        RemoteAsyncResultStore remoteTaskMap = this.remoteTaskMap;
+        if (remoteTaskMap == null) {
+            return;
+        }
+
         Set<Map.Entry<Long, EjbFutureTask>> entrySet = remoteTaskMap.entrySet();
         Iterator<Map.Entry<Long, EjbFutureTask>> iterator = entrySet.iterator();
 
@@ -178,7 +196,7 @@ public class EjbAsyncInvocationManager {
 
             // The client object won't make another request once it
             // has the result so we can remove it from the container map.
-            remoteTaskMap.remove(asyncTaskID);
+            getRemoteTaskMap().remove(asyncTaskID);
 
         } else {
 
@@ -222,7 +240,7 @@ public class EjbAsyncInvocationManager {
 
             // The client object won't make another request once it
             // has the result so we can remove it from the container map.
-            remoteTaskMap.remove(asyncTaskID);
+            getRemoteTaskMap().remove(asyncTaskID);
 
         }
 
@@ -255,7 +273,7 @@ public class EjbAsyncInvocationManager {
             result.resultException = t;
         }
 
-        remoteTaskMap.remove(asyncTaskID);
+        getRemoteTaskMap().remove(asyncTaskID);
 
         if( _logger.isLoggable(Level.FINE) ) {
             _logger.log(Level.FINE, "Exit remoteGet for async task " + asyncTaskID +
@@ -299,7 +317,7 @@ public class EjbAsyncInvocationManager {
 
         // As long as we're not throwing a TimeoutException, just remove the task
         // from the map.
-        remoteTaskMap.remove(asyncTaskID);
+        getRemoteTaskMap().remove(asyncTaskID);
 
         if( _logger.isLoggable(Level.FINE) ) {
             _logger.log(Level.FINE, "Exit remoteGetWithTimeout for async task " + asyncTaskID +
@@ -310,8 +328,103 @@ public class EjbAsyncInvocationManager {
     }
 
 
+    /**
+     * @return the number of remote async invocations whose result was not fetched yet
+     */
+    public int getOutstandingRemoteInvocationCount() {
+        RemoteAsyncResultStore store = remoteTaskMap;
+        return store == null ? 0 : store.size();
+    }
+
+    /**
+     * @return the number of completed remote async invocations whose result was not fetched yet
+     */
+    public int getUnclaimedRemoteResultCount() {
+        RemoteAsyncResultStore store = remoteTaskMap;
+        return store == null ? 0 : store.getUnclaimedCount();
+    }
+
+    /**
+     * @return the number of remote async results dropped because their client did not fetch them in time
+     */
+    public long getExpiredRemoteResultCount() {
+        RemoteAsyncResultStore store = remoteTaskMap;
+        return store == null ? 0 : store.getExpiredCount();
+    }
+
+    /**
+     * @return the number of remote async results dropped to keep the number of results bounded
+     */
+    public long getEvictedRemoteResultCount() {
+        RemoteAsyncResultStore store = remoteTaskMap;
+        return store == null ? 0 : store.getEvictedCount();
+    }
+
+    private RemoteAsyncResultStore getRemoteTaskMap() {
+        RemoteAsyncResultStore store = remoteTaskMap;
+        if (store == null) {
+            synchronized (this) {
+                store = remoteTaskMap;
+                if (store == null) {
+                    store = createRemoteTaskMap();
+                    remoteTaskMap = store;
+                }
+            }
+        }
+        return store;
+    }
+
+    private RemoteAsyncResultStore createRemoteTaskMap() {
+        long ttlSeconds = DEFAULT_ASYNC_RESULT_TTL_SECONDS;
+        int maxResults = DEFAULT_MAX_ASYNC_RESULTS;
+        EjbContainerUtil ejbContainerUtil = EjbContainerUtilImpl.getInstance();
+        EjbContainer ejbContainer = ejbContainerUtil.getEjbContainer();
+        if (ejbContainer != null) {
+            ttlSeconds = parseProperty(ejbContainer, ASYNC_RESULT_TTL_PROP, ttlSeconds);
+            maxResults = (int) parseProperty(ejbContainer, MAX_ASYNC_RESULTS_PROP, maxResults);
+        }
+
+        final RemoteAsyncResultStore store = new RemoteAsyncResultStore(ttlSeconds * 1000L, maxResults);
+        if (store.getResultTtlMillis() > 0 && ejbContainerUtil.getTimer() != null) {
+            long interval = Math.min(store.getResultTtlMillis(), MAX_PURGE_INTERVAL_MILLIS);
+            ejbContainerUtil.getTimer().scheduleAtFixedRate(new TimerTask() {
+                @Override
+                public void run() {
+                    store.purge(System.currentTimeMillis());
+                }
+            }, interval, interval);
+        }
+
+        try {
+            StatsProviderManager.register("ejb-container", PluginPoint.SERVER,
+                "ejb/async-invocations", new EjbAsyncInvocationStatsProvider(this));
+        } catch (Exception ex) {
+            _logger.log(Level.FINE, "Could not register async invocation monitoring", ex);
+        }
+
+        if( _logger.isLoggable(Level.FINE) ) {
+            _logger.log(Level.FINE, "Created remote async result store: ttlSeconds=" + ttlSeconds
+                + "; maxResults=" + maxResults);
+        }
+        return store;
+    }
+
+    private static long parseProperty(EjbContainer ejbContainer, String name, long defaultValue) {
+        String val = ejbContainer.getPropertyValue(name);
+        if (val == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(val.trim());
+        } catch (NumberFormatException nfe) {
+            _logger.log(Level.WARNING, "Invalid value [" + val + "] of ejb-container property " + name
+                + ", using " + defaultValue);
+            return defaultValue;
+        }
+    }
+
     private EjbFutureTask getLocalTaskForID(Long asyncTaskID) {
-        EjbFutureTask task = remoteTaskMap.get(asyncTaskID);
+        EjbFutureTask task = getRemoteTaskMap().get(asyncTaskID);
 
         if( task == null ) {
             _logger.log(Level.FINE, "Could not find async task for ID " + asyncTaskID);
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -41,6 +42,10 @@ public class EjbFutureTask<V>
     private volatile V resultValue;
     private volatile Throwable resultException;
 
+    // Time at which isDone() became true, used to expire unclaimed
+    // remote results
+    private volatile long completionTime;
+
 
     public EjbFutureTask(EjbAsyncTask<V> callable, EjbAsyncInvocationManager mgr) {
         super(callable);
@@ -53,6 +58,9 @@ public class EjbFutureTask<V>
         if( !cancelCalled ) {
 
             cancelCalled = true;
+            if (completionTime == 0) {
+                completionTime = System.currentTimeMillis();
+            }
 
             // mayInterruptIfRunning only determines whether the bean method
             // has visibility to the fact that the caller called Future.cancel().
@@ -173,6 +181,7 @@ public class EjbFutureTask<V>
         // we can return true from isDone() after completion of
         // the task, even if get() was not called.
         resultValue = v;
+        completionTime = System.currentTimeMillis();
         complete = true;
 
     }
@@ -182,6 +191,7 @@ public class EjbFutureTask<V>
         // we can return true from isDone() after completion of
         // the task, even if get() was not called.
         resultException = t;
+        completionTime = System.currentTimeMillis();
         complete = true;
     }
 
@@ -194,6 +204,10 @@ public class EjbFutureTask<V>
         return resultException;
     }
 
+    long getCompletionTime() {
+        return completionTime;
+    }
+
     public String toString() {
 
         StringBuffer sbuf = new StringBuffer();
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.ejb.spi.container.SFSBSerializer;
+import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.jvnet.hk2.annotations.Service;
+
+/**
+ * The default {@link SFSBSerializer}, using Java serialization with the
+ * object replacement of {@link JavaEEIOUtils}.
+ * <p>
+ * Beans are serialized into buffers taken from a pool shared by all
+ * containers, so passivating many beans does not allocate and grow a new
+ * buffer for each of them. The pool holds at most {@link #MAX_POOLED_BUFFERS}
+ * buffers, one per passivation task by default, and a buffer which grew beyond
+ * {@link #MAX_RETAINED_BUFFER_SIZE} is dropped instead of returned, so the
+ * pool retains a bounded amount of memory whatever the number of threads
+ * passivating beans. Containers without a configured serializer use
+ * {@link #DEFAULT}.
+ */
+@Service(name = JavaSFSBSerializer.NAME)
+public class JavaSFSBSerializer implements SFSBSerializer {
+
+    public static final String NAME = "java";
+
+    static final JavaSFSBSerializer DEFAULT = new JavaSFSBSerializer();
+
+    static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    static final int MAX_POOLED_BUFFERS = Runtime.getRuntime().availableProcessors();
+
+    private static final BlockingQueue<Buffer> BUFFERS = new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
+    private final JavaEEIOUtils ioUtils;
+
+    public JavaSFSBSerializer() {
+        this(null);
+    }
+
+    /**
+     * @param ioUtils the utilities to use, null to use those of the ejb container
+     */
+    JavaSFSBSerializer(JavaEEIOUtils ioUtils) {
+        this.ioUtils = ioUtils;
+    }
+
+    @Override
+    public byte[] serialize(Serializable context) throws IOException {
+        Buffer buffer = BUFFERS.poll();
+        if (buffer == null) {
+            buffer = new Buffer();
+        }
+        try (ObjectOutputStream oos = getJavaEEIOUtils().createObjectOutputStream(buffer, true)) {
+            oos.writeObject(context);
+            oos.flush();
+            return buffer.toByteArray();
+        } catch (NotSerializableException notSerEx) {
+            throw notSerEx;
+        } catch (Exception th) {
+            throw new IOException("Serialization failed.", th);
+        } finally {
+            if (buffer.capacity() <= MAX_RETAINED_BUFFER_SIZE) {
+                buffer.reset();
+                BUFFERS.offer(buffer);
+            }
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] data, ClassLoader loader) throws Exception {
+        return getJavaEEIOUtils().deserializeObject(data, true, loader);
+    }
+
+    /**
+     * @return the total capacity of the pooled buffers
+     */
+    static long getRetainedBufferSize() {
+        long size = 0;
+        for (Buffer buffer : BUFFERS) {
+            size += buffer.capacity();
+        }
+        return size;
+    }
+
+    private JavaEEIOUtils getJavaEEIOUtils() {
+        return ioUtils == null ? EjbContainerUtilImpl.getInstance().getJavaEEIOUtils() : ioUtils;
+    }
+
+    private static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+
+        @Override
+        public void close() {
+            // the buffer is returned to the pool by serialize
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.logging.LogDomains;
+
+/**
+ * Keeps the local tasks of remote async invocations with a Future result
+ * until the client fetches the result.
+ * <p>
+ * A result that the client did not fetch within the result TTL after its
+ * completion is dropped by {@link #purge}. When the store holds more than
+ * its maximum number of tasks, the oldest completed results are dropped as
+ * well. Tasks that are not done yet are never dropped, the client would
+ * not be able to tell a lost invocation from a running one.
+ *
+ * @see EjbAsyncInvocationManager
+ */
+final class RemoteAsyncResultStore {
+
+    private static final Logger _logger = LogDomains.getLogger(RemoteAsyncResultStore.class, LogDomains.EJB_LOGGER);
+
+    private final ConcurrentHashMap<Long, EjbFutureTask> tasks = new ConcurrentHashMap<>();
+
+    // 0 disables the expiry
+    private final long resultTtlMillis;
+
+    // 0 disables the size bound
+    private final int maxResults;
+
+    // Size above which put() purges the store. It grows while the store is
+    // filled with running tasks, so a put does not scan the whole store
+    // each time.
+    private volatile int purgeThreshold;
+
+    private final AtomicBoolean purging = new AtomicBoolean();
+
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+
+    RemoteAsyncResultStore(long resultTtlMillis, int maxResults) {
+        this.resultTtlMillis = Math.max(0L, resultTtlMillis);
+        this.maxResults = Math.max(0, maxResults);
+        this.purgeThreshold = this.maxResults;
+    }
+
+    void put(Long asyncTaskID, EjbFutureTask task) {
+        tasks.put(asyncTaskID, task);
+        if (maxResults > 0 && tasks.size() > purgeThreshold) {
+            purge(System.currentTimeMillis());
+        }
+    }
+
+    EjbFutureTask get(Long asyncTaskID) {
+        return tasks.get(asyncTaskID);
+    }
+
+    void remove(Long asyncTaskID) {
+        tasks.remove(asyncTaskID);
+    }
+
+    Set<Map.Entry<Long, EjbFutureTask>> entrySet() {
+        return tasks.entrySet();
+    }
+
+    /**
+     * Drops the expired results and, if the store is above its maximum
+     * size, the oldest completed ones. Does nothing if another thread is
+     * purging already.
+     */
+    void purge(long now) {
+        if (!purging.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<EjbFutureTask> unclaimed = new ArrayList<>();
+            int expired = 0;
+            for (Iterator<EjbFutureTask> iter = tasks.values().iterator(); iter.hasNext();) {
+                EjbFutureTask task = iter.next();
+                if (!task.isDone()) {
+                    continue;
+                }
+                if (resultTtlMillis > 0 && now - task.getCompletionTime() >= resultTtlMillis) {
+                    iter.remove();
+                    expired++;
+                } else {
+                    unclaimed.add(task);
+                }
+            }
+            expiredCount.add(expired);
+
+            int evicted = 0;
+            int excess = maxResults > 0 ? tasks.size() - maxResults : 0;
+            if (excess > 0 && !unclaimed.isEmpty()) {
+                unclaimed.sort(Comparator.comparingLong(EjbFutureTask::getCompletionTime));
+                for (EjbFutureTask task : unclaimed) {
+                    if (evicted >= excess) {
+                        break;
+                    }
+                    if (tasks.remove(task.getInvId(), task)) {
+                        evicted++;
+                    }
+                }
+                evictedCount.add(evicted);
+                if (evicted > 0) {
+                    _logger.log(Level.WARNING, "Dropped " + evicted + " unclaimed remote async results, "
+                        + "more than " + maxResults + " results were waiting for their clients");
+                }
+            }
+            purgeThreshold = Math.max(maxResults, tasks.size() + maxResults / 8);
+
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.log(Level.FINE, "Purged remote async results: expired=" + expired
+                    + "; evicted=" + evicted + "; remaining=" + tasks.size());
+            }
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    int size() {
+        return tasks.size();
+    }
+
+    int getUnclaimedCount() {
+        int count = 0;
+        for (EjbFutureTask task : tasks.values()) {
+            if (task.isDone()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    long getResultTtlMillis() {
+        return resultTtlMillis;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -36,6 +37,7 @@ import com.sun.ejb.containers.util.cache.FIFOSessionCache;
 import com.sun.ejb.containers.util.cache.LruSessionCache;
 import com.sun.ejb.containers.util.cache.NRUSessionCache;
 import com.sun.ejb.containers.util.cache.UnBoundedSessionCache;
+import com.sun.ejb.spi.container.SFSBSerializer;
 import com.sun.enterprise.config.serverbeans.AvailabilityService;
 import com.sun.enterprise.config.serverbeans.Config;
 import com.sun.enterprise.security.SecurityManager;
@@ -243,6 +245,7 @@ public class StatefulContainerFactory extends BaseContainerFactory
             }
         }
 
+        buildPassivationPipeline();
         buildCache();
         scheduleTimerTasks(sfsbContainer);
     }
@@ -348,6 +351,45 @@ public class StatefulContainerFactory extends BaseContainerFactory
         _logger.log(Level.INFO, SFSB_BUILDER_INSTANTIATED_BACKING_STORE, new Object[]{backingStore, HAEnabled, conf});
     }
 
+    private void buildPassivationPipeline() {
+        String serializerName = ejbDescriptor.getEjbBundleDescriptor()
+                .getEnterpriseBeansProperty(StatefulSessionContainer.SFSB_SERIALIZER_PROP);
+        if (serializerName != null && !serializerName.isEmpty()) {
+            SFSBSerializer serializer = services.getService(SFSBSerializer.class, serializerName);
+            if (serializer == null) {
+                _logger.log(Level.WARNING, "SFSBSerializer [{0}] not found for {1}, using Java serialization",
+                        new Object[]{serializerName, ejbDescriptor.getName()});
+            } else {
+                sfsbContainer.setSFSBSerializer(serializer);
+            }
+        }
+
+        String maxTasks = ejbDescriptor.getEjbBundleDescriptor()
+                .getEnterpriseBeansProperty(StatefulSessionContainer.MAX_PASSIVATION_TASKS_PROP);
+        if (maxTasks != null) {
+            try {
+                sfsbContainer.setMaxPassivationTaskCount(Integer.parseInt(maxTasks.trim()));
+            } catch (NumberFormatException nfe) {
+                _logger.log(Level.WARNING, "Invalid value [{0}] for {1} of {2}",
+                        new Object[]{maxTasks, StatefulSessionContainer.MAX_PASSIVATION_TASKS_PROP, ejbDescriptor.getName()});
+            }
+        }
+    }
+
+    private long getActivationPrefetchSize() {
+        String size = ejbDescriptor.getEjbBundleDescriptor()
+                .getEnterpriseBeansProperty(StatefulSessionContainer.ACTIVATION_PREFETCH_SIZE_PROP);
+        if (size != null) {
+            try {
+                return Long.parseLong(size.trim());
+            } catch (NumberFormatException nfe) {
+                _logger.log(Level.WARNING, "Invalid value [{0}] for {1} of {2}",
+                        new Object[]{size, StatefulSessionContainer.ACTIVATION_PREFETCH_SIZE_PROP, ejbDescriptor.getName()});
+            }
+        }
+        return StatefulSessionContainer.DEFAULT_ACTIVATION_PREFETCH_SIZE;
+    }
+
     private void buildCache() {
         String cacheName = ejbDescriptor.getEjbClassName();
         String victimPolicy = cacheProps.getVictimSelectionPolicy();
@@ -388,6 +430,10 @@ public class StatefulContainerFactory extends BaseContainerFactory
 
         sfsbContainer.setSessionCache(sessionCache);
         sessionCache.setBackingStore(backingStore);
+        // other instances update the replicated states
+        if (!HAEnabled) {
+            sessionCache.setMaxPrefetchedSize(getActivationPrefetchSize());
+        }
         sfsbContainer.setBackingStore(this.backingStore);
         if (cacheProps.getNumberOfVictimsToSelect() >
                 sfsbContainer.MIN_PASSIVATION_BATCH_COUNT) {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -34,6 +34,7 @@ import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
 import com.sun.ejb.monitoring.stats.EjbMonitoringUtils;
 import com.sun.ejb.monitoring.stats.StatefulSessionBeanStatsProvider;
 import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.SFSBSerializer;
 import com.sun.ejb.spi.container.StatefulEJBContext;
 import com.sun.ejb.spi.sfsb.util.SFSBUUIDUtil;
 import com.sun.ejb.spi.sfsb.util.SFSBVersionManager;
@@ -96,6 +97,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -270,20 +273,36 @@ public final class StatefulSessionContainer
     // We do not want too many ORB task for passivation
     public static final int MIN_PASSIVATION_BATCH_COUNT = 8;
 
+    // glassfish-ejb-jar enterprise-beans properties of the passivation pipeline
+    static final String SFSB_SERIALIZER_PROP = "sfsb-serializer";
+    static final String MAX_PASSIVATION_TASKS_PROP = "max-passivation-tasks";
+    static final String ACTIVATION_PREFETCH_SIZE_PROP = "activation-prefetch-size";
+
+    // Default total size of the passivated states kept for the activation
+    static final long DEFAULT_ACTIVATION_PREFETCH_SIZE = 1024 * 1024;
+
     private final static long CONCURRENCY_NOT_ALLOWED = 0;
     private final static long BLOCK_INDEFINITELY = -1;
 
-    private final ArrayList passivationCandidates = new ArrayList();
-    private final Object asyncTaskSemaphore = new Object();
-
+    // Trimmed beans waiting for an ASyncPassivator, the most recent ones are
+    // passivated first. Those accessed again while queued are skipped, they
+    // stay active without a PrePassivate/PostActivate round trip.
+    private final ConcurrentLinkedDeque<ComponentContext> passivationCandidates = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger passivationQueueSize = new AtomicInteger();
 
-    private int asyncTaskCount = 0;
-    private int asyncCummTaskCount = 0;
+    private final AtomicInteger asyncTaskCount = new AtomicInteger();
+    private final AtomicInteger asyncCummTaskCount = new AtomicInteger();
 
     private int passivationBatchCount
             = MIN_PASSIVATION_BATCH_COUNT;
 
-    private int containerTrimCount = 0;
+    // Upper bound of the ASyncPassivator tasks of this container, so that a
+    // mass passivation does not occupy the whole ejb thread pool
+    private int maxPassivationTaskCount = Runtime.getRuntime().availableProcessors();
+
+    private final AtomicInteger containerTrimCount = new AtomicInteger();
+
+    private SFSBSerializer sfsbSerializer = JavaSFSBSerializer.DEFAULT;
 
     private LruSessionCache sessionBeanCache;
     private BackingStore<Serializable, SimpleMetadata> backingStore;
@@ -515,11 +534,12 @@ public final class StatefulSessionContainer
 
     public String getMonitorAttributeValues() {
         StringBuilder sbuf = new StringBuilder();
-        sbuf.append(" { asyncTaskCount=").append(asyncTaskCount)
-            .append("; asyncCummTaskCount=").append(asyncCummTaskCount)
+        sbuf.append(" { asyncTaskCount=").append(asyncTaskCount.get())
+            .append("; asyncCummTaskCount=").append(asyncCummTaskCount.get())
             .append("; passivationBatchCount=").append(passivationBatchCount)
-            .append("; passivationQSz=").append(passivationCandidates.size())
-            .append("; trimEventCount=").append(containerTrimCount)
+            .append("; maxPassivationTaskCount=").append(maxPassivationTaskCount)
+            .append("; passivationQSz=").append(passivationQueueSize.get())
+            .append("; trimEventCount=").append(containerTrimCount.get())
             .append(" }");
         return sbuf.toString();
     }
@@ -2203,6 +2223,16 @@ public final class StatefulSessionContainer
     }
 
 
+    public void setMaxPassivationTaskCount(int count) {
+        this.maxPassivationTaskCount = Math.max(1, count);
+    }
+
+
+    public void setSFSBSerializer(SFSBSerializer serializer) {
+        this.sfsbSerializer = serializer;
+    }
+
+
     // called asynchronously from the Recycler
     @Override
     public boolean passivateEJB(StatefulEJBContext sfsbCtx) {
@@ -2383,7 +2413,7 @@ public final class StatefulSessionContainer
 
     @Override
     public Object deserializeData(byte[] data) throws Exception {
-        Object object = ejbContainerUtilImpl.getJavaEEIOUtils().deserializeObject(data, true, getClassLoader());
+        Object object = sfsbSerializer.deserialize(data, getClassLoader());
         if (object instanceof SessionContextImpl) {
             SessionContextImpl ctx = (SessionContextImpl) object;
             Object ejb = ctx.getEJB();
@@ -2416,7 +2446,7 @@ public final class StatefulSessionContainer
             ctx.setEJB(null);
             ctx.setEJB(new SerializableEJB(ejb));
         }
-        return ejbContainerUtilImpl.getJavaEEIOUtils().serializeObject(ctx, true);
+        return sfsbSerializer.serialize(ctx);
     }
 
 
@@ -2612,16 +2642,8 @@ public final class StatefulSessionContainer
                 _logger.log(Level.INFO, SFSB_NOT_RESTORED_AFTER_RESTART);
             }
             sessionBeanCache.shutdown();
-            while (true) {
-                ComponentContext ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                    } else {
-                        break;
-                    }
-                }
+            ComponentContext ctx;
+            while ((ctx = pollPassivationCandidate()) != null) {
                 passivateEJB(ctx);
             }
 
@@ -2657,17 +2679,9 @@ public final class StatefulSessionContainer
                 invokePreDestroyAndUndeploy(ctx);
             }
 
-            while (true) {
-                SessionContextImpl ctx = null;
-                synchronized (asyncTaskSemaphore) {
-                    int sz = passivationCandidates.size();
-                    if (sz > 0) {
-                        ctx = (SessionContextImpl) passivationCandidates.remove(sz - 1);
-                        invokePreDestroyAndUndeploy(ctx);
-                    } else {
-                        break;
-                    }
-                }
+            ComponentContext ctx;
+            while ((ctx = pollPassivationCandidate()) != null) {
+                invokePreDestroyAndUndeploy((SessionContextImpl) ctx);
             }
 
             sessionBeanCache.destroy();
@@ -2809,39 +2823,49 @@ public final class StatefulSessionContainer
     // CacheListener interface
     @Override
     public void trimEvent(Object primaryKey, Object context) {
-        boolean addTask = false;
-        synchronized (asyncTaskSemaphore) {
-            containerTrimCount++;
-            passivationCandidates.add(context);
-            int requiredTaskCount = (passivationCandidates.size() / passivationBatchCount);
-            addTask = (asyncTaskCount < requiredTaskCount);
+        containerTrimCount.incrementAndGet();
+        passivationCandidates.addLast((ComponentContext) context);
+        int queueSize = passivationQueueSize.incrementAndGet();
+        int requiredTaskCount = Math.min(queueSize / passivationBatchCount, maxPassivationTaskCount);
+
+        boolean addTask;
+        int taskCount;
+        do {
+            taskCount = asyncTaskCount.get();
+            addTask = taskCount < requiredTaskCount;
+        } while (addTask && !asyncTaskCount.compareAndSet(taskCount, taskCount + 1));
 
-            if (_logger.isLoggable(Level.FINE)) {
-                _logger.log(Level.FINE,
-                    "qSize: " + passivationCandidates.size() + "; batchCount: " + passivationBatchCount
-                        + "; asyncTaskCount: " + asyncTaskCount + "; requiredTaskCount: " + requiredTaskCount
-                        + "; ADDED TASK ==> " + addTask);
-            }
+        if (_logger.isLoggable(Level.FINE)) {
+            _logger.log(Level.FINE,
+                "qSize: " + queueSize + "; batchCount: " + passivationBatchCount
+                    + "; asyncTaskCount: " + taskCount + "; requiredTaskCount: " + requiredTaskCount
+                    + "; ADDED TASK ==> " + addTask);
+        }
 
-            if (addTask == false) {
-                return;
-            }
-            asyncTaskCount++;
-            asyncCummTaskCount++;
+        if (!addTask) {
+            return;
         }
+        asyncCummTaskCount.incrementAndGet();
 
         try {
             ASyncPassivator work = new ASyncPassivator();
             ejbContainerUtilImpl.addWork(work);
         } catch (Exception ex) {
-            synchronized (asyncTaskSemaphore) {
-                asyncTaskCount--;
-            }
+            asyncTaskCount.decrementAndGet();
             _logger.log(Level.WARNING, ADD_CLEANUP_TASK_ERROR, ex);
         }
 
     }
 
+
+    private ComponentContext pollPassivationCandidate() {
+        ComponentContext ctx = passivationCandidates.pollLast();
+        if (ctx != null) {
+            passivationQueueSize.decrementAndGet();
+        }
+        return ctx;
+    }
+
     public void setSFSBUUIDUtil(SFSBUUIDUtil util) {
         this.uuidGenerator = util;
     }
@@ -3202,7 +3226,6 @@ public final class StatefulSessionContainer
             final ClassLoader previousClassLoader = currentThread.getContextClassLoader();
             final ClassLoader myClassLoader = loader;
 
-            boolean decrementedTaskCount = false;
             try {
                 // We need to set the context class loader for
                 // this (deamon) thread!!
@@ -3215,28 +3238,18 @@ public final class StatefulSessionContainer
                     };
                     AccessController.doPrivileged(action);
                 }
-                ComponentContext ctx = null;
-
-                do {
-                    synchronized (asyncTaskSemaphore) {
-                        int sz = passivationCandidates.size();
-                        if (sz > 0) {
-                            ctx = (ComponentContext) passivationCandidates.remove(sz - 1);
-                        } else {
-                            return;
-                        }
+                ComponentContext ctx;
+                while ((ctx = pollPassivationCandidate()) != null) {
+                    SessionContextImpl sc = (SessionContextImpl) ctx;
+                    if (sessionBeanCache.isPassivationCandidate(sc, (Serializable) sc.getInstanceKey())) {
+                        passivateEJB(ctx);
                     }
-                    passivateEJB(ctx);
-                } while (true);
+                }
 
             } catch (Throwable th) {
                 th.printStackTrace();
             } finally {
-                if (!decrementedTaskCount) {
-                    synchronized (asyncTaskSemaphore) {
-                        asyncTaskCount--;
-                    }
-                }
+                asyncTaskCount.decrementAndGet();
 
                 if (System.getSecurityManager() == null) {
                     currentThread.setContextClassLoader(previousClassLoader);
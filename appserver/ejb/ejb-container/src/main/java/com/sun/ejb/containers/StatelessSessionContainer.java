@@ -1,5 +1,5 @@
 /*
- * Copyright 2021, 2022 Contributors to the Eclipse Foundation
+ * Copyright 2021, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -37,6 +37,7 @@ import org.glassfish.ejb.deployment.descriptor.runtime.IASEjbExtraDescriptors;
 import com.sun.ejb.ComponentContext;
 import com.sun.ejb.EjbInvocation;
 import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.ConcurrentPool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
@@ -207,6 +208,13 @@ public class StatelessSessionContainer extends BaseContainer {
 
         poolProp = new PoolProperties(ejbContainer, beanPoolDes);
         String val = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP);
+        String concurrent = ejbDescriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(CONCURRENT_BEAN_POOL_PROP);
+        if (Boolean.parseBoolean(concurrent) && !Boolean.parseBoolean(val)) {
+            pool = new ConcurrentPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
+                poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
+                poolProp.poolIdleTimeoutInSeconds, loader);
+            return;
+        }
         pool = new NonBlockingPool(getContainerId(), ejbDescriptor.getName(), sessionCtxFactory,
             poolProp.steadyPoolSize, poolProp.poolResizeQuantity, poolProp.maxPoolSize,
             poolProp.poolIdleTimeoutInSeconds, loader, Boolean.parseBoolean(val));
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 2008, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +17,7 @@
 
 package com.sun.ejb.containers.interceptors;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
 /**
@@ -28,9 +29,13 @@ class CallbackChainImpl {
     protected int size;
     private Method method = null;
 
+    /** The callback methods bound to their instances, see {@link CallbackInterceptor#bind()}. */
+    private MethodHandle[] handles;
+
     CallbackChainImpl(CallbackInterceptor[] interceptors) {
         this.interceptors = interceptors;
         this.size = (interceptors == null) ? 0 : interceptors.length;
+        this.handles = bind(interceptors, size);
 
         // set invocation method if there is one on the bean class
         if (size > 0 && interceptors[size - 1].isBeanCallback()) {
@@ -42,7 +47,11 @@ class CallbackChainImpl {
         invContext.method = method;
         Object result = null;
         if (index < size) {
-            result = interceptors[index].intercept(invContext);
+            if (System.getSecurityManager() == null) {
+                result = (Object) handles[index].invokeExact(invContext);
+            } else {
+                result = interceptors[index].intercept(invContext);
+            }
         } else {
             invContext.invokeSpecial();
         }
@@ -75,5 +84,14 @@ class CallbackChainImpl {
         }
 
         interceptors = newArray;
+        handles = bind(interceptors, size);
+    }
+
+    private static MethodHandle[] bind(CallbackInterceptor[] interceptors, int size) {
+        MethodHandle[] handles = new MethodHandle[size];
+        for (int i = 0; i < size; i++) {
+            handles[i] = interceptors[i].bind();
+        }
+        return handles;
     }
 }
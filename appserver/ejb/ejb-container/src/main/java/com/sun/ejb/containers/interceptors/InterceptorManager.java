@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -27,11 +27,12 @@ import com.sun.enterprise.deployment.LifecycleCallbackDescriptor.CallbackType;
 import com.sun.enterprise.deployment.MethodDescriptor;
 
 import jakarta.annotation.PostConstruct;
-import jakarta.ejb.EJBException;
 import jakarta.interceptor.InvocationContext;
 
 import java.io.Serializable;
-import java.lang.reflect.InaccessibleObjectException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -40,6 +41,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -88,6 +90,9 @@ public class InterceptorManager {
 
     private CallbackChainImpl[] callbackChain;
 
+    // Around invoke chains of the methods of a non-ejb, built on first invocation
+    private final Map<Method, InterceptorManager.InterceptorChain> aroundInvokeChains = new ConcurrentHashMap<>();
+
     // Optionally specified delegate to be set on SystemInterceptorProxy
     private Object runtimeInterceptor;
 
@@ -174,6 +179,14 @@ public class InterceptorManager {
     }
 
     public InterceptorManager.InterceptorChain getAroundInvokeChain(MethodDescriptor mDesc, Method beanMethod) {
+        if (ejbDesc == null) {
+            // Non-ejb proxies ask for the chain on every invocation
+            return aroundInvokeChains.computeIfAbsent(beanMethod, method -> buildAroundInvokeChain(null, method));
+        }
+        return buildAroundInvokeChain(mDesc, beanMethod);
+    }
+
+    private InterceptorManager.InterceptorChain buildAroundInvokeChain(MethodDescriptor mDesc, Method beanMethod) {
         List<AroundInvokeInterceptor> interceptors = new ArrayList<>();
 
         for (InterceptorDescriptor interceptor : frameworkInterceptors) {
@@ -695,15 +708,28 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
     protected AroundInvokeInterceptor[] interceptors;
     protected int size;
 
+    /** The interceptor methods bound to their instances, created once per chain, see {@link AroundInvokeInterceptor#bind()}. */
+    private final MethodHandle[] handles;
+
     protected AroundInvokeChainImpl(AroundInvokeInterceptor[] interceptors) {
 
         this.interceptors = interceptors;
         this.size = (interceptors == null) ? 0 : interceptors.length;
+        this.handles = new MethodHandle[size];
+        for (int i = 0; i < size; i++) {
+            handles[i] = interceptors[i].bind();
+        }
     }
 
     @Override
     public Object invokeNext(int index, InterceptorManager.AroundInvokeContext inv) throws Throwable {
-        return (index < size) ? interceptors[index].intercept(inv) : inv.invokeBeanMethod();
+        if (index >= size) {
+            return inv.invokeBeanMethod();
+        }
+        if (System.getSecurityManager() == null) {
+            return (Object) handles[index].invokeExact(inv);
+        }
+        return interceptors[index].intercept(inv);
     }
 
     @Override
@@ -718,56 +744,56 @@ class AroundInvokeChainImpl implements InterceptorManager.InterceptorChain {
 }
 
 class AroundInvokeInterceptor {
+    private static final MethodType AROUND_INVOKE_TYPE = MethodType.methodType(Object.class, Object.class, InvocationContext.class);
+    private static final MethodHandle GET_INTERCEPTOR_INSTANCES = InterceptorUtil.findVirtual(
+        InterceptorManager.AroundInvokeContext.class, "getInterceptorInstances", MethodType.methodType(Object[].class));
+
     protected int index;
     protected Method method;
 
+    /**
+     * Compared to Method.invoke, the handle saves the argument array, the access check and the wrapping of exceptions
+     * in InvocationTargetException. Neither this handle nor the one bound by {@link #bind()} is a JIT constant, the
+     * chain keeps them in arrays, so invokeExact stays an indirect call and the interceptor method is not inlined.
+     */
+    protected final MethodHandle methodHandle;
+
     AroundInvokeInterceptor(int index, Method method) {
         this.index = index;
         this.method = method;
+        this.methodHandle = InterceptorUtil.unreflect(method, AROUND_INVOKE_TYPE);
+    }
 
-        try {
-            final Method finalM = method;
-            if (System.getSecurityManager() == null) {
-                if (!finalM.trySetAccessible()) {
-                    throw new InaccessibleObjectException("Unable to make accessible: "+ finalM);
-                }
-            } else {
-                java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        if (!finalM.trySetAccessible()) {
-                            throw new InaccessibleObjectException("Unable to make accessible: " + finalM);
-                        }
-                        return null;
-                    }
-                });
-            }
-        } catch (Exception e) {
-            throw new EJBException(e);
-        }
+    /**
+     * @return the interceptor method bound to the lookup of its instance, of type (AroundInvokeContext)Object
+     */
+    MethodHandle bind() {
+        return InterceptorUtil.bindToContext(methodHandle, getInstance(), InterceptorManager.AroundInvokeContext.class);
+    }
 
+    /**
+     * @return method handle of type (AroundInvokeContext)Object returning the interceptor instance
+     */
+    MethodHandle getInstance() {
+        return InterceptorUtil.interceptorInstance(index, GET_INTERCEPTOR_INSTANCES);
     }
 
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
-        try {
-            final Object[] interceptors = invCtx.getInterceptorInstances();
-
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        return method.invoke(interceptors[index], invCtx);
-                    }
-                });
-            } else {
+        final Object[] interceptors = invCtx.getInterceptorInstances();
 
-                return method.invoke(interceptors[index], invCtx);
+        if (System.getSecurityManager() == null) {
+            return methodHandle.invokeExact(interceptors[index], (InvocationContext) invCtx);
+        }
 
-            }
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
+        try {
+            // Wrap actual value insertion in doPrivileged to
+            // allow for private/protected field access.
+            return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
+                @Override
+                public java.lang.Object run() throws Exception {
+                    return method.invoke(interceptors[index], invCtx);
+                }
+            });
         } catch (java.security.PrivilegedActionException paEx) {
             Throwable th = paEx.getCause();
             if (th.getCause() != null) {
@@ -785,30 +811,33 @@ class AroundInvokeInterceptor {
 }
 
 class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
-    private static final Object[] NULL_ARGS = null;
+    private static final MethodHandle GET_TARGET = InterceptorUtil.findVirtual(
+        InterceptorManager.AroundInvokeContext.class, "getTarget", MethodType.methodType(Object.class));
 
     BeanAroundInvokeInterceptor(Method method) {
         super(-1, method);
     }
 
+    @Override
+    MethodHandle getInstance() {
+        return GET_TARGET;
+    }
+
     @Override
     Object intercept(final InterceptorManager.AroundInvokeContext invCtx) throws Throwable {
-        try {
+        if (System.getSecurityManager() == null) {
+            return methodHandle.invokeExact(invCtx.getTarget(), (InvocationContext) invCtx);
+        }
 
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        return method.invoke(invCtx.getTarget(), invCtx);
-                    }
-                });
-            } else {
-                return method.invoke(invCtx.getTarget(), invCtx);
-            }
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
+        try {
+            // Wrap actual value insertion in doPrivileged to
+            // allow for private/protected field access.
+            return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
+                @Override
+                public java.lang.Object run() throws Exception {
+                    return method.invoke(invCtx.getTarget(), invCtx);
+                }
+            });
         } catch (java.security.PrivilegedActionException paEx) {
             Throwable th = paEx.getCause();
             if (th.getCause() != null) {
@@ -820,56 +849,50 @@ class BeanAroundInvokeInterceptor extends AroundInvokeInterceptor {
 }
 
 class CallbackInterceptor {
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(Object.class, Object.class, InvocationContext.class);
+    private static final MethodHandle GET_INTERCEPTOR_INSTANCES = InterceptorUtil.findVirtual(
+        CallbackInvocationContext.class, "getInterceptorInstances", MethodType.methodType(Object[].class));
+
     protected int index;
     protected Method method;
 
+    /** Not a JIT constant either, see {@link AroundInvokeInterceptor#methodHandle}. */
+    protected final MethodHandle methodHandle;
+
     CallbackInterceptor(int index, Method method) {
+        this(index, method, CALLBACK_TYPE);
+    }
+
+    CallbackInterceptor(int index, Method method, MethodType type) {
         this.index = index;
         this.method = method;
+        this.methodHandle = InterceptorUtil.unreflect(method, type);
+    }
 
-        try {
-            final Method finalM = method;
-            if (System.getSecurityManager() == null) {
-                if (!finalM.trySetAccessible()) {
-                    throw new InaccessibleObjectException("Unable to make accessible: " + finalM);
-                }
-            } else {
-                java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        if (!finalM.trySetAccessible()) {
-                            throw new InaccessibleObjectException("Unable to make accessible: " + finalM);
-                        }
-                        return null;
-                    }
-                });
-            }
-        } catch (Exception e) {
-            throw new EJBException(e);
-        }
-
+    /**
+     * @return the callback method bound to the lookup of its instance, of type (CallbackInvocationContext)Object
+     */
+    MethodHandle bind() {
+        return InterceptorUtil.bindToContext(methodHandle, InterceptorUtil.interceptorInstance(index, GET_INTERCEPTOR_INSTANCES),
+            CallbackInvocationContext.class);
     }
 
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
-        try {
-
-            final Object[] interceptors = invContext.getInterceptorInstances();
+        final Object[] interceptors = invContext.getInterceptorInstances();
 
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
-                        return method.invoke(interceptors[index], invContext);
-                    }
-                });
-            } else {
-                return method.invoke(interceptors[index], invContext);
+        if (System.getSecurityManager() == null) {
+            return methodHandle.invokeExact(interceptors[index], (InvocationContext) invContext);
+        }
 
-            }
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
+        try {
+            // Wrap actual value insertion in doPrivileged to
+            // allow for private/protected field access.
+            return java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
+                @Override
+                public java.lang.Object run() throws Exception {
+                    return method.invoke(interceptors[index], invContext);
+                }
+            });
         } catch (java.security.PrivilegedActionException paEx) {
             Throwable th = paEx.getCause();
             if (th.getCause() != null) {
@@ -891,35 +914,46 @@ class CallbackInterceptor {
 
 class BeanCallbackInterceptor extends CallbackInterceptor {
     private static final Object[] NULL_ARGS = null;
+    private static final MethodType BEAN_CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodHandle GET_TARGET = InterceptorUtil.findVirtual(
+        CallbackInvocationContext.class, "getTarget", MethodType.methodType(Object.class));
+    private static final MethodHandle PROCEED = InterceptorUtil.findVirtual(
+        CallbackInvocationContext.class, "proceed", MethodType.methodType(Object.class));
 
     BeanCallbackInterceptor(Method method) {
-        super(-1, method);
+        super(-1, method, BEAN_CALLBACK_TYPE);
+    }
+
+    /**
+     * @return the callback method of the bean followed by the rest of the chain, of type (CallbackInvocationContext)Object
+     */
+    @Override
+    MethodHandle bind() {
+        return MethodHandles.foldArguments(PROCEED, MethodHandles.filterArguments(methodHandle, 0, GET_TARGET));
     }
 
     @Override
     Object intercept(final CallbackInvocationContext invContext) throws Throwable {
-        try {
+        if (System.getSecurityManager() == null) {
+            methodHandle.invokeExact(invContext.getTarget());
+            return invContext.proceed();
+        }
 
-            if (System.getSecurityManager() != null) {
-                // Wrap actual value insertion in doPrivileged to
-                // allow for private/protected field access.
-                java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
-                    @Override
-                    public java.lang.Object run() throws Exception {
+        try {
+            // Wrap actual value insertion in doPrivileged to
+            // allow for private/protected field access.
+            java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
+                @Override
+                public java.lang.Object run() throws Exception {
 
-                        method.invoke(invContext.getTarget(), NULL_ARGS);
-                        return null;
+                    method.invoke(invContext.getTarget(), NULL_ARGS);
+                    return null;
 
-                    }
-                });
-            } else {
-                method.invoke(invContext.getTarget(), NULL_ARGS);
-            }
+                }
+            });
 
             return invContext.proceed();
 
-        } catch (java.lang.reflect.InvocationTargetException invEx) {
-            throw invEx.getCause();
         } catch (java.security.PrivilegedActionException paEx) {
             Throwable th = paEx.getCause();
             if (th.getCause() != null) {
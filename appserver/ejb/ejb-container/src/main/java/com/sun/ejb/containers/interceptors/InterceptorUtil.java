@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +19,12 @@
  */
 package com.sun.ejb.containers.interceptors;
 
+import jakarta.ejb.EJBException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InaccessibleObjectException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -81,6 +87,75 @@ public class InterceptorUtil {
         compatiblePrimitiveWrapper.put(short.class, smallerPrimitiveWrappers);
     }
 
+    /**
+     * Makes an interceptor or callback method accessible and converts it to a method handle of the given type, so the
+     * interceptor chains invoke it without reflection. Exceptions thrown by the method handle are not wrapped.
+     *
+     * @param method the interceptor or callback method
+     * @param type the type of the returned method handle, the first parameter is the target instance
+     * @return the method handle
+     */
+    static MethodHandle unreflect(Method method, MethodType type) {
+        try {
+            final Method finalM = method;
+            if (System.getSecurityManager() == null) {
+                if (!finalM.trySetAccessible()) {
+                    throw new InaccessibleObjectException("Unable to make accessible: " + finalM);
+                }
+            } else {
+                java.security.AccessController.doPrivileged(new java.security.PrivilegedExceptionAction() {
+                    @Override
+                    public java.lang.Object run() throws Exception {
+                        if (!finalM.trySetAccessible()) {
+                            throw new InaccessibleObjectException("Unable to make accessible: " + finalM);
+                        }
+                        return null;
+                    }
+                });
+            }
+
+            return MethodHandles.lookup().unreflect(method).asType(type);
+        } catch (Exception e) {
+            throw new EJBException(e);
+        }
+    }
+
+    /**
+     * Binds a method handle taking the target instance and the invocation context to the lookup of the target instance
+     * in the context, so the interceptor chain only passes the context.
+     *
+     * @param method method handle of type (Object, InvocationContext)R
+     * @param instance method handle of type (C)Object returning the target instance of the method
+     * @param contextType type C of the invocation context
+     * @return the method handle of type (C)R
+     */
+    static MethodHandle bindToContext(MethodHandle method, MethodHandle instance, Class<?> contextType) {
+        MethodHandle handle = MethodHandles.filterArguments(method, 0, instance);
+        handle = handle.asType(handle.type().changeParameterType(1, contextType));
+        return MethodHandles.permuteArguments(handle, MethodType.methodType(handle.type().returnType(), contextType), 0, 0);
+    }
+
+    /**
+     * @param index index of the interceptor instance
+     * @param instances method handle of type (C)Object[] returning the interceptor instances of the context
+     * @return the method handle of type (C)Object returning the interceptor instance at the index
+     */
+    static MethodHandle interceptorInstance(int index, MethodHandle instances) {
+        return MethodHandles.filterReturnValue(instances,
+            MethodHandles.insertArguments(MethodHandles.arrayElementGetter(Object[].class), 1, index));
+    }
+
+    /**
+     * Finds a method of the interceptor chain API, which must exist.
+     */
+    static MethodHandle findVirtual(Class<?> type, String name, MethodType methodType) {
+        try {
+            return MethodHandles.lookup().findVirtual(type, name, methodType);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     public static boolean hasCompatiblePrimitiveWrapper(Class type, Class typeTo) {
         Set<Class> compatibles = compatiblePrimitiveWrapper.get(type);
         return compatibles.contains(typeTo);
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+
+import java.lang.reflect.Method;
+
+/**
+ * Dispatch table of the local proxies of a container, resolving the
+ * {@link Method} instances passed to their invocation handlers to an
+ * {@link InvocationInfo}.
+ * <p>
+ * A dynamic proxy class keeps one Method instance per interface method and
+ * passes it to every call, so after the first call of a method it is found
+ * by reference in a flat open addressing table, indexed by its identity
+ * hash code, without calling {@link Method#getName()} or
+ * {@link Method#equals(Object)}. Unknown Method instances are resolved
+ * through the {@link MethodMap} and added to a new copy of the table.
+ */
+public final class MethodDispatchTable {
+
+    // Upper bound of entries per method of the MethodMap. Callers passing
+    // their own Method instances (reflection on the proxy) would otherwise
+    // make the table grow forever.
+    private static final int MAX_ENTRIES_PER_METHOD = 4;
+
+    private final MethodMap methodMap;
+
+    private final int maxEntries;
+
+    private volatile Table table = new Table(16);
+
+    public MethodDispatchTable(MethodMap methodMap) {
+        this.methodMap = methodMap;
+        this.maxEntries = Math.max(16, methodMap.size() * MAX_ENTRIES_PER_METHOD);
+    }
+
+    /**
+     * @param m the method invoked on the proxy
+     * @param numParams number of parameters of the method, used for a
+     *        lookup in the MethodMap on the first call of the method
+     * @return the invocation info of the method, or null if the method is
+     *         not a method of the container
+     */
+    public InvocationInfo get(Method m, int numParams) {
+        Table current = table;
+        int mask = current.methods.length - 1;
+        for (int i = System.identityHashCode(m) & mask;; i = (i + 1) & mask) {
+            Method key = current.methods[i];
+            if (key == m) {
+                return current.infos[i];
+            }
+            if (key == null) {
+                break;
+            }
+        }
+
+        InvocationInfo info = methodMap.get(m, numParams);
+        if (info != null) {
+            add(m, info);
+        }
+        return info;
+    }
+
+    int size() {
+        return table.size;
+    }
+
+    private synchronized void add(Method m, InvocationInfo info) {
+        Table current = table;
+        if (current.size >= maxEntries || current.contains(m)) {
+            return;
+        }
+
+        int capacity = current.methods.length;
+        // keep the load factor at or below 0.5 so probe sequences stay short
+        while ((current.size + 1) * 2 > capacity) {
+            capacity *= 2;
+        }
+        Table copy = new Table(capacity);
+        for (int i = 0; i < current.methods.length; i++) {
+            if (current.methods[i] != null) {
+                copy.put(current.methods[i], current.infos[i]);
+            }
+        }
+        copy.put(m, info);
+        table = copy;
+    }
+
+    private static final class Table {
+        final Method[] methods;
+        final InvocationInfo[] infos;
+        int size;
+
+        Table(int capacity) {
+            methods = new Method[capacity];
+            infos = new InvocationInfo[capacity];
+        }
+
+        boolean contains(Method m) {
+            int mask = methods.length - 1;
+            for (int i = System.identityHashCode(m) & mask; methods[i] != null; i = (i + 1) & mask) {
+                if (methods[i] == m) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void put(Method m, InvocationInfo info) {
+            int mask = methods.length - 1;
+            int i = System.identityHashCode(m) & mask;
+            while (methods[i] != null) {
+                i = (i + 1) & mask;
+            }
+            methods[i] = m;
+            infos[i] = info;
+            size++;
+        }
+    }
+}
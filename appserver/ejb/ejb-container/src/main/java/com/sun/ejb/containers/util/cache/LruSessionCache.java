@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -25,6 +26,7 @@ import com.sun.ejb.spi.container.StatefulEJBContext;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.logging.Level;
 
 import org.glassfish.ha.store.api.BackingStore;
@@ -128,6 +130,13 @@ public class LruSessionCache
 
     protected int confMaxCacheSize = Integer.MAX_VALUE;
 
+    // States of the beans passivated while running, kept so that activating
+    // one of them again does not load it from the BackingStore, the oldest
+    // ones are dropped first. Guarded by itself.
+    private final LinkedHashMap<Object, SimpleMetadata> prefetchedStates = new LinkedHashMap<>();
+    private long prefetchedSize;
+    private volatile long maxPrefetchedSize;
+
     // TODO enable when enabling monitoring in SFSB container
     // private StatefulSessionStoreMonitor        sfsbStoreMonitor;
 
@@ -140,6 +149,7 @@ public class LruSessionCache
     public void destroy() {
         this.currentCacheState = STATE_DESTROYED;
         this.container = null;
+        clearPrefetchedStates();
 
         super.destroy();
     }
@@ -175,6 +185,35 @@ public class LruSessionCache
         // this.sfsbStoreMonitor = storeMonitor;
     }
 
+    /**
+     * Sets the total size of the passivated states kept in memory for the
+     * activation of the beans, 0 to load them all from the BackingStore.
+     * Must be 0 if other instances can update the BackingStore.
+     * @param size in bytes
+     */
+    public void setMaxPrefetchedSize(long size) {
+        this.maxPrefetchedSize = Math.max(0L, size);
+        if (size <= 0L) {
+            clearPrefetchedStates();
+        }
+    }
+
+    /**
+     * @return whether the bean is still trimmed, i.e. it was not accessed since
+     * it was selected for passivation
+     */
+    public boolean isPassivationCandidate(StatefulEJBContext ctx, Serializable sessionKey) {
+        int index = getIndex(hash(sessionKey));
+        synchronized (bucketLocks[index]) {
+            for (CacheItem item = buckets[index]; item != null; item = item.getNext()) {
+                if (item.getValue() == ctx) {
+                    return ((LruCacheItem) item).isTrimmed();
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * trim the item from the cache and notify listeners
      * @param item to be trimmed
@@ -350,6 +389,7 @@ public class LruSessionCache
     public Object remove(Object sessionKey, boolean removeFromStore) {
         int hashCode = hash(sessionKey);
         int index = getIndex(hashCode);
+        takePrefetchedState(sessionKey);
 
         CacheItem prev = null, item = null;
 
@@ -451,8 +491,12 @@ public class LruSessionCache
 
             // we don't do passivation when passivation is disabled, but we still need remove the trimmed
             // bean from cache
-            if (container.isPassivationCapable() && !saveStateToStore(sessionKey, ctx)) {
-                return false;
+            SimpleMetadata beanState = null;
+            if (container.isPassivationCapable()) {
+                beanState = saveStateToStore(sessionKey, ctx);
+                if (beanState == null) {
+                    return false;
+                }
             }
 
             synchronized (bucketLocks[index]) {
@@ -480,6 +524,9 @@ public class LruSessionCache
             if (item != null) {
                 decrementEntryCount();
                 incrementRemovalCount();
+                if (beanState != null && currentCacheState == STATE_RUNNING) {
+                    prefetchState(sessionKey, beanState);
+                }
             }
 
             return true;
@@ -497,8 +544,8 @@ public class LruSessionCache
 
         Object object = null;
         try {
-            SimpleMetadata beanState = null;
-            if (backingStore != null) {
+            SimpleMetadata beanState = takePrefetchedState(sessionKey);
+            if (beanState == null && backingStore != null) {
                 beanState = backingStore.load(sessionKey, null);
             }
             byte[] data = (beanState != null)
@@ -522,13 +569,16 @@ public class LruSessionCache
         return object;
     }
 
-    private boolean saveStateToStore(Serializable sessionKey, StatefulEJBContext ctx)
+    /**
+     * @return the state saved, or null if it was not saved
+     */
+    private SimpleMetadata saveStateToStore(Serializable sessionKey, StatefulEJBContext ctx)
     throws java.io.NotSerializableException, java.io.IOException
     {
         byte[] data = container.serializeContext(ctx);
 
         //If we are here then we were able to serialize the object successfully
-        boolean status = false;
+        SimpleMetadata status = null;
 
         if (data != null) {
             SimpleMetadata beanState = new SimpleMetadata(
@@ -542,7 +592,7 @@ public class LruSessionCache
                 if(backingStore != null) {
                     backingStore.save(sessionKey, beanState, !ctx.existsInStore());
                     // sfsbStoreMonitor.setPassivationSize(data.length);
-                    status = true;
+                    status = beanState;
                 }
             } catch (BackingStoreException sfsbEx) {
                 _logger.log(Level.WARNING, EXCEPTION_DURING_PASSIVATE_SAVE, new Object[]{cacheName, sessionKey, sfsbEx});
@@ -552,6 +602,67 @@ public class LruSessionCache
         return status;
     }
 
+    private void prefetchState(Object sessionKey, SimpleMetadata beanState) {
+        long maxSize = maxPrefetchedSize;
+        long size = beanState.getState().length;
+        // a single state may not take more than a quarter of the space
+        if (size > maxSize / 4) {
+            return;
+        }
+        synchronized (prefetchedStates) {
+            SimpleMetadata old = prefetchedStates.put(sessionKey, beanState);
+            if (old != null) {
+                prefetchedSize -= old.getState().length;
+            }
+            prefetchedSize += size;
+            Iterator<SimpleMetadata> iter = prefetchedStates.values().iterator();
+            while (prefetchedSize > maxSize && iter.hasNext()) {
+                prefetchedSize -= iter.next().getState().length;
+                iter.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the state kept when the bean was passivated, null if it was
+     * dropped or expired since
+     */
+    private SimpleMetadata takePrefetchedState(Object sessionKey) {
+        SimpleMetadata beanState;
+        synchronized (prefetchedStates) {
+            if (prefetchedStates.isEmpty()) {
+                return null;
+            }
+            beanState = prefetchedStates.remove(sessionKey);
+            if (beanState == null) {
+                return null;
+            }
+            prefetchedSize -= beanState.getState().length;
+        }
+        long maxIdle = beanState.getMaxInactiveInterval();
+        if (maxIdle > 0 && beanState.getLastAccessTime() + maxIdle <= System.currentTimeMillis()) {
+            // let the BackingStore decide whether it is still there
+            return null;
+        }
+        return beanState;
+    }
+
+    private void clearPrefetchedStates() {
+        synchronized (prefetchedStates) {
+            prefetchedStates.clear();
+            prefetchedSize = 0;
+        }
+    }
+
+    /**
+     * @return the total size of the passivated states kept in memory
+     */
+    public long getPrefetchedSize() {
+        synchronized (prefetchedStates) {
+            return prefetchedSize;
+        }
+    }
+
     private void trimSelectedVictims(ArrayList victims) {
         int sz = victims.size();
 
@@ -602,6 +713,7 @@ public class LruSessionCache
     }
 
     public void shutdown() {
+        clearPrefetchedStates();
         ArrayList<StatefulEJBContext> valueList = new ArrayList<StatefulEJBContext>();
 
         synchronized (this) {
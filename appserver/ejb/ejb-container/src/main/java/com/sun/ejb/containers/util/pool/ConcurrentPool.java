@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import static com.sun.enterprise.util.Utility.setContextClassLoader;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.ejb.containers.EJBContextImpl;
+import com.sun.ejb.containers.EjbContainerUtilImpl;
+
+/**
+ * <p>
+ * ConcurrentPool is a lock free alternative to the {@link NonBlockingPool}. Like the NonBlockingPool it never blocks
+ * a caller: if no object is available one is created using the ObjectFactory instance, and objects returned to a full
+ * pool are destroyed.
+ *
+ * <p>
+ * The available objects are kept in an array of slots. Each thread has a home slot, derived from its id, where it
+ * first looks for an object and where it puts back the object it used, so in the steady state a thread keeps reusing
+ * the same bean instance with a single compare-and-set on borrow and on return, and without allocating. Only when the
+ * home slot is empty or taken does a thread scan the other slots. Pools allowing more idle objects than the number of
+ * slots keep the extra objects in an overflow queue.
+ *
+ * <p>
+ * The pool is resized asynchronously, as the NonBlockingPool: idle objects above the steady pool size are evicted by a
+ * timer task and the pool is refilled up to the steady pool size when a caller finds it empty.
+ */
+public class ConcurrentPool extends AbstractPool {
+
+    // upper bound of the number of slots, the overflow queue holds the rest
+    private static final int MAX_SLOTS = 256;
+
+    private final AtomicReferenceArray<Object> slots;
+    private final ConcurrentLinkedQueue<Object> overflow = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger overflowSize = new AtomicInteger();
+    private final int maxOverflowSize;
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger destroyed = new AtomicInteger();
+    private final LongAdder borrowed = new LongAdder();
+
+    private final AtomicBoolean addedResizeTask = new AtomicBoolean();
+    private final AtomicBoolean addedIdleBeanWork = new AtomicBoolean();
+    private final AtomicBoolean inResizing = new AtomicBoolean();
+
+    private final boolean maintainSteadySize;
+    private TimerTask poolTimerTask;
+
+    // Set to true by close(). Prevents the async resize task from
+    // kicking in and returned objects from being pooled after close().
+    private volatile boolean poolClosed;
+
+    public ConcurrentPool(long beanId, String poolName, ObjectFactory factory, int steadyPoolSize, int resizeQuantity, int maxPoolSize,
+            int idleTimeoutInSeconds, ClassLoader loader) {
+        this.beanId = beanId;
+        this.poolName = poolName;
+        this.pooledObjectFactory = factory;
+        this.maxPoolSize = maxPoolSize <= 0 ? Integer.MAX_VALUE : maxPoolSize;
+        this.steadyPoolSize = Math.min(Math.max(steadyPoolSize, 0), this.maxPoolSize);
+        this.resizeQuantity = Math.max(resizeQuantity, 0);
+        this.idleTimeoutInSeconds = Math.max(idleTimeoutInSeconds, 0);
+        this.containerClassLoader = loader;
+        this.maintainSteadySize = this.steadyPoolSize > 0;
+
+        int slotCount = Math.min(Math.max(this.maxPoolSize, 1), Math.min(MAX_SLOTS, Runtime.getRuntime().availableProcessors() * 4));
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.maxOverflowSize = this.maxPoolSize - slotCount;
+
+        if (this.idleTimeoutInSeconds > 0 && this.resizeQuantity > 0) {
+            try {
+                this.poolTimerTask = new PoolResizeTimerTask();
+                EjbContainerUtilImpl.getInstance()
+                                    .getTimer()
+                                    .scheduleAtFixedRate(
+                                        poolTimerTask, this.idleTimeoutInSeconds * 1000L, this.idleTimeoutInSeconds * 1000L);
+
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added PoolResizeTimerTask...");
+            } catch (Throwable th) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Could not add" + " PoolTimerTask. Continuing anyway...", th);
+            }
+        }
+    }
+
+    @Override
+    public Object getObject(Object param) {
+        Object pooledObject = poll(homeSlot());
+        if (pooledObject != null) {
+            borrowed.increment();
+            return pooledObject;
+        }
+
+        poolProbeNotifier.ejbObjectAddedEvent(beanId, appName, modName, ejbName);
+        created.incrementAndGet();
+
+        if (maintainSteadySize && !poolClosed && addedResizeTask.compareAndSet(false, true)) {
+            addResizeTaskForImmediateExecution();
+        }
+
+        try {
+            return pooledObjectFactory.create(param);
+        } catch (RuntimeException th) {
+            poolProbeNotifier.ejbObjectAddFailedEvent(beanId, appName, modName, ejbName);
+            created.decrementAndGet();
+            throw th;
+        }
+    }
+
+    /**
+     * Return an object back to the pool. An object that is obtained through getObject() must always be returned back to the
+     * pool using either returnObject(obj) or through destroyObject(obj).
+     */
+    @Override
+    public void returnObject(Object object) {
+        if (!poolClosed && offer(homeSlot(), object)) {
+            return;
+        }
+
+        destroyObject(object);
+    }
+
+    /**
+     * Destroys an Object. Note that applications should not ignore the reference to the object that they got from
+     * getObject(). An object that is obtained through getObject() must always be returned back to the pool using either
+     * returnObject(obj) or through destroyObject(obj). This method tells that the object should be destroyed and cannot be
+     * reused.
+     */
+    @Override
+    public void destroyObject(Object object) {
+        poolProbeNotifier.ejbObjectDestroyedEvent(beanId, appName, modName, ejbName);
+        destroyed.incrementAndGet();
+
+        try {
+            pooledObjectFactory.destroy(object);
+        } catch (Exception ex) {
+            _logger.log(FINE, "exception in destroyObject", ex);
+        }
+    }
+
+    /**
+     * Prepopulate the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    public void prepopulate(int count) {
+        steadyPoolSize = Math.min(Math.max(count, 0), maxPoolSize);
+
+        if (steadyPoolSize > 0) {
+            preload(steadyPoolSize);
+        }
+    }
+
+    /**
+     * Preload the pool with objects.
+     *
+     * @param count the number of objects to be added.
+     */
+    @Override
+    protected void preload(int count) {
+        List<Object> pooledObjectNewInstances = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                pooledObjectNewInstances.add(pooledObjectFactory.create(null));
+            }
+        } catch (Exception ex) {
+            // Need not throw this exception up since we are pre-populating
+        }
+
+        created.addAndGet(pooledObjectNewInstances.size());
+
+        int home = homeSlot();
+        for (Object pooledObject : pooledObjectNewInstances) {
+            if (poolClosed || !offer(home, pooledObject)) {
+                // Destroys unnecessary instances
+                destroyObject(pooledObject);
+            }
+        }
+    }
+
+    /**
+     * Close the pool
+     */
+    @Override
+    public void close() {
+        poolClosed = true;
+
+        if (poolTimerTask != null) {
+            try {
+                poolTimerTask.cancel();
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Cancelled pool timer task " + " at: " + (new java.util.Date()));
+            } catch (Throwable th) {
+                // Can safely ignore this!!
+            }
+        }
+
+        List<Object> removeList = drain(Integer.MAX_VALUE);
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Destroying " + removeList.size() + " beans from the pool...");
+
+        // Since we're calling into EJB code, we need to set context class loader
+        ClassLoader origLoader = setContextClassLoader(containerClassLoader);
+        try {
+            for (Object pooledObject : removeList) {
+                try {
+                    destroyObject(pooledObject);
+                } catch (Throwable th) {
+                    _logger.log(WARNING, "[Pool-" + poolName + "]: Error while destroying", th);
+                }
+            }
+        } finally {
+            setContextClassLoader(origLoader);
+        }
+
+        _logger.log(FINE, "Pool-" + poolName + "]: Pool closed....");
+        unregisterProbeProvider();
+        this.poolTimerTask = null;
+    }
+
+    @Override
+    protected void remove(int count) {
+        for (Object pooledObject : drain(count)) {
+            try {
+                destroyObject(pooledObject);
+            } catch (Throwable th) {
+                _logger.log(FINE, "exception in remove", th);
+            }
+        }
+    }
+
+    @Override
+    protected void removeIdleObjects() {
+    }
+
+    protected void doResize() {
+        if (poolClosed || !inResizing.compareAndSet(false, true)) {
+            return;
+        }
+
+        // We need to set the context class loader for this (deamon) thread!!
+        ClassLoader previousClassLoader = setContextClassLoader(containerClassLoader);
+        try {
+            _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize started. steadyPoolSize ::" + steadyPoolSize
+                        + " resizeQuantity ::" + resizeQuantity + " maxPoolSize ::" + maxPoolSize);
+
+            int curSize = getSize();
+            if (curSize > steadyPoolSize) {
+
+                // possible to reduce pool size....
+                if ((idleTimeoutInSeconds <= 0) || (resizeQuantity <= 0)) {
+                    return;
+                }
+                int victimCount = (curSize > (steadyPoolSize + resizeQuantity)) ? resizeQuantity : (curSize - steadyPoolSize);
+                long allowedIdleTime = System.currentTimeMillis() - idleTimeoutInSeconds * 1000L;
+                _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize:: reducing " + " pool size by: " + victimCount);
+
+                for (Object pooledObject : removeIdle(victimCount, allowedIdleTime)) {
+                    try {
+                        destroyObject(pooledObject);
+                    } catch (Throwable th) {
+                        _logger.log(FINE, "exception in doResize", th);
+                    }
+                }
+            } else if (curSize < steadyPoolSize && maintainSteadySize) {
+
+                // Need to populate....
+                long populateCount = 0;
+                if (resizeQuantity <= 0) {
+                    populateCount = steadyPoolSize - curSize;
+                } else {
+                    while ((curSize + populateCount) < steadyPoolSize) {
+                        populateCount += resizeQuantity;
+                    }
+                    if ((curSize + populateCount) > maxPoolSize) {
+                        populateCount -= (curSize + populateCount) - maxPoolSize;
+                    }
+                }
+
+                if (populateCount > 0) {
+                    preload((int) populateCount);
+                }
+            }
+        } catch (Throwable th) {
+            _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", th);
+        } finally {
+            inResizing.set(false);
+            setContextClassLoader(previousClassLoader);
+        }
+
+        _logger.log(FINE, () -> "[Pool-" + poolName + "]: Resize completed; after reSize: " + getAllAttrValues());
+    }
+
+    private int homeSlot() {
+        return (int) (Thread.currentThread().getId() % slots.length());
+    }
+
+    /**
+     * Takes an available object, starting with the home slot of the caller.
+     *
+     * @return the object or null if the pool is empty
+     */
+    private Object poll(int home) {
+        int length = slots.length();
+        for (int i = 0, index = home; i < length; i++) {
+            Object pooledObject = slots.get(index);
+            if (pooledObject != null && slots.compareAndSet(index, pooledObject, null)) {
+                return pooledObject;
+            }
+            if (++index == length) {
+                index = 0;
+            }
+        }
+
+        if (overflowSize.get() > 0) {
+            Object pooledObject = overflow.poll();
+            if (pooledObject != null) {
+                overflowSize.decrementAndGet();
+                return pooledObject;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes an object available, preferably in the home slot of the caller.
+     *
+     * @return false if the pool is full
+     */
+    private boolean offer(int home, Object pooledObject) {
+        int length = slots.length();
+        for (int i = 0, index = home; i < length; i++) {
+            if (slots.get(index) == null && slots.compareAndSet(index, null, pooledObject)) {
+                return true;
+            }
+            if (++index == length) {
+                index = 0;
+            }
+        }
+
+        if (overflowSize.incrementAndGet() <= maxOverflowSize) {
+            overflow.offer(pooledObject);
+            return true;
+        }
+        overflowSize.decrementAndGet();
+        return false;
+    }
+
+    private List<Object> drain(int count) {
+        List<Object> removeList = new ArrayList<>();
+        for (int index = 0; index < slots.length() && removeList.size() < count; index++) {
+            Object pooledObject = slots.getAndSet(index, null);
+            if (pooledObject != null) {
+                removeList.add(pooledObject);
+            }
+        }
+
+        while (removeList.size() < count) {
+            Object pooledObject = overflow.poll();
+            if (pooledObject == null) {
+                break;
+            }
+            overflowSize.decrementAndGet();
+            removeList.add(pooledObject);
+        }
+        return removeList;
+    }
+
+    private List<Object> removeIdle(int count, long allowedIdleTime) {
+        List<Object> removeList = new ArrayList<>();
+        for (int index = 0; index < slots.length() && removeList.size() < count; index++) {
+            Object pooledObject = slots.get(index);
+            if (isIdle(pooledObject, allowedIdleTime) && slots.compareAndSet(index, pooledObject, null)) {
+                removeList.add(pooledObject);
+            }
+        }
+
+        for (Iterator<Object> iterator = overflow.iterator(); iterator.hasNext() && removeList.size() < count;) {
+            Object pooledObject = iterator.next();
+            if (isIdle(pooledObject, allowedIdleTime) && overflow.remove(pooledObject)) {
+                overflowSize.decrementAndGet();
+                removeList.add(pooledObject);
+            }
+        }
+        return removeList;
+    }
+
+    private static boolean isIdle(Object pooledObject, long allowedIdleTime) {
+        return pooledObject instanceof EJBContextImpl && ((EJBContextImpl) pooledObject).getLastTimeUsed() <= allowedIdleTime;
+    }
+
+    private void addResizeTaskForImmediateExecution() {
+        try {
+            EjbContainerUtilImpl.getInstance().addWork(new ReSizeWork());
+            _logger.log(FINE, () -> "[Pool-" + poolName + "]: Added PoolResizeTimerTask...");
+        } catch (Exception ex) {
+            addedResizeTask.set(false);
+            _logger.log(WARNING, ex, () -> "[Pool-" + poolName + "]: Cannot perform " + " pool resize task");
+        }
+    }
+
+    /**************** For Monitoring ***********************/
+    /*******************************************************/
+
+    @Override
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public int getDestroyedCount() {
+        return destroyed.get();
+    }
+
+    @Override
+    public int getPoolSuccess() {
+        return borrowed.intValue();
+    }
+
+    @Override
+    public int getSize() {
+        int size = overflowSize.get();
+        for (int index = 0; index < slots.length(); index++) {
+            if (slots.get(index) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public int getNumBeansInPool() {
+        return getSize();
+    }
+
+    @Override
+    public int getTotalBeansCreated() {
+        return getCreatedCount();
+    }
+
+    @Override
+    public int getTotalBeansDestroyed() {
+        return getDestroyedCount();
+    }
+
+    @Override
+    public void appendStats(StringBuffer sbuf) {
+        sbuf.append("[Pool: ")
+            .append("SZ=").append(getSize()).append("; ")
+            .append("CC=").append(getCreatedCount()).append("; ")
+            .append("DC=").append(getDestroyedCount()).append("; ")
+            .append("WC=").append(waitCount).append("; ")
+            .append("MSG=0");
+
+        if (configData != null) {
+            sbuf.append(configData);
+        }
+
+        sbuf.append("]");
+    }
+
+    @Override
+    public String getAllMonitoredAttrbuteValues() {
+        StringBuffer sbuf = new StringBuffer();
+        sbuf.append("createdCount=").append(getCreatedCount()).append(";")
+            .append("destroyedCount=").append(getDestroyedCount()).append(";")
+            .append("waitCount=").append(waitCount).append(";")
+            .append("size=").append(getSize()).append(";")
+            .append("maxPoolSize=").append(maxPoolSize).append(";");
+
+        return sbuf.toString();
+    }
+
+    @Override
+    public String getAllAttrValues() {
+        StringBuffer sbuf = new StringBuffer("[Pool-" + poolName + "] ");
+        sbuf.append("CC=").append(getCreatedCount()).append("; ").append("DC=").append(getDestroyedCount()).append("; ").append("CS=")
+                .append(getSize()).append("; ").append("SS=").append(steadyPoolSize).append("; ").append("MS=").append(maxPoolSize)
+                .append(";");
+        return sbuf.toString();
+    }
+
+    private class ReSizeWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } catch (Exception ex) {
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Exception during reSize", ex);
+            } finally {
+                addedResizeTask.set(false);
+            }
+        }
+    }
+
+    private class IdleBeanWork implements Runnable {
+        @Override
+        public void run() {
+            try {
+                doResize();
+            } catch (Exception ex) {
+            } finally {
+                addedIdleBeanWork.set(false);
+            }
+        }
+    }
+
+    private class PoolResizeTimerTask extends TimerTask {
+        PoolResizeTimerTask() {
+        }
+
+        @Override
+        public void run() {
+            if (!addedIdleBeanWork.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                EjbContainerUtilImpl.getInstance().addWork(new IdleBeanWork());
+            } catch (Exception ex) {
+                addedIdleBeanWork.set(false);
+                _logger.log(WARNING, "[Pool-" + poolName + "]: Cannot perform " + " pool idle bean cleanup", ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.monitoring.stats;
+
+import com.sun.ejb.containers.EjbAsyncInvocationManager;
+
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.gmbal.AMXMetadata;
+import org.glassfish.gmbal.Description;
+import org.glassfish.gmbal.ManagedAttribute;
+import org.glassfish.gmbal.ManagedObject;
+
+/**
+ * Statistics of the remote async invocations with a Future result, read
+ * from the EjbAsyncInvocationManager when requested.
+ */
+@AMXMetadata(type="ejb-async-invocation-mon", group="monitoring", isSingleton=true)
+@ManagedObject
+@Description("Ejb Remote Async Invocation Statistics")
+public class EjbAsyncInvocationStatsProvider {
+
+    private final CountStatisticImpl outstandingStat = new CountStatisticImpl("NumOutstandingInvocations",
+            "count", "Number of remote async invocations whose result was not fetched yet");
+
+    private final CountStatisticImpl unclaimedStat = new CountStatisticImpl("NumUnclaimedResults",
+            "count", "Number of completed remote async invocations whose result was not fetched yet");
+
+    private final CountStatisticImpl expiredStat = new CountStatisticImpl("NumExpiredResults",
+            "count", "Number of remote async results dropped because they were not fetched in time");
+
+    private final CountStatisticImpl evictedStat = new CountStatisticImpl("NumEvictedResults",
+            "count", "Number of remote async results dropped to keep the number of results bounded");
+
+    private final EjbAsyncInvocationManager asyncManager;
+
+    public EjbAsyncInvocationStatsProvider(EjbAsyncInvocationManager asyncManager) {
+        this.asyncManager = asyncManager;
+    }
+
+    @ManagedAttribute(id="numoutstandinginvocations")
+    @Description( "Number of remote async invocations whose result was not fetched yet")
+    public CountStatistic getNumOutstandingInvocations() {
+        outstandingStat.setCount(asyncManager.getOutstandingRemoteInvocationCount());
+        return outstandingStat;
+    }
+
+    @ManagedAttribute(id="numunclaimedresults")
+    @Description( "Number of completed remote async invocations whose result was not fetched yet")
+    public CountStatistic getNumUnclaimedResults() {
+        unclaimedStat.setCount(asyncManager.getUnclaimedRemoteResultCount());
+        return unclaimedStat;
+    }
+
+    @ManagedAttribute(id="numexpiredresults")
+    @Description( "Number of remote async results dropped because they were not fetched in time")
+    public CountStatistic getNumExpiredResults() {
+        expiredStat.setCount(asyncManager.getExpiredRemoteResultCount());
+        return expiredStat;
+    }
+
+    @ManagedAttribute(id="numevictedresults")
+    @Description( "Number of remote async results dropped to keep the number of results bounded")
+    public CountStatistic getNumEvictedResults() {
+        evictedStat.setCount(asyncManager.getEvictedRemoteResultCount());
+        return evictedStat;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.spi.container;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+import org.jvnet.hk2.annotations.Contract;
+
+/**
+ * Converts the state of a stateful session bean into the bytes written to the
+ * BackingStore on passivation and checkpoint, and back on activation.
+ * <p>
+ * The serializer of a bean is the service of this contract named by the
+ * sfsb-serializer property of the enterprise-beans element of
+ * glassfish-ejb-jar.xml, "java" by default. It is called concurrently by the
+ * passivation tasks of the container.
+ * <p>
+ * Only the Java serialization service is provided. A schema-aware format has
+ * to replace the local EJB references, handles and naming contexts in the bean
+ * state like the Java serialization service does, and can be added as another
+ * named service of this contract.
+ */
+@Contract
+public interface SFSBSerializer {
+
+    byte[] serialize(Serializable context) throws IOException;
+
+    Object deserialize(byte[] data, ClassLoader loader) throws Exception;
+
+}
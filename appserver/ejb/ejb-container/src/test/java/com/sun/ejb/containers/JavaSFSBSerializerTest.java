@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.enterprise.container.common.impl.util.JavaEEIOUtilsImpl;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JavaSFSBSerializerTest {
+
+    private static final long MAX_RETAINED =
+        (long) JavaSFSBSerializer.MAX_POOLED_BUFFERS * JavaSFSBSerializer.MAX_RETAINED_BUFFER_SIZE;
+
+    private final JavaSFSBSerializer serializer = new JavaSFSBSerializer(new JavaEEIOUtilsImpl());
+
+    @Test
+    public void roundTrip() throws Exception {
+        State state = new State("bean", 42);
+        byte[] first = serializer.serialize(state);
+        byte[] second = serializer.serialize(state);
+
+        State copy = (State) serializer.deserialize(first, getClass().getClassLoader());
+        assertThat(copy.name, is("bean"));
+        assertThat(copy.count, is(42));
+        assertThat(second, is(first));
+    }
+
+    @Test
+    public void largeBuffersAreNotRetained() throws Exception {
+        serializer.serialize(new State("small", 1));
+        long retained = JavaSFSBSerializer.getRetainedBufferSize();
+        assertThat(retained, lessThanOrEqualTo(MAX_RETAINED));
+
+        byte[] data = serializer.serialize(new byte[4 * JavaSFSBSerializer.MAX_RETAINED_BUFFER_SIZE]);
+        assertThat(((byte[]) serializer.deserialize(data, getClass().getClassLoader())).length,
+            is(4 * JavaSFSBSerializer.MAX_RETAINED_BUFFER_SIZE));
+        assertThat(JavaSFSBSerializer.getRetainedBufferSize(), lessThanOrEqualTo(retained));
+    }
+
+    @Test
+    public void buffersAreReused() throws Exception {
+        serializer.serialize(new State("first", 1));
+        long retained = JavaSFSBSerializer.getRetainedBufferSize();
+        for (int i = 0; i < 10; i++) {
+            serializer.serialize(new State("next", i));
+        }
+        assertThat(JavaSFSBSerializer.getRetainedBufferSize(), is(retained));
+    }
+
+    @Test
+    public void poolIsBoundedWhateverTheNumberOfThreads() throws Exception {
+        int threadCount = 4 * JavaSFSBSerializer.MAX_POOLED_BUFFERS;
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<byte[]>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                State state = new State("bean" + i, i);
+                results.add(executor.submit(() -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    return serializer.serialize(state);
+                }));
+            }
+            for (int i = 0; i < threadCount; i++) {
+                State copy = (State) serializer.deserialize(results.get(i).get(10, TimeUnit.SECONDS),
+                    getClass().getClassLoader());
+                assertThat(copy.name, is("bean" + i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(JavaSFSBSerializer.getRetainedBufferSize(), lessThanOrEqualTo(MAX_RETAINED));
+    }
+
+    @Test
+    public void failedSerializationLeavesBufferEmpty() throws Exception {
+        ArrayList<Object> state = new ArrayList<>();
+        state.add("before");
+        state.add(new Object());
+        assertThrows(NotSerializableException.class, () -> serializer.serialize(state));
+
+        State copy = (State) serializer.deserialize(serializer.serialize(new State("after", 2)),
+            getClass().getClassLoader());
+        assertThat(copy.name, is("after"));
+    }
+
+    @Test
+    public void nestedSerializationDoesNotShareTheBuffer() throws Exception {
+        byte[] data = serializer.serialize(new Nesting(serializer));
+
+        Nesting copy = (Nesting) serializer.deserialize(data, getClass().getClassLoader());
+        State nested = (State) serializer.deserialize(copy.nested, getClass().getClassLoader());
+        assertThat(nested.name, is("nested"));
+    }
+
+
+    private static class State implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String name;
+        final int count;
+
+        State(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+
+    private static class Nesting implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient JavaSFSBSerializer serializer;
+        private byte[] nested;
+
+        Nesting(JavaSFSBSerializer serializer) {
+            this.serializer = serializer;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            nested = serializer.serialize(new State("nested", 3));
+            out.defaultWriteObject();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class RemoteAsyncResultStoreTest {
+
+    @Test
+    public void unclaimedResultsExpireAfterTheirTtl() {
+        RemoteAsyncResultStore store = new RemoteAsyncResultStore(1000L, 0);
+        EjbFutureTask done = addTask(store, 1L, true);
+        addTask(store, 2L, false);
+
+        store.purge(done.getCompletionTime() + 999L);
+        assertThat(store.size(), is(2));
+        assertThat(store.getUnclaimedCount(), is(1));
+
+        store.purge(done.getCompletionTime() + 1000L);
+        assertThat(store.get(1L), nullValue());
+        assertThat(store.get(2L), notNullValue());
+        assertThat(store.getExpiredCount(), is(1L));
+    }
+
+    @Test
+    public void oldestCompletedResultsAreEvictedAboveTheBound() throws Exception {
+        RemoteAsyncResultStore store = new RemoteAsyncResultStore(0L, 3);
+        addTask(store, 1L, false);
+        addTask(store, 2L, true);
+        Thread.sleep(2L);
+        addTask(store, 3L, true);
+        addTask(store, 4L, false);
+
+        assertThat(store.size(), is(3));
+        assertThat(store.get(2L), nullValue());
+        assertThat(store.get(3L), notNullValue());
+        assertThat(store.getEvictedCount(), is(1L));
+    }
+
+    @Test
+    public void runningTasksAreNeverEvicted() {
+        RemoteAsyncResultStore store = new RemoteAsyncResultStore(0L, 2);
+        for (long id = 1; id <= 5; id++) {
+            addTask(store, id, false);
+        }
+
+        assertThat(store.size(), is(5));
+        assertThat(store.getEvictedCount(), is(0L));
+    }
+
+    private static EjbFutureTask addTask(RemoteAsyncResultStore store, long invId, boolean done) {
+        EjbFutureTask<Object> task = new EjbFutureTask<>(new EjbAsyncTask<>() {
+            @Override
+            public long getInvId() {
+                return invId;
+            }
+        }, null);
+        if (done) {
+            task.setResultValue("result-" + invId);
+        }
+        store.put(invId, task);
+        return task;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers;
+
+import com.sun.ejb.containers.EJBTimerService.TimerCache;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class TimerCacheTest {
+
+    @Test
+    public void timersArePartitionedByContainer() {
+        TimerCache cache = new TimerCache();
+        RuntimeTimerState first = addTimer(cache, "1", 1L, null, false);
+        addTimer(cache, "2", 1L, null, true);
+        addTimer(cache, "3", 2L, null, false);
+
+        assertThat(cache.getTimerState(first.getTimerId()), sameInstance(first));
+        assertThat(cache.getNonPersistentTimerState(first.getTimerId()), sameInstance(first));
+        assertThat(cache.getNonPersistentTimerIdsForContainer(1L), containsInAnyOrder(new TimerPrimaryKey("1")));
+        assertThat(cache.getNonPersistentActiveTimerIdsForContainer(2L), containsInAnyOrder(new TimerPrimaryKey("3")));
+        assertThat(cache.getNonPersistentActiveTimerIdsByThisServer(),
+            containsInAnyOrder(new TimerPrimaryKey("1"), new TimerPrimaryKey("3")));
+
+        cache.removeTimer(new TimerPrimaryKey("1"));
+        cache.removeTimer(new TimerPrimaryKey("1"));
+        assertThat(cache.getTimerState(new TimerPrimaryKey("1")), nullValue());
+        assertThat(cache.containerHasTimers(1L), is(true));
+        assertThat(cache.getNonPersistentTimerIdsForContainer(1L), empty());
+
+        cache.removeTimer(new TimerPrimaryKey("2"));
+        assertThat(cache.containerHasTimers(1L), is(false));
+        assertThat(cache.containerHasTimers(2L), is(true));
+    }
+
+    @Test
+    public void entityBeanTimersAreCountedPerPrimaryKey() {
+        TimerCache cache = new TimerCache();
+        addTimer(cache, "1", 1L, "pk", true);
+        addTimer(cache, "2", 1L, "pk", true);
+
+        cache.removeTimer(new TimerPrimaryKey("1"));
+        assertThat(cache.entityBeanHasTimers(1L, "pk"), is(true));
+
+        cache.removeTimer(new TimerPrimaryKey("2"));
+        assertThat(cache.entityBeanHasTimers(1L, "pk"), is(false));
+        assertThat(cache.containerHasTimers(1L), is(false));
+    }
+
+    @Test
+    public void concurrentUpdatesKeepTheContainerIndexConsistent() throws Exception {
+        TimerCache cache = new TimerCache();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        String id = thread + "-" + i;
+                        addTimer(cache, id, i % 4, null, false);
+                        if (i % 2 == 0) {
+                            cache.removeTimer(new TimerPrimaryKey(id));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = 0;
+        for (long containerId = 0; containerId < 4; containerId++) {
+            Set<TimerPrimaryKey> timerIds = cache.getNonPersistentTimerIdsForContainer(containerId);
+            for (TimerPrimaryKey timerId : timerIds) {
+                assertThat(cache.getTimerState(timerId).getContainerId(), is(containerId));
+            }
+            total += timerIds.size();
+        }
+        assertThat(total, is(8 * 2_500));
+        assertThat(cache.getNonPersistentActiveTimerIdsByThisServer().size(), is(total));
+    }
+
+    private static RuntimeTimerState addTimer(TimerCache cache, String id, long containerId, Object pkey, boolean persistent) {
+        TimerPrimaryKey timerId = new TimerPrimaryKey(id);
+        RuntimeTimerState timerState = new RuntimeTimerState(timerId, new Date(), 0L, containerId, null, pkey, null, null, persistent);
+        cache.addTimer(timerId, timerState);
+        return timerState;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.interceptors;
+
+import com.sun.enterprise.container.common.spi.util.InterceptorInfo;
+import com.sun.enterprise.deployment.InterceptorDescriptor;
+import com.sun.enterprise.deployment.LifecycleCallbackDescriptor;
+
+import jakarta.interceptor.InvocationContext;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Interceptor chains of a non-ejb managed bean, built from an {@link InterceptorInfo}.
+ */
+public class InterceptorManagerTest {
+
+    private Method greet;
+    private Method fail;
+    private Method check;
+    private InterceptorManager manager;
+
+    @BeforeEach
+    public void createManager() throws Exception {
+        greet = Target.class.getMethod("greet", String.class);
+        fail = Target.class.getMethod("fail");
+        check = Target.class.getMethod("check", String.class);
+
+        InterceptorDescriptor audit = new InterceptorDescriptor();
+        audit.setInterceptorClassName(Audit.class.getName());
+        audit.addAroundInvokeDescriptor(aroundInvoke(Audit.class, "audit"));
+        InterceptorDescriptor beanValidation = new InterceptorDescriptor();
+        beanValidation.setInterceptorClassName(Target.class.getName());
+        beanValidation.setFromBeanClass(true);
+        beanValidation.addAroundInvokeDescriptor(aroundInvoke(Target.class, "validate"));
+
+        InterceptorInfo info = new InterceptorInfo();
+        info.setTargetClass(Target.class);
+        info.setInterceptorClassNames(Set.of(Audit.class.getName()));
+        info.setHasTargetClassAroundInvoke(true);
+        info.setAroundInvokeInterceptorChains(Map.of(
+            greet, List.of(audit, beanValidation),
+            fail, List.of(audit, beanValidation),
+            check, List.of(audit, beanValidation)));
+        manager = new InterceptorManager(Logger.getLogger(getClass().getName()), getClass().getClassLoader(),
+            Target.class.getName(), info);
+    }
+
+
+    @Test
+    public void chainsOfNonEjbAreBuiltOncePerMethod() {
+        InterceptorManager.InterceptorChain greetChain = manager.getAroundInvokeChain(null, greet);
+        assertThat(manager.getAroundInvokeChain(null, greet), sameInstance(greetChain));
+        assertThat(manager.getAroundInvokeChain(null, fail), not(sameInstance(greetChain)));
+    }
+
+
+    @Test
+    public void chainInvokesInterceptorsAndBeanMethod() throws Throwable {
+        assertThat(invoke(greet, "world"), is("audited:Hello world"));
+    }
+
+
+    @Test
+    public void checkedExceptionOfInterceptorIsNotWrapped() {
+        assertThrows(IOException.class, () -> invoke(check, Audit.THROW_CHECKED));
+    }
+
+
+    @Test
+    public void runtimeExceptionOfBeanInterceptorIsNotWrapped() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> invoke(check, ""));
+        assertThat(e.getMessage(), is("empty"));
+    }
+
+
+    @Test
+    public void errorOfInterceptorIsNotWrapped() {
+        assertThrows(AssertionError.class, () -> invoke(check, Audit.THROW_ERROR));
+    }
+
+
+    @Test
+    public void exceptionOfBeanMethodIsNotWrapped() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> invoke(fail));
+        assertThat(e.getMessage(), is("failed"));
+    }
+
+
+    @Test
+    public void callbackChainInvokesInterceptorsThenBeanCallback() throws Throwable {
+        CallbackChainImpl chain = new CallbackChainImpl(new CallbackInterceptor[] {
+            new CallbackInterceptor(0, Audit.class.getDeclaredMethod("postConstruct", InvocationContext.class)),
+            new BeanCallbackInterceptor(Target.class.getDeclaredMethod("init"))});
+        Target target = new Target();
+        Object[] instances = {new Audit(), new Audit()};
+        chain.invokeNext(0, new CallbackInvocationContext(target, instances, chain));
+        assertThat(target.calls, is(List.of("audit", "init")));
+
+        chain.prependInterceptor(new CallbackInterceptor(1,
+            Audit.class.getDeclaredMethod("postConstruct", InvocationContext.class)));
+        target = new Target();
+        chain.invokeNext(0, new CallbackInvocationContext(target, instances, chain));
+        assertThat(target.calls, is(List.of("audit", "audit", "init")));
+    }
+
+
+    private Object invoke(Method method, Object... params) throws Throwable {
+        InterceptorManager.InterceptorChain chain = manager.getAroundInvokeChain(null, method);
+        AroundInvokeInvocationContext ctx = new AroundInvokeInvocationContext(new Target(),
+            manager.createInterceptorInstances(), chain, method, params);
+        return manager.intercept(chain, ctx);
+    }
+
+    private static LifecycleCallbackDescriptor aroundInvoke(Class<?> clazz, String method) {
+        LifecycleCallbackDescriptor descriptor = new LifecycleCallbackDescriptor();
+        descriptor.setLifecycleCallbackClass(clazz.getName());
+        descriptor.setLifecycleCallbackMethod(method);
+        return descriptor;
+    }
+
+
+    public static class Target {
+
+        final List<String> calls = new ArrayList<>();
+
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        public String check(String value) {
+            return value;
+        }
+
+        private Object validate(InvocationContext ctx) throws Exception {
+            Object[] params = ctx.getParameters();
+            if (params.length > 0 && "".equals(params[0])) {
+                throw new IllegalArgumentException("empty");
+            }
+            return ctx.proceed();
+        }
+
+        private void init() {
+            calls.add("init");
+        }
+    }
+
+
+    public static class Audit implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        static final String THROW_CHECKED = "checked";
+        static final String THROW_ERROR = "error";
+
+        private Object audit(InvocationContext ctx) throws Exception {
+            Object[] params = ctx.getParameters();
+            if (params.length > 0 && THROW_CHECKED.equals(params[0])) {
+                throw new IOException("checked");
+            }
+            if (params.length > 0 && THROW_ERROR.equals(params[0])) {
+                throw new AssertionError("error");
+            }
+            Object result = ctx.proceed();
+            return result == null ? null : "audited:" + result;
+        }
+
+        private Object postConstruct(InvocationContext ctx) throws Exception {
+            ((Target) ctx.getTarget()).calls.add("audit");
+            return ctx.proceed();
+        }
+    }
+}
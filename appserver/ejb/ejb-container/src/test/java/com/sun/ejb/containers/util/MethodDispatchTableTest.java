@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util;
+
+import com.sun.ejb.InvocationInfo;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class MethodDispatchTableTest {
+
+    public interface Greeter {
+        String greet(String name);
+
+        String greet(String name, int times);
+
+        void reset();
+    }
+
+    @Test
+    public void resolvesEachMethodToItsInvocationInfo() throws Exception {
+        Map<Method, InvocationInfo> infos = infos(Greeter.class);
+        MethodDispatchTable table = new MethodDispatchTable(new MethodMap(infos));
+
+        for (int i = 0; i < 3; i++) {
+            for (Map.Entry<Method, InvocationInfo> entry : infos.entrySet()) {
+                Method method = entry.getKey();
+                assertThat(table.get(method, method.getParameterCount()), sameInstance(entry.getValue()));
+            }
+        }
+        assertThat(table.size(), is(infos.size()));
+    }
+
+    @Test
+    public void equalMethodInstancesResolveToTheSameInfo() throws Exception {
+        Map<Method, InvocationInfo> infos = infos(Greeter.class);
+        MethodDispatchTable table = new MethodDispatchTable(new MethodMap(infos));
+
+        Method copy = Greeter.class.getMethod("reset");
+        assertThat(table.get(copy, 0), sameInstance(infos.get(copy)));
+    }
+
+    @Test
+    public void unknownMethodsAreNotAdded() throws Exception {
+        MethodDispatchTable table = new MethodDispatchTable(new MethodMap(infos(Greeter.class)));
+
+        assertThat(table.get(Object.class.getMethod("toString"), 0), nullValue());
+        assertThat(table.size(), is(0));
+    }
+
+    @Test
+    public void tableSizeIsBounded() throws Exception {
+        Map<Method, InvocationInfo> infos = infos(Greeter.class);
+        MethodDispatchTable table = new MethodDispatchTable(new MethodMap(infos));
+
+        for (int i = 0; i < 100; i++) {
+            // getMethod returns a new Method instance on each call
+            table.get(Greeter.class.getMethod("reset"), 0);
+        }
+        assertThat(table.size(), lessThanOrEqualTo(Math.max(16, infos.size() * 4)));
+    }
+
+    private static Map<Method, InvocationInfo> infos(Class<?> intf) {
+        Map<Method, InvocationInfo> infos = new HashMap<>();
+        for (Method method : intf.getMethods()) {
+            infos.put(method, new InvocationInfo(method));
+        }
+        return infos;
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.cache;
+
+import com.sun.ejb.spi.container.SFSBContainerCallback;
+import com.sun.ejb.spi.container.StatefulEJBContext;
+
+import jakarta.ejb.SessionContext;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+import org.glassfish.ha.store.util.SimpleMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class LruSessionCacheTest {
+
+    private final TestContainer container = new TestContainer();
+    private final TestStore store = new TestStore();
+    private LruSessionCache cache;
+
+    @BeforeEach
+    public void createCache() {
+        cache = new LruSessionCache("test", container, 0, 0);
+        cache.init(1, 0.5f, null);
+        cache.setBackingStore(store);
+        cache.setMaxPrefetchedSize(64);
+    }
+
+    @Test
+    public void accessedCandidateIsNoLongerPassivated() throws Exception {
+        TestContext a = new TestContext("a", 4);
+        cache.put("a", a);
+        trimOthers();
+        assertThat(cache.isPassivationCandidate(a, "a"), is(true));
+
+        assertThat(cache.lookupEJB("a", container, null), sameInstance(a));
+
+        assertThat(cache.isPassivationCandidate(a, "a"), is(false));
+        assertThat(cache.passivateEJB(a, "a"), is(false));
+        assertThat(store.states.isEmpty(), is(true));
+    }
+
+    @Test
+    public void passivatedStateIsActivatedWithoutLoad() throws Exception {
+        TestContext a = passivate("a", 4);
+
+        TestContext activated = (TestContext) cache.lookupEJB("a", container, null);
+
+        assertThat(activated.key, is("a"));
+        assertThat(activated, not(sameInstance(a)));
+        assertThat(store.loads, is(empty()));
+        assertThat(container.activated, contains("a"));
+        assertThat(cache.getPrefetchedSize(), is(0L));
+    }
+
+    @Test
+    public void oldestStatesAreDropped() throws Exception {
+        passivate("a", 16);
+        passivate("b", 16);
+        passivate("c", 16);
+        passivate("d", 16);
+        passivate("e", 16);
+        assertThat(cache.getPrefetchedSize(), is(64L));
+
+        cache.lookupEJB("a", container, null);
+        cache.lookupEJB("e", container, null);
+
+        assertThat(store.loads, contains("a"));
+    }
+
+    @Test
+    public void largeStatesAreNotKept() throws Exception {
+        passivate("a", 17);
+        assertThat(cache.getPrefetchedSize(), is(0L));
+
+        cache.lookupEJB("a", container, null);
+
+        assertThat(store.loads, contains("a"));
+    }
+
+    @Test
+    public void removedBeanIsNotActivated() throws Exception {
+        passivate("a", 4);
+
+        cache.remove("a");
+
+        assertThat(cache.getPrefetchedSize(), is(0L));
+        assertThat(cache.lookupEJB("a", container, null), nullValue());
+        assertThat(store.loads, contains("a"));
+    }
+
+    @Test
+    public void disabledPrefetchLoadsFromStore() throws Exception {
+        cache.setMaxPrefetchedSize(0);
+        passivate("a", 4);
+
+        assertThat(((TestContext) cache.lookupEJB("a", container, null)).key, is("a"));
+        assertThat(store.loads, contains("a"));
+    }
+
+    /**
+     * puts the bean in the cache, trims it and passivates it
+     */
+    private TestContext passivate(String key, int size) throws Exception {
+        TestContext ctx = new TestContext(key, size);
+        cache.put(key, ctx);
+        trimOthers();
+        assertThat(cache.passivateEJB(ctx, key), is(true));
+        cache.remove("x", false);
+        cache.remove("y", false);
+        return ctx;
+    }
+
+    /**
+     * adds two beans to the cache of one bean, which trims the least recently used one
+     */
+    private void trimOthers() {
+        cache.put("x", new TestContext("x", 1));
+        cache.put("y", new TestContext("y", 1));
+    }
+
+
+    private static final class TestContext implements StatefulEJBContext {
+
+        final String key;
+        final int size;
+
+        TestContext(String key, int size) {
+            this.key = key;
+            this.size = size;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public boolean canBePassivated() {
+            return true;
+        }
+
+        @Override
+        public SessionContext getSessionContext() {
+            return null;
+        }
+
+        @Override
+        public boolean existsInStore() {
+            return false;
+        }
+
+        @Override
+        public void setExistsInStore(boolean val) {
+        }
+
+        @Override
+        public long getVersion() {
+            return 0;
+        }
+
+        @Override
+        public long incrementAndGetVersion() {
+            return 0;
+        }
+
+        @Override
+        public void setVersion(long versionInBackingStore) {
+        }
+    }
+
+
+    /**
+     * Serializes a context as its key padded to its size.
+     */
+    private static final class TestContainer implements SFSBContainerCallback {
+
+        final List<Object> activated = new ArrayList<>();
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return getClass().getClassLoader();
+        }
+
+        @Override
+        public int getPassivationBatchCount() {
+            return 1;
+        }
+
+        @Override
+        public void invokePeriodically(long delay, long periodicity, Runnable target) {
+        }
+
+        @Override
+        public void activateEJB(Object sessionKey, StatefulEJBContext ctx, Object cookie) {
+            activated.add(sessionKey);
+        }
+
+        @Override
+        public boolean passivateEJB(StatefulEJBContext ctx) {
+            return false;
+        }
+
+        @Override
+        public boolean isPassivationCapable() {
+            return true;
+        }
+
+        @Override
+        public byte[] serializeContext(StatefulEJBContext ctx) {
+            TestContext context = (TestContext) ctx;
+            byte[] data = new byte[context.size];
+            data[0] = (byte) context.key.charAt(0);
+            return data;
+        }
+
+        @Override
+        public Object deserializeData(byte[] data) {
+            return new TestContext(String.valueOf((char) data[0]), data.length);
+        }
+    }
+
+
+    private static final class TestStore extends BackingStore<Serializable, SimpleMetadata> {
+
+        final Map<Serializable, SimpleMetadata> states = new HashMap<>();
+        final List<Serializable> loads = new ArrayList<>();
+
+        @Override
+        public BackingStoreFactory getBackingStoreFactory() {
+            return null;
+        }
+
+        @Override
+        public SimpleMetadata load(Serializable key, String version) {
+            loads.add(key);
+            return states.get(key);
+        }
+
+        @Override
+        public String save(Serializable key, SimpleMetadata value, boolean isNew) {
+            states.put(key, value);
+            return null;
+        }
+
+        @Override
+        public void remove(Serializable key) {
+            states.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return states.size();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.ejb.containers.util.pool;
+
+import com.sun.ejb.monitoring.probes.EjbPoolProbeProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class ConcurrentPoolTest {
+
+    @Test
+    public void returnedObjectIsReusedByTheSameThread() {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 0, 8);
+
+        Object first = pool.getObject(null);
+        pool.returnObject(first);
+        assertThat(pool.getObject(null), sameInstance(first));
+        assertThat(pool.getCreatedCount(), is(1));
+        assertThat(pool.getPoolSuccess(), is(1));
+    }
+
+    @Test
+    public void objectsAboveMaxPoolSizeAreDestroyed() {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 0, 4);
+
+        List<Object> borrowed = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            borrowed.add(pool.getObject(null));
+        }
+        borrowed.forEach(pool::returnObject);
+
+        assertThat(pool.getSize(), is(4));
+        assertThat(factory.destroyed.get(), is(6));
+        assertThat(pool.getCreatedCount() - pool.getDestroyedCount(), is(4));
+    }
+
+    @Test
+    public void prepopulateFillsThePool() {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 0, 16);
+
+        pool.prepopulate(5);
+        assertThat(pool.getSize(), is(5));
+        assertThat(pool.getNumBeansInPool(), is(5));
+        assertThat(pool.getCreatedCount(), is(5));
+    }
+
+    @Test
+    public void closeDestroysPooledObjects() {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 0, 16);
+
+        pool.prepopulate(3);
+        Object borrowed = pool.getObject(null);
+        pool.close();
+        assertThat(pool.getSize(), is(0));
+        assertThat(factory.destroyed.get(), is(2));
+
+        pool.returnObject(borrowed);
+        assertThat(pool.getSize(), is(0));
+        assertThat(factory.destroyed.get(), is(3));
+    }
+
+    @Test
+    public void concurrentBorrowersNeverShareAnObject() throws Exception {
+        CountingFactory factory = new CountingFactory();
+        ConcurrentPool pool = createPool(factory, 0, 1000);
+        Set<Object> inUse = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        Object pooledObject = pool.getObject(null);
+                        if (!inUse.add(pooledObject)) {
+                            return false;
+                        }
+                        inUse.remove(pooledObject);
+                        pool.returnObject(pooledObject);
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get(60L, TimeUnit.SECONDS), is(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(pool.getCreatedCount(), lessThanOrEqualTo(16));
+        assertThat(pool.getSize(), is(pool.getCreatedCount() - pool.getDestroyedCount()));
+    }
+
+    private static ConcurrentPool createPool(ObjectFactory factory, int steadyPoolSize, int maxPoolSize) {
+        ConcurrentPool pool = new ConcurrentPool(1L, "test", factory, steadyPoolSize, 1, maxPoolSize, 0, null);
+        pool.poolProbeNotifier = new EjbPoolProbeProvider();
+        return pool;
+    }
+
+    private static class CountingFactory implements ObjectFactory {
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create(Object param) {
+            return "bean-" + created.incrementAndGet();
+        }
+
+        @Override
+        public void destroy(Object object) {
+            destroyed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.mdb;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of concurrent message deliveries of a message-driven bean
+ * with an AIMD (additive increase, multiplicative decrease) algorithm.
+ * <p>
+ * A delivery takes a permit before it starts and returns it when it ends, so
+ * a lower limit applies to the endpoints the resource adapter already holds.
+ * Deliveries above the limit wait for a permit, at most for the given timeout,
+ * and fail if none was returned meanwhile or if the limiter was closed because
+ * the container is shutting down.
+ * <p>
+ * The deliveries are observed in windows of at least {@link #MIN_WINDOW_SIZE}
+ * deliveries. At the end of a window the limit is
+ * <ul>
+ * <li>decreased by {@link #BACKOFF_RATIO} if a delivery failed with a system
+ * exception or the average latency of the window is more than
+ * {@link #LATENCY_TOLERANCE} times the long term latency. Both are what an
+ * exhausted downstream resource, e.g. a JDBC pool, looks like from here.</li>
+ * <li>increased by one if a delivery had to wait for a permit, or all of
+ * them were in use, i.e. messages are waiting in the destination.</li>
+ * </ul>
+ * The limit stays between the minimum and the maximum it was created with.
+ */
+public final class AdaptiveDeliveryLimiter {
+
+    static final int MIN_WINDOW_SIZE = 10;
+
+    static final double BACKOFF_RATIO = 0.75;
+
+    static final double LATENCY_TOLERANCE = 2.0;
+
+    // Weight of a window in the long term latency. Windows faster than the
+    // long term latency have a higher weight, so it recovers quickly after
+    // a period of congestion.
+    private static final double LATENCY_WEIGHT = 0.05;
+    private static final double FAST_LATENCY_WEIGHT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private volatile int limit;
+
+    // Guarded by this
+    private int inUse;
+    private long delayedCount;
+    private long timedOutCount;
+    private boolean closed;
+
+    private int windowDeliveries;
+    private long windowLatency;
+    private int windowFailures;
+    private boolean windowSaturated;
+
+    private double longTermLatency = Double.NaN;
+
+    public AdaptiveDeliveryLimiter(int minLimit, int maxLimit, int initialLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Waits until the number of deliveries in progress is below the limit and
+     * takes a permit.
+     *
+     * @param timeout max time to wait for a permit
+     * @param unit unit of the timeout
+     * @return true if a permit was taken, false if none was available in time
+     *         or the limiter is closed
+     * @throws InterruptedException if interrupted while waiting, no permit was taken
+     */
+    public synchronized boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        if (closed) {
+            return false;
+        }
+        if (inUse >= limit) {
+            windowSaturated = true;
+            delayedCount++;
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            do {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    timedOutCount++;
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                if (closed) {
+                    return false;
+                }
+            } while (inUse >= limit);
+        }
+        inUse++;
+        if (inUse == limit) {
+            windowSaturated = true;
+        }
+        return true;
+    }
+
+    /**
+     * Wakes up the deliveries waiting for a permit, which then fail, and fails
+     * the later ones at once. Permits already taken can still be returned.
+     */
+    public synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns a permit of a delivery which did not complete.
+     */
+    public synchronized void release() {
+        if (inUse > 0) {
+            inUse--;
+            notify();
+        }
+    }
+
+    /**
+     * Returns the permit of a completed delivery and adapts the limit at the
+     * end of a window.
+     *
+     * @param latencyNanos time from the start to the end of the delivery
+     * @param success false if the delivery failed with a system exception
+     */
+    public synchronized void deliveryCompleted(long latencyNanos, boolean success) {
+        release();
+        windowDeliveries++;
+        windowLatency += Math.max(0L, latencyNanos);
+        if (!success) {
+            windowFailures++;
+        }
+        if (windowDeliveries < Math.max(MIN_WINDOW_SIZE, limit)) {
+            return;
+        }
+
+        double latency = (double) windowLatency / windowDeliveries;
+        if (Double.isNaN(longTermLatency)) {
+            longTermLatency = latency;
+        }
+
+        if (windowFailures > 0 || latency > longTermLatency * LATENCY_TOLERANCE) {
+            limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+        } else if (windowSaturated && limit < maxLimit) {
+            limit++;
+            notify();
+        }
+
+        double weight = latency < longTermLatency ? FAST_LATENCY_WEIGHT : LATENCY_WEIGHT;
+        longTermLatency += (latency - longTermLatency) * weight;
+
+        windowDeliveries = 0;
+        windowLatency = 0L;
+        windowFailures = 0;
+        windowSaturated = inUse >= limit;
+    }
+
+    /**
+     * @return the current number of concurrent deliveries allowed
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * @return number of deliveries which waited because the limit was reached
+     */
+    public synchronized long getDelayedCount() {
+        return delayedCount;
+    }
+
+    /**
+     * @return number of deliveries which failed because no permit was
+     *         returned before their timeout
+     */
+    public synchronized long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
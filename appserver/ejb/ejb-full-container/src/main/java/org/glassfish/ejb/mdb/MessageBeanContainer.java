@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -32,6 +32,7 @@ import com.sun.ejb.containers.EJBTimerService;
 import com.sun.ejb.containers.EjbContainerUtilImpl;
 import com.sun.ejb.containers.RuntimeTimerState;
 import com.sun.ejb.containers.util.pool.AbstractPool;
+import com.sun.ejb.containers.util.pool.ConcurrentPool;
 import com.sun.ejb.containers.util.pool.NonBlockingPool;
 import com.sun.ejb.containers.util.pool.ObjectFactory;
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
@@ -59,6 +60,7 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -116,6 +118,11 @@ public final class MessageBeanContainer extends BaseContainer implements Message
     private BeanPoolDescriptor beanPoolDescriptor;
     private int maxMessageBeanListeners_;
     private int numMessageBeanListeners_;
+
+    // Limits the concurrent message deliveries below maxMessageBeanListeners_
+    // when the adaptive delivery concurrency is enabled, null otherwise.
+    private AdaptiveDeliveryLimiter deliveryLimiter;
+    private int deliveryTimeoutInSeconds = DEFAULT_ADAPTIVE_DELIVERY_TIMEOUT;
     private Class<?> messageBeanInterface;
     private Class<?> messageBeanSubClass;
 
@@ -130,6 +137,16 @@ public final class MessageBeanContainer extends BaseContainer implements Message
     private static final int DEFAULT_MAX_POOL_SIZE = 32;
     private static final int DEFAULT_IDLE_TIMEOUT = 600;
 
+    // Property in glassfish-ejb-jar.xml enterprise-beans enabling the
+    // adaptive number of concurrent message deliveries.
+    static final String ADAPTIVE_DELIVERY_CONCURRENCY_PROP = "adaptive-delivery-concurrency";
+
+    // Property in glassfish-ejb-jar.xml enterprise-beans with the max time
+    // a message delivery waits for a permit of the adaptive delivery
+    // concurrency before it fails.
+    static final String ADAPTIVE_DELIVERY_TIMEOUT_PROP = "adaptive-delivery-timeout-in-seconds";
+    private static final int DEFAULT_ADAPTIVE_DELIVERY_TIMEOUT = 60;
+
     // issue 4629. 0 means a bean can remain idle indefinitely.
     private static final int MIN_IDLE_TIMEOUT = 0;
 
@@ -215,6 +232,29 @@ public final class MessageBeanContainer extends BaseContainer implements Message
             maxMessageBeanListeners_ = beanPoolDescriptor.getMaxPoolSize();
             numMessageBeanListeners_ = 0;
 
+            if (Boolean.parseBoolean(msgBeanDesc.getEjbBundleDescriptor()
+                    .getEnterpriseBeansProperty(ADAPTIVE_DELIVERY_CONCURRENCY_PROP))) {
+                // Start at the steady pool size and adapt between it and the
+                // max pool size.
+                deliveryLimiter = new AdaptiveDeliveryLimiter(
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    maxMessageBeanListeners_,
+                    Math.max(beanPoolDescriptor.getSteadyPoolSize(), beanPoolDescriptor.getPoolResizeQuantity()));
+                String timeout = msgBeanDesc.getEjbBundleDescriptor()
+                    .getEnterpriseBeansProperty(ADAPTIVE_DELIVERY_TIMEOUT_PROP);
+                if (timeout != null) {
+                    try {
+                        deliveryTimeoutInSeconds = Integer.parseInt(timeout.trim());
+                    } catch (NumberFormatException e) {
+                        _logger.log(WARNING, appEJBName_ + ": Invalid " + ADAPTIVE_DELIVERY_TIMEOUT_PROP + " " + timeout
+                            + ", using " + DEFAULT_ADAPTIVE_DELIVERY_TIMEOUT);
+                    }
+                }
+                _logger.log(FINE, appEJBName_ + ": Using adaptive delivery concurrency between "
+                    + deliveryLimiter.getMinLimit() + " and " + deliveryLimiter.getMaxLimit()
+                    + ", waiting at most " + deliveryTimeoutInSeconds + " seconds for a permit");
+            }
+
             messageBeanClient = clientFactory.createMessageBeanClient(msgBeanDesc);
 
             componentInvocation = createComponentInvocation();
@@ -251,6 +291,9 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         if (messageBeanPool instanceof NonBlockingPool) {
             NonBlockingPool nonBlockingPool = (NonBlockingPool) messageBeanPool;
             nonBlockingPool.prepopulate(beanPoolDescriptor.getSteadyPoolSize());
+        } else if (messageBeanPool instanceof ConcurrentPool) {
+            ConcurrentPool concurrentPool = (ConcurrentPool) messageBeanPool;
+            concurrentPool.prepopulate(beanPoolDescriptor.getSteadyPoolSize());
         }
 
         // Start delivery of messages to message bean instances.
@@ -281,7 +324,7 @@ public final class MessageBeanContainer extends BaseContainer implements Message
 
     @Override
     protected EjbMonitoringStatsProvider getMonitoringStatsProvider(String appName, String modName, String ejbName) {
-        return new MessageDrivenBeanStatsProvider(getContainerId(), appName, modName, ejbName);
+        return new MessageDrivenBeanStatsProvider(getContainerId(), appName, modName, ejbName, deliveryLimiter);
     }
 
     @Override
@@ -356,6 +399,22 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         // The protocol manager implementation enforces a limit
         // on message bean resources independent of the pool.
 
+        String singleton = descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP);
+        String concurrent = descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(CONCURRENT_BEAN_POOL_PROP);
+        if (Boolean.parseBoolean(concurrent) && !Boolean.parseBoolean(singleton)) {
+            messageBeanPool =
+                new ConcurrentPool(
+                    getContainerId(),
+                    appEJBName_,
+                    new MessageBeanContextFactory(),
+                    beanPoolDescriptor.getSteadyPoolSize(),
+                    beanPoolDescriptor.getPoolResizeQuantity(),
+                    beanPoolDescriptor.getMaxPoolSize(),
+                    beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
+                    loader);
+            return;
+        }
+
         messageBeanPool =
             new NonBlockingPool(
                 getContainerId(),
@@ -366,7 +425,7 @@ public final class MessageBeanContainer extends BaseContainer implements Message
                 beanPoolDescriptor.getMaxPoolSize(),
                 beanPoolDescriptor.getPoolIdleTimeoutInSeconds(),
                 loader,
-                Boolean.parseBoolean(descriptor.getEjbBundleDescriptor().getEnterpriseBeansProperty(SINGLETON_BEAN_POOL_PROP)));
+                Boolean.parseBoolean(singleton));
     }
 
     protected static int stringToInt(String val, String appName, Logger logger) {
@@ -993,6 +1052,11 @@ public final class MessageBeanContainer extends BaseContainer implements Message
     protected void doConcreteContainerShutdown(boolean appBeingUndeployed) {
         _logger.log(FINE, "containers.mdb.shutdown_cleanup_start", appEJBName_);
         monitorOn = false;
+        if (deliveryLimiter != null) {
+            // Fail the deliveries waiting for a permit rather than have
+            // them hold the resource adapter threads through the shutdown
+            deliveryLimiter.close();
+        }
         cleanupResources();
         _logger.log(FINE, "containers.mdb.shutdown_cleanup_end", appEJBName_);
     }
@@ -1194,8 +1258,55 @@ public final class MessageBeanContainer extends BaseContainer implements Message
         return result;
     }
 
-    public void afterMessageDelivery(ResourceHandle resourceHandle) {
-        afterMessageDeliveryInternal(resourceHandle);
+    /**
+     * Waits for a permit of the adaptive delivery concurrency before a message
+     * delivery through a message bean listener.
+     *
+     * @return true if a permit was taken, and must be returned by
+     *         {@link #afterMessageDelivery(ResourceHandle, long, boolean)} or
+     *         {@link #releaseDeliveryPermit()}
+     * @throws EJBException if no permit was available in time, the container
+     *         is shutting down or the thread was interrupted
+     */
+    boolean acquireDeliveryPermit() {
+        if (deliveryLimiter == null) {
+            return false;
+        }
+        boolean acquired;
+        try {
+            acquired = deliveryLimiter.acquire(deliveryTimeoutInSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EJBException(appEJBName_ + ": Interrupted while waiting for a message delivery permit", e);
+        }
+        if (!acquired) {
+            if (deliveryLimiter.isClosed()) {
+                throw new EJBException(localStrings.getLocalString(
+                    "containers.mdb.invocation_closed",
+                    appEJBName_ + ": Message-driven bean invocation closed by container", new Object[] { appEJBName_ }));
+            }
+            throw new EJBException(appEJBName_ + ": No message delivery permit available within "
+                + deliveryTimeoutInSeconds + " seconds, limit " + deliveryLimiter.getLimit());
+        }
+        return true;
+    }
+
+    /**
+     * Returns a permit of a delivery which did not reach afterMessageDelivery.
+     */
+    void releaseDeliveryPermit() {
+        deliveryLimiter.release();
+    }
+
+    public void afterMessageDelivery(ResourceHandle resourceHandle, long deliveryStartTime, boolean deliveryPermit) {
+        boolean success = false;
+        try {
+            success = afterMessageDeliveryInternal(resourceHandle);
+        } finally {
+            if (deliveryPermit) {
+                deliveryLimiter.deliveryCompleted(System.nanoTime() - deliveryStartTime, success);
+            }
+        }
     }
 
     private boolean afterMessageDeliveryInternal(ResourceHandle resourceHandle) {
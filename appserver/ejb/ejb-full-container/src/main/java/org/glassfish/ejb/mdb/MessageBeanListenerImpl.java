@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -35,6 +35,13 @@ public class MessageBeanListenerImpl implements MessageBeanListener {
     private MessageBeanContainer messageBeanContainer;
     private ResourceHandle resourceHandle;
 
+    // System.nanoTime() at the start of the current delivery
+    private long deliveryStartTime;
+
+    // True if the current delivery holds a permit of the adaptive delivery
+    // concurrency
+    private boolean deliveryPermit;
+
     MessageBeanListenerImpl(MessageBeanContainer container, ResourceHandle handle) {
         messageBeanContainer = container;
 
@@ -54,8 +61,19 @@ public class MessageBeanListenerImpl implements MessageBeanListener {
 
     @Override
     public void beforeMessageDelivery(Method method, boolean txImported) {
-        messageBeanContainer.onEnteringContainer(); // Notify Callflow Agent
-        messageBeanContainer.beforeMessageDelivery(method, Message, txImported, resourceHandle);
+        deliveryPermit = messageBeanContainer.acquireDeliveryPermit();
+        deliveryStartTime = System.nanoTime();
+        boolean started = false;
+        try {
+            messageBeanContainer.onEnteringContainer(); // Notify Callflow Agent
+            messageBeanContainer.beforeMessageDelivery(method, Message, txImported, resourceHandle);
+            started = true;
+        } finally {
+            if (!started && deliveryPermit) {
+                deliveryPermit = false;
+                messageBeanContainer.releaseDeliveryPermit();
+            }
+        }
     }
 
     @Override
@@ -66,7 +84,9 @@ public class MessageBeanListenerImpl implements MessageBeanListener {
     @Override
     public void afterMessageDelivery() {
         try {
-            messageBeanContainer.afterMessageDelivery(resourceHandle);
+            boolean permit = deliveryPermit;
+            deliveryPermit = false;
+            messageBeanContainer.afterMessageDelivery(resourceHandle, deliveryStartTime, permit);
         } finally {
             messageBeanContainer.onLeavingContainer(); // Notify Callflow Agent
         }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,7 @@
 package org.glassfish.ejb.mdb.monitoring.stats;
 
 import com.sun.ejb.monitoring.stats.EjbMonitoringStatsProvider;
+import org.glassfish.ejb.mdb.AdaptiveDeliveryLimiter;
 import org.glassfish.external.probe.provider.annotations.*;
 import org.glassfish.external.statistics.*;
 import org.glassfish.external.statistics.impl.*;
@@ -34,9 +36,24 @@ public class MessageDrivenBeanStatsProvider extends EjbMonitoringStatsProvider {
     private CountStatisticImpl messageCount = new CountStatisticImpl("MessageCount",
             "count", "Number of messages received for a message-driven bean");
 
+    private CountStatisticImpl concurrencyLimit = new CountStatisticImpl("ConcurrencyLimit",
+            "count", "Current limit of concurrent message deliveries, 0 if the limit is not adaptive");
+
+    private CountStatisticImpl delayedDeliveryCount = new CountStatisticImpl("DelayedDeliveryCount",
+            "count", "Number of message deliveries which waited because the concurrency limit was reached");
+
+    // null if the adaptive delivery concurrency is not enabled
+    private final AdaptiveDeliveryLimiter deliveryLimiter;
+
     public MessageDrivenBeanStatsProvider(long beanId, String appName, String moduleName,
             String beanName) {
+        this(beanId, appName, moduleName, beanName, null);
+    }
+
+    public MessageDrivenBeanStatsProvider(long beanId, String appName, String moduleName,
+            String beanName, AdaptiveDeliveryLimiter deliveryLimiter) {
         super(beanId, appName, moduleName, beanName);
+        this.deliveryLimiter = deliveryLimiter;
     }
 
     @ManagedAttribute(id="messagecount")
@@ -45,6 +62,24 @@ public class MessageDrivenBeanStatsProvider extends EjbMonitoringStatsProvider {
         return messageCount;
     }
 
+    @ManagedAttribute(id="concurrencylimit")
+    @Description( "Current limit of concurrent message deliveries, 0 if the limit is not adaptive")
+    public CountStatistic getConcurrencyLimit() {
+        if (deliveryLimiter != null) {
+            concurrencyLimit.setCount(deliveryLimiter.getLimit());
+        }
+        return concurrencyLimit;
+    }
+
+    @ManagedAttribute(id="delayeddeliverycount")
+    @Description( "Number of message deliveries which waited because the concurrency limit was reached")
+    public CountStatistic getDelayedDeliveryCount() {
+        if (deliveryLimiter != null) {
+            delayedDeliveryCount.setCount(deliveryLimiter.getDelayedCount());
+        }
+        return delayedDeliveryCount;
+    }
+
     @ProbeListener("glassfish:ejb:bean:messageDeliveredEvent")
     public void messageDeliveredEvent(
             @ProbeParam("beanId") long beanId,
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2023 Contributors to Eclipse Foundation. All rights reserved.
+ * Copyright (c) 2022, 2026 Contributors to Eclipse Foundation. All rights reserved.
  * Copyright (c) 2011, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -351,7 +351,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
                 restoreTimers();
                 rc = true;
             } else {
-                int s = timerLocal_.findActiveTimersOwnedByThisServer().size();
+                int s = timerLocal_.countActiveTimersOwnedByThisServer();
                 if (s > 0) {
                     logger.log(Level.INFO, "[" + s + "] EJB Timers owned by this server will be restored when timeout beans are loaded");
                 } else {
@@ -389,7 +389,9 @@ public class PersistentEJBTimerService extends EJBTimerService {
             // is initialized.  In addition, there's an initialization
             // cost to generating the SQL for the underlying
             // jpql queries the first time any TimerBean query is called.
-            _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServer());
+            // The timers are loaded read-only, all changes needed by the
+            // restoration are written with bulk statements.
+            _restoreTimers(timerLocal_.findActiveTimersOwnedByThisServerForRestore());
 
         } finally {
             // try to commit regardless of success or failure.
@@ -428,6 +430,7 @@ public class PersistentEJBTimerService extends EJBTimerService {
         Map timersToRestore = new HashMap();
         Set timerIdsToRemove = new HashSet();
         Set<TimerState> result = new HashSet<>();
+        Map<Long, Long> applicationIdsToUpdate = new HashMap<>();
 
         for(TimerState timer: timersEligibleForRestoration) {
 
@@ -445,10 +448,11 @@ public class PersistentEJBTimerService extends EJBTimerService {
             BaseContainer container = getContainer(containerId);
             if( container != null ) {
 
-                // Update applicationId if it is null (from previous version)
+                // Update applicationId if it is null (from previous version).
+                // Done with one bulk update per container after the loop.
                 long appid = timer.getApplicationId();
                 if (appid == 0) {
-                    timer.setApplicationId(container.getApplicationId());
+                    applicationIdsToUpdate.put(containerId, container.getApplicationId());
                 }
                 //  End update
 
@@ -574,6 +578,12 @@ public class PersistentEJBTimerService extends EJBTimerService {
             }
         } // End -- for each active timer
 
+        for (Map.Entry<Long, Long> entry : applicationIdsToUpdate.entrySet()) {
+            int updated = timerLocal_.updateMissingApplicationId(entry.getKey(), entry.getValue(),
+                    ownerIdOfThisServer_);
+            logger.log(Level.FINE, "Set applicationId of " + updated + " timers of container " + entry.getKey());
+        }
+
         if (timerIdsToRemove.size() > 0) {
             timerLocal_.remove(timerIdsToRemove);
         }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,11 +21,13 @@ import java.io.Serializable;
 import java.io.IOException;
 import java.io.ObjectStreamException;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
 import java.util.HashSet;
+import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -70,6 +73,15 @@ public class TimerBean implements TimerLocal {
 
     private static final Logger logger = LogDomains.getLogger(TimerBean.class, LogDomains.EJB_LOGGER);
 
+    // Max number of timer ids in the IN list of a single bulk delete. Keeps
+    // the statement below the bind parameter limits of the databases.
+    private static final int REMOVE_BATCH_SIZE = 500;
+
+    // EclipseLink hint: return the results without registering them in the
+    // persistence context, so that loading a large number of timers does not
+    // create a change tracking copy of each of them.
+    private static final String READ_ONLY_HINT = "eclipselink.read-only";
+
     @Resource private SessionContext context_;
 
     @PersistenceContext(unitName="__EJB__Timer__App")
@@ -320,14 +332,30 @@ public class TimerBean implements TimerLocal {
     }
 
     public void remove(Set<TimerPrimaryKey> timerIds) {
+        // The bulk deletes bypass the persistence context, write its pending
+        // changes first and detach its entities afterwards, none of them is
+        // stale then.
+        em.flush();
+        List<String> batch = new ArrayList<>(Math.min(timerIds.size(), REMOVE_BATCH_SIZE));
         for(TimerPrimaryKey timerId: timerIds) {
-            try {
-                remove(timerId);
-            } catch(Exception e) {
-                logger.log(Level.FINE, "Cannot remove timer " + timerId +
-                               " for unknown container ", e);
+            batch.add(timerId.getTimerId());
+            if (batch.size() == REMOVE_BATCH_SIZE) {
+                removeBatch(batch);
+                batch = new ArrayList<>(REMOVE_BATCH_SIZE);
             }
         }
+        if (!batch.isEmpty()) {
+            removeBatch(batch);
+        }
+        em.clear();
+    }
+
+    // A failed bulk delete may have marked the transaction for rollback,
+    // so it is not ignored like a timer that no longer exists.
+    private void removeBatch(List<String> timerIds) {
+        Query q = em.createNamedQuery("deleteTimersByIds");
+        q.setParameter("timerIds", timerIds);
+        q.executeUpdate();
     }
 
     public void cancel(TimerPrimaryKey timerId)
@@ -495,6 +523,14 @@ public class TimerBean implements TimerLocal {
                                 EJBTimerService.STATE_ACTIVE);
     }
 
+    public Set<TimerState> findActiveTimersOwnedByThisServerForRestore() {
+        Query q = em.createNamedQuery("findTimersByOwnerAndState");
+        q.setParameter(1, getOwnerIdOfThisServer());
+        q.setParameter(2, EJBTimerService.STATE_ACTIVE);
+        q.setHint(READ_ONLY_HINT, Boolean.TRUE);
+        return new HashSet<TimerState>(q.getResultList());
+    }
+
     public Set findCancelledTimersOwnedByThisServer() {
         return findTimersByOwnerAndState
                        (getOwnerIdOfThisServer(),
@@ -663,6 +699,18 @@ public class TimerBean implements TimerLocal {
         return q.executeUpdate();
     }
 
+    public int updateMissingApplicationId(long containerId, long applicationId, String ownerId) {
+        em.flush();
+        Query q = em.createNamedQuery("updateMissingApplicationIdByContainer");
+        q.setParameter("containerId", containerId);
+        q.setParameter("ownerId", ownerId);
+        q.setParameter("applicationId", applicationId);
+        int updated = q.executeUpdate();
+        // The managed timers of the container still have no applicationId
+        em.clear();
+        return updated;
+    }
+
     /**
      * To be used to read in TimerBean.Blob and replace with TimerState.Blob
      * on v2.x upgrade
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -54,6 +55,8 @@ public interface TimerLocal {
 
     void remove(TimerPrimaryKey timerId);
 
+    // Deletes the timers with bulk statements. Detaches the timers loaded in
+    // the current transaction.
     void remove(Set<TimerPrimaryKey> timerIds);
 
     //
@@ -92,6 +95,10 @@ public interface TimerLocal {
 
     Set findTimersOwnedByThisServer();
     Set findActiveTimersOwnedByThisServer();
+
+    // Read-only variant for timer restoration. The returned timers are not
+    // managed, changes to them are not written to the database.
+    Set<TimerState> findActiveTimersOwnedByThisServerForRestore();
     Set findCancelledTimersOwnedByThisServer();
 
     Set findTimersOwnedBy(String owner);
@@ -134,4 +141,9 @@ public interface TimerLocal {
 
     // Delete all timers owned by this Application (aka applicationId)
     int deleteTimersByApplication(long applicationId);
+
+    // Set the applicationId of timers of this EJB (aka containerId) owned by
+    // the given server instance and created by a version that did not store it.
+    // Detaches the timers loaded in the current transaction.
+    int updateMissingApplicationId(long containerId, long applicationId, String ownerId);
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,6 +23,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.NamedQuery;
 import jakarta.persistence.NamedQueries;
@@ -144,8 +146,21 @@ import com.sun.logging.LogDomains;
         name="deleteTimersByApplication",
         query="DELETE FROM Timer t WHERE t.applicationId = :applicationId"
     )
+    ,
+    @NamedQuery(
+        name="deleteTimersByIds",
+        query="DELETE FROM Timer t WHERE t.timerId IN :timerIds"
+    )
+    ,
+    @NamedQuery(
+        name="updateMissingApplicationIdByContainer",
+        query="UPDATE Timer t SET t.applicationId = :applicationId WHERE t.containerId = :containerId AND t.ownerId = :ownerId AND t.applicationId = 0"
+    )
 })
-@Table(name="EJB__TIMER__TBL")
+// Every server instance reads and migrates timers by owner and state, so
+// each instance only touches its own rows.
+@Table(name="EJB__TIMER__TBL",
+       indexes=@Index(name="EJB__TIMER__OWNER__IDX", columnList="OWNERID, STATE"))
 @IdClass(com.sun.ejb.containers.TimerPrimaryKey.class)
 public class TimerState {
 
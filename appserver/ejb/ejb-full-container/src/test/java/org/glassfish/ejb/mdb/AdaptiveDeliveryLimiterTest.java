@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.mdb;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveDeliveryLimiterTest {
+
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    @Test
+    public void constructorClampsLimits() {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(0, 10, 20);
+        assertEquals(1, limiter.getMinLimit());
+        assertEquals(10, limiter.getMaxLimit());
+        assertEquals(10, limiter.getLimit());
+
+        limiter = new AdaptiveDeliveryLimiter(5, 3, 1);
+        assertEquals(5, limiter.getMinLimit());
+        assertEquals(5, limiter.getMaxLimit());
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void increasesWhenAllPermitsAreUsed() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(2, 8, 2);
+        acquire(limiter);
+        deliver(limiter, AdaptiveDeliveryLimiter.MIN_WINDOW_SIZE, LATENCY, true);
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, limiter.getInUse());
+    }
+
+    @Test
+    public void keepsLimitWithoutDemand() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(2, 8, 4);
+        deliver(limiter, 3 * AdaptiveDeliveryLimiter.MIN_WINDOW_SIZE, LATENCY, true);
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInUse());
+    }
+
+    @Test
+    public void backsOffOnFailure() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(2, 32, 20);
+        deliver(limiter, 19, LATENCY, true);
+        assertEquals(20, limiter.getLimit());
+        deliver(limiter, 1, LATENCY, false);
+        assertEquals((int) (20 * AdaptiveDeliveryLimiter.BACKOFF_RATIO), limiter.getLimit());
+    }
+
+    @Test
+    public void backsOffOnLatencySpike() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(1, 32, 10);
+        deliver(limiter, 10, LATENCY, true);
+        assertEquals(10, limiter.getLimit());
+        deliver(limiter, 10, LATENCY * 5, true);
+        assertEquals((int) (10 * AdaptiveDeliveryLimiter.BACKOFF_RATIO), limiter.getLimit());
+    }
+
+    @Test
+    public void staysWithinBounds() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(4, 32, 5);
+        for (int i = 0; i < 5; i++) {
+            deliver(limiter, AdaptiveDeliveryLimiter.MIN_WINDOW_SIZE, LATENCY, false);
+        }
+        assertEquals(4, limiter.getLimit());
+
+        limiter = new AdaptiveDeliveryLimiter(1, 3, 2);
+        for (int i = 0; i < 5; i++) {
+            // Keep all but one permit in use, so that every window is saturated
+            while (limiter.getInUse() < limiter.getLimit() - 1) {
+                acquire(limiter);
+            }
+            deliver(limiter, AdaptiveDeliveryLimiter.MIN_WINDOW_SIZE, LATENCY, true);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    public void acquireWaitsForRelease() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(1, 1, 1);
+        acquire(limiter);
+
+        AtomicBoolean acquired = new AtomicBoolean();
+        Thread delivery = new Thread(() -> {
+            try {
+                acquired.set(limiter.acquire(TIMEOUT, TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        delivery.start();
+        waitForDelayedCount(limiter, 1);
+        assertFalse(acquired.get());
+
+        limiter.deliveryCompleted(LATENCY, true);
+        delivery.join(TimeUnit.SECONDS.toMillis(10));
+        assertTrue(acquired.get());
+        assertEquals(1, limiter.getInUse());
+    }
+
+    @Test
+    public void interruptedAcquireTakesNoPermit() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(1, 1, 1);
+        acquire(limiter);
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> limiter.acquire(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(1, limiter.getInUse());
+        limiter.release();
+        assertEquals(0, limiter.getInUse());
+    }
+
+    @Test
+    public void acquireTimesOut() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(1, 1, 1);
+        acquire(limiter);
+        assertFalse(limiter.acquire(10L, TimeUnit.MILLISECONDS));
+        assertEquals(1, limiter.getInUse());
+        assertEquals(1, limiter.getDelayedCount());
+        assertEquals(1, limiter.getTimedOutCount());
+
+        limiter.deliveryCompleted(LATENCY, true);
+        assertTrue(limiter.acquire(0L, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void closeFailsWaitingAndLaterDeliveries() throws Exception {
+        AdaptiveDeliveryLimiter limiter = new AdaptiveDeliveryLimiter(1, 1, 1);
+        acquire(limiter);
+
+        AtomicBoolean acquired = new AtomicBoolean(true);
+        Thread delivery = new Thread(() -> {
+            try {
+                acquired.set(limiter.acquire(TimeUnit.MINUTES.toMillis(10), TimeUnit.MILLISECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        delivery.start();
+        waitForDelayedCount(limiter, 1);
+
+        limiter.close();
+        delivery.join(TIMEOUT);
+        assertFalse(delivery.isAlive());
+        assertFalse(acquired.get());
+        assertTrue(limiter.isClosed());
+        assertEquals(0, limiter.getTimedOutCount());
+
+        // the permit taken before can still be returned
+        limiter.deliveryCompleted(LATENCY, true);
+        assertEquals(0, limiter.getInUse());
+        assertFalse(limiter.acquire(TIMEOUT, TimeUnit.MILLISECONDS));
+        assertEquals(0, limiter.getInUse());
+    }
+
+    private static void acquire(AdaptiveDeliveryLimiter limiter) throws InterruptedException {
+        assertTrue(limiter.acquire(TIMEOUT, TimeUnit.MILLISECONDS));
+    }
+
+    private static void deliver(AdaptiveDeliveryLimiter limiter, int count, long latency, boolean success)
+        throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            acquire(limiter);
+            limiter.deliveryCompleted(latency, success);
+        }
+    }
+
+    private static void waitForDelayedCount(AdaptiveDeliveryLimiter limiter, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (limiter.getDelayedCount() < count) {
+            assertTrue(System.nanoTime() < deadline, "No delivery waited for a permit");
+            Thread.sleep(10L);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ejb.persistent.timer;
+
+import com.sun.ejb.containers.TimerPrimaryKey;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.NamedQueries;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createStrictMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.newCapture;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.glassfish.tests.utils.ReflectionUtils.setField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimerBeanTest {
+
+    private EntityManager em;
+    private Query query;
+    private TimerBean timerBean;
+
+    @BeforeEach
+    public void createBean() {
+        em = createStrictMock(EntityManager.class);
+        query = createStrictMock(Query.class);
+        timerBean = new TimerBean();
+        setField(timerBean, "em", em);
+    }
+
+
+    @Test
+    public void missingApplicationIdIsSetOnlyForTimersOfTheOwner() {
+        assertTrue(namedQuery("updateMissingApplicationIdByContainer").contains("t.ownerId = :ownerId"));
+
+        em.flush();
+        expect(em.createNamedQuery("updateMissingApplicationIdByContainer")).andReturn(query);
+        expect(query.setParameter("containerId", 5L)).andReturn(query);
+        expect(query.setParameter("ownerId", "instance1")).andReturn(query);
+        expect(query.setParameter("applicationId", 7L)).andReturn(query);
+        expect(query.executeUpdate()).andReturn(3);
+        em.clear();
+        replay(em, query);
+
+        assertEquals(3, timerBean.updateMissingApplicationId(5L, 7L, "instance1"));
+        verify(em, query);
+    }
+
+
+    @Test
+    public void timersAreRemovedInBatches() {
+        Set<TimerPrimaryKey> timerIds = new HashSet<>();
+        for (int i = 0; i < 1001; i++) {
+            timerIds.add(new TimerPrimaryKey("timer" + i));
+        }
+        Capture<Collection<String>> batches = newCapture(CaptureType.ALL);
+
+        em.flush();
+        for (int i = 0; i < 3; i++) {
+            expect(em.createNamedQuery("deleteTimersByIds")).andReturn(query);
+            expect(query.setParameter(eq("timerIds"), capture(batches))).andReturn(query);
+            expect(query.executeUpdate()).andReturn(1);
+        }
+        em.clear();
+        replay(em, query);
+
+        timerBean.remove(timerIds);
+        verify(em, query);
+
+        Set<String> removed = new HashSet<>();
+        List<Integer> sizes = new ArrayList<>();
+        for (Collection<String> batch : batches.getValues()) {
+            sizes.add(batch.size());
+            removed.addAll(batch);
+        }
+        assertEquals(List.of(500, 500, 1), sizes);
+        assertEquals(1001, removed.size());
+    }
+
+
+    @Test
+    public void failedBulkDeleteIsNotIgnored() {
+        em.flush();
+        expect(em.createNamedQuery("deleteTimersByIds")).andReturn(query);
+        expect(query.setParameter(eq("timerIds"), capture(newCapture()))).andReturn(query);
+        expect(query.executeUpdate()).andThrow(new PersistenceException("Connection lost"));
+        replay(em, query);
+
+        assertThrows(PersistenceException.class, () -> timerBean.remove(Set.of(new TimerPrimaryKey("timer"))));
+        verify(em, query);
+    }
+
+
+    private static String namedQuery(String name) {
+        for (NamedQuery query : TimerState.class.getAnnotation(NamedQueries.class).value()) {
+            if (query.name().equals(name)) {
+                return query.query();
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+}
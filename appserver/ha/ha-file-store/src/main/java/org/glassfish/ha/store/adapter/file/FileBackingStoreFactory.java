@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -36,11 +36,11 @@ public class FileBackingStoreFactory
 
     private static ThreadLocal<FileStoreTransaction> _current = new ThreadLocal<>();
 
-    private static ConcurrentHashMap<String, FileBackingStore> _stores
+    private static ConcurrentHashMap<String, BackingStore> _stores
             = new ConcurrentHashMap<>();
 
 
-    static FileBackingStore getFileBackingStore(String storeName) {
+    static BackingStore getFileBackingStore(String storeName) {
         return _stores.get(storeName);
     }
 
@@ -52,6 +52,13 @@ public class FileBackingStoreFactory
     public <K extends Serializable, V extends Serializable> BackingStore<K, V> createBackingStore(
             BackingStoreConfiguration<K, V> conf)
                 throws BackingStoreException {
+        if (LogBackingStore.isSelected(conf)) {
+            LogBackingStore<K, V> ls = new LogBackingStore<>();
+            ls.initialize(conf);
+            ls.setFileBackingStoreFactory(this);
+            _stores.put(conf.getStoreName(), ls);
+            return ls;
+        }
         FileBackingStore<K, V> fs = new FileBackingStore<>();
         fs.initialize(conf);
         fs.setFileBackingStoreFactory(this);
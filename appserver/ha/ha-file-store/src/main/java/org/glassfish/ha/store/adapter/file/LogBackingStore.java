@@ -0,0 +1,650 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.ha.store.api.BackingStore;
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.glassfish.ha.store.api.BackingStoreException;
+import org.glassfish.ha.store.api.BackingStoreFactory;
+
+/**
+ * An implementation of BackingStore that persists Serializable data in a
+ * few memory-mapped, append-only segment files instead of a file per key.
+ * <p>
+ * Saving a value appends a record to the active segment, the location of the
+ * current record of every key is kept in an in-memory index. Timestamps are
+ * kept in the index and written into the mapped record, so updating them and
+ * expiring entries does not need any file system operation. Replaced and
+ * removed records are reclaimed by a background compaction, which copies the
+ * live records of a mostly dead segment to the active segment and deletes the
+ * segment file. The index is rebuilt from the segment files on startup, the
+ * record with the highest sequence number of a key wins. The mapped segments
+ * are forced to the storage device periodically and before a compacted
+ * segment is deleted.
+ * <p>
+ * {@link FileBackingStoreFactory} creates this store when the vendor specific
+ * setting or the system property {@value #STORE_FORMAT_PROPERTY} is
+ * {@value #LOG_STORE_FORMAT}.
+ */
+public class LogBackingStore<K extends Serializable, V extends Serializable>
+        extends BackingStore<K, V> {
+
+    /**
+     * Selects the format of the file store, {@value #LOG_STORE_FORMAT} or
+     * {@value #FILE_STORE_FORMAT}.
+     */
+    public static final String STORE_FORMAT_PROPERTY = "org.glassfish.ha.store.adapter.file.format";
+
+    public static final String LOG_STORE_FORMAT = "log";
+
+    public static final String FILE_STORE_FORMAT = "file";
+
+    /**
+     * Size of a segment file in bytes. Larger values get a segment of their own.
+     */
+    public static final String SEGMENT_SIZE_PROPERTY = "log.segment.size.in.bytes";
+
+    /**
+     * Share of dead bytes of a segment from which on it is compacted.
+     */
+    public static final String COMPACTION_THRESHOLD_PROPERTY = "log.compaction.threshold";
+
+    /**
+     * Interval of forcing the mapped segments to the storage device, 0 forces
+     * them only when a compacted segment is deleted and on close.
+     */
+    public static final String FORCE_INTERVAL_PROPERTY = "log.force.interval.in.millis";
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    private static final long DEFAULT_FORCE_INTERVAL = 1000L;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final Level TRACE_LEVEL = Level.FINE;
+
+    protected Logger logger =
+            Logger.getLogger(LogBackingStore.class.getName());
+
+    protected File baseDir;
+
+    private volatile boolean shutdown;
+
+    private String debugStr;
+
+    private FileBackingStoreFactory factory;
+
+    private long defaultMaxIdleTimeoutInSeconds = 10L * 60L;
+
+    private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+    private double compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+
+    private long forceIntervalInMillis = DEFAULT_FORCE_INTERVAL;
+
+    private final ConcurrentHashMap<String, Entry> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListMap<Long, LogSegment> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /** Guarded by the append lock. */
+    private LogSegment activeSegment;
+
+    /** Guarded by the append lock. */
+    private long nextSegmentId;
+
+    /** Guarded by the append lock. */
+    private long nextSequence;
+
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService compactor;
+
+    /**
+     * @return true if the configuration or the system property select this store
+     */
+    static boolean isSelected(BackingStoreConfiguration<?, ?> conf) {
+        Object format = conf.getVendorSpecificSettings().get(STORE_FORMAT_PROPERTY);
+        if (format == null) {
+            format = System.getProperty(STORE_FORMAT_PROPERTY, FILE_STORE_FORMAT);
+        }
+        return LOG_STORE_FORMAT.equalsIgnoreCase(format.toString());
+    }
+
+    /**
+     * No arg constructor
+     */
+    public LogBackingStore() {
+    }
+
+    @Override
+    protected void initialize(BackingStoreConfiguration<K, V> conf)
+        throws BackingStoreException {
+
+        if (conf.getLogger() != null) {
+            logger = conf.getLogger();
+        }
+
+        super.initialize(conf);
+        debugStr = "[LogBackingStore - " + conf.getStoreName() + "] ";
+
+        Map<String, Object> vendorMap = conf.getVendorSpecificSettings();
+        try {
+            defaultMaxIdleTimeoutInSeconds = Long.parseLong(
+                    (String) vendorMap.get("max.idle.timeout.in.seconds"));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+        try {
+            segmentSize = Integer.parseInt(String.valueOf(vendorMap.get(SEGMENT_SIZE_PROPERTY)));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+        try {
+            compactionThreshold = Double.parseDouble(String.valueOf(vendorMap.get(COMPACTION_THRESHOLD_PROPERTY)));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+        try {
+            forceIntervalInMillis = Long.parseLong(String.valueOf(vendorMap.get(FORCE_INTERVAL_PROPERTY)));
+        } catch (Exception ex) {
+            //Ignore. Use default
+        }
+
+        baseDir = conf.getBaseDirectory();
+        if (baseDir == null) {
+            throw new BackingStoreException("[LogBackingStore::initialize] No base directory configured");
+        }
+        if ((baseDir.mkdirs() == false) && (! baseDir.isDirectory())) {
+            throw new BackingStoreException("[LogBackingStore::initialize] Create base directory ("
+                    + baseDir.getAbsolutePath() + ") failed");
+        }
+
+        try {
+            recover();
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("[LogBackingStore::initialize] Failed to open the segments in "
+                    + baseDir.getAbsolutePath(), ioEx);
+        }
+
+        final String threadName = "LogBackingStore-compactor-" + conf.getStoreName();
+        compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (forceIntervalInMillis > 0) {
+            compactor.scheduleWithFixedDelay(this::forceSegments,
+                    forceIntervalInMillis, forceIntervalInMillis, TimeUnit.MILLISECONDS);
+        }
+        scheduleCompaction();
+
+        logger.log(Level.INFO, "[LogBackingStore::initialize] Successfully Created and initialized store. "
+                + "Working dir: " + baseDir + "; Entries: " + index.size()
+                + "; Segments: " + segments.size() + "; Configuration: " + conf);
+    }
+
+    /*package*/ void setFileBackingStoreFactory(FileBackingStoreFactory factory) {
+        this.factory = factory;
+    }
+
+    @Override
+    public BackingStoreFactory getBackingStoreFactory() {
+        return factory;
+    }
+
+    @Override
+    public V load(K key, String version) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered load(" + key + ", " + version + ")");
+        }
+
+        Entry entry = index.get(key.toString());
+        if (entry == null) {
+            return null;
+        }
+
+        V value = null;
+        try {
+            ObjectInputStream ois = super.createObjectInputStream(
+                    new ByteArrayInputStream(entry.segment.readValue(entry.offset)));
+            value = (V) ois.readObject();
+
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done load(" + key + ", " + version + ")");
+            }
+        } catch (Exception ex) {
+            logger.log(Level.WARNING, debugStr + "Failed to load(" + key + ", " + version + ")", ex);
+        }
+        return value;
+    }
+
+    @Override
+    public String save(K sessionKey, V value, boolean isNew)
+            throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered save(" + sessionKey + ")");
+        }
+
+        String key = sessionKey.toString();
+        Entry entry = append(key.getBytes(StandardCharsets.UTF_8),
+                getSerializedState(value), System.currentTimeMillis(), -1L);
+        kill(index.put(key, entry));
+
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done save(" + sessionKey + ")");
+        }
+        return getBackingStoreConfiguration().getInstanceName();
+    }
+
+    @Override
+    public void remove(K sessionKey) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered remove(" + sessionKey + ")");
+        }
+        boolean status = kill(index.remove(sessionKey.toString()));
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done remove( " + sessionKey + "); status => " + status);
+        }
+    }
+
+    @Override
+    public void updateTimestamp(K sessionKey, long time)
+            throws BackingStoreException {
+        Entry entry = index.get(sessionKey.toString());
+        if (entry == null) {
+            logger.log(Level.WARNING, debugStr
+                    + ": Cannot update timsestamp for: " + sessionKey
+                    + "; Entry does not exist");
+            return;
+        }
+        entry.touch(time);
+    }
+
+    @Override
+    public int removeExpired() {
+        return removeExpired(defaultMaxIdleTimeoutInSeconds * 1000L);
+    }
+
+    @Override
+    public int removeExpired(long idleForMillis) {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Entered removeExpired()");
+        }
+        long threshold = System.currentTimeMillis() - idleForMillis;
+        int expiredSessions = 0;
+        for (Map.Entry<String, Entry> mapping : index.entrySet()) {
+            if (shutdown) {
+                break;
+            }
+            Entry entry = mapping.getValue();
+            if (entry.timestamp < threshold && index.remove(mapping.getKey(), entry)) {
+                kill(entry);
+                expiredSessions++;
+            }
+        }
+        if (expiredSessions > 0) {
+            scheduleCompaction();
+        }
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done removeExpired(); removed " + expiredSessions);
+        }
+        return expiredSessions;
+    }
+
+    @Override
+    public int size() throws BackingStoreException {
+        return index.size();
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        //Nothing else to do here. DO NOT DELETE THE WORKING DIRECTORY
+    }
+
+    @Override
+    public void close() throws BackingStoreException {
+        shutdown = true;
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+        forceSegments();
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Entered destroy()");
+            }
+            shutdown = true;
+            if (compactor != null) {
+                compactor.shutdownNow();
+            }
+            index.clear();
+            for (LogSegment segment : segments.values()) {
+                deleteSegment(segment);
+            }
+
+            if (baseDir.delete() == false) {
+                if (baseDir.exists()) {
+                    logger.log(Level.WARNING, debugStr + " destroy() failed to remove dir: " + baseDir.getAbsolutePath());
+                }
+            }
+            if (logger.isLoggable(TRACE_LEVEL)) {
+                logger.log(TRACE_LEVEL, debugStr + "Done destroy()");
+            }
+        } catch (Throwable th) {
+            logger.log(Level.WARNING, debugStr + " destroy() failed ", th);
+        } finally {
+            FileBackingStoreFactory.removemapping(getBackingStoreConfiguration().getStoreName());
+        }
+    }
+
+    /**
+     * Maps the existing segments and rebuilds the index from their live
+     * records. A compaction interrupted by a crash may leave a stale copy of a
+     * record after a newer record of the same key, so the record with the
+     * highest sequence number wins and the others are marked dead.
+     */
+    private void recover() throws IOException {
+        TreeMap<Long, File> files = new TreeMap<>();
+        File[] segmentFiles = baseDir.listFiles(
+                (dir, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (segmentFiles != null) {
+            for (File file : segmentFiles) {
+                String name = file.getName();
+                try {
+                    files.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())), file);
+                } catch (NumberFormatException nfEx) {
+                    logger.log(Level.WARNING, debugStr + " Ignoring unknown file: " + file);
+                }
+            }
+        }
+
+        appendLock.lock();
+        try {
+            for (Map.Entry<Long, File> file : files.entrySet()) {
+                LogSegment segment = LogSegment.open(file.getKey(), file.getValue());
+                segment.recover((key, offset, size, sequence, timestamp) -> {
+                    Entry entry = new Entry(segment, offset, size, sequence, timestamp);
+                    Entry current = index.get(key);
+                    // Equal sequence numbers are copies of the same record, the later copy wins
+                    if (current == null || current.sequence <= sequence) {
+                        index.put(key, entry);
+                        kill(current);
+                    } else {
+                        kill(entry);
+                    }
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                });
+                segments.put(segment.getId(), segment);
+                activeSegment = segment;
+                nextSegmentId = segment.getId() + 1;
+            }
+            if (activeSegment == null || !activeSegment.hasRoom(LogSegment.HEADER_SIZE)) {
+                activeSegment = newSegment(segmentSize);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a live record to the active segment, starting a new segment if
+     * the record does not fit.
+     *
+     * @param sequence sequence number of the copied record, or a negative
+     *            value to number a new record
+     */
+    private Entry append(byte[] key, byte[] value, long timestamp, long sequence) throws BackingStoreException {
+        int recordSize = LogSegment.recordSize(key, value);
+        LogSegment sealed = null;
+        Entry entry;
+        appendLock.lock();
+        try {
+            if (!activeSegment.hasRoom(recordSize)) {
+                sealed = activeSegment;
+                try {
+                    activeSegment = newSegment(Math.max(segmentSize, recordSize));
+                } catch (IOException ioEx) {
+                    throw new BackingStoreException(debugStr + "Could not create a new segment in "
+                            + baseDir.getAbsolutePath(), ioEx);
+                }
+            }
+            long recordSequence = sequence < 0 ? nextSequence++ : sequence;
+            entry = new Entry(activeSegment, activeSegment.append(key, value, recordSequence, timestamp),
+                    recordSize, recordSequence, timestamp);
+        } finally {
+            appendLock.unlock();
+        }
+        if (sealed != null) {
+            // Records of any sealed segment may have died since it was sealed
+            scheduleCompaction();
+        }
+        return entry;
+    }
+
+    private LogSegment newSegment(int capacity) throws IOException {
+        long id = nextSegmentId++;
+        LogSegment segment = LogSegment.create(id, new File(baseDir, SEGMENT_PREFIX + id + SEGMENT_SUFFIX), capacity);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    /**
+     * Marks the record of a replaced, removed or expired entry as dead.
+     *
+     * @return false if there was no entry
+     */
+    private boolean kill(Entry entry) {
+        if (entry == null) {
+            return false;
+        }
+        if (entry.dead.compareAndSet(false, true)) {
+            entry.segment.markDead(entry.offset, entry.size);
+        }
+        return true;
+    }
+
+    private boolean isCompactable(LogSegment segment) {
+        return segment.getDeadRatio() >= compactionThreshold;
+    }
+
+    private void scheduleCompaction() {
+        if (!shutdown && compactor != null && compactionScheduled.compareAndSet(false, true)) {
+            try {
+                compactor.execute(this::compact);
+            } catch (Exception ex) {
+                compactionScheduled.set(false);
+                logger.log(Level.FINE, debugStr + " Compaction not scheduled", ex);
+            }
+        }
+    }
+
+    /**
+     * Compacts all sealed segments with enough dead records.
+     */
+    private void compact() {
+        compactionScheduled.set(false);
+        for (LogSegment segment : segments.values()) {
+            if (shutdown) {
+                return;
+            }
+            if (segment == currentSegment() || !isCompactable(segment)) {
+                continue;
+            }
+            try {
+                compact(segment);
+            } catch (Exception ex) {
+                logger.log(Level.WARNING, debugStr + " Compaction of " + segment + " failed", ex);
+            }
+        }
+    }
+
+    /**
+     * Moves the live records of a sealed segment to the active segment and
+     * deletes it. A record is copied while its key is locked in the index, so
+     * a key removed concurrently is not copied, and a copy keeps the sequence
+     * number of the original, so it does not win over a concurrently saved
+     * record after a crash.
+     */
+    private void compact(LogSegment segment) throws BackingStoreException {
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Compacting " + segment);
+        }
+        int[] moved = new int[1];
+        BackingStoreException[] failure = new BackingStoreException[1];
+        segment.forEachLive((key, offset, size, sequence, timestamp) -> {
+            Entry entry = index.get(key);
+            if (shutdown || failure[0] != null
+                    || entry == null || entry.segment != segment || entry.offset != offset) {
+                return;
+            }
+            Entry[] copy = new Entry[1];
+            index.computeIfPresent(key, (k, current) -> {
+                if (current != entry || current.dead.get()) {
+                    return current;
+                }
+                try {
+                    copy[0] = append(k.getBytes(StandardCharsets.UTF_8),
+                            segment.readValue(offset), current.timestamp, current.sequence);
+                    return copy[0];
+                } catch (BackingStoreException bsEx) {
+                    failure[0] = bsEx;
+                    return current;
+                }
+            });
+            if (copy[0] != null) {
+                if (entry.timestamp > copy[0].timestamp) {
+                    // Touched while being copied
+                    copy[0].touch(entry.timestamp);
+                }
+                moved[0]++;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        if (shutdown) {
+            return;
+        }
+        // The copies must be on the storage device before their originals are gone
+        forceSegments();
+        segments.remove(segment.getId());
+        deleteSegment(segment);
+        if (logger.isLoggable(TRACE_LEVEL)) {
+            logger.log(TRACE_LEVEL, debugStr + "Done compacting " + segment + "; moved " + moved[0] + " records");
+        }
+    }
+
+    private void forceSegments() {
+        for (LogSegment segment : segments.values()) {
+            try {
+                segment.force();
+            } catch (Exception ex) {
+                logger.log(Level.WARNING, debugStr + " Failed to force " + segment, ex);
+            }
+        }
+    }
+
+    private LogSegment currentSegment() {
+        appendLock.lock();
+        try {
+            return activeSegment;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes a segment file. The mapping stays valid for concurrent readers
+     * until it is garbage collected.
+     */
+    private void deleteSegment(LogSegment segment) {
+        File file = segment.getFile();
+        if (!file.delete() && file.exists()) {
+            // Mapped files cannot be deleted on some platforms
+            logger.log(Level.FINE, debugStr + " Could not delete " + file + ", deleting it on exit");
+            file.deleteOnExit();
+        }
+    }
+
+    private byte[] getSerializedState(V value)
+            throws BackingStoreException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = super.createObjectOutputStream(bos)) {
+            oos.writeObject(value);
+            oos.flush();
+            return bos.toByteArray();
+        } catch (IOException ioEx) {
+            throw new BackingStoreException("Error during getSerializedState", ioEx);
+        }
+    }
+
+    /**
+     * Location and timestamp of the current record of a key.
+     */
+    private static final class Entry {
+
+        final LogSegment segment;
+        final int offset;
+        final int size;
+        final long sequence;
+        volatile long timestamp;
+        final AtomicBoolean dead = new AtomicBoolean();
+
+        Entry(LogSegment segment, int offset, int size, long sequence, long timestamp) {
+            this.segment = segment;
+            this.offset = offset;
+            this.size = size;
+            this.sequence = sequence;
+            this.timestamp = timestamp;
+        }
+
+        void touch(long time) {
+            timestamp = time;
+            segment.writeTimestamp(offset, time);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A memory-mapped segment file of the {@link LogBackingStore}.
+ * <p>
+ * A segment is a sequence of records, each made of a header, the key encoded
+ * in UTF-8 and the serialized value:
+ * <pre>
+ * int status | int key length | int value length | long sequence | long timestamp | key | value
+ * </pre>
+ * The status of a record is written last, so a record is either complete or
+ * ends the segment. The status and the timestamp of a record are updated in
+ * place, replacing or removing a record does not touch the file system.
+ * <p>
+ * The sequence number orders the records of a key across all segments. A
+ * record copied by a compaction keeps the sequence number of the original.
+ */
+final class LogSegment {
+
+    static final int HEADER_SIZE = 28;
+
+    /** Status of a record holding the current value of its key. */
+    static final int LIVE = 0x4C495645;
+
+    /** Status of a record which was replaced, removed or expired. */
+    static final int DEAD = 0x44454144;
+
+    private static final int KEY_LENGTH_OFFSET = 4;
+    private static final int VALUE_LENGTH_OFFSET = 8;
+    private static final int SEQUENCE_OFFSET = 12;
+    private static final int TIMESTAMP_OFFSET = 20;
+
+    private final long id;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    /** Guarded by the append lock of the store. */
+    private int position;
+
+    private final AtomicLong deadBytes = new AtomicLong();
+
+    private LogSegment(long id, File file, MappedByteBuffer buffer) {
+        this.id = id;
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+    }
+
+    /**
+     * Creates and maps a new segment file.
+     */
+    static LogSegment create(long id, File file, int capacity) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(capacity);
+            return new LogSegment(id, file, raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    /**
+     * Maps an existing segment file. The records are read by {@link #recover}.
+     */
+    static LogSegment open(long id, File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            return new LogSegment(id, file, raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length()));
+        }
+    }
+
+    long getId() {
+        return id;
+    }
+
+    File getFile() {
+        return file;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    long getDeadBytes() {
+        return deadBytes.get();
+    }
+
+    static int recordSize(byte[] key, byte[] value) {
+        return HEADER_SIZE + key.length + value.length;
+    }
+
+    boolean hasRoom(int recordSize) {
+        return capacity - position >= recordSize;
+    }
+
+    /**
+     * Appends a live record. The caller holds the append lock and checked
+     * the room left with {@link #hasRoom}.
+     *
+     * @return the offset of the record
+     */
+    int append(byte[] key, byte[] value, long sequence, long timestamp) {
+        int offset = position;
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset + HEADER_SIZE);
+        target.put(key).put(value);
+        buffer.putInt(offset + KEY_LENGTH_OFFSET, key.length);
+        buffer.putInt(offset + VALUE_LENGTH_OFFSET, value.length);
+        buffer.putLong(offset + SEQUENCE_OFFSET, sequence);
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+        buffer.putInt(offset, LIVE);
+        position = offset + recordSize(key, value);
+        return offset;
+    }
+
+    byte[] readKey(int offset) {
+        byte[] key = new byte[buffer.getInt(offset + KEY_LENGTH_OFFSET)];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset + HEADER_SIZE);
+        source.get(key);
+        return key;
+    }
+
+    byte[] readValue(int offset) {
+        int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+        byte[] value = new byte[buffer.getInt(offset + VALUE_LENGTH_OFFSET)];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset + HEADER_SIZE + keyLength);
+        source.get(value);
+        return value;
+    }
+
+    void writeTimestamp(int offset, long timestamp) {
+        buffer.putLong(offset + TIMESTAMP_OFFSET, timestamp);
+    }
+
+    /**
+     * Marks a record as dead, its bytes are reclaimed by the next compaction
+     * of the segment.
+     */
+    void markDead(int offset, int recordSize) {
+        buffer.putInt(offset, DEAD);
+        deadBytes.addAndGet(recordSize);
+    }
+
+    /**
+     * @return the share of the written bytes held by dead records
+     */
+    double getDeadRatio() {
+        int written = position;
+        return written == 0 ? 0.0 : (double) deadBytes.get() / written;
+    }
+
+    /**
+     * Reads the records of a mapped segment and positions it after the last
+     * complete record.
+     */
+    void recover(RecordVisitor visitor) {
+        position = read(capacity, visitor, true);
+    }
+
+    /**
+     * Visits the live records written so far. The caller makes sure no
+     * records are appended concurrently, as for a sealed segment.
+     */
+    void forEachLive(RecordVisitor visitor) {
+        read(position, visitor, false);
+    }
+
+    /**
+     * @return the offset following the last complete record before the limit
+     */
+    private int read(int limit, RecordVisitor visitor, boolean countDead) {
+        int offset = 0;
+        while (limit - offset >= HEADER_SIZE) {
+            int status = buffer.getInt(offset);
+            if (status != LIVE && status != DEAD) {
+                break;
+            }
+            int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+            int valueLength = buffer.getInt(offset + VALUE_LENGTH_OFFSET);
+            if (keyLength < 0 || valueLength < 0
+                    || (long) limit - offset - HEADER_SIZE < (long) keyLength + valueLength) {
+                break;
+            }
+            int size = HEADER_SIZE + keyLength + valueLength;
+            if (status == LIVE) {
+                String key = new String(readKey(offset), StandardCharsets.UTF_8);
+                visitor.visit(key, offset, size,
+                        buffer.getLong(offset + SEQUENCE_OFFSET), buffer.getLong(offset + TIMESTAMP_OFFSET));
+            } else if (countDead) {
+                deadBytes.addAndGet(size);
+            }
+            offset += size;
+        }
+        return offset;
+    }
+
+    /**
+     * Writes the changes of the mapped segment to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public String toString() {
+        return file.getName() + " [position=" + position + ", dead=" + deadBytes.get() + "]";
+    }
+
+    interface RecordVisitor {
+        void visit(String key, int offset, int size, long sequence, long timestamp);
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.ha.store.adapter.file;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.ha.store.api.BackingStoreConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The crash tests write the segment files a crashed store could leave behind
+ * and check what a new store recovers from them.
+ */
+public class LogBackingStoreTest {
+
+    private static final int SMALL_SEGMENT = 1024;
+
+    @TempDir
+    private File baseDir;
+
+    private final List<LogBackingStore<String, Value>> stores = new ArrayList<>();
+
+    @AfterEach
+    public void closeStores() throws Exception {
+        for (LogBackingStore<String, Value> store : stores) {
+            store.close();
+        }
+    }
+
+
+    @Test
+    public void recoverAfterClose() throws Exception {
+        LogBackingStore<String, Value> store = open(SMALL_SEGMENT);
+        store.save("a", new Value("a1"), true);
+        store.save("b", new Value("b1"), true);
+        store.save("a", new Value("a2"), false);
+        store.remove("b");
+        store.save("c", new Value("c1"), true);
+        store.close();
+
+        LogBackingStore<String, Value> recovered = open(SMALL_SEGMENT);
+        assertAll(
+            () -> assertEquals(2, recovered.size()),
+            () -> assertEquals("a2", text(recovered, "a")),
+            () -> assertNull(text(recovered, "b")),
+            () -> assertEquals("c1", text(recovered, "c"))
+        );
+    }
+
+
+    @Test
+    public void recoverWithoutClose() throws Exception {
+        LogBackingStore<String, Value> store = open(SMALL_SEGMENT);
+        for (int i = 0; i < 100; i++) {
+            store.save("key" + (i % 10), new Value("value" + i), false);
+        }
+        store.remove("key0");
+
+        LogBackingStore<String, Value> recovered = open(SMALL_SEGMENT);
+        assertEquals(9, recovered.size());
+        for (int i = 1; i < 10; i++) {
+            assertEquals("value" + (90 + i), text(recovered, "key" + i));
+        }
+        assertNull(text(recovered, "key0"));
+    }
+
+
+    @Test
+    public void compactionDeletesSealedSegments() throws Exception {
+        LogBackingStore<String, Value> store = open(SMALL_SEGMENT);
+        for (int i = 0; i < 500; i++) {
+            store.save("key" + (i % 5), new Value("value" + i), false);
+        }
+        long deadline = System.currentTimeMillis() + 10_000L;
+        while (segmentFiles().length > 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertTrue(segmentFiles().length <= 3, "Segments left: " + segmentFiles().length);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("value" + (495 + i), text(store, "key" + i));
+        }
+        store.close();
+
+        LogBackingStore<String, Value> recovered = open(SMALL_SEGMENT);
+        assertEquals(5, recovered.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("value" + (495 + i), text(recovered, "key" + i));
+        }
+    }
+
+
+    @Test
+    public void removeExpired() throws Exception {
+        LogBackingStore<String, Value> store = open(SMALL_SEGMENT);
+        store.save("idle", new Value("v"), true);
+        store.save("active", new Value("v"), true);
+        store.updateTimestamp("idle", System.currentTimeMillis() - 60_000L);
+
+        assertEquals(1, store.removeExpired(30_000L));
+        assertNull(text(store, "idle"));
+        store.close();
+
+        LogBackingStore<String, Value> recovered = open(SMALL_SEGMENT);
+        assertEquals(1, recovered.size());
+        assertEquals("v", text(recovered, "active"));
+    }
+
+
+    /**
+     * A compaction copied a record after a newer record of the same key was
+     * saved and crashed before it marked the copy dead.
+     */
+    @Test
+    public void staleCompactionCopyAfterNewerRecord() throws Exception {
+        LogSegment sealed = LogSegment.create(0, segmentFile(0), SMALL_SEGMENT);
+        sealed.append(key("a"), value("old"), 1, 1L);
+        sealed.force();
+        LogSegment active = LogSegment.create(1, segmentFile(1), SMALL_SEGMENT);
+        active.append(key("a"), value("new"), 2, 2L);
+        active.append(key("a"), value("old"), 1, 1L);
+        active.force();
+
+        LogBackingStore<String, Value> recovered = open(SMALL_SEGMENT);
+        assertEquals(1, recovered.size());
+        assertEquals("new", text(recovered, "a"));
+    }
+
+
+    /**
+     * A compaction copied a record and crashed before it deleted the
+     * compacted segment. Records saved after the recovery must win.
+     */
+    @Test
+    public void compactionCopyBeforeSegmentDeleted() throws Exception {
+        LogSegment sealed = LogSegment.create(0, segmentFile(0), SMALL_SEGMENT);
+        sealed.append(key("a"), value("a1"), 7, 1L);
+        sealed.force();
+        LogSegment active = LogSegment.create(1, segmentFile(1), SMALL_SEGMENT);
+        active.append(key("a"), value("a1"), 7, 1L);
+        active.force();
+
+        LogBackingStore<String, Value> recovered = open(SMALL_SEGMENT);
+        assertEquals(1, recovered.size());
+        assertEquals("a1", text(recovered, "a"));
+        recovered.save("a", new Value("a2"), false);
+        recovered.close();
+
+        LogBackingStore<String, Value> again = open(SMALL_SEGMENT);
+        assertEquals("a2", text(again, "a"));
+    }
+
+
+    /**
+     * The process died while appending a record, before its status was written.
+     */
+    @Test
+    public void incompleteRecordEndsSegment() throws Exception {
+        LogSegment segment = LogSegment.create(0, segmentFile(0), SMALL_SEGMENT);
+        segment.append(key("a"), value("a1"), 1, 1L);
+        int incomplete = segment.append(key("b"), value("b1"), 2, 1L);
+        segment.force();
+        try (RandomAccessFile raf = new RandomAccessFile(segmentFile(0), "rw")) {
+            raf.seek(incomplete);
+            raf.writeInt(0);
+        }
+
+        LogBackingStore<String, Value> recovered = open(SMALL_SEGMENT);
+        assertEquals(1, recovered.size());
+        assertNull(text(recovered, "b"));
+        recovered.save("c", new Value("c1"), true);
+        recovered.close();
+
+        LogBackingStore<String, Value> again = open(SMALL_SEGMENT);
+        assertAll(
+            () -> assertEquals(2, again.size()),
+            () -> assertEquals("a1", text(again, "a")),
+            () -> assertEquals("c1", text(again, "c"))
+        );
+    }
+
+
+    private LogBackingStore<String, Value> open(int segmentSize) throws Exception {
+        BackingStoreConfiguration<String, Value> conf = new BackingStoreConfiguration<>();
+        conf.setStoreName("test").setInstanceName("instance").setBaseDirectory(baseDir)
+            .setKeyClazz(String.class).setValueClazz(Value.class);
+        conf.getVendorSpecificSettings().put(LogBackingStore.SEGMENT_SIZE_PROPERTY, String.valueOf(segmentSize));
+        LogBackingStore<String, Value> store = new LogBackingStore<>();
+        store.initialize(conf);
+        stores.add(store);
+        return store;
+    }
+
+    private static String text(LogBackingStore<String, Value> store, String key) throws Exception {
+        Value value = store.load(key, null);
+        return value == null ? null : value.text;
+    }
+
+    private File segmentFile(long id) {
+        return new File(baseDir, "segment-" + id + ".log");
+    }
+
+    private File[] segmentFiles() {
+        return baseDir.listFiles((dir, name) -> name.startsWith("segment-"));
+    }
+
+    private static byte[] key(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] value(String value) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(new Value(value));
+        }
+        return bos.toByteArray();
+    }
+
+
+    private static final class Value implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String text;
+
+        Value(String text) {
+            this.text = text;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022, 2022 Contributors to the Eclipse Foundation.
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation.
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -51,6 +51,7 @@ import com.sun.appserv.util.cache.Cache;
 import com.sun.appserv.util.cache.CacheListener;
 import com.sun.appserv.util.cache.Constants;
 import com.sun.appserv.util.cache.LruCache;
+import com.sun.appserv.util.cache.TinyLfuCache;
 import com.sun.ejb.ComponentContext;
 import com.sun.ejb.EJBUtils;
 import com.sun.ejb.EjbInvocation;
@@ -2311,6 +2312,7 @@ public class EntityContainer
         int maxCacheSize ;
         int numberOfVictimsToSelect ;
         int cacheIdleTimeoutInSeconds ;
+        String victimSelectionPolicy ;
 
         public CacheProperties(EntityContainer entityContainer) {
             numberOfVictimsToSelect =
@@ -2318,6 +2320,7 @@ public class EntityContainer
             maxCacheSize = Integer.parseInt(entityContainer.ejbContainer.getMaxCacheSize());
             cacheIdleTimeoutInSeconds =
                 Integer.parseInt(entityContainer.ejbContainer.getCacheIdleTimeoutInSeconds());
+            victimSelectionPolicy = entityContainer.ejbContainer.getVictimSelectionPolicy();
 
             if(entityContainer.beanCacheDes != null) {
                 int temp = 0;
@@ -2333,6 +2336,10 @@ public class EntityContainer
                 {
                     cacheIdleTimeoutInSeconds = temp;
                 }
+
+                if (entityContainer.beanCacheDes.getVictimSelectionPolicy() != null) {
+                    victimSelectionPolicy = entityContainer.beanCacheDes.getVictimSelectionPolicy();
+                }
             }
         }
     } //CacheProperties
@@ -2684,13 +2691,20 @@ public class EntityContainer
             readyStore.init(cacheSize, loadFactor, null);
         } else {
             cacheSize = (cacheSize <= 0) ? DEFAULT_CACHE_SIZE : cacheSize;
-            LruCache lru = new LruCache(DEFAULT_CACHE_SIZE);
-            if (numberOfVictimsToSelect >= 0) {
-                loadFactor = (float) (1.0 - (1.0 *
-                                             numberOfVictimsToSelect/cacheSize));
+            if ("tinylfu".equalsIgnoreCase(cacheProp.victimSelectionPolicy)) {
+                // bounded by the cache size, frequently used beans stay ready
+                TinyLfuCache tinyLfu = new TinyLfuCache(DEFAULT_CACHE_SIZE);
+                tinyLfu.init(cacheSize, idleTimeout, loadFactor, null);
+                readyStore = tinyLfu;
+            } else {
+                LruCache lru = new LruCache(DEFAULT_CACHE_SIZE);
+                if (numberOfVictimsToSelect >= 0) {
+                    loadFactor = (float) (1.0 - (1.0 *
+                                                 numberOfVictimsToSelect/cacheSize));
+                }
+                lru.init(cacheSize, idleTimeout, loadFactor, null);
+                readyStore = lru;
             }
-            lru.init(cacheSize, idleTimeout, loadFactor, null);
-            readyStore = lru;
             readyStore.addCacheListener(this);
         }
 
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tests.embedded.ejb.benchmark;
+
+import jakarta.annotation.Resource;
+import jakarta.ejb.Stateless;
+import jakarta.ejb.Timeout;
+import jakarta.ejb.Timer;
+import jakarta.ejb.TimerConfig;
+import jakarta.ejb.TimerService;
+
+/**
+ * Creates and cancels timers far in the future, they never expire while
+ * the benchmark runs.
+ */
+@Stateless
+public class TimerBean {
+
+    private static final long ONE_HOUR = 60L * 60L * 1000L;
+
+    @Resource
+    private TimerService timerService;
+
+    public void createAndCancel(boolean persistent) {
+        Timer timer = timerService.createSingleActionTimer(ONE_HOUR, new TimerConfig(null, persistent));
+        timer.cancel();
+    }
+
+    @Timeout
+    void timeout(Timer timer) {
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tests.embedded.ejb.benchmark;
+
+import jakarta.ejb.embeddable.EJBContainer;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.Context;
+import javax.naming.NamingException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks of the EJB container invocation paths, executed with the beans of
+ * this module deployed to an embedded {@link EJBContainer}.
+ * <p>
+ * Each benchmark is measured as throughput and as sampled latency, so both
+ * regressions of the fast path and of the tail latency are visible.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EjbContainerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Container {
+
+        EJBContainer container;
+        Calculator statelessLocal;
+        StatelessCalculatorBean statelessNoInterface;
+        SingletonCounterBean singleton;
+        InterceptedCalculatorBean intercepted;
+        TimerBean timer;
+        AsyncCalculatorBean async;
+
+        private String moduleName;
+
+        @Setup(Level.Trial)
+        public void start() throws Exception {
+            // Deploys target/classes. The module name of a directory is its
+            // name, so the beans are java:global/classes/..., the same as in
+            // the ejb-api EmbeddedTest.
+            File module = new File(Calculator.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            moduleName = module.getName();
+            Map<String, Object> properties = new HashMap<>();
+            properties.put(EJBContainer.MODULES, module);
+            container = EJBContainer.createEJBContainer(properties);
+
+            statelessLocal = lookup(StatelessCalculatorBean.class, Calculator.class);
+            statelessNoInterface = lookup(StatelessCalculatorBean.class, StatelessCalculatorBean.class);
+            singleton = lookup(SingletonCounterBean.class, SingletonCounterBean.class);
+            intercepted = lookup(InterceptedCalculatorBean.class, InterceptedCalculatorBean.class);
+            timer = lookup(TimerBean.class, TimerBean.class);
+            async = lookup(AsyncCalculatorBean.class, AsyncCalculatorBean.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            if (container != null) {
+                container.close();
+            }
+        }
+
+        <T> T lookup(Class<?> beanClass, Class<T> view) throws NamingException {
+            Context context = container.getContext();
+            String name = "java:global/" + moduleName + "/" + beanClass.getSimpleName() + "!" + view.getName();
+            return view.cast(context.lookup(name));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class StatefulSession {
+
+        StatefulCalculator local;
+        StatefulCalculatorBean noInterface;
+
+        @Setup(Level.Trial)
+        public void create(Container container) throws NamingException {
+            local = container.lookup(StatefulCalculatorBean.class, StatefulCalculator.class);
+            noInterface = container.lookup(StatefulCalculatorBean.class, StatefulCalculatorBean.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void remove() {
+            // Both views refer to their own bean instance
+            local.remove();
+            noInterface.remove();
+        }
+    }
+
+    @Benchmark
+    public int statelessLocal(Container container) {
+        return container.statelessLocal.add(1, 2);
+    }
+
+    @Benchmark
+    public int statelessNoInterface(Container container) {
+        return container.statelessNoInterface.add(1, 2);
+    }
+
+    @Benchmark
+    public int statefulLocal(StatefulSession session) {
+        return session.local.add(1, 2);
+    }
+
+    @Benchmark
+    public int statefulNoInterface(StatefulSession session) {
+        return session.noInterface.add(1, 2);
+    }
+
+    @Benchmark
+    public long singletonRead(Container container) {
+        return container.singleton.read();
+    }
+
+    @Benchmark
+    public long singletonWrite(Container container) {
+        return container.singleton.increment();
+    }
+
+    @Benchmark
+    @Group("singletonReadWrite")
+    @GroupThreads(3)
+    public long singletonMixedRead(Container container) {
+        return container.singleton.read();
+    }
+
+    @Benchmark
+    @Group("singletonReadWrite")
+    @GroupThreads(1)
+    public long singletonMixedWrite(Container container) {
+        return container.singleton.increment();
+    }
+
+    @Benchmark
+    public int interceptorChain(Container container) {
+        return container.intercepted.add(1, 2);
+    }
+
+    @Benchmark
+    public void timerCreateCancel(Container container) {
+        container.timer.createAndCancel(false);
+    }
+
+    /**
+     * Persistent timers are stored in the default timer data source of the
+     * embedded server, the same one the TimerEjb of the basic EmbeddedTest
+     * uses.
+     */
+    @Benchmark
+    public void persistentTimerCreateCancel(Container container) {
+        container.timer.createAndCancel(true);
+    }
+
+    @Benchmark
+    public int asyncFuture(Container container) throws Exception {
+        return container.async.add(1, 2).get();
+    }
+
+    @Benchmark
+    public void asyncFireAndForget(Container container) {
+        container.async.fireAndForget(1, 2);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.tests.embedded.ejb.benchmark;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.not;
+
+import java.util.Collection;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the {@link EjbContainerBenchmark} and writes the results as JSON to the
+ * file given by the <code>benchmark.result</code> system property.
+ * <p>
+ * The defaults are fixed, so the results of two builds can be compared. They
+ * can be changed with the system properties <code>benchmark.include</code>,
+ * <code>benchmark.forks</code>, <code>benchmark.threads</code>,
+ * <code>benchmark.warmupIterations</code> and <code>benchmark.iterations</code>.
+ */
+public class EjbContainerBenchmarkTest {
+
+    @Test
+    public void benchmark() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(System.getProperty("benchmark.include", EjbContainerBenchmark.class.getName()))
+            .forks(Integer.getInteger("benchmark.forks", 1))
+            .threads(Integer.getInteger("benchmark.threads", 4))
+            .warmupIterations(Integer.getInteger("benchmark.warmupIterations", 3))
+            .warmupTime(TimeValue.seconds(2L))
+            .measurementIterations(Integer.getInteger("benchmark.iterations", 5))
+            .measurementTime(TimeValue.seconds(2L))
+            .jvmArgsAppend("-Xms1g", "-Xmx1g")
+            .timeout(TimeValue.minutes(1L))
+            .shouldFailOnError(true)
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty("benchmark.result", "jmh-result.json"))
+            .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+        assertThat(results, not(empty()));
+        for (RunResult result : results) {
+            assertThat(result.getParams().getBenchmark(), result.getPrimaryResult().getScore(), greaterThan(0d));
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2020 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -30,6 +31,7 @@ import java.util.List;
 import java.beans.PropertyVetoException;
 
 
+import org.glassfish.config.support.datatypes.NonNegativeInteger;
 import org.glassfish.config.support.datatypes.PositiveInteger;
 import org.glassfish.api.admin.config.PropertyDesc;
 import org.glassfish.api.admin.config.PropertiesDesc;
@@ -203,6 +205,14 @@ public interface TransactionService extends ConfigBeanProxy, PropertyBag, Config
         @PropertyDesc(name="pending-txn-cleanup-interval", defaultValue="60", dataType=PositiveInteger.class,
             description="Interval in seconds at which an asynchronous thread checks for pending transactions and completes them"),
 
+        @PropertyDesc(name="log-group-commit", defaultValue="false", dataType=Boolean.class,
+            description="If true, forced writes of concurrent transactions to the transaction log are synced " +
+                "together by a single sync of the log file"),
+
+        @PropertyDesc(name="log-group-commit-max-delay", defaultValue="1000", dataType=NonNegativeInteger.class,
+            description="Maximum time in microseconds for which a group commit waits for other transactions " +
+                "writing to the transaction log before the log file is synced"),
+
         @PropertyDesc(name="use-last-agent-optimization", defaultValue="true", dataType=Boolean.class,
             description="Enables last agent optimization, which improves the throughput of transactions. " +
                 "If one non-XA resource is used with XA resources in the same transaction, the non XA resource is the last agent"),
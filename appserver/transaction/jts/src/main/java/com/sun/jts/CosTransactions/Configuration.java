@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -188,6 +189,29 @@ public class Configuration extends Object {
      */
     public final static String TIMEOUT_INTERVAL = "com.sun.jts.timeoutInterval" ;
 
+    /**The property key used to enable group commit of forced log writes. Records
+     * written concurrently by several committing transactions are forced to the log
+     * file by a single sync, and every committer waits until its record is durable.
+     * <p>
+     * The value is <em><b>com.sun.jts.logGroupCommit</b></em>.
+     * <p>
+     * The default value for this property is false, every forced write is synced
+     * separately.
+     */
+    public final static String LOG_GROUP_COMMIT = "com.sun.jts.logGroupCommit";
+
+    /**The property key used to specify the maximum time in microseconds for which
+     * a group commit waits for other transactions writing their records before the
+     * log file is synced. The wait ends sooner when no other write is in progress.
+     * <p>
+     * The value is <em><b>com.sun.jts.logGroupCommitMaxDelay</b></em>.
+     * <p>
+     * The default value for this property is 1000. If the value is zero, the log
+     * is synced immediately and only records written while the previous sync was
+     * running are grouped.
+     */
+    public final static String LOG_GROUP_COMMIT_MAX_DELAY = "com.sun.jts.logGroupCommitMaxDelay";
+
     /**The default subdirectory in which log and repository files are stored.
      */
     public final static String JTS_SUBDIRECTORY = "jts"/*#Frozen*/;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -107,6 +108,72 @@ class LogFile {
      * <p>
      * Returns true if the write completed successfully and false if the write
      * did not complete.
+     * <p>
+     * If group commit is enabled, a forced write does not hold the lock of the
+     * log file while waiting for the record to become durable, so concurrent
+     * forced writes are synced together.
+     *
+     * @param writeType   Forced/non-forced write indicator.
+     * @param record      Log record data.
+     * @param recordType  Log record type.
+     * @param recordLSN   LSN of the written record.
+     *
+     * @return
+     *
+     * @see
+     */
+    boolean write( int    writeType,
+                   byte[] record,
+                   int    recordType,
+                   LogLSN recordLSN ) {
+
+        LogGroupCommit groupCommit = handle.groupCommit;
+        if( writeType == LogFile.FORCED && groupCommit != null )
+            return writeGrouped(groupCommit,record,recordType,recordLSN);
+
+        synchronized( this ) {
+            return writeRecord(writeType,record,recordType,recordLSN);
+        }
+    }
+
+    /**Writes a forced log record, which is synced together with the records
+     * written concurrently.
+     *
+     * @param groupCommit The group commit of the log.
+     * @param record      Log record data.
+     * @param recordType  Log record type.
+     * @param recordLSN   LSN of the written record.
+     *
+     * @return
+     *
+     * @see
+     */
+    private boolean writeGrouped( LogGroupCommit groupCommit,
+                                  byte[]         record,
+                                  int            recordType,
+                                  LogLSN         recordLSN ) {
+
+        boolean written = false;
+        long ticket;
+        groupCommit.writeStarted();
+        try {
+            synchronized( this ) {
+                written = writeRecord(LogFile.FORCED,record,recordType,recordLSN);
+            }
+        } finally {
+            ticket = groupCommit.writeFinished(written);
+        }
+
+        try {
+            groupCommit.awaitDurable(ticket);
+        } catch( LogException le ) {
+            throw logError(le);
+        }
+
+        return written;
+    }
+
+    /**Writes a log record to the physical log, the caller holds the lock.
      *
      * @param writeType   Forced/non-forced write indicator.
      * @param record      Log record data.
@@ -117,10 +184,10 @@ class LogFile {
      *
      * @see
      */
-    synchronized boolean write( int    writeType,
-                                byte[] record,
-                                int    recordType,
-                                LogLSN recordLSN ) {
+    private boolean writeRecord( int    writeType,
+                                 byte[] record,
+                                 int    recordType,
+                                 LogLSN recordLSN ) {
 
         boolean result = true;
 
@@ -133,10 +200,7 @@ class LogFile {
             if( recordLSN != null )
                 recordLSN.copy(resultLSN);
         } catch( LogException le ) {
-            _logger.log(Level.SEVERE,"jts.log_error",le.toString());
-             String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
-                                        new java.lang.Object[] {le.toString()});
-             throw (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
+            throw logError(le);
             //if( recordLSN != null )
             //recordLSN.copy(LogLSN.NULL_LSN);
             //result = false;
@@ -145,6 +209,21 @@ class LogFile {
         return result;
     }
 
+    /**Logs the failure of a log write.
+     *
+     * @param le  The failure.
+     *
+     * @return  The exception to be thrown.
+     *
+     * @see
+     */
+    private org.omg.CORBA.INTERNAL logError( LogException le ) {
+        _logger.log(Level.SEVERE,"jts.log_error",le.toString());
+        String msg = LogFormatter.getLocalizedMessage(_logger,"jts.log_error",
+                                   new java.lang.Object[] {le.toString()});
+        return (org.omg.CORBA.INTERNAL) (new org.omg.CORBA.INTERNAL(msg)).initCause(le);
+    }
+
     /**Informs the log that all log records older than the one with the given LSN
      * are no longer required.
      * <p>
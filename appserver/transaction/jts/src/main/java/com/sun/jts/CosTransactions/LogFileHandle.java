@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -34,6 +35,7 @@ package com.sun.jts.CosTransactions;
 
 import com.sun.enterprise.util.i18n.StringManager;
 import java.io.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**This class encapsulates file I/O operations and the file handle.
  *
@@ -105,13 +107,19 @@ class LogFileHandle {
     /**Instance information.
      */
     private RandomAccessFile fhandle = null;
-    private FileDescriptor   fd      = null;
+    private volatile FileDescriptor fd = null;
     private byte[] bufferData = null;
     boolean buffered = false;
     int bufferUpdateStart = -1;
     int bufferUpdateEnd   = -1;
     int buffPos = 0;
 
+    /**Number of buffer writes done by fileWriteBuffer and the number of them
+     * known to be forced to permanent storage.
+     */
+    private volatile long writeCount = 0;
+    private final AtomicLong forcedCount = new AtomicLong();
+
     static {
         dsyncProp = System.getProperty(DSYNC_PROPERTY);
         if (dsyncProp != null) {
@@ -370,7 +378,7 @@ class LogFileHandle {
             // If buffered, then ensure that the buffer is stored and synced with the
             // file system.
 
-            if( bufferUpdateStart != -1 )
+            if( bufferUpdateStart != -1 || !isForced() )
                 fileSync();
 
             // Close the file.
@@ -444,18 +452,23 @@ class LogFileHandle {
      */
     void fileSync() throws LogException {
 
-        // Synchronization is only done for buffered files which have been updated.
+        // Synchronization is only done for buffered files which have been updated,
+        // or written by fileWriteBuffer and not forced yet.
         // Non-buffered files have every write synchronized with the file system.
 
-        if( bufferUpdateStart != -1 )
+        if( bufferUpdateStart != -1 || !isForced() )
             try {
-                fhandle.seek(bufferUpdateStart);
-                fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+                long written = writeCount;
+                if( bufferUpdateStart != -1 ) {
+                    fhandle.seek(bufferUpdateStart);
+                    fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+                }
                 if (dsyncProp == null)
                     fd.sync();
 
                 bufferUpdateStart = -1;
                 bufferUpdateEnd   = -1;
+                forcedCount.accumulateAndGet(written, Math::max);
             } catch (Throwable e) {
                 throw new LogException(LogException.LOG_READ_FAILURE,1,
                         sm.getString("jts.log_file_sync_failed"), e);
@@ -463,6 +476,88 @@ class LogFileHandle {
 
     }
 
+    /**Writes the updated part of the buffer to the file without forcing it to
+     * permanent storage. The write is forced later by fileForce or fileSync.
+     * <p>
+     * Like the other methods, this one must not be called concurrently.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The write failed.
+     *
+     * @see
+     */
+    void fileWriteBuffer() throws LogException {
+
+        if( bufferUpdateStart != -1 )
+            try {
+                fhandle.seek(bufferUpdateStart);
+                fhandle.write(bufferData,bufferUpdateStart,bufferUpdateEnd-bufferUpdateStart);
+
+                bufferUpdateStart = -1;
+                bufferUpdateEnd   = -1;
+                writeCount++;
+            } catch (Throwable e) {
+                throw new LogException(LogException.LOG_WRITE_FAILURE,1,
+                        sm.getString("jts.log_write_failed"), e);
+            }
+
+    }
+
+    /**Forces all writes done by fileWriteBuffer to permanent storage.
+     * <p>
+     * Unlike the other methods, this one may be called concurrently with them,
+     * so the log file is not locked while the file system syncs the file.
+     * A file closed in the meantime was synced by fileClose.
+     * <p>
+     * The file descriptor is synced instead of forcing a FileChannel, because
+     * an interrupt of the committing thread would close the channel.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The force failed.
+     *
+     * @see
+     */
+    void fileForce() throws LogException {
+
+        long written = writeCount;
+        if( forcedCount.get() >= written )
+            return;
+
+        FileDescriptor currentFd = fd;
+        if( currentFd != null && dsyncProp == null )
+            try {
+                currentFd.sync();
+            } catch (Throwable e) {
+
+                // If the file was closed in the meantime, fileClose has forced it.
+
+                if( fd != null )
+                    throw new LogException(LogException.LOG_WRITE_FAILURE,1,
+                            sm.getString("jts.log_file_force_failed"), e);
+            }
+
+        forcedCount.accumulateAndGet(written, Math::max);
+    }
+
+    /**Checks whether all writes done by fileWriteBuffer were forced to
+     * permanent storage. Updates of the buffer not written yet are not checked.
+     *
+     * @param
+     *
+     * @return  True if there is nothing to force.
+     *
+     * @see
+     */
+    boolean isForced() {
+        return forcedCount.get() >= writeCount;
+    }
+
     /**Reads a vector of records from the file.
      *
      * @param vector  The vector to contain the records to be read.
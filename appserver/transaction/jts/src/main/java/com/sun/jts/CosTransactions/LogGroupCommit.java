@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.logging.LogDomains;
+
+/**Groups forced log writes of concurrently committing transactions, so they
+ * are made durable by a single sync of the log files.
+ * <p>
+ * Every forced write gets a ticket once its record is written to the file
+ * without a sync. The first committer waiting for its ticket becomes the leader:
+ * it waits up to the maximum delay while other writes are still in progress,
+ * then syncs everything written so far. Committers whose tickets were covered
+ * by the sync are released, the others elect the next leader.
+ */
+class LogGroupCommit {
+
+    static Logger _logger = LogDomains.getLogger(LogGroupCommit.class, LogDomains.TRANSACTION_LOGGER);
+
+    /**The default maximum delay of a sync in microseconds.
+     */
+    final static long DEFAULT_MAX_DELAY = 1000;
+
+    /**Forces all records written to the log files to permanent storage.
+     */
+    interface LogForce {
+        void force() throws LogException;
+    }
+
+    private final LogForce logForce;
+    private final long maxDelayNanos;
+
+    /**Guarded by this.
+     */
+    private int writesInProgress;
+    private long lastTicket;
+    private long durableTicket;
+    private boolean forcing;
+
+    /**Creates the group commit of a log.
+     *
+     * @param logForce  Syncs the log files.
+     * @param maxDelay  Maximum time in microseconds for which a sync waits for
+     *                  writes in progress.
+     */
+    LogGroupCommit( LogForce logForce, long maxDelay ) {
+        this.logForce = logForce;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxDelay));
+    }
+
+    /**Creates the group commit of a log if it is enabled by the
+     * {@link Configuration#LOG_GROUP_COMMIT} property.
+     *
+     * @param logForce  Syncs the log files.
+     *
+     * @return  The group commit or null if forced writes are synced one by one.
+     */
+    static LogGroupCommit create( LogForce logForce ) {
+        if( !Boolean.parseBoolean(Configuration.getPropertyValue(Configuration.LOG_GROUP_COMMIT)) )
+            return null;
+
+        long maxDelay = DEFAULT_MAX_DELAY;
+        String value = Configuration.getPropertyValue(Configuration.LOG_GROUP_COMMIT_MAX_DELAY);
+        if( value != null )
+            try {
+                maxDelay = Long.parseLong(value.trim());
+            } catch( NumberFormatException e ) {
+                _logger.log(Level.WARNING, "jts.invalid_log_group_commit_max_delay", value);
+            }
+
+        if( _logger.isLoggable(Level.FINE) )
+            _logger.log(Level.FINE, "Log group commit enabled, maximum delay " + maxDelay + " us");
+        return new LogGroupCommit(logForce, maxDelay);
+    }
+
+    /**Registers a forced write, which is about to start. A waiting leader
+     * delays the sync until the write is finished.
+     */
+    synchronized void writeStarted() {
+        writesInProgress++;
+    }
+
+    /**Ends a forced write registered by {@link #writeStarted()}.
+     *
+     * @param written  True if the record was written to the log file.
+     *
+     * @return  The ticket to wait for, zero if the record was not written.
+     */
+    synchronized long writeFinished( boolean written ) {
+        writesInProgress--;
+        if( writesInProgress == 0 )
+            notifyAll();
+        return written ? ++lastTicket : 0;
+    }
+
+    /**Waits until the record with the given ticket is durable, syncing the log
+     * files if no other committer is doing so.
+     *
+     * @param ticket  Ticket returned by {@link #writeFinished(boolean)}.
+     *
+     * @exception LogException  The sync of the log files failed.
+     */
+    void awaitDurable( long ticket ) throws LogException {
+        boolean interrupted = false;
+        try {
+            while( true ) {
+                long target;
+                synchronized( this ) {
+                    while( forcing && durableTicket < ticket ) {
+                        try {
+                            wait();
+                        } catch( InterruptedException e ) {
+                            interrupted = true;
+                        }
+                    }
+                    if( durableTicket >= ticket )
+                        return;
+
+                    // This committer is the leader. Let the writes in progress join the sync.
+
+                    forcing = true;
+                    long deadline = System.nanoTime() + maxDelayNanos;
+                    long remaining = maxDelayNanos;
+                    while( writesInProgress > 0 && remaining > 0 ) {
+                        try {
+                            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                        } catch( InterruptedException e ) {
+                            interrupted = true;
+                        }
+                        remaining = deadline - System.nanoTime();
+                    }
+                    target = lastTicket;
+                }
+
+                // All records with tickets up to the target were written before the sync starts.
+
+                boolean forced = false;
+                try {
+                    logForce.force();
+                    forced = true;
+                } finally {
+                    synchronized( this ) {
+                        if( forced && target > durableTicket )
+                            durableTicket = target;
+                        forcing = false;
+                        notifyAll();
+                    }
+                }
+            }
+        } finally {
+            if( interrupted )
+                Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
  *
@@ -204,6 +205,13 @@ class LogHandle {
     LogControlDescriptor logControlDescriptor = null;
     LogControl           logControl = null;
 
+    /**Group commit of forced writes, null if every forced write is synced
+     * separately. Extents written by grouped forced writes and not forced yet
+     * are kept in unforcedExtents.
+     */
+    LogGroupCommit       groupCommit = null;
+    Set<LogExtent>       unforcedExtents = null;
+
 
     /**Creates a LogHandle object for the given log instance.
      *
@@ -234,6 +242,9 @@ class LogHandle {
         logControlDescriptor = new LogControlDescriptor();
         cursors = new ArrayList();
         extentTable = new Hashtable(EXTENT_TABLE_SIZE);
+        groupCommit = LogGroupCommit.create(this::forceUnforcedExtents);
+        if( groupCommit != null )
+            unforcedExtents = new HashSet<>();
 
     }
 
@@ -529,8 +540,24 @@ class LogHandle {
         //         Return LOG_ERROR_FORCING_LOG
         //       Set 'extent written' flag to FALSE
         //   ENDLOOP
+        // With group commit, the extents are only written here. The caller
+        // forces them by LogGroupCommit.awaitDurable after releasing the lock,
+        // until then the 'extent written' flag stays TRUE.
 
-        if( writeMode == FORCE ) {
+        if( writeMode == FORCE && groupCommit != null ) {
+            Enumeration extents = extentTable.elements();
+            while( extents.hasMoreElements() ) {
+                LogExtent nextEDP = (LogExtent)extents.nextElement();
+                if( nextEDP.writtenSinceLastForce )
+                    try {
+                        nextEDP.fileHandle.fileWriteBuffer();
+                        unforcedExtents.add(nextEDP);
+                    } catch (LogException le) {
+                        throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                                sm.getString("jts.log_file_sync_failed"), le);
+                    }
+            }
+        } else if( writeMode == FORCE ) {
             Enumeration extents = extentTable.elements();
             while( extents.hasMoreElements() ) {
                 LogExtent nextEDP = (LogExtent)extents.nextElement();
@@ -579,6 +606,47 @@ class LogHandle {
         return result;
     }
 
+    /**Forces the extents written by grouped forced writes to permanent storage.
+     * <p>
+     * The extents are synced without holding the lock of the log, so other
+     * transactions can write their records in the meantime.
+     *
+     * @param
+     *
+     * @return
+     *
+     * @exception LogException The sync failed.
+     *
+     * @see
+     */
+    void forceUnforcedExtents()
+        throws LogException {
+
+        LogExtent[] extents;
+        synchronized( this ) {
+            extents = unforcedExtents.toArray(new LogExtent[unforcedExtents.size()]);
+        }
+
+        for( LogExtent nextEDP : extents )
+            try {
+                nextEDP.fileHandle.fileForce();
+            } catch (LogException le) {
+                throw new LogException(LogException.LOG_ERROR_FORCING_LOG, 14,
+                        sm.getString("jts.log_file_sync_failed"), le);
+            }
+
+        // Extents written again while they were synced stay unforced.
+
+        synchronized( this ) {
+            for( LogExtent nextEDP : extents )
+                if( nextEDP.fileHandle.isForced() ) {
+                    unforcedExtents.remove(nextEDP);
+                    if( nextEDP.fileHandle.bufferUpdateStart == -1 )
+                        nextEDP.writtenSinceLastForce = false;
+                }
+        }
+    }
+
     /**Reads a record from the log.
      *
      * @param readLSN  The LSN of the record to be read.
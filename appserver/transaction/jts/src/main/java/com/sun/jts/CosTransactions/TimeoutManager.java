@@ -1,7 +1,7 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright (c) 1995-1997 IBM Corp. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -34,10 +34,11 @@ package com.sun.jts.CosTransactions;
 import com.sun.jts.jtsxa.XID;
 import com.sun.logging.LogDomains;
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.Enumeration;
-import java.util.Hashtable;
-import java.util.Vector;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -46,6 +47,12 @@ import org.omg.CosTransactions.Status;
 /**
  * This class records state for timing out transactions, and runs a thread
  * which performs occasional checks to time out transactions.
+ * <p>
+ * Timeouts are kept in a {@link TimeoutWheel}, so setting and cancelling a
+ * timeout costs the same regardless of the number of transactions, and only
+ * the timeouts expiring in the current interval are checked. Expired timeouts
+ * are processed in parallel. A timeout which is still set after processing
+ * is checked again after the next interval.
  *
  * @version 0.01
  *
@@ -75,9 +82,9 @@ class TimeoutManager {
      */
     private static boolean initialised = false;
 
-    private static Hashtable     pendingTimeouts = new Hashtable();
-    private static Hashtable     indoubtTimeouts = new Hashtable();
-    private static TimeoutThread timeoutThread = null;
+    private static final Map<Long, TimeoutInfo> pendingTimeouts = new ConcurrentHashMap<>();
+    private static final Map<Long, TimeoutInfo> indoubtTimeouts = new ConcurrentHashMap<>();
+    private static volatile TimeoutWheel timeoutWheel = null;
     private static boolean       timeoutActive = false;
     private static boolean       quiescing = false;
     private static boolean       isSetTimeout = false;
@@ -107,7 +114,7 @@ class TimeoutManager {
 
         // Start the timeout thread.
 
-        if (!timeoutActive && timeoutThread == null) {
+        if (!timeoutActive && timeoutWheel == null) {
             //  timeoutThread = new TimeoutThread();
             //  timeoutThread.start();
             timeoutActive = true;
@@ -119,9 +126,30 @@ class TimeoutManager {
         if (isSetTimeout) {
             return;
         }
+        TimeoutWheel wheel = new TimeoutWheel("JTS Timeout Thread"/* #Frozen */, getTimeoutInterval(),
+            Runtime.getRuntime().availableProcessors(), TimeoutManager::timeoutExpired);
+        wheel.start();
+        timeoutWheel = wheel;
         isSetTimeout = true;
-        timeoutThread = new TimeoutThread();
-        timeoutThread.start();
+    }
+
+    /**
+     * Returns the interval of timeout checks in milliseconds, configured by
+     * the {@link Configuration#TIMEOUT_INTERVAL} property.
+     *
+     * @return  The interval, at least ten seconds.
+     */
+    static int getTimeoutInterval() {
+        try {
+            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
+            if (timeout_interval != null) {
+                int interval = Integer.parseInt(timeout_interval) * 1000;
+                return interval < 10000 ? 10000 : interval;
+            }
+        } catch (Exception e) {
+            // Use the default
+        }
+        return 10000;
     }
 
     /**
@@ -162,7 +190,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    pendingTimeouts.put(localTID, timeoutInfo);
+                    schedule(pendingTimeouts, timeoutInfo, seconds * 1000L);
                     break;
                 case TimeoutManager.IN_DOUBT_TIMEOUT:
                     if (!isSetTimeout) {
@@ -173,7 +201,7 @@ class TimeoutManager {
                     timeoutInfo.expireTime = new Date().getTime() + seconds * 1000L;
                     timeoutInfo.localTID = localTID;
                     timeoutInfo.timeoutType = timeoutType;
-                    indoubtTimeouts.put(localTID, timeoutInfo);
+                    schedule(indoubtTimeouts, timeoutInfo, seconds * 1000L);
                     break;
 
                 // For any other type, remove the timeout if there is one.
@@ -182,9 +210,14 @@ class TimeoutManager {
                     if (!isSetTimeout) {
                         break;
                     }
-                    result = (pendingTimeouts.remove(localTID) != null);
-                    if (!result) {
-                        result = (indoubtTimeouts.remove(localTID) != null);
+                    timeoutInfo = pendingTimeouts.remove(localTID);
+                    if (timeoutInfo == null) {
+                        timeoutInfo = indoubtTimeouts.remove(localTID);
+                    }
+                    result = (timeoutInfo != null);
+                    TimeoutWheel wheel = timeoutWheel;
+                    if (result && wheel != null) {
+                        wheel.cancel(timeoutInfo);
                     }
 
                     // If the transaction service is quiescing and
@@ -192,7 +225,9 @@ class TimeoutManager {
                     // deactivate timeout and stop the timeout thread.
 
                     if (quiescing && pendingTimeouts.isEmpty() && indoubtTimeouts.isEmpty()) {
-                        timeoutThread.stop();
+                        if (wheel != null) {
+                            wheel.stop();
+                        }
                         timeoutActive = false;
                         // pendingTimeouts = null;
                     }
@@ -323,100 +358,45 @@ class TimeoutManager {
     }
 
     /**
-     * Periodically checks the existing timeouts.
-     * <p>
-     * This is done to discover if any transactions have overrun their allotted
-     * time.  Those which have are returned as an Enumeration.
-     * <p>
-     * Note that this method should not do anything that will cause a
-     * synchronized method in the RecoveryManager to be called, as this could
-     * cause a deadlock when RecoveryManager methods on other threads call
-     * setTimeout.
+     * Registers the timeout and schedules its expiry, replacing the previous
+     * timeout of the same type for the transaction.
      *
-     * @param
-     *
-     * @return  The information for transactions which have timed out.
-     *
-     * @see
+     * @param timeouts     The timeouts of the same type.
+     * @param timeoutInfo  The new timeout.
+     * @param millis       The length of the timeout.
      */
-     static Enumeration checkTimeouts() {
-        if (!isSetTimeout) {
-            return null;
-        }
-
-        Enumeration result = null;
-
-        // When woken up, go through all current timeouts and identify those
-        // which have expired.
-
-        if (timeoutActive && (pendingTimeouts.size() != 0 || indoubtTimeouts.size() != 0)) {
-            Vector timedOut = null;
-
-            Enumeration timeouts = null;
-
-            synchronized (pendingTimeouts) {
-                timeouts = pendingTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                       // Add the TimeoutInfo to the queue of
-                       //those that have timed out.
-
-                       if (timedOut == null) {
-                           timedOut = new Vector();
-                       }
-
-                       timedOut.addElement(timeoutInfo);
-                    }
-               }
-            }
-
-            synchronized (indoubtTimeouts) {
-
-                timeouts = indoubtTimeouts.elements();
-
-                while (timeouts.hasMoreElements()) {
-
-                    TimeoutInfo timeoutInfo = (TimeoutInfo)timeouts.nextElement();
-
-                    // For each timeout in the list, check whether it has expired.
-                    // If so, look up the Coordinator and roll it back.
-
-                    if (new Date().getTime() > timeoutInfo.expireTime) {
-
-                        // Add the TimeoutInfo to the queue of
-                        //those that have timed out.
-
-                        if (timedOut == null) {
-                            timedOut = new Vector();
-                        }
-
-                        timedOut.addElement(timeoutInfo);
-                    }
-                }
-
+    private static void schedule(Map<Long, TimeoutInfo> timeouts, TimeoutInfo timeoutInfo, long millis) {
+        TimeoutWheel wheel = timeoutWheel;
+        TimeoutInfo replaced = timeouts.put(timeoutInfo.localTID, timeoutInfo);
+        if (wheel != null) {
+            if (replaced != null) {
+                wheel.cancel(replaced);
             }
-            // Enumerate the transactions which have timed out.
+            wheel.schedule(timeoutInfo, millis);
+        }
+    }
 
-            if (timedOut != null) {
-                result = timedOut.elements();
-            }
+    /**
+     * Processes an expired timeout on one of the expiry threads of the
+     * {@link TimeoutWheel}.
+     * <p>
+     * We rely on the Coordinator calling removeCoordinator when it has
+     * finished, which will remove the timeout. Until then, the timeout is
+     * checked again after each interval.
+     *
+     * @param timeoutInfo  The expired timeout.
+     */
+    private static void timeoutExpired(TimeoutInfo timeoutInfo) {
+        if (!timeoutActive) {
+            return;
         }
 
-        // The remainder of the timeout processing is not carried out here
-        // because we would get deadlocked with addCoordinator or
-        // removeCoordinator that also update the timeout list.  Hence the
-        // returned enumeration, which may be processed with
-        // no concurrency control.
+        timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
 
-        return result;
+        TimeoutWheel wheel = timeoutWheel;
+        if (timeoutActive && wheel != null) {
+            wheel.schedule(timeoutInfo, 0L);
+        }
     }
 
     /**
@@ -424,31 +404,25 @@ class TimeoutManager {
      */
      static XID[] getInDoubtXids() {
 
-         synchronized (indoubtTimeouts) {
-             Vector inDoubtList = new Vector();
+         List<XID> inDoubtList = new ArrayList<>();
 
-             Enumeration timeouts = indoubtTimeouts.elements();
+         for (TimeoutInfo timeoutInfo : indoubtTimeouts.values()) {
 
-             while (timeouts.hasMoreElements()) {
+             // Look up the Coordinator for the transaction.
+             // If there is none, then the transaction has already gone.
+             // Otherwise do something with the transaction.
 
-                 TimeoutInfo timeoutInfo = (TimeoutInfo) timeouts.nextElement();
+             CoordinatorImpl coord =
+                 RecoveryManager.getLocalCoordinator(timeoutInfo.localTID);
 
-                 // Look up the Coordinator for the transaction.
-                 // If there is none, then the transaction has already gone.
-                 // Otherwise do something with the transaction.
-
-                 CoordinatorImpl coord =
-                     RecoveryManager.getLocalCoordinator(timeoutInfo.localTID);
-
-                 if (coord != null) {
-                     XID xid = new XID();
-                     xid.copy(coord.getGlobalTID());
-                     inDoubtList.addElement(xid);
-                 }
+             if (coord != null) {
+                 XID xid = new XID();
+                 xid.copy(coord.getGlobalTID());
+                 inDoubtList.add(xid);
              }
-
-             return (XID[]) inDoubtList.toArray(new XID[] {});
          }
+
+         return inDoubtList.toArray(new XID[] {});
      }
 
     /**
@@ -464,9 +438,9 @@ class TimeoutManager {
      */
     static long timeLeft(Long localTID) {
 
-        TimeoutInfo timeoutInfo = (TimeoutInfo) pendingTimeouts.get(localTID);
+        TimeoutInfo timeoutInfo = pendingTimeouts.get(localTID);
         if (timeoutInfo == null) {
-            timeoutInfo = (TimeoutInfo) indoubtTimeouts.get(localTID);
+            timeoutInfo = indoubtTimeouts.get(localTID);
         }
         long result = -1;
         if (timeoutInfo != null) {
@@ -500,19 +474,14 @@ class TimeoutManager {
         // timeouts, there is nothing to quiesce so
         // shutdown immediately regardless.
 
-        if (immediate ||
-            pendingTimeouts == null || pendingTimeouts.isEmpty()) {
-            if (timeoutThread != null) {
-                timeoutThread.stop();
-            }
-
-            if (pendingTimeouts != null) {
-                pendingTimeouts.clear();
+        if (immediate || pendingTimeouts.isEmpty()) {
+            timeoutActive = false;
+            if (timeoutWheel != null) {
+                timeoutWheel.stop();
             }
 
-            pendingTimeouts = null;
-            timeoutThread = null;
-            timeoutActive = false;
+            pendingTimeouts.clear();
+            timeoutWheel = null;
         } else {
             quiescing = true;
         }
@@ -583,101 +552,13 @@ class TimeoutInfo extends Object {
     Long localTID = null;
     long expireTime = 0;
     int  timeoutType = TimeoutManager.NO_TIMEOUT;
-}
-
-/**
- * This class represents a thread on which the TimeoutManager can perform
- * timeout checking.
- *
- * @version 0.01
- *
- * @author Simon Holdsworth, IBM Corporation
- *
- * @see
- */
-
-//----------------------------------------------------------------------------
-// CHANGE HISTORY
-//
-// Version By     Change Description
-//   0.01  SAJH   Initial implementation.
-//----------------------------------------------------------------------------
-
-class TimeoutThread extends Thread {
-
-    private int TIMEOUT_INTERVAL ;
-
-    static Logger _logger = LogDomains.getLogger(TimeoutThread.class, LogDomains.TRANSACTION_LOGGER);
-
-    /**
-     * TimeoutThread constructor.
-     * <p>
-     * This sets the thread name, and sets the thread to be a daemon thread so
-     * that it does not prevent the process from terminating.
-     *
-     * @param
-     * @return
-     * @see
-     */
-    TimeoutThread() {
-        setName("JTS Timeout Thread"/* #Frozen */);
-        setDaemon(true);
-        try {
-            String timeout_interval = Configuration.getPropertyValue(Configuration.TIMEOUT_INTERVAL);
-            if (timeout_interval != null) {
-                TIMEOUT_INTERVAL = Integer.parseInt(timeout_interval);
-                TIMEOUT_INTERVAL *= 1000;
-                if (TIMEOUT_INTERVAL < 10000)
-                    TIMEOUT_INTERVAL = 10000;
-            } else {
-                TIMEOUT_INTERVAL = 10000;
-            }
-        } catch (Exception e) {
-            TIMEOUT_INTERVAL = 10000;
-        }
-    }
 
     /**
-     * Performs timeout checking on a regular basis (every ten seconds or so).
-     *
-     * @param
-     *
-     * @return
-     *
-     * @see
+     * Position in the TimeoutWheel, guarded by the bucket.
      */
-    public void run() {
-        try {
-            while (true) {
-
-                // Sleep for a while between checks.
-
-                Thread.sleep(TIMEOUT_INTERVAL);
-
-                // Perform timeout checks, getting a list of timed-out
-                // transactions.
-
-                Enumeration timedOut = TimeoutManager.checkTimeouts();
-
-                // Now we must go through the list, telling each
-                // timed-out Coordinator to do something appropriate.
-
-                if (timedOut != null) {
-                    while (timedOut.hasMoreElements()) {
-                        TimeoutInfo timeoutInfo = (TimeoutInfo) timedOut.nextElement();
-
-                        // Look up the Coordinator and tell it to roll back
-                        // if it still exists. Note that we rely on the
-                        // Coordinator calling removeCoordinator when it
-                        // has finished, which will remove the timeout from
-                        // the list, and remove other associations as well.
-
-                        TimeoutManager.timeoutCoordinator(timeoutInfo.localTID, timeoutInfo.timeoutType);
-                    }
-                }
-            }
-        } catch (InterruptedException exc) {
-            _logger.log(Level.INFO,"jts.time_out_thread_stopped");
-        }
-    }
+    long expiryTick = 0;
+    TimeoutInfo previous = null;
+    TimeoutInfo next = null;
+    volatile TimeoutWheel.Bucket bucket = null;
+    volatile boolean cancelled = false;
 }
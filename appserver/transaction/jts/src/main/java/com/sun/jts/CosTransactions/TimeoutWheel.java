@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import com.sun.logging.LogDomains;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Hashed timing wheel for transaction timeouts.
+ * <p>
+ * The wheel is an array of buckets, each holding a doubly linked list of
+ * {@link TimeoutInfo}s. A timeout is linked to the bucket of the tick in which
+ * it expires, so scheduling and cancelling only lock a single bucket and do
+ * not depend on the number of pending timeouts. Timeouts expiring more than
+ * one revolution ahead share the bucket and are skipped until their tick.
+ * <p>
+ * The tick thread wakes up once per tick and unlinks the expired timeouts of
+ * the current bucket. They are passed to the expiry handler on a pool of
+ * threads, so slow timeout processing of one transaction does not delay the
+ * others.
+ */
+class TimeoutWheel {
+
+    static Logger _logger = LogDomains.getLogger(TimeoutWheel.class, LogDomains.TRANSACTION_LOGGER);
+
+    /**
+     * Number of buckets, a power of two.
+     */
+    static final int WHEEL_SIZE = 512;
+
+    private final Bucket[] buckets = new Bucket[WHEEL_SIZE];
+    private final long tickNanos;
+    private final long startNanos;
+    private final Consumer<TimeoutInfo> expiryHandler;
+    private final ThreadPoolExecutor expiryExecutor;
+    private final Thread tickThread;
+
+    /**
+     * The last tick started by the tick thread.
+     */
+    private volatile long currentTick;
+
+    /**
+     * Creates the wheel. The tick thread is not started yet.
+     *
+     * @param name           Name of the tick thread, prefix of expiry thread names.
+     * @param tickMillis     Duration of a tick in milliseconds.
+     * @param expiryThreads  Maximum number of threads processing expired timeouts.
+     * @param expiryHandler  Processes an expired timeout.
+     */
+    TimeoutWheel(String name, long tickMillis, int expiryThreads, Consumer<TimeoutInfo> expiryHandler) {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.startNanos = System.nanoTime();
+        this.expiryHandler = expiryHandler;
+
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.expiryExecutor = new ThreadPoolExecutor(expiryThreads, expiryThreads, 60L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.expiryExecutor.allowCoreThreadTimeOut(true);
+
+        this.tickThread = new Thread(this::run, name);
+        this.tickThread.setDaemon(true);
+    }
+
+    /**
+     * Starts the tick thread.
+     */
+    void start() {
+        tickThread.start();
+    }
+
+    /**
+     * Stops the tick thread. Expired timeouts already passed to the expiry
+     * threads are still processed, timeouts scheduled later never expire.
+     */
+    void stop() {
+        tickThread.interrupt();
+        expiryExecutor.shutdown();
+    }
+
+    /**
+     * Links the timeout to the bucket of the first tick after the delay.
+     *
+     * @param timeoutInfo  The timeout, not linked to any bucket.
+     * @param delayMillis  Time to expiry in milliseconds.
+     */
+    void schedule(TimeoutInfo timeoutInfo, long delayMillis) {
+        final long elapsedNanos = System.nanoTime() - startNanos + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+        final long expiryTick = (elapsedNanos + tickNanos - 1) / tickNanos;
+        while (true) {
+            // The bucket of a tick being processed right now must not be used any more
+            final long tick = Math.max(expiryTick, currentTick + 1);
+            final Bucket bucket = buckets[(int) (tick & (WHEEL_SIZE - 1))];
+            synchronized (bucket) {
+                if (bucket.processedTick < tick) {
+                    if (!timeoutInfo.cancelled) {
+                        timeoutInfo.expiryTick = tick;
+                        bucket.link(timeoutInfo);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the timeout cancelled and unlinks it from its bucket.
+     *
+     * @param timeoutInfo  The timeout.
+     */
+    void cancel(TimeoutInfo timeoutInfo) {
+        timeoutInfo.cancelled = true;
+        while (true) {
+            final Bucket bucket = timeoutInfo.bucket;
+            if (bucket == null) {
+                return;
+            }
+            synchronized (bucket) {
+                if (timeoutInfo.bucket == bucket) {
+                    bucket.unlink(timeoutInfo);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void run() {
+        long tick = 0;
+        try {
+            while (true) {
+                tick++;
+                final long sleepNanos = startNanos + tick * tickNanos - System.nanoTime();
+                if (sleepNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                }
+                currentTick = tick;
+                expire(tick);
+            }
+        } catch (InterruptedException exc) {
+            _logger.log(Level.INFO, "jts.time_out_thread_stopped");
+        }
+    }
+
+    private void expire(long tick) {
+        final Bucket bucket = buckets[(int) (tick & (WHEEL_SIZE - 1))];
+        final List<TimeoutInfo> expired = new ArrayList<>();
+        synchronized (bucket) {
+            bucket.processedTick = tick;
+            TimeoutInfo timeoutInfo = bucket.head;
+            while (timeoutInfo != null) {
+                final TimeoutInfo next = timeoutInfo.next;
+                if (timeoutInfo.expiryTick <= tick) {
+                    bucket.unlink(timeoutInfo);
+                    expired.add(timeoutInfo);
+                }
+                timeoutInfo = next;
+            }
+        }
+
+        for (TimeoutInfo timeoutInfo : expired) {
+            try {
+                expiryExecutor.execute(() -> handleExpiry(timeoutInfo));
+            } catch (RejectedExecutionException e) {
+                // Stopped
+                return;
+            }
+        }
+    }
+
+    private void handleExpiry(TimeoutInfo timeoutInfo) {
+        if (timeoutInfo.cancelled) {
+            return;
+        }
+        try {
+            expiryHandler.accept(timeoutInfo);
+        } catch (RuntimeException e) {
+            _logger.log(Level.WARNING, "jts.timeout_processing_failed", e);
+        }
+    }
+
+    /**
+     * List of timeouts expiring in ticks mapped to the same slot of the wheel.
+     */
+    static final class Bucket {
+
+        private TimeoutInfo head;
+
+        /**
+         * The last tick for which the bucket was processed; timeouts expiring
+         * in this or earlier ticks must be linked to another bucket.
+         */
+        private long processedTick;
+
+        private void link(TimeoutInfo timeoutInfo) {
+            timeoutInfo.previous = null;
+            timeoutInfo.next = head;
+            if (head != null) {
+                head.previous = timeoutInfo;
+            }
+            head = timeoutInfo;
+            timeoutInfo.bucket = this;
+        }
+
+        private void unlink(TimeoutInfo timeoutInfo) {
+            if (timeoutInfo.previous == null) {
+                head = timeoutInfo.next;
+            } else {
+                timeoutInfo.previous.next = timeoutInfo.next;
+            }
+            if (timeoutInfo.next != null) {
+                timeoutInfo.next.previous = timeoutInfo.previous;
+            }
+            timeoutInfo.previous = null;
+            timeoutInfo.next = null;
+            timeoutInfo.bucket = null;
+        }
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -131,6 +132,14 @@ public class TransactionServiceProperties {
                             if (isValueSet(value)) {
                                 jtsProperties.put(Configuration.COMMIT_ONE_PHASE_DURING_RECOVERY, value);
                             }
+                        } else if (name.equals("log-group-commit")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.LOG_GROUP_COMMIT, value);
+                            }
+                        } else if (name.equals("log-group-commit-max-delay")) {
+                            if (isValueSet(value)) {
+                                jtsProperties.put(Configuration.LOG_GROUP_COMMIT_MAX_DELAY, value);
+                            }
                         } else if (name.equals("add-wait-point-during-recovery")) {
                             if (isValueSet(value)) {
                                 try {
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogGroupCommitTest {
+
+    @Test
+    public void singleWriteIsNotDelayed() throws Exception {
+        AtomicInteger forces = new AtomicInteger();
+        LogGroupCommit groupCommit = new LogGroupCommit(forces::incrementAndGet, TimeUnit.SECONDS.toMicros(60L));
+
+        long start = System.nanoTime();
+        groupCommit.writeStarted();
+        long ticket = groupCommit.writeFinished(true);
+        groupCommit.awaitDurable(ticket);
+
+        assertEquals(1, forces.get());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(30L));
+
+        // Already durable
+        groupCommit.awaitDurable(ticket);
+        assertEquals(1, forces.get());
+    }
+
+
+    @Test
+    public void concurrentWritesShareForce() throws Exception {
+        final int threadCount = 32;
+        final AtomicInteger written = new AtomicInteger();
+        final AtomicInteger durable = new AtomicInteger();
+        final AtomicInteger forces = new AtomicInteger();
+        LogGroupCommit groupCommit = new LogGroupCommit(() -> {
+            int covered = written.get();
+            forces.incrementAndGet();
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            durable.accumulateAndGet(covered, Math::max);
+        }, 1000L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    groupCommit.writeStarted();
+                    int record = written.incrementAndGet();
+                    long ticket = groupCommit.writeFinished(true);
+                    groupCommit.awaitDurable(ticket);
+                    return durable.get() - record;
+                }));
+            }
+            start.countDown();
+            for (Future<Integer> result : results) {
+                assertTrue(result.get(30L, TimeUnit.SECONDS) >= 0, "Committer released before its record was forced");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threadCount, durable.get());
+        assertTrue(forces.get() < threadCount, "Forces: " + forces.get());
+    }
+
+
+    @Test
+    public void failedForceIsRetriedByNextCommitter() throws Exception {
+        final LogException failure = new LogException(LogException.LOG_WRITE_FAILURE, 1, "test", null);
+        final AtomicInteger forces = new AtomicInteger();
+        LogGroupCommit groupCommit = new LogGroupCommit(() -> {
+            if (forces.incrementAndGet() == 1) {
+                throw failure;
+            }
+        }, 0L);
+
+        groupCommit.writeStarted();
+        long ticket = groupCommit.writeFinished(true);
+        assertSame(failure, assertThrows(LogException.class, () -> groupCommit.awaitDurable(ticket)));
+        groupCommit.awaitDurable(ticket);
+        assertEquals(2, forces.get());
+    }
+
+
+    @Test
+    public void bufferWrittenAndForced(@TempDir Path directory) throws Exception {
+        File file = directory.resolve("extent").toFile();
+        LogFileHandle handle = new LogFileHandle(file, LogFileHandle.OPEN_RDWR | LogFileHandle.OPEN_CREAT);
+        try {
+            byte[] record = {1, 2, 3, 4};
+            handle.fileWrite(record);
+            assertTrue(handle.isForced());
+
+            handle.fileWriteBuffer();
+            assertFalse(handle.isForced());
+            assertArrayEquals(record, Files.readAllBytes(file.toPath()));
+
+            handle.fileForce();
+            assertTrue(handle.isForced());
+        } finally {
+            handle.destroy();
+        }
+    }
+}
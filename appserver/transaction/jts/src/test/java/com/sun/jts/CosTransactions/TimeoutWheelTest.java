@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.jts.CosTransactions;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeoutWheelTest {
+
+    private static final long TICK = 5L;
+
+    @Test
+    public void expiresAfterDelay() throws Exception {
+        BlockingQueue<TimeoutInfo> expired = new ArrayBlockingQueue<>(10);
+        TimeoutWheel wheel = new TimeoutWheel("test", TICK, 1, expired::add);
+        wheel.start();
+        try {
+            TimeoutInfo timeoutInfo = createTimeout(1L);
+            long start = System.nanoTime();
+            wheel.schedule(timeoutInfo, 50L);
+
+            assertSame(timeoutInfo, expired.poll(10L, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50L - TICK));
+            assertNull(timeoutInfo.bucket);
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void cancelledTimeoutDoesNotExpire() throws Exception {
+        BlockingQueue<TimeoutInfo> expired = new ArrayBlockingQueue<>(10);
+        TimeoutWheel wheel = new TimeoutWheel("test", TICK, 1, expired::add);
+        wheel.start();
+        try {
+            TimeoutInfo cancelled = createTimeout(1L);
+            TimeoutInfo other = createTimeout(2L);
+            wheel.schedule(cancelled, 20L);
+            wheel.schedule(other, 40L);
+            wheel.cancel(cancelled);
+            assertNull(cancelled.bucket);
+
+            assertSame(other, expired.poll(10L, TimeUnit.SECONDS));
+            assertNull(expired.poll(50L, TimeUnit.MILLISECONDS));
+
+            // Cancelled timeouts cannot be scheduled again
+            wheel.schedule(cancelled, 0L);
+            assertNull(cancelled.bucket);
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void timeoutAfterMoreRevolutions() throws Exception {
+        BlockingQueue<TimeoutInfo> expired = new ArrayBlockingQueue<>(10);
+        TimeoutWheel wheel = new TimeoutWheel("test", 1L, 1, expired::add);
+        wheel.start();
+        try {
+            long delay = TimeoutWheel.WHEEL_SIZE * 2 + 100L;
+            TimeoutInfo timeoutInfo = createTimeout(1L);
+            long start = System.nanoTime();
+            wheel.schedule(timeoutInfo, delay);
+
+            assertSame(timeoutInfo, expired.poll(30L, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(delay - 1L));
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    @Test
+    public void expiredTimeoutsProcessedInParallel() throws Exception {
+        final int count = 4;
+        final CyclicBarrier barrier = new CyclicBarrier(count);
+        final Set<Long> processed = ConcurrentHashMap.newKeySet();
+        final CountDownLatch done = new CountDownLatch(count);
+        TimeoutWheel wheel = new TimeoutWheel("test", TICK, count, timeoutInfo -> {
+            try {
+                // Only passes if all timeouts are processed at the same time
+                barrier.await(10L, TimeUnit.SECONDS);
+                processed.add(timeoutInfo.localTID);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                done.countDown();
+            }
+        });
+        wheel.start();
+        try {
+            for (long i = 0; i < count; i++) {
+                wheel.schedule(createTimeout(i), 10L);
+            }
+            assertTrue(done.await(30L, TimeUnit.SECONDS));
+            assertEquals(count, processed.size());
+        } finally {
+            wheel.stop();
+        }
+    }
+
+
+    private static TimeoutInfo createTimeout(long localTID) {
+        TimeoutInfo timeoutInfo = new TimeoutInfo();
+        timeoutInfo.localTID = localTID;
+        timeoutInfo.timeoutType = TimeoutManager.ACTIVE_TIMEOUT;
+        return timeoutInfo;
+    }
+}
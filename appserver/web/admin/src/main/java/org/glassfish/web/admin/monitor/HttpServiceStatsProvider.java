@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -19,6 +20,7 @@ package org.glassfish.web.admin.monitor;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import com.sun.enterprise.util.StringUtils;
 import org.glassfish.external.statistics.CountStatistic;
@@ -27,7 +29,6 @@ import org.glassfish.external.statistics.annotations.Reset;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
 import org.glassfish.external.statistics.impl.StringStatisticImpl;
-import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.external.probe.provider.annotations.*;
 import org.glassfish.gmbal.Description;
 import org.glassfish.gmbal.AMXMetadata;
@@ -58,6 +59,12 @@ public class HttpServiceStatsProvider implements PostConstruct {
             "Longest response time for a request; not a cumulative value, but the largest response time from among the response times";
     private static final String PROCESSING_TIME_DESCRIPTION =
             "Average request processing time";
+    private static final String PROCESSING_TIME_P50_DESCRIPTION =
+            "Median request processing time, in microseconds";
+    private static final String PROCESSING_TIME_P99_DESCRIPTION =
+            "99th percentile of the request processing time, in microseconds";
+    private static final String PROCESSING_TIME_P999_DESCRIPTION =
+            "99.9th percentile of the request processing time, in microseconds";
     private static final String COUNT_BYTES_RECEIVED_DESCRIPTION =
             "The number of bytes received";
     private static final String COUNT_BYTES_TRANSMITTED_DESCRIPTION =
@@ -99,19 +106,25 @@ public class HttpServiceStatsProvider implements PostConstruct {
     private static final String COUNT_OTHER_DESCRIPTION =
             "Number of responses with a status code outside the 2xx, 3xx, 4xx, and 5xx range";
 
-    private CountStatisticImpl errorCount = new CountStatisticImpl("ErrorCount",
+    private StripedCountStatistic errorCount = new StripedCountStatistic("ErrorCount",
             StatisticImpl.UNIT_COUNT, ERROR_COUNT_DESCRIPTION);
     private CountStatisticImpl maxTime = new CountStatisticImpl("MaxTime",
             StatisticImpl.UNIT_MILLISECOND, MAX_TIME_DESCRIPTION);
     private CountStatisticImpl processingTime = new CountStatisticImpl("ProcessingTime",
             StatisticImpl.UNIT_MILLISECOND, PROCESSING_TIME_DESCRIPTION);
-    private CountStatisticImpl countBytesReceived = new CountStatisticImpl("CountBytesReceived",
+    private CountStatisticImpl processingTimeP50 = new CountStatisticImpl("ProcessingTimeP50",
+            StatisticImpl.UNIT_MICROSECOND, PROCESSING_TIME_P50_DESCRIPTION);
+    private CountStatisticImpl processingTimeP99 = new CountStatisticImpl("ProcessingTimeP99",
+            StatisticImpl.UNIT_MICROSECOND, PROCESSING_TIME_P99_DESCRIPTION);
+    private CountStatisticImpl processingTimeP999 = new CountStatisticImpl("ProcessingTimeP999",
+            StatisticImpl.UNIT_MICROSECOND, PROCESSING_TIME_P999_DESCRIPTION);
+    private StripedCountStatistic countBytesReceived = new StripedCountStatistic("CountBytesReceived",
             StatisticImpl.UNIT_COUNT, COUNT_BYTES_RECEIVED_DESCRIPTION);
-    private CountStatisticImpl countBytesTransmitted = new CountStatisticImpl("CountBytesTransmitted",
+    private StripedCountStatistic countBytesTransmitted = new StripedCountStatistic("CountBytesTransmitted",
             StatisticImpl.UNIT_COUNT, COUNT_BYTES_TRANSMITTED_DESCRIPTION);
     private CountStatisticImpl countOpenConnections = new CountStatisticImpl("CountOpenConnections",
             StatisticImpl.UNIT_COUNT, COUNT_OPEN_CONNECTIONS_DESCRIPTION);
-    private CountStatisticImpl countRequests = new CountStatisticImpl("CountRequests",
+    private StripedCountStatistic countRequests = new StripedCountStatistic("CountRequests",
             StatisticImpl.UNIT_COUNT, COUNT_REQUESTS_DESCRIPTION);
     private CountStatisticImpl maxOpenConnections = new CountStatisticImpl("MaxOpenConnections",
             StatisticImpl.UNIT_COUNT, MAX_OPEN_CONNECTIONS_DESCRIPTION);
@@ -120,55 +133,44 @@ public class HttpServiceStatsProvider implements PostConstruct {
     private StringStatisticImpl uri = new StringStatisticImpl("Uri",
             "String", URI_DESCRIPTION);
 
-    private CountStatisticImpl count200 = new CountStatisticImpl("Count200",
+    private StripedCountStatistic count200 = new StripedCountStatistic("Count200",
             StatisticImpl.UNIT_COUNT, COUNT_200_DESCRIPTION);
-    private CountStatisticImpl count2xx = new CountStatisticImpl("Count2xx",
+    private StripedCountStatistic count2xx = new StripedCountStatistic("Count2xx",
             StatisticImpl.UNIT_COUNT, COUNT_2xx_DESCRIPTION);
-    private CountStatisticImpl count302 = new CountStatisticImpl("Count302",
+    private StripedCountStatistic count302 = new StripedCountStatistic("Count302",
             StatisticImpl.UNIT_COUNT, COUNT_302_DESCRIPTION);
-    private CountStatisticImpl count304 = new CountStatisticImpl("Count304",
+    private StripedCountStatistic count304 = new StripedCountStatistic("Count304",
             StatisticImpl.UNIT_COUNT, COUNT_304_DESCRIPTION);
-    private CountStatisticImpl count3xx = new CountStatisticImpl("Count3xx",
+    private StripedCountStatistic count3xx = new StripedCountStatistic("Count3xx",
             StatisticImpl.UNIT_COUNT, COUNT_3xx_DESCRIPTION);
-    private CountStatisticImpl count400 = new CountStatisticImpl("Count400",
+    private StripedCountStatistic count400 = new StripedCountStatistic("Count400",
             StatisticImpl.UNIT_COUNT, COUNT_400_DESCRIPTION);
-    private CountStatisticImpl count401 = new CountStatisticImpl("Count401",
+    private StripedCountStatistic count401 = new StripedCountStatistic("Count401",
             StatisticImpl.UNIT_COUNT, COUNT_401_DESCRIPTION);
-    private CountStatisticImpl count403 = new CountStatisticImpl("Count403",
+    private StripedCountStatistic count403 = new StripedCountStatistic("Count403",
             StatisticImpl.UNIT_COUNT, COUNT_403_DESCRIPTION);
-    private CountStatisticImpl count404 = new CountStatisticImpl("Count404",
+    private StripedCountStatistic count404 = new StripedCountStatistic("Count404",
             StatisticImpl.UNIT_COUNT, COUNT_404_DESCRIPTION);
-    private CountStatisticImpl count4xx = new CountStatisticImpl("Count4xx",
+    private StripedCountStatistic count4xx = new StripedCountStatistic("Count4xx",
             StatisticImpl.UNIT_COUNT, COUNT_4xx_DESCRIPTION);
-    private CountStatisticImpl count503 = new CountStatisticImpl("Count503",
+    private StripedCountStatistic count503 = new StripedCountStatistic("Count503",
             StatisticImpl.UNIT_COUNT, COUNT_503_DESCRIPTION);
-    private CountStatisticImpl count5xx = new CountStatisticImpl("Count5xx",
+    private StripedCountStatistic count5xx = new StripedCountStatistic("Count5xx",
             StatisticImpl.UNIT_COUNT, COUNT_5xx_DESCRIPTION);
-    private CountStatisticImpl countOther = new CountStatisticImpl("CountOther",
+    private StripedCountStatistic countOther = new StripedCountStatistic("CountOther",
             StatisticImpl.UNIT_COUNT, COUNT_OTHER_DESCRIPTION);
 
-    private TimeStatisticImpl requestProcessTime = new TimeStatisticImpl(0L, 0L, 0L, 0L,
-            "", "", "", System.currentTimeMillis(), -1L);
+    private final LatencyHistogram requestProcessTime = new LatencyHistogram();
+
+    // Set by every request, so only copied to the statistics when read
+    private volatile String lastMethod;
+    private volatile String lastUri;
 
     private String virtualServerName = null;
     private String [] networkListeners = null;
     private AtomicLong maxOpenConnectionsAtomic = new AtomicLong();
 
-    private ThreadLocal<TimeStatData> individualData = new ThreadLocal<TimeStatData> (){
-
-        TimeStatData tsd;
-
-        protected TimeStatData initialValue (){
-            tsd = new TimeStatData ();
-            return tsd;
-        }
-        public TimeStatData get (){
-            if (tsd == null)
-                tsd = new TimeStatData();
-            return tsd;
-        }
-
-    };
+    private final ThreadLocal<TimeStatData> individualData = ThreadLocal.withInitial(TimeStatData::new);
 
     public HttpServiceStatsProvider(String vsName, String listeners, NetworkConfig networkConfig) {
         this.virtualServerName = vsName;
@@ -183,7 +185,7 @@ public class HttpServiceStatsProvider implements PostConstruct {
     @ManagedAttribute(id="maxtime")
     @Description(MAX_TIME_DESCRIPTION)
     public CountStatistic getMaxTime() {
-        maxTime.setCount(requestProcessTime.getMaxTime());
+        maxTime.setCount(TimeUnit.MICROSECONDS.toMillis(requestProcessTime.getMax()));
         return maxTime;
     }
 
@@ -194,16 +196,37 @@ public class HttpServiceStatsProvider implements PostConstruct {
         return processingTime;
     }
 
+    @ManagedAttribute(id="processingtimep50")
+    @Description(PROCESSING_TIME_P50_DESCRIPTION)
+    public CountStatistic getProcessingTimeP50() {
+        processingTimeP50.setCount(requestProcessTime.getValueAtPercentile(50.0));
+        return processingTimeP50;
+    }
+
+    @ManagedAttribute(id="processingtimep99")
+    @Description(PROCESSING_TIME_P99_DESCRIPTION)
+    public CountStatistic getProcessingTimeP99() {
+        processingTimeP99.setCount(requestProcessTime.getValueAtPercentile(99.0));
+        return processingTimeP99;
+    }
+
+    @ManagedAttribute(id="processingtimep999")
+    @Description(PROCESSING_TIME_P999_DESCRIPTION)
+    public CountStatistic getProcessingTimeP999() {
+        processingTimeP999.setCount(requestProcessTime.getValueAtPercentile(99.9));
+        return processingTimeP999;
+    }
+
     @ManagedAttribute(id="countbytesreceived")
     @Description(COUNT_BYTES_RECEIVED_DESCRIPTION)
     public CountStatistic getCountBytesReceived() {
-        return countBytesReceived;
+        return countBytesReceived.getStatistic();
     }
 
     @ManagedAttribute(id="countbytestransmitted")
     @Description(COUNT_BYTES_TRANSMITTED_DESCRIPTION)
     public CountStatistic getCountBytesTransmitted() {
-        return countBytesTransmitted;
+        return countBytesTransmitted.getStatistic();
     }
 
     @ManagedAttribute(id="countopenconnections")
@@ -215,7 +238,7 @@ public class HttpServiceStatsProvider implements PostConstruct {
     @ManagedAttribute(id="countrequests")
     @Description(COUNT_REQUESTS_DESCRIPTION)
     public CountStatistic getCountRequests() {
-        return countRequests;
+        return countRequests.getStatistic();
     }
 
     @ManagedAttribute(id="maxopenconnections")
@@ -227,97 +250,105 @@ public class HttpServiceStatsProvider implements PostConstruct {
     @ManagedAttribute(id="method")
     @Description(METHOD_DESCRIPTION)
     public StringStatistic getMethod() {
+        String current = lastMethod;
+        if (current != null) {
+            method.setCurrent(current);
+        }
         return method;
     }
 
     @ManagedAttribute(id="uri")
     @Description(URI_DESCRIPTION)
     public StringStatistic getUri() {
+        String current = lastUri;
+        if (current != null) {
+            uri.setCurrent(current);
+        }
         return uri;
     }
 
     @ManagedAttribute(id="errorcount")
     @Description(ERROR_COUNT_DESCRIPTION)
     public CountStatistic getErrorCount() {
-        return errorCount;
+        return errorCount.getStatistic();
     }
 
     @ManagedAttribute(id="count200")
     @Description(COUNT_200_DESCRIPTION)
     public CountStatistic getCount200() {
-        return count200;
+        return count200.getStatistic();
     }
 
     @ManagedAttribute(id="count2xx")
     @Description(COUNT_2xx_DESCRIPTION)
     public CountStatistic getCount2xx() {
-        return count2xx;
+        return count2xx.getStatistic();
     }
 
     @ManagedAttribute(id="count302")
     @Description(COUNT_302_DESCRIPTION)
     public CountStatistic getCount302() {
-        return count302;
+        return count302.getStatistic();
     }
 
     @ManagedAttribute(id="count304")
     @Description(COUNT_304_DESCRIPTION)
     public CountStatistic getCount304() {
-        return count304;
+        return count304.getStatistic();
     }
 
     @ManagedAttribute(id="count3xx")
     @Description(COUNT_3xx_DESCRIPTION)
     public CountStatistic getCount3xxt() {
-        return count3xx;
+        return count3xx.getStatistic();
     }
 
     @ManagedAttribute(id="count400")
     @Description(COUNT_400_DESCRIPTION)
     public CountStatistic getCount400() {
-        return count400;
+        return count400.getStatistic();
     }
 
     @ManagedAttribute(id="count401")
     @Description(COUNT_401_DESCRIPTION)
     public CountStatistic getCount401() {
-        return count401;
+        return count401.getStatistic();
     }
 
     @ManagedAttribute(id="count403")
     @Description(COUNT_403_DESCRIPTION)
     public CountStatistic getCount403() {
-        return count403;
+        return count403.getStatistic();
     }
 
     @ManagedAttribute(id="count404")
     @Description(COUNT_404_DESCRIPTION)
     public CountStatistic getCount404() {
-        return count404;
+        return count404.getStatistic();
     }
 
     @ManagedAttribute(id="count4xx")
     @Description(COUNT_4xx_DESCRIPTION)
     public CountStatistic getCount4xx() {
-        return count4xx;
+        return count4xx.getStatistic();
     }
 
     @ManagedAttribute(id="count503")
     @Description(COUNT_503_DESCRIPTION)
     public CountStatistic getCount503() {
-        return count503;
+        return count503.getStatistic();
     }
 
     @ManagedAttribute(id="count5xx")
     @Description(COUNT_5xx_DESCRIPTION)
     public CountStatistic getCount5xx() {
-        return this.count5xx;
+        return count5xx.getStatistic();
     }
 
     @ManagedAttribute(id="countother")
     @Description(COUNT_OTHER_DESCRIPTION)
     public CountStatistic getCountOther() {
-        return this.countOther;
+        return countOther.getStatistic();
     }
 
     @ProbeListener("glassfish:web:http-service:dataReceivedEvent")
@@ -347,7 +378,7 @@ public class HttpServiceStatsProvider implements PostConstruct {
             @ProbeParam("contextPath") String contextPath,
             @ProbeParam("servletPath") String servletPath) {
         if ((hostName != null) && (hostName.equals(virtualServerName))) {
-            individualData.get().setEntryTime(System.currentTimeMillis());
+            individualData.get().setEntryTime(System.nanoTime());
             countRequests.increment();
             if (logger.isLoggable(Level.FINEST)) {
                 logger.finest(
@@ -370,8 +401,8 @@ public class HttpServiceStatsProvider implements PostConstruct {
             @ProbeParam("uri") String uri) {
         if ((hostName != null) && (hostName.equals(virtualServerName))) {
             TimeStatData tsd = individualData.get();
-            tsd.setExitTime(System.currentTimeMillis());
-            requestProcessTime.incrementCount(tsd.getTotalTime());
+            tsd.setExitTime(System.nanoTime());
+            requestProcessTime.record(TimeUnit.NANOSECONDS.toMicros(tsd.getTotalTime()));
             incrementStatsCounter(statusCode);
             if (logger.isLoggable(Level.FINEST)) {
                 logger.finest(
@@ -380,11 +411,11 @@ public class HttpServiceStatsProvider implements PostConstruct {
                     contextPath + " : servlet = " +
                     servletPath + " :Response code = " +
                     statusCode + " :Response time = " +
-                    tsd.getTotalTime());
+                    TimeUnit.NANOSECONDS.toMillis(tsd.getTotalTime()));
             }
         }
-        this.method.setCurrent(method);
-        this.uri.setCurrent(uri);
+        this.lastMethod = method;
+        this.lastUri = uri;
     }
 
     // ---------------- Connection related listeners -----------
@@ -434,12 +465,7 @@ public class HttpServiceStatsProvider implements PostConstruct {
 
 
     public long getProcessTime() {
-        long count = requestProcessTime.getCount();
-        long processTime = 0L;
-        if (count != 0) {
-            processTime = requestProcessTime.getTotalTime()/count;
-        }
-        return processTime;
+        return TimeUnit.MICROSECONDS.toMillis(requestProcessTime.getMean());
     }
 
     private void incrementStatsCounter(int statusCode) {
@@ -512,11 +538,16 @@ public class HttpServiceStatsProvider implements PostConstruct {
         this.errorCount.reset();
         this.maxTime.reset();
         this.processingTime.reset();
+        this.processingTimeP50.reset();
+        this.processingTimeP99.reset();
+        this.processingTimeP999.reset();
         this.countBytesReceived.reset();
         this.countBytesTransmitted.reset();
         this.countOpenConnections.reset();
         this.countRequests.reset();
         this.maxOpenConnections.reset();
+        this.lastMethod = null;
+        this.lastUri = null;
         this.method.reset();
         this.uri.reset();
     }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies with log-linear buckets, in the manner of HdrHistogram.
+ * <p>
+ * Values below {@value #SUB_BUCKET_COUNT} have a bucket each, larger values
+ * share buckets with a relative width of at most 1/{@value #SUB_BUCKET_COUNT}.
+ * The bucket counts are striped by thread, so concurrent requests rarely
+ * update the same counter, and recording a value does not allocate once the
+ * stripe of the thread exists. Reading the statistics sums up all stripes.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Largest value with its own bucket, larger values are counted in its bucket.
+     */
+    static final long MAX_TRACKABLE_VALUE = (1L << 36) - 1;
+
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+    private static final int STRIPE_COUNT = stripeCount();
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value the latency
+     */
+    void record(long value) {
+        if (value < 0L) {
+            value = 0L;
+        }
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+        stripe().incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_VALUE)));
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    long getTotal() {
+        return total.sum();
+    }
+
+    long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the average of the recorded values, zero if there are none
+     */
+    long getMean() {
+        long n = count.sum();
+        return n == 0L ? 0L : total.sum() / n;
+    }
+
+    /**
+     * Returns the smallest value for which at least the given percentage of
+     * the recorded values is lower or equal, up to the precision of the buckets.
+     *
+     * @param percentile the percentage, for example 99.9
+     * @return the value, zero if there are no values
+     */
+    long getValueAtPercentile(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long recorded = 0L;
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            AtomicLongArray stripe = stripes.get(i);
+            if (stripe != null) {
+                for (int j = 0; j < BUCKET_COUNT; j++) {
+                    long bucketCount = stripe.get(j);
+                    counts[j] += bucketCount;
+                    recorded += bucketCount;
+                }
+            }
+        }
+        if (recorded == 0L) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * recorded));
+        long seen = 0L;
+        for (int j = 0; j < BUCKET_COUNT; j++) {
+            seen += counts[j];
+            if (seen >= rank) {
+                return Math.min(highestEquivalentValue(j), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Discards all recorded values. Values recorded concurrently may be lost.
+     */
+    void reset() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes.set(i, null);
+        }
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    private AtomicLongArray stripe() {
+        int index = (int) Thread.currentThread().getId() & (STRIPE_COUNT - 1);
+        AtomicLongArray stripe = stripes.get(index);
+        if (stripe == null) {
+            stripe = new AtomicLongArray(BUCKET_COUNT);
+            if (!stripes.compareAndSet(index, null, stripe)) {
+                stripe = stripes.get(index);
+            }
+        }
+        return stripe;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+    }
+
+    static long highestEquivalentValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT) {
+            return bucketIndex;
+        }
+        int shift = (bucketIndex >>> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) ((bucketIndex & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    private static int stripeCount() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), 16);
+        int stripeCount = 1;
+        while (stripeCount < processors) {
+            stripeCount <<= 1;
+        }
+        return stripeCount;
+    }
+}
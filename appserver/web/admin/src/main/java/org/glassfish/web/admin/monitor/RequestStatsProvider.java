@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,13 +17,13 @@
 
 package org.glassfish.web.admin.monitor;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.annotations.Reset;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
-import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.external.probe.provider.annotations.*;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
@@ -50,8 +51,14 @@ public class RequestStatsProvider {
         "Longest response time for a request; not a cumulative value, but the largest response time from among the response times";
     private static final String PROCESSING_TIME_DESCRIPTION =
         "Average request processing time";
+    private static final String PROCESSING_TIME_P50_DESCRIPTION =
+        "Median request processing time, in microseconds";
+    private static final String PROCESSING_TIME_P99_DESCRIPTION =
+        "99th percentile of the request processing time, in microseconds";
+    private static final String PROCESSING_TIME_P999_DESCRIPTION =
+        "99.9th percentile of the request processing time, in microseconds";
 
-    private CountStatisticImpl errorCount = new CountStatisticImpl("ErrorCount",
+    private StripedCountStatistic errorCount = new StripedCountStatistic("ErrorCount",
             StatisticImpl.UNIT_COUNT, ERROR_COUNT_DESCRIPTION);
     private CountStatisticImpl requestCount = new CountStatisticImpl("RequestCount",
             StatisticImpl.UNIT_COUNT, REQUEST_COUNT_DESCRIPTION);
@@ -60,26 +67,19 @@ public class RequestStatsProvider {
     private CountStatisticImpl processingTime = new CountStatisticImpl("ProcessingTime",
             StatisticImpl.UNIT_MILLISECOND, PROCESSING_TIME_DESCRIPTION);
 
-    private TimeStatisticImpl requestProcessTime = new TimeStatisticImpl(0L, 0L, 0L, 0L,
-            "", "", "", System.currentTimeMillis(), -1L);
+    private CountStatisticImpl processingTimeP50 = new CountStatisticImpl("ProcessingTimeP50",
+            StatisticImpl.UNIT_MICROSECOND, PROCESSING_TIME_P50_DESCRIPTION);
+    private CountStatisticImpl processingTimeP99 = new CountStatisticImpl("ProcessingTimeP99",
+            StatisticImpl.UNIT_MICROSECOND, PROCESSING_TIME_P99_DESCRIPTION);
+    private CountStatisticImpl processingTimeP999 = new CountStatisticImpl("ProcessingTimeP999",
+            StatisticImpl.UNIT_MICROSECOND, PROCESSING_TIME_P999_DESCRIPTION);
+
+    private final LatencyHistogram requestProcessTime = new LatencyHistogram();
 
     private String virtualServerName = null;
     private String moduleName = null;
 
-    private ThreadLocal<TimeStatData> timeStatDataLocal = new ThreadLocal<TimeStatData> (){
-        TimeStatData tsd;
-
-        protected TimeStatData initialValue (){
-            tsd = new TimeStatData ();
-            return tsd;
-        }
-        public TimeStatData get (){
-            if (tsd == null) {
-                tsd = new TimeStatData();
-            }
-            return tsd;
-        }
-    };
+    private final ThreadLocal<TimeStatData> timeStatDataLocal = ThreadLocal.withInitial(TimeStatData::new);
 
     public RequestStatsProvider(String appName, String vsName) {
         this.virtualServerName = vsName;
@@ -89,7 +89,7 @@ public class RequestStatsProvider {
     @ManagedAttribute(id="errorcount")
     @Description(ERROR_COUNT_DESCRIPTION)
     public CountStatistic getErrorCount() {
-        return errorCount;
+        return errorCount.getStatistic();
     }
 
     @ManagedAttribute(id="requestcount")
@@ -102,22 +102,38 @@ public class RequestStatsProvider {
     @ManagedAttribute(id="maxtime")
     @Description(MAX_TIME_DESCRIPTION)
     public CountStatistic getMaxTime() {
-        maxTime.setCount(requestProcessTime.getMaxTime());
+        maxTime.setCount(TimeUnit.MICROSECONDS.toMillis(requestProcessTime.getMax()));
         return maxTime;
     }
 
     @ManagedAttribute(id="processingtime")
     @Description(PROCESSING_TIME_DESCRIPTION)
     public CountStatistic getProcessingTime() {
-        long count = requestProcessTime.getCount();
-        long processTime = 0L;
-        if (count != 0) {
-            processTime = requestProcessTime.getTotalTime()/count;
-        }
-        processingTime.setCount(processTime);
+        processingTime.setCount(getProcessTime());
         return processingTime;
     }
 
+    @ManagedAttribute(id="processingtimep50")
+    @Description(PROCESSING_TIME_P50_DESCRIPTION)
+    public CountStatistic getProcessingTimeP50() {
+        processingTimeP50.setCount(requestProcessTime.getValueAtPercentile(50.0));
+        return processingTimeP50;
+    }
+
+    @ManagedAttribute(id="processingtimep99")
+    @Description(PROCESSING_TIME_P99_DESCRIPTION)
+    public CountStatistic getProcessingTimeP99() {
+        processingTimeP99.setCount(requestProcessTime.getValueAtPercentile(99.0));
+        return processingTimeP99;
+    }
+
+    @ManagedAttribute(id="processingtimep999")
+    @Description(PROCESSING_TIME_P999_DESCRIPTION)
+    public CountStatistic getProcessingTimeP999() {
+        processingTimeP999.setCount(requestProcessTime.getValueAtPercentile(99.9));
+        return processingTimeP999;
+    }
+
     @ProbeListener("glassfish:web:http-service:requestStartEvent")
     public void requestStartEvent(
             @ProbeParam("appName") String appName,
@@ -142,7 +158,7 @@ public class RequestStatsProvider {
                     hostName.equals(virtualServerName) &&
                     appName.equals(moduleName)){
                 //increment counts
-                timeStatDataLocal.get().setEntryTime(System.currentTimeMillis());
+                timeStatDataLocal.get().setEntryTime(System.nanoTime());
                 if (logger.isLoggable(Level.FINEST)) {
                     logger.finest(
                         "[TM]requestStartEvent resolved - virtual-server = " +
@@ -153,7 +169,7 @@ public class RequestStatsProvider {
                 }
             }
         } else {
-            timeStatDataLocal.get().setEntryTime(System.currentTimeMillis());
+            timeStatDataLocal.get().setEntryTime(System.nanoTime());
             if (logger.isLoggable(Level.FINEST)) {
                 logger.finest(
                     "[TM]requestStartEvent resolved - virtual-server = " +
@@ -191,13 +207,7 @@ public class RequestStatsProvider {
                     hostName.equals(virtualServerName) &&
                     appName.equals(moduleName)){
                 //increment counts
-                TimeStatData tsd = timeStatDataLocal.get();
-                tsd.setExitTime(System.currentTimeMillis());
-                requestProcessTime.incrementCount(tsd.getTotalTime());
-
-                if (statusCode >= 400) {
-                    errorCount.increment();
-                }
+                requestEnded(statusCode);
                 if (logger.isLoggable(Level.FINEST)) {
                     logger.finest(
                         "[TM]requestEndEvent resolved - virtual-server = " +
@@ -209,13 +219,7 @@ public class RequestStatsProvider {
                 }
             }
         } else {
-            TimeStatData tsd = timeStatDataLocal.get();
-            tsd.setExitTime(System.currentTimeMillis());
-            requestProcessTime.incrementCount(tsd.getTotalTime());
-
-            if (statusCode >= 400) {
-                errorCount.increment();
-            }
+            requestEnded(statusCode);
             if (logger.isLoggable(Level.FINEST)) {
                 logger.finest(
                     "[TM]requestEndEvent resolved - virtual-server = " +
@@ -228,9 +232,18 @@ public class RequestStatsProvider {
         }
     }
 
+    private void requestEnded(int statusCode) {
+        TimeStatData tsd = timeStatDataLocal.get();
+        tsd.setExitTime(System.nanoTime());
+        requestProcessTime.record(TimeUnit.NANOSECONDS.toMicros(tsd.getTotalTime()));
+
+        if (statusCode >= 400) {
+            errorCount.increment();
+        }
+    }
 
     public long getProcessTime() {
-        return requestProcessTime.getTotalTime()/requestProcessTime.getCount();
+        return TimeUnit.MICROSECONDS.toMillis(requestProcessTime.getMean());
     }
 
     public String getModuleName() {
@@ -248,6 +261,9 @@ public class RequestStatsProvider {
         this.maxTime.reset();
         this.processingTime.reset();
         this.requestCount.reset();
+        this.processingTimeP50.reset();
+        this.processingTimeP99.reset();
+        this.processingTimeP999.reset();
     }
 
 }
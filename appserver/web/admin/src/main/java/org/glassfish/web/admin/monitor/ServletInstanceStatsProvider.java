@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,13 +17,13 @@
 
 package org.glassfish.web.admin.monitor;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.annotations.Reset;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
-import org.glassfish.external.statistics.impl.TimeStatisticImpl;
 import org.glassfish.external.probe.provider.annotations.*;
 import org.glassfish.gmbal.AMXMetadata;
 import org.glassfish.gmbal.Description;
@@ -52,7 +53,13 @@ public class ServletInstanceStatsProvider {
 
     private static final String REQUEST_COUNT_DESCRIPTION = "Number of requests processed";
 
-    private CountStatisticImpl errorCount = new CountStatisticImpl(
+    private static final String PROCESSING_TIME_P50_DESCRIPTION = "Median response time, in microseconds";
+
+    private static final String PROCESSING_TIME_P99_DESCRIPTION = "99th percentile of the response time, in microseconds";
+
+    private static final String PROCESSING_TIME_P999_DESCRIPTION = "99.9th percentile of the response time, in microseconds";
+
+    private StripedCountStatistic errorCount = new StripedCountStatistic(
         "ErrorCount", StatisticImpl.UNIT_COUNT, ERROR_COUNT_DESCRIPTION);
 
     private CountStatisticImpl requestCount = new CountStatisticImpl(
@@ -65,8 +72,19 @@ public class ServletInstanceStatsProvider {
         "ProcessingTime", StatisticImpl.UNIT_MILLISECOND,
         PROCESSING_TIME_DESCRIPTION);
 
-    private TimeStatisticImpl requestProcessTime = new TimeStatisticImpl(
-        0L, 0L, 0L, 0L, "", "", "", System.currentTimeMillis(), -1L);
+    private CountStatisticImpl processingTimeP50 = new CountStatisticImpl(
+        "ProcessingTimeP50", StatisticImpl.UNIT_MICROSECOND,
+        PROCESSING_TIME_P50_DESCRIPTION);
+
+    private CountStatisticImpl processingTimeP99 = new CountStatisticImpl(
+        "ProcessingTimeP99", StatisticImpl.UNIT_MICROSECOND,
+        PROCESSING_TIME_P99_DESCRIPTION);
+
+    private CountStatisticImpl processingTimeP999 = new CountStatisticImpl(
+        "ProcessingTimeP999", StatisticImpl.UNIT_MICROSECOND,
+        PROCESSING_TIME_P999_DESCRIPTION);
+
+    private final LatencyHistogram requestProcessTime = new LatencyHistogram();
 
     private CountStatisticImpl serviceTime = new CountStatisticImpl(
         "ServiceTime", StatisticImpl.UNIT_MILLISECOND,
@@ -77,20 +95,7 @@ public class ServletInstanceStatsProvider {
     private String vsName;
     private ServletStatsProvider servletStatsProvider;
 
-    private ThreadLocal<TimeStatData> timeStatDataLocal = new ThreadLocal<TimeStatData> (){
-        TimeStatData tsd;
-
-        protected TimeStatData initialValue (){
-            tsd = new TimeStatData ();
-            return tsd;
-        }
-        public TimeStatData get (){
-            if (tsd == null) {
-                tsd = new TimeStatData();
-            }
-            return tsd;
-        }
-    };
+    private final ThreadLocal<TimeStatData> timeStatDataLocal = ThreadLocal.withInitial(TimeStatData::new);
 
     public ServletInstanceStatsProvider(String servletName,
             String moduleName, String vsName,
@@ -112,35 +117,51 @@ public class ServletInstanceStatsProvider {
     @ManagedAttribute(id="errorcount")
     @Description(ERROR_COUNT_DESCRIPTION)
     public CountStatistic getErrorCount() {
-        return errorCount;
+        return errorCount.getStatistic();
     }
 
     @ManagedAttribute(id="maxtime")
     @Description(MAX_TIME_DESCRIPTION)
     public CountStatistic getMaximumTime() {
-        maxTime.setCount(requestProcessTime.getMaxTime());
+        maxTime.setCount(TimeUnit.MICROSECONDS.toMillis(requestProcessTime.getMax()));
         return maxTime;
     }
 
     @ManagedAttribute(id="servicetime")
     @Description(SERVICE_TIME_DESCRIPTION)
     public CountStatistic getServiceTime() {
-        serviceTime.setCount(requestProcessTime.getTotalTime());
+        serviceTime.setCount(TimeUnit.MICROSECONDS.toMillis(requestProcessTime.getTotal()));
         return serviceTime;
     }
 
     @ManagedAttribute(id="processingtime")
     @Description(PROCESSING_TIME_DESCRIPTION)
     public CountStatistic getProcessingTime() {
-        long count = requestProcessTime.getCount();
-        long processTime = 0L;
-        if (count != 0) {
-            processTime = requestProcessTime.getTotalTime()/count;
-        }
-        processingTime.setCount(processTime);
+        processingTime.setCount(TimeUnit.MICROSECONDS.toMillis(requestProcessTime.getMean()));
         return processingTime;
     }
 
+    @ManagedAttribute(id="processingtimep50")
+    @Description(PROCESSING_TIME_P50_DESCRIPTION)
+    public CountStatistic getProcessingTimeP50() {
+        processingTimeP50.setCount(requestProcessTime.getValueAtPercentile(50.0));
+        return processingTimeP50;
+    }
+
+    @ManagedAttribute(id="processingtimep99")
+    @Description(PROCESSING_TIME_P99_DESCRIPTION)
+    public CountStatistic getProcessingTimeP99() {
+        processingTimeP99.setCount(requestProcessTime.getValueAtPercentile(99.0));
+        return processingTimeP99;
+    }
+
+    @ManagedAttribute(id="processingtimep999")
+    @Description(PROCESSING_TIME_P999_DESCRIPTION)
+    public CountStatistic getProcessingTimeP999() {
+        processingTimeP999.setCount(requestProcessTime.getValueAtPercentile(99.9));
+        return processingTimeP999;
+    }
+
     @ManagedAttribute(id="requestcount")
     @Description(REQUEST_COUNT_DESCRIPTION)
     public CountStatistic getCount() {
@@ -154,7 +175,7 @@ public class ServletInstanceStatsProvider {
                     @ProbeParam("appName") String appName,
                     @ProbeParam("hostName") String hostName) {
         if (isValidEvent(servletName, appName, hostName)) {
-            timeStatDataLocal.get().setEntryTime(System.currentTimeMillis());
+            timeStatDataLocal.get().setEntryTime(System.nanoTime());
             if (logger.isLoggable(Level.FINEST)) {
                 logger.finest("Servlet before service event received - " +
                         "servletName = " + servletName +
@@ -172,9 +193,9 @@ public class ServletInstanceStatsProvider {
                     @ProbeParam("hostName") String hostName) {
         if (isValidEvent(servletName, appName, hostName)) {
             TimeStatData tsd = timeStatDataLocal.get();
-            tsd.setExitTime(System.currentTimeMillis());
-            long servletProcessingTime = tsd.getTotalTime();
-            requestProcessTime.incrementCount(servletProcessingTime);
+            tsd.setExitTime(System.nanoTime());
+            long servletProcessingTime = TimeUnit.NANOSECONDS.toMicros(tsd.getTotalTime());
+            requestProcessTime.record(servletProcessingTime);
             servletStatsProvider.addServletProcessingTime(
                 servletProcessingTime);
 
@@ -199,6 +220,9 @@ public class ServletInstanceStatsProvider {
         this.maxTime.reset();
         this.serviceTime.reset();
         this.processingTime.reset();
+        this.processingTimeP50.reset();
+        this.processingTimeP99.reset();
+        this.processingTimeP999.reset();
     }
 
     private boolean isValidEvent(String sName, String mName, String hostName) {
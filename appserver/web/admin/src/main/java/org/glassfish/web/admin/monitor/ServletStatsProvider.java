@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,10 +17,13 @@
 
 package org.glassfish.web.admin.monitor;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.RangeStatistic;
+import org.glassfish.external.statistics.annotations.Reset;
 import org.glassfish.external.statistics.impl.CountStatisticImpl;
 import org.glassfish.external.statistics.impl.RangeStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
@@ -56,6 +60,8 @@ public class ServletStatsProvider {
     private RangeStatisticImpl activeServletsLoadedCount;
     private CountStatisticImpl totalServletsLoadedCount;
     private CountStatisticImpl servletProcessingTimes;
+    // In microseconds, added by every request
+    private final LongAdder servletProcessingMicros = new LongAdder();
 
     public ServletStatsProvider(String moduleName, String vsName) {
         this.moduleName = moduleName;
@@ -87,6 +93,8 @@ public class ServletStatsProvider {
     @ManagedAttribute(id="servletprocessingtimes")
     @Description(SERVLET_PROCESSING_TIMES_DESCRIPTION)
     public CountStatistic getServletProcessingTimes() {
+        servletProcessingTimes.setCount(
+            TimeUnit.MICROSECONDS.toMillis(servletProcessingMicros.sum()));
         return servletProcessingTimes;
     }
 
@@ -149,7 +157,20 @@ public class ServletStatsProvider {
         return vsName;
     }
 
+    /**
+     * @param servletProcessingTime processing time in microseconds
+     */
     void addServletProcessingTime(long servletProcessingTime) {
-        servletProcessingTimes.increment(servletProcessingTime);
+        servletProcessingMicros.add(servletProcessingTime);
+    }
+
+    @Reset
+    public void reset() {
+        synchronized (activeServletsLoadedCount) {
+            activeServletsLoadedCount.reset();
+        }
+        totalServletsLoadedCount.reset();
+        servletProcessingMicros.reset();
+        servletProcessingTimes.reset();
     }
 }
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -20,7 +21,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.glassfish.external.statistics.CountStatistic;
 import org.glassfish.external.statistics.RangeStatistic;
-import org.glassfish.external.statistics.impl.CountStatisticImpl;
+import org.glassfish.external.statistics.annotations.Reset;
 import org.glassfish.external.statistics.impl.RangeStatisticImpl;
 import org.glassfish.external.statistics.impl.StatisticImpl;
 import org.glassfish.external.probe.provider.annotations.*;
@@ -61,12 +62,12 @@ public class SessionStatsProvider{
     private String vsName;
 
     private RangeStatisticImpl activeSessionsCount;
-    private CountStatisticImpl sessionsTotal;
-    private CountStatisticImpl expiredSessionsTotal;
-    private CountStatisticImpl rejectedSessionsTotal;
-    private CountStatisticImpl persistedSessionsTotal;
-    private CountStatisticImpl passivatedSessionsTotal;
-    private CountStatisticImpl activatedSessionsTotal;
+    private StripedCountStatistic sessionsTotal;
+    private StripedCountStatistic expiredSessionsTotal;
+    private StripedCountStatistic rejectedSessionsTotal;
+    private StripedCountStatistic persistedSessionsTotal;
+    private StripedCountStatistic passivatedSessionsTotal;
+    private StripedCountStatistic activatedSessionsTotal;
 
     public SessionStatsProvider(String moduleName, String vsName) {
         this.moduleName = moduleName;
@@ -75,21 +76,21 @@ public class SessionStatsProvider{
         activeSessionsCount = new RangeStatisticImpl(
             0L, 0L, 0L, "ActiveSessions", StatisticImpl.UNIT_COUNT,
             ACTIVE_SESSIONS_DESCRIPTION, curTime, curTime);
-        sessionsTotal = new CountStatisticImpl("SessionsTotal",
+        sessionsTotal = new StripedCountStatistic("SessionsTotal",
             StatisticImpl.UNIT_COUNT, TOTAL_SESSIONS_DESCRIPTION);
-        expiredSessionsTotal = new CountStatisticImpl(
+        expiredSessionsTotal = new StripedCountStatistic(
             "ExpiredSessionsTotal", StatisticImpl.UNIT_COUNT,
             EXPIRED_SESSIONS_DESCRIPTION);
-        rejectedSessionsTotal = new CountStatisticImpl(
+        rejectedSessionsTotal = new StripedCountStatistic(
             "RejectedSessionsTotal", StatisticImpl.UNIT_COUNT,
             REJECTED_SESSIONS_DESCRIPTION);
-        persistedSessionsTotal = new CountStatisticImpl(
+        persistedSessionsTotal = new StripedCountStatistic(
             "PersistedSessionsTotal", StatisticImpl.UNIT_COUNT,
             PERSISTED_SESSIONS_DESCRIPTION);
-        passivatedSessionsTotal = new CountStatisticImpl(
+        passivatedSessionsTotal = new StripedCountStatistic(
             "PassivatedSessionsTotal", StatisticImpl.UNIT_COUNT,
             PASSIVATED_SESSIONS_DESCRIPTION);
-        activatedSessionsTotal = new CountStatisticImpl(
+        activatedSessionsTotal = new StripedCountStatistic(
             "ActivatedSessionsTotal", StatisticImpl.UNIT_COUNT,
             ACTIVATED_SESSIONS_DESCRIPTION);
     }
@@ -103,37 +104,37 @@ public class SessionStatsProvider{
     @ManagedAttribute(id="sessionstotal")
     @Description(TOTAL_SESSIONS_DESCRIPTION)
     public CountStatistic getSessionsTotal() {
-        return sessionsTotal;
+        return sessionsTotal.getStatistic();
     }
 
     @ManagedAttribute(id="rejectedsessionstotal")
     @Description(REJECTED_SESSIONS_DESCRIPTION)
     public CountStatistic getRejectedSessionsTotal() {
-        return rejectedSessionsTotal;
+        return rejectedSessionsTotal.getStatistic();
     }
 
     @ManagedAttribute(id="expiredsessionstotal")
     @Description(EXPIRED_SESSIONS_DESCRIPTION)
     public CountStatistic getExpiredSessionsTotal() {
-        return expiredSessionsTotal;
+        return expiredSessionsTotal.getStatistic();
     }
 
     @ManagedAttribute(id="persistedsessionstotal")
     @Description(PERSISTED_SESSIONS_DESCRIPTION)
     public CountStatistic getPersistedSessionsTotal() {
-        return persistedSessionsTotal;
+        return persistedSessionsTotal.getStatistic();
     }
 
     @ManagedAttribute(id="passivatedsessionstotal")
     @Description(PASSIVATED_SESSIONS_DESCRIPTION)
     public CountStatistic getPassivatedSessionsTotal() {
-        return passivatedSessionsTotal;
+        return passivatedSessionsTotal.getStatistic();
     }
 
     @ManagedAttribute(id="activatedsessionstotal")
     @Description(ACTIVATED_SESSIONS_DESCRIPTION)
     public CountStatistic getActivatedSessionsTotal() {
-        return activatedSessionsTotal;
+        return activatedSessionsTotal.getStatistic();
     }
 
     @ProbeListener("glassfish:web:session:sessionCreatedEvent")
@@ -298,6 +299,19 @@ public class SessionStatsProvider{
         return vsName;
     }
 
+    @Reset
+    public void reset() {
+        synchronized (activeSessionsCount) {
+            activeSessionsCount.reset();
+        }
+        sessionsTotal.reset();
+        expiredSessionsTotal.reset();
+        rejectedSessionsTotal.reset();
+        persistedSessionsTotal.reset();
+        passivatedSessionsTotal.reset();
+        activatedSessionsTotal.reset();
+    }
+
     private void incrementActiveSessions() {
         synchronized (activeSessionsCount) {
             activeSessionsCount.setCurrent(
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.CountStatisticImpl;
+
+/**
+ * Count statistic updated by probe listeners without locking.
+ * <p>
+ * {@link CountStatisticImpl} synchronizes every update, so the count is kept
+ * in a {@link LongAdder} and copied to the statistic when it is read. Stats
+ * providers using it must reset it from their {@code @Reset} method, as the
+ * monitoring framework would only reset the statistic.
+ */
+final class StripedCountStatistic {
+
+    private final LongAdder count = new LongAdder();
+    private final CountStatisticImpl statistic;
+
+    StripedCountStatistic(String name, String unit, String description) {
+        statistic = new CountStatisticImpl(name, unit, description);
+    }
+
+    void increment() {
+        count.increment();
+    }
+
+    void increment(long delta) {
+        count.add(delta);
+    }
+
+    long getCount() {
+        return count.sum();
+    }
+
+    CountStatistic getStatistic() {
+        statistic.setCount(count.sum());
+        return statistic;
+    }
+
+    void reset() {
+        count.reset();
+        statistic.reset();
+    }
+}
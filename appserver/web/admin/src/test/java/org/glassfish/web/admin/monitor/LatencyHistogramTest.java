@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    public void emptyHistogram() {
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getMean());
+        assertEquals(0L, histogram.getMax());
+        assertEquals(0L, histogram.getValueAtPercentile(99.9));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(5L, histogram.getValueAtPercentile(50.0));
+        assertEquals(10L, histogram.getValueAtPercentile(99.0));
+        assertEquals(1L, histogram.getValueAtPercentile(0.0));
+        assertEquals(10L, histogram.getMax());
+        assertEquals(55L, histogram.getTotal());
+        assertEquals(5L, histogram.getMean());
+    }
+
+    @Test
+    public void percentilesAreWithinBucketPrecision() {
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertWithinPrecision(50_000L, histogram.getValueAtPercentile(50.0));
+        assertWithinPrecision(99_000L, histogram.getValueAtPercentile(99.0));
+        assertWithinPrecision(99_900L, histogram.getValueAtPercentile(99.9));
+        assertEquals(100_000L, histogram.getValueAtPercentile(100.0));
+    }
+
+    @Test
+    public void tailIsNotHiddenByTheMedian() {
+        for (int i = 0; i < 990; i++) {
+            histogram.record(100L);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1_000_000L);
+        }
+
+        assertWithinPrecision(100L, histogram.getValueAtPercentile(50.0));
+        assertWithinPrecision(100L, histogram.getValueAtPercentile(99.0));
+        assertWithinPrecision(1_000_000L, histogram.getValueAtPercentile(99.9));
+    }
+
+    @Test
+    public void outOfRangeValuesAreClamped() {
+        histogram.record(-5L);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0L, histogram.getValueAtPercentile(50.0));
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertTrue(histogram.getValueAtPercentile(100.0) >= LatencyHistogram.MAX_TRACKABLE_VALUE);
+    }
+
+    @Test
+    public void bucketsCoverTheirValues() {
+        for (long value = 0; value < 1 << 20; value += 7) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.highestEquivalentValue(index) >= value, "value " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.highestEquivalentValue(index - 1) < value, "value " + value);
+            }
+        }
+    }
+
+    @Test
+    public void resetDiscardsValues() {
+        histogram.record(42L);
+        histogram.reset();
+
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getValueAtPercentile(50.0));
+        histogram.record(7L);
+        assertEquals(7L, histogram.getValueAtPercentile(50.0));
+    }
+
+    @Test
+    public void concurrentRecordsAreAllCounted() throws Exception {
+        int threadCount = 8;
+        int recordsPerThread = 100_000;
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                long value = (i + 1) * 1000L;
+                results.add(executor.submit(() -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    for (int j = 0; j < recordsPerThread; j++) {
+                        histogram.record(value);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long count = (long) threadCount * recordsPerThread;
+        assertEquals(count, histogram.getCount());
+        assertEquals(36_000L * recordsPerThread, histogram.getTotal());
+        assertEquals(8000L, histogram.getMax());
+        assertWithinPrecision(4000L, histogram.getValueAtPercentile(50.0));
+        assertEquals(8000L, histogram.getValueAtPercentile(100.0));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual) {
+        long tolerance = expected / LatencyHistogram.SUB_BUCKET_COUNT;
+        assertTrue(Math.abs(actual - expected) <= tolerance,
+            "expected " + expected + " within " + tolerance + " but was " + actual);
+    }
+}
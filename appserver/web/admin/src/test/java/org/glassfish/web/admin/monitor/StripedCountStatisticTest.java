@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.admin.monitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.external.statistics.CountStatistic;
+import org.glassfish.external.statistics.impl.StatisticImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StripedCountStatisticTest {
+
+    private final StripedCountStatistic statistic =
+        new StripedCountStatistic("CountRequests", StatisticImpl.UNIT_COUNT, "Requests");
+
+    @Test
+    public void statisticHasTheCount() {
+        statistic.increment();
+        statistic.increment(41L);
+
+        CountStatistic count = statistic.getStatistic();
+        assertEquals("CountRequests", count.getName());
+        assertEquals(42L, count.getCount());
+        assertEquals(42L, statistic.getCount());
+    }
+
+    @Test
+    public void resetClearsTheCount() {
+        statistic.increment(5L);
+        statistic.reset();
+
+        assertEquals(0L, statistic.getCount());
+        assertEquals(0L, statistic.getStatistic().getCount());
+    }
+
+    @Test
+    public void concurrentIncrementsAreAllCounted() throws Exception {
+        int threadCount = 8;
+        int incrementsPerThread = 100_000;
+        CyclicBarrier barrier = new CyclicBarrier(threadCount);
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    barrier.await(10, TimeUnit.SECONDS);
+                    for (int j = 0; j < incrementsPerThread; j++) {
+                        statistic.increment();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals((long) threadCount * incrementsPerThread, statistic.getStatistic().getCount());
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -108,8 +109,8 @@ public interface WebContainerAvailability extends ConfigBeanProxy, PropertyBag,
      *
      * The persistence scope used by the session persistence framework, when
      * persistence-type = "ha". Values may be "session", "modified-session",
-     * "modified-attribute". If it is missing, then the persistence-type will
-     * revert to "memory".
+     * "modified-attribute", "modified-attribute-delta". If it is missing, then
+     * the persistence-type will revert to "memory".
      *
      * @return possible object is {@link String}
      */
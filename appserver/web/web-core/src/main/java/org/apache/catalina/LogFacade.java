@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -3606,4 +3607,10 @@ public class LogFacade {
             level = "WARNING"
     )
     public static final String REPOSITORY_PATH_CONTAIN_NULL_CHARACTER = prefix + "00550";
+
+    @LogMessageInfo(
+            message = "Cannot look up the data source {0}: {1}",
+            level = "WARNING"
+    )
+    public static final String DATA_SOURCE_LOOKUP_FAILED = prefix + "00551";
 }
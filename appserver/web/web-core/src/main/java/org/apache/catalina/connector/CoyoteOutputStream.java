@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -22,6 +23,7 @@ import org.apache.catalina.LogFacade;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ResourceBundle;
 
 /**
@@ -114,6 +116,23 @@ public class CoyoteOutputStream
     }
 
 
+    /**
+     * Writes the remaining bytes of the given buffer without copying them
+     * into the output buffer first if possible.
+     *
+     * @see OutputBuffer#writeByteBuffer(ByteBuffer)
+     */
+    public void writeByteBuffer(ByteBuffer buffer)
+        throws IOException {
+        // Disallow operation if the object has gone out of scope
+        if (ob == null) {
+            throw new IllegalStateException(rb.getString(LogFacade.OBJECT_INVALID_SCOPE_EXCEPTION));
+        }
+
+        ob.writeByteBuffer(buffer);
+    }
+
+
     /**
      * Will send the buffer to the client.
      */
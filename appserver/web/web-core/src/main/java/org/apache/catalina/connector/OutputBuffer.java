@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -19,6 +20,7 @@ package org.apache.catalina.connector;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.channels.InterruptedByTimeoutException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -299,6 +301,28 @@ public class OutputBuffer extends Writer
     }
 
 
+    /**
+     * Writes the remaining bytes of the given buffer. The buffer is handed
+     * over to Grizzly and may be written without being copied, so it must
+     * not be modified afterwards.
+     */
+    public void writeByteBuffer(ByteBuffer buffer) throws IOException {
+
+        if (suspended)
+            return;
+
+        if (grizzlyOutputBuffer.isClosed())
+            return;
+        if (log.isLoggable(Level.FINE))
+            log.log(Level.FINE, "writeByteBuffer(buffer)");
+
+        int len = buffer.remaining();
+        grizzlyOutputBuffer.writeByteBuffer(buffer);
+        bytesWritten += len;
+
+    }
+
+
     // XXX Char or byte ?
     public void writeByte(int b)
         throws IOException {
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -28,6 +29,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.security.Principal;
 import java.security.PrivilegedActionException;
+import java.util.Arrays;
 import java.util.ResourceBundle;
 import java.util.logging.Logger;
 
@@ -92,6 +94,13 @@ final class ApplicationFilterChain implements FilterChain {
     private int n = 0;
 
 
+    /**
+     * True if the filters array is a template shared with other chains,
+     * it has to be copied before it is modified.
+     */
+    private boolean sharedFilters = false;
+
+
     /**
      * The servlet instance to be executed by this chain.
      */
@@ -309,6 +318,10 @@ final class ApplicationFilterChain implements FilterChain {
      * @param filterConfig The FilterConfig for the servlet to be executed
      */
     void addFilter(ApplicationFilterConfig filterConfig) {
+        if (sharedFilters) {
+            filters = Arrays.copyOf(filters, n + INCREMENT);
+            sharedFilters = false;
+        }
         if (n == filters.length) {
             ApplicationFilterConfig[] newFilters =
                 new ApplicationFilterConfig[n + INCREMENT];
@@ -319,6 +332,20 @@ final class ApplicationFilterChain implements FilterChain {
     }
 
 
+    /**
+     * Set the filters of this chain to the given template. The array is not
+     * copied and must not be modified.
+     *
+     * @param filters The FilterConfigs of the filters to be executed
+     */
+    void setFilters(ApplicationFilterConfig[] filters) {
+        this.filters = filters;
+        this.n = filters.length;
+        this.pos = 0;
+        this.sharedFilters = true;
+    }
+
+
     /**
      * Release references to the filters and wrapper executed by this chain.
      */
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -25,7 +26,7 @@ import org.apache.catalina.deploy.FilterMap;
 import jakarta.servlet.DispatcherType;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletRequest;
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 
@@ -103,8 +104,10 @@ public final class ApplicationFilterFactory {
             (((StandardWrapper)wrapper).getInstanceSupport());
         */
 
-        // Acquire the filter mappings for this Context
+        // Acquire the filter mappings for this Context, after the templates
+        // which are discarded if the mappings change
         StandardContext context = (StandardContext) wrapper.getParent();
+        FilterChainCache.Templates templates = context.getFilterChainCache().current();
         List<FilterMap> filterMaps = context.findFilterMaps();
 
         // If there are no filter mappings, we are done
@@ -120,16 +123,63 @@ public final class ApplicationFilterFactory {
         if (attribute != null){
             requestPath = attribute.toString();
         }
+        boolean caseSensitiveMapping = context.isCaseSensitiveMapping();
+        if (requestPath != null && !caseSensitiveMapping) {
+            requestPath = requestPath.toLowerCase(Locale.ENGLISH);
+        }
 
         // Acquire the information we will need to match filter mappings
         String servletName = wrapper.getName();
 
-        int n = 0;
+        // The filters matching this servlet, dispatcher and path class are
+        // the same for every request, reuse them if they were matched before
+        String pathClass = templates.getPathClass(filterMaps, requestPath, caseSensitiveMapping);
+        FilterChainCache.Key key = new FilterChainCache.Key(servletName, dispatcher, pathClass);
+        ApplicationFilterConfig[] filters = templates.get(key);
+        if (filters == null) {
+            filters = matchFilters(context, filterMaps, dispatcher, requestPath, servletName,
+                                   caseSensitiveMapping);
+            templates.put(key, filters);
+        }
+
+        // START IASRI 4665318
+        // Create a filter chain only when there are filters to add
+        if (filters.length > 0) {
+            filterChain = internalCreateFilterChain(request, wrapper, servlet);
+            filterChain.setFilters(filters);
+        }
+        // END IASRI 4665318
+
+        // Return the completed filter chain
+        return (filterChain);
+
+    }
+
+
+    // -------------------------------------------------------- Private Methods
+
+
+    /**
+     * Return the filters matching the given request, path-mapped filters
+     * first, then filters matching on servlet name.
+     *
+     * @param context Context of the request
+     * @param filterMaps Filter mappings of the context
+     * @param dispatcher Dispatcher type of the request
+     * @param requestPath Context-relative request path of this request
+     * @param servletName Name of the servlet to be executed
+     * @param caseSensitiveMapping true if the request path is matched case
+     * sensitive
+     */
+    private ApplicationFilterConfig[] matchFilters(StandardContext context,
+            List<FilterMap> filterMaps, DispatcherType dispatcher,
+            String requestPath, String servletName,
+            boolean caseSensitiveMapping) {
+
+        List<ApplicationFilterConfig> filters = new ArrayList<>();
 
         // Add the relevant path-mapped filters to this filter chain
-        Iterator<FilterMap> i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
+        for (FilterMap filterMap : filterMaps) {
             if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
                 continue;
             }
@@ -139,7 +189,7 @@ public final class ApplicationFilterFactory {
             */
             // START SJSWS 6324431
             if (!matchFiltersURL(filterMap, requestPath,
-                                 context.isCaseSensitiveMapping()))
+                                 caseSensitiveMapping))
                 continue;
             // END SJSWS 6324431
             ApplicationFilterConfig filterConfig = (ApplicationFilterConfig)
@@ -148,20 +198,11 @@ public final class ApplicationFilterFactory {
                 // FIXME - log configuration problem
                 continue;
             }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+            filters.add(filterConfig);
         }
 
         // Add filters that match on servlet name second
-        i = filterMaps.iterator();
-        while (i.hasNext()) {
-            FilterMap filterMap = i.next();
+        for (FilterMap filterMap : filterMaps) {
             if (!filterMap.getDispatcherTypes().contains(dispatcher)) {
                 continue;
             }
@@ -173,25 +214,16 @@ public final class ApplicationFilterFactory {
                 // FIXME - log configuration problem
                 continue;
             }
-            // START IASRI 4665318
-            // Create a filter chain only when there are filters to add
-            if (filterChain == null)
-                filterChain = internalCreateFilterChain(request, wrapper,
-                                                        servlet);
-            // END IASRI 4665318
-            filterChain.addFilter(filterConfig);
-            n++;
+            filters.add(filterConfig);
         }
 
-        // Return the completed filter chain
-        return (filterChain);
-
+        if (filters.isEmpty()) {
+            return FilterChainCache.NO_FILTERS;
+        }
+        return filters.toArray(new ApplicationFilterConfig[filters.size()]);
     }
 
 
-    // -------------------------------------------------------- Private Methods
-
-
     /**
      * Return <code>true</code> if the context-relative request path
      * matches the requirements of the specified filter mapping;
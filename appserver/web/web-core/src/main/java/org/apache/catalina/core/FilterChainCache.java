@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.catalina.deploy.FilterMap;
+
+/**
+ * Cache of the filters matched by {@link ApplicationFilterFactory} for a
+ * context, keyed by servlet name, dispatcher type and path class.
+ * <p>
+ * The path class of a request path is the part of the path the url-pattern
+ * filter mappings can tell apart: the path itself if it is an exact pattern,
+ * otherwise the deepest "/.../*" pattern matching it and its extension if an
+ * extension pattern matches it. All paths of a class match the same filters,
+ * so the number of templates is bounded by the mappings and not by the
+ * request paths, e.g. of applications with path parameters.
+ * <p>
+ * The cached arrays are shared by all requests and must never be modified.
+ * The cache is cleared whenever the filters or their mappings change; a
+ * template computed concurrently with a change is put into the discarded
+ * {@link Templates} and never seen again.
+ *
+ * @see ApplicationFilterChain#setFilters(ApplicationFilterConfig[])
+ */
+final class FilterChainCache {
+
+    /**
+     * Shared template of a chain without any filter.
+     */
+    static final ApplicationFilterConfig[] NO_FILTERS = new ApplicationFilterConfig[0];
+
+    /**
+     * Max number of cached templates, a single template is evicted to add
+     * another one when it is full.
+     */
+    static final int MAX_SIZE = 1024;
+
+    private volatile Templates templates = new Templates();
+
+
+    /**
+     * @return the cached filters, or <code>null</code> if they have to be
+     *         computed
+     */
+    ApplicationFilterConfig[] get(Key key) {
+        return templates.get(key);
+    }
+
+
+    /**
+     * @return the templates to look up and to put the computed templates into
+     */
+    Templates current() {
+        return templates;
+    }
+
+
+    /**
+     * Drops all cached templates.
+     */
+    void clear() {
+        templates = new Templates();
+    }
+
+
+    int size() {
+        return templates.size();
+    }
+
+
+    /**
+     * The templates cached for the filter mappings of the context at a time.
+     */
+    static final class Templates {
+
+        private final ConcurrentHashMap<Key, ApplicationFilterConfig[]> map = new ConcurrentHashMap<>();
+        private volatile PathClasses pathClasses;
+
+
+        ApplicationFilterConfig[] get(Key key) {
+            return map.get(key);
+        }
+
+
+        void put(Key key, ApplicationFilterConfig[] filters) {
+            if (map.size() >= MAX_SIZE && !map.containsKey(key)) {
+                Iterator<Key> keys = map.keySet().iterator();
+                if (keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            map.put(key, filters);
+        }
+
+
+        int size() {
+            return map.size();
+        }
+
+
+        /**
+         * @param filterMaps filter mappings of the context, read once for
+         *        these templates
+         * @param requestPath context relative request path, already lower
+         *        case for case insensitive mapping, may be <code>null</code>
+         * @param caseSensitiveMapping true if the paths are case sensitive
+         * @return the path class of the request path
+         */
+        String getPathClass(List<FilterMap> filterMaps, String requestPath, boolean caseSensitiveMapping) {
+            PathClasses classes = pathClasses;
+            if (classes == null) {
+                classes = new PathClasses(filterMaps, caseSensitiveMapping);
+                pathClasses = classes;
+            }
+            return classes.getPathClass(requestPath);
+        }
+    }
+
+
+    /**
+     * The url-patterns of the filter mappings, by kind, in the form compared
+     * to the request paths by {@link ApplicationFilterFactory}.
+     */
+    static final class PathClasses {
+
+        private final Set<String> exactPatterns = new HashSet<>();
+
+        // "/.../*" patterns without the trailing "/*", "" for "/*"
+        private final Set<String> prefixes = new HashSet<>();
+
+        // "*.ext" patterns without the leading "*"
+        private final Set<String> extensions = new HashSet<>();
+
+
+        PathClasses(List<FilterMap> filterMaps, boolean caseSensitiveMapping) {
+            for (FilterMap filterMap : filterMaps) {
+                String pattern = filterMap.getURLPattern();
+                if (pattern == null) {
+                    continue;
+                }
+                if (!caseSensitiveMapping) {
+                    pattern = pattern.toLowerCase(Locale.ENGLISH);
+                }
+                if (pattern.endsWith("/*")) {
+                    prefixes.add(pattern.substring(0, pattern.length() - 2));
+                } else if (pattern.startsWith("*.")) {
+                    extensions.add(pattern.substring(1));
+                }
+                // any pattern may match exactly
+                exactPatterns.add(pattern);
+            }
+        }
+
+
+        /**
+         * @return the request path for an exact pattern, "=" excluded,
+         *         otherwise the deepest matching prefix pattern followed by the
+         *         matching extension pattern, both optional
+         */
+        String getPathClass(String requestPath) {
+            if (requestPath == null) {
+                return null;
+            }
+            if (exactPatterns.contains(requestPath)) {
+                return "=" + requestPath;
+            }
+
+            StringBuilder pathClass = new StringBuilder();
+            String prefix = getDeepestPrefix(requestPath);
+            if (prefix != null) {
+                pathClass.append(prefix).append("/*");
+            }
+            String extension = getExtension(requestPath);
+            if (extension != null && extensions.contains(extension)) {
+                pathClass.append(" *").append(extension);
+            }
+            return pathClass.toString();
+        }
+
+
+        private String getDeepestPrefix(String requestPath) {
+            if (prefixes.isEmpty()) {
+                return null;
+            }
+            if (prefixes.contains(requestPath)) {
+                return requestPath;
+            }
+            for (int slash = requestPath.lastIndexOf('/'); slash > 0; slash = requestPath.lastIndexOf('/', slash - 1)) {
+                String prefix = requestPath.substring(0, slash);
+                if (prefixes.contains(prefix)) {
+                    return prefix;
+                }
+            }
+            return prefixes.contains("") ? "" : null;
+        }
+
+
+        private static String getExtension(String requestPath) {
+            int slash = requestPath.lastIndexOf('/');
+            int period = requestPath.lastIndexOf('.');
+            if (slash >= 0 && period > slash && period != requestPath.length() - 1) {
+                return requestPath.substring(period);
+            }
+            return null;
+        }
+    }
+
+
+    /**
+     * Key of a template.
+     */
+    static final class Key {
+
+        private final String servletName;
+        private final DispatcherType dispatcher;
+        private final String pathClass;
+        private final int hash;
+
+        Key(String servletName, DispatcherType dispatcher, String pathClass) {
+            this.servletName = servletName;
+            this.dispatcher = dispatcher;
+            this.pathClass = pathClass;
+            int h = servletName == null ? 0 : servletName.hashCode();
+            h = 31 * h + dispatcher.hashCode();
+            h = 31 * h + (pathClass == null ? 0 : pathClass.hashCode());
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash
+                && dispatcher == other.dispatcher
+                && equals(servletName, other.servletName)
+                && equals(pathClass, other.pathClass);
+        }
+
+        private static boolean equals(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+}
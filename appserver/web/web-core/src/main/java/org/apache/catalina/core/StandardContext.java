@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021, 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -394,6 +394,11 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     private final List<FilterMap> filterMaps = new ArrayList<>();
 
+    /**
+     * The filters matched for recent requests, cleared whenever the filters or their mappings change.
+     */
+    private final FilterChainCache filterChainCache = new FilterChainCache();
+
     /**
      * The list of classnames of InstanceListeners that will be added to each newly created Wrapper by
      * <code>createWrapper()</code>.
@@ -823,6 +828,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
      */
     public void setCaseSensitiveMapping(boolean caseSensitiveMap) {
         caseSensitiveMapping = caseSensitiveMap;
+        filterChainCache.clear();
     }
 
     /**
@@ -1992,6 +1998,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         synchronized (filterDefs) {
             filterDefs.put(filterDef.getFilterName(), filterDef);
         }
+        filterChainCache.clear();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterDef", filterDef);
@@ -2078,6 +2085,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         } else {
             filterMaps.add(0, filterMap);
         }
+        filterChainCache.clear();
 
         if (notifyContainerListeners) {
             fireContainerEvent("addFilterMap", filterMap);
@@ -3210,6 +3218,13 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         return filterMaps;
     }
 
+    /**
+     * @return the cache of the filters matched by {@link ApplicationFilterFactory}
+     */
+    FilterChainCache getFilterChainCache() {
+        return filterChainCache;
+    }
+
     @Override
     public List<String> findInstanceListeners() {
         return instanceListeners;
@@ -3568,6 +3583,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         synchronized (filterDefs) {
             filterDefs.remove(filterDef.getFilterName());
         }
+        filterChainCache.clear();
 
         if (notifyContainerListeners) {
             fireContainerEvent("removeFilterDef", filterDef);
@@ -3584,6 +3600,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
         }
 
         filterMaps.clear();
+        filterChainCache.clear();
     }
 
     @Override
@@ -3860,6 +3877,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
                 }
             }
         }
+        filterChainCache.clear();
 
         return ok;
     }
@@ -3882,6 +3900,7 @@ public class StandardContext extends ContainerBase implements Context, ServletCo
             }
             filterConfigs.clear();
         }
+        filterChainCache.clear();
 
         return true;
     }
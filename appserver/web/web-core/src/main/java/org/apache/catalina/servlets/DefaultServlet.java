@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -245,6 +245,44 @@ public class DefaultServlet
     protected boolean useAcceptRanges = true;
 
 
+    /**
+     * Should the brotli or gzip compressed variant of a static resource, i.e.
+     * a file with the same name and the suffix .br or .gz, be sent instead of
+     * the resource if the client accepts the encoding?
+     */
+    protected boolean precompressed = false;
+
+
+    /**
+     * Should the content of static files larger than {@link #sendfileSize} be
+     * memory mapped and written to the connection without copying it to the
+     * response buffer? Each response maps the file again, the mapping is
+     * released when the buffer is garbage collected. Until then it counts
+     * against the max number of mappings of the process, and on Windows the
+     * file cannot be deleted, e.g. by a redeployment.
+     */
+    protected boolean useMappedFiles = false;
+
+
+    /**
+     * Max size in bytes of the content of static files kept in direct
+     * buffers. 0 disables the off-heap cache.
+     */
+    protected int offHeapCacheSize = 0;
+
+
+    /**
+     * Max size in bytes of a static file kept in the off-heap cache.
+     */
+    protected int offHeapCacheObjectMaxSize = 512 * 1024;
+
+
+    /**
+     * Writes the content of static files, see {@link #useMappedFiles}.
+     */
+    private transient StaticResourceEngine staticResourceEngine;
+
+
     /**
      * Full range marker.
      */
@@ -363,6 +401,24 @@ public class DefaultServlet
             useAcceptRanges = Boolean.parseBoolean(sc.getInitParameter("useAcceptRanges"));
         }
 
+        if (sc.getInitParameter("precompressed") != null) {
+            precompressed = Boolean.parseBoolean(sc.getInitParameter("precompressed"));
+        }
+
+        if (sc.getInitParameter("useMappedFiles") != null) {
+            useMappedFiles = Boolean.parseBoolean(sc.getInitParameter("useMappedFiles"));
+        }
+
+        if (sc.getInitParameter("offHeapCacheSize") != null) {
+            offHeapCacheSize =
+                Integer.parseInt(sc.getInitParameter("offHeapCacheSize")) * 1024;
+        }
+
+        if (sc.getInitParameter("offHeapCacheObjectMaxSize") != null) {
+            offHeapCacheObjectMaxSize =
+                Integer.parseInt(sc.getInitParameter("offHeapCacheObjectMaxSize")) * 1024;
+        }
+
         // Sanity check on the specified buffer sizes
         if (input < 256) {
             input = 256;
@@ -376,6 +432,9 @@ public class DefaultServlet
                 ", output buffer size=" + output);
         }
 
+        staticResourceEngine = new StaticResourceEngine(useMappedFiles, sendfileSize,
+            offHeapCacheSize, offHeapCacheObjectMaxSize);
+
         // Load the proxy dir context.
         resources = (ProxyDirContext) getServletContext()
                 .getAttribute(Globals.RESOURCES_ATTR);
@@ -413,6 +472,23 @@ public class DefaultServlet
     }
 
 
+    /**
+     * Looks up the given path in the resources of the alternate docbase
+     * whose url pattern matches, or in the resources of the context.
+     */
+    private CacheEntry lookupCache(String path) {
+        if (alternateDocBases == null || alternateDocBases.isEmpty()) {
+            return resources.lookupCache(path);
+        }
+        AlternateDocBase match = AlternateDocBase.findMatch(path, alternateDocBases);
+        if (match != null) {
+            return ((ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources())).lookupCache(path);
+        }
+        // None of the url patterns for alternate docbases matched
+        return resources.lookupCache(path);
+    }
+
+
     /**
      * Return if directory listings are enabled
      */
@@ -812,21 +888,8 @@ public class DefaultServlet
             }
         }
 
-        CacheEntry cacheEntry = null;
         ProxyDirContext proxyDirContext = resources;
-        if (alternateDocBases == null
-                || alternateDocBases.size() == 0) {
-            cacheEntry = proxyDirContext.lookupCache(path);
-        } else {
-            AlternateDocBase match = AlternateDocBase.findMatch(
-                                            path, alternateDocBases);
-            if (match != null) {
-                cacheEntry = ((ProxyDirContext) ContextsAdapterUtility.unwrap(match.getResources())).lookupCache(path);
-            } else {
-                // None of the url patterns for alternate docbases matched
-                cacheEntry = proxyDirContext.lookupCache(path);
-            }
-        }
+        CacheEntry cacheEntry = lookupCache(path);
 
         if (!cacheEntry.exists) {
             // Check if we're included so we can return the appropriate
@@ -882,6 +945,29 @@ public class DefaultServlet
             }
         }
 
+        // Serve the precompressed variant of the resource if there is one
+        // the client accepts. The variant has its own ETag and length, but
+        // the content type of the resource.
+        CacheEntry typeEntry = cacheEntry;
+        String contentEncoding = null;
+        if (precompressed && cacheEntry.context == null
+                && request.getHeader("Range") == null
+                && request.getAttribute(RequestDispatcher.INCLUDE_CONTEXT_PATH) == null) {
+            CacheEntry brotli = lookupCache(path + StaticResourceEngine.BROTLI_SUFFIX);
+            CacheEntry gzip = lookupCache(path + StaticResourceEngine.GZIP_SUFFIX);
+            boolean hasBrotli = brotli.exists && brotli.context == null;
+            boolean hasGzip = gzip.exists && gzip.context == null;
+            if (hasBrotli || hasGzip) {
+                response.addHeader("Vary", "Accept-Encoding");
+                contentEncoding = StaticResourceEngine.selectEncoding(
+                    request.getHeader("Accept-Encoding"), hasBrotli, hasGzip);
+                if (contentEncoding != null) {
+                    response.setHeader("Content-Encoding", contentEncoding);
+                    cacheEntry = StaticResourceEngine.BROTLI.equals(contentEncoding) ? brotli : gzip;
+                }
+            }
+        }
+
         // Check if the conditions specified in the optional If headers are
         // satisfied.
         if (cacheEntry.context == null) {
@@ -897,10 +983,10 @@ public class DefaultServlet
         }
 
         // Find content type.
-        String contentType = cacheEntry.attributes.getMimeType();
-        if (contentType == null && !cacheEntry.attributes.isMimeTypeInitialized()) {
-            contentType = getServletContext().getMimeType(cacheEntry.name);
-            cacheEntry.attributes.setMimeType(contentType);
+        String contentType = typeEntry.attributes.getMimeType();
+        if (contentType == null && !typeEntry.attributes.isMimeTypeInitialized()) {
+            contentType = getServletContext().getMimeType(typeEntry.name);
+            typeEntry.attributes.setMimeType(contentType);
         }
 
         ArrayList<Range> ranges = null;
@@ -960,9 +1046,10 @@ public class DefaultServlet
             } catch (IllegalStateException e) {
                 // If it fails, we try to get a Writer instead if we're
                 // trying to serve a text file
-                if ( (contentType == null)
-                     || (contentType.startsWith("text"))
-                     || (contentType.startsWith("xml")) ) {
+                if ( (contentEncoding == null)
+                     && ( (contentType == null)
+                          || (contentType.startsWith("text"))
+                          || (contentType.startsWith("xml")) ) ) {
                     writer = response.getWriter();
                 } else {
                     throw e;
@@ -1016,7 +1103,8 @@ public class DefaultServlet
                     // Silent catch
                 }
                 if (ostream != null) {
-                    if (!checkSendfile(request, response, cacheEntry, contentLength, null)) {
+                    if (!checkSendfile(request, response, cacheEntry, contentLength, null)
+                            && !staticResourceEngine.write(cacheEntry, ostream, 0L, contentLength)) {
                         copy(cacheEntry, renderResult, ostream);
                     }
                 } else {
@@ -1069,7 +1157,8 @@ public class DefaultServlet
                         // Silent catch
                     }
                     if (ostream != null) {
-                        if (!checkSendfile(request, response, cacheEntry, range.end - range.start + 1, range)) {
+                        if (!checkSendfile(request, response, cacheEntry, length, range)
+                                && !staticResourceEngine.write(cacheEntry, ostream, range.start, length)) {
                             copy(cacheEntry, ostream, range);
                         }
                     } else {
@@ -0,0 +1,317 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.servlets;
+
+import jakarta.servlet.ServletOutputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringTokenizer;
+
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.apache.naming.resources.CacheEntry;
+
+/**
+ * Sends the content of static file resources for the {@link DefaultServlet}
+ * without copying it through the servlet output stream buffer.
+ * <p>
+ * Small files are kept in a bounded cache of direct buffers, if enabled.
+ * Large files are memory mapped, if enabled, and the mapped buffers are
+ * written to the Grizzly output buffer, so the content is copied from the
+ * page cache to the socket by the kernel only. Other files are left to the
+ * copy path of the {@link DefaultServlet}.
+ * <p>
+ * It also selects the precompressed variant of a resource the client
+ * accepts, see {@link #selectEncoding(String, boolean, boolean)}.
+ */
+final class StaticResourceEngine {
+
+    /** Content coding and file suffix of brotli compressed variants */
+    static final String BROTLI = "br";
+
+    /** Content coding and file suffix of gzip compressed variants */
+    static final String GZIP = "gzip";
+
+    static final String BROTLI_SUFFIX = ".br";
+    static final String GZIP_SUFFIX = ".gz";
+
+    /**
+     * Max size of a single mapping. Larger files are mapped and sent in
+     * several parts.
+     */
+    private static final long MAX_MAPPING_SIZE = 64L * 1024L * 1024L;
+
+    private final boolean useMappedFiles;
+
+    private final long mappedFileMinSize;
+
+    // null if disabled
+    private final OffHeapCache cache;
+
+
+    /**
+     * @param useMappedFiles true if file content may be memory mapped
+     * @param mappedFileMinSize only parts of files larger than this are mapped
+     * @param cacheSize max number of bytes of the off-heap cache, 0 disables it
+     * @param cacheObjectMaxSize max size of a file kept in the off-heap cache
+     */
+    StaticResourceEngine(boolean useMappedFiles, long mappedFileMinSize, long cacheSize,
+            int cacheObjectMaxSize) {
+        this.useMappedFiles = useMappedFiles;
+        this.mappedFileMinSize = mappedFileMinSize;
+        this.cache = cacheSize > 0 && cacheObjectMaxSize > 0
+            ? new OffHeapCache(cacheSize, cacheObjectMaxSize) : null;
+    }
+
+
+    /**
+     * Writes a part of the content of a file resource to the given stream.
+     *
+     * @param entry the resource
+     * @param ostream the servlet output stream of the response
+     * @param start first byte to write
+     * @param length number of bytes to write
+     * @return false if the content was not written because the resource is
+     *         not a file or the stream is not the container's own stream;
+     *         the caller has to copy it then
+     */
+    boolean write(CacheEntry entry, ServletOutputStream ostream, long start, long length)
+            throws IOException {
+
+        if (!(ostream instanceof CoyoteOutputStream) || entry.resource == null
+                || entry.attributes == null) {
+            return false;
+        }
+        String canonicalPath = entry.attributes.getCanonicalPath();
+        if (canonicalPath == null) {
+            return false;
+        }
+        CoyoteOutputStream out = (CoyoteOutputStream) ostream;
+        long contentLength = entry.attributes.getContentLength();
+        long lastModified = entry.attributes.getLastModified();
+
+        if (cache != null && contentLength <= cache.maxObjectSize) {
+            ByteBuffer content = cache.get(canonicalPath, lastModified, contentLength);
+            if (content == null) {
+                content = load(canonicalPath, (int) contentLength);
+                if (content == null) {
+                    return false;
+                }
+                cache.put(canonicalPath, lastModified, content);
+            }
+            ByteBuffer part = content.duplicate();
+            part.position((int) start).limit((int) (start + length));
+            out.writeByteBuffer(part);
+            return true;
+        }
+
+        // Every mapping costs a system call and a map entry of the process,
+        // small parts are cheaper to copy. The heap cache of the resources
+        // holds the content already.
+        if (!useMappedFiles || length <= mappedFileMinSize || entry.resource.getContent() != null) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(Paths.get(canonicalPath), StandardOpenOption.READ)) {
+            if (channel.size() < start + length) {
+                // Changed since the attributes were read
+                return false;
+            }
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long size = Math.min(remaining, MAX_MAPPING_SIZE);
+                // The mapping stays valid after the channel is closed, and
+                // is released once Grizzly wrote and dropped the buffer
+                out.writeByteBuffer(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+                position += size;
+                remaining -= size;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * @return number of files in the off-heap cache
+     */
+    int getCachedCount() {
+        return cache == null ? 0 : cache.count();
+    }
+
+
+    /**
+     * Return the content coding of the precompressed variant to send for
+     * the given Accept-Encoding header, brotli being preferred over gzip
+     * for the same quality.
+     *
+     * @param acceptEncoding value of the Accept-Encoding request header
+     * @param hasBrotli true if a brotli compressed variant exists
+     * @param hasGzip true if a gzip compressed variant exists
+     * @return {@link #BROTLI}, {@link #GZIP}, or <code>null</code> if the
+     *         resource must be sent as is
+     */
+    static String selectEncoding(String acceptEncoding, boolean hasBrotli, boolean hasGzip) {
+        if (acceptEncoding == null || (!hasBrotli && !hasGzip)) {
+            return null;
+        }
+
+        double brotliQuality = -1;
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        StringTokenizer tokenizer = new StringTokenizer(acceptEncoding, ",");
+        while (tokenizer.hasMoreTokens()) {
+            String token = tokenizer.nextToken().trim();
+            String coding = token;
+            double quality = 1;
+            int semicolon = token.indexOf(';');
+            if (semicolon >= 0) {
+                coding = token.substring(0, semicolon).trim();
+                quality = parseQuality(token.substring(semicolon + 1));
+            }
+            if (BROTLI.equalsIgnoreCase(coding)) {
+                brotliQuality = quality;
+            } else if (GZIP.equalsIgnoreCase(coding) || "x-gzip".equalsIgnoreCase(coding)) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            } else if ("*".equals(coding)) {
+                anyQuality = quality;
+            }
+        }
+        if (brotliQuality < 0) {
+            brotliQuality = anyQuality;
+        }
+        if (gzipQuality < 0) {
+            gzipQuality = anyQuality;
+        }
+
+        if (hasBrotli && brotliQuality > 0 && (!hasGzip || brotliQuality >= gzipQuality)) {
+            return BROTLI;
+        }
+        if (hasGzip && gzipQuality > 0) {
+            return GZIP;
+        }
+        return null;
+    }
+
+
+    private static double parseQuality(String parameters) {
+        String value = parameters.trim();
+        if (!value.startsWith("q=") && !value.startsWith("Q=")) {
+            return 1;
+        }
+        try {
+            return Double.parseDouble(value.substring(2).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+
+    private static ByteBuffer load(String canonicalPath, int length) throws IOException {
+        ByteBuffer content = ByteBuffer.allocateDirect(length);
+        try (FileChannel channel = FileChannel.open(Paths.get(canonicalPath), StandardOpenOption.READ)) {
+            if (channel.size() != length) {
+                // Changed since the attributes were read
+                return null;
+            }
+            while (content.hasRemaining()) {
+                if (channel.read(content) < 0) {
+                    return null;
+                }
+            }
+        }
+        content.flip();
+        return content.asReadOnlyBuffer();
+    }
+
+
+    /**
+     * LRU cache of file contents in direct buffers, bounded by the total size
+     * of the contents. An entry is valid as long as the last modification
+     * time and the length of the file did not change.
+     */
+    static final class OffHeapCache {
+
+        private final long maxSize;
+        private final int maxObjectSize;
+
+        // Guarded by this
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private long size;
+
+        OffHeapCache(long maxSize, int maxObjectSize) {
+            this.maxSize = maxSize;
+            this.maxObjectSize = maxObjectSize;
+        }
+
+        synchronized ByteBuffer get(String path, long lastModified, long length) {
+            Entry entry = entries.get(path);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.lastModified != lastModified || entry.content.capacity() != length) {
+                entries.remove(path);
+                size -= entry.content.capacity();
+                return null;
+            }
+            return entry.content;
+        }
+
+        synchronized void put(String path, long lastModified, ByteBuffer content) {
+            int length = content.capacity();
+            if (length > maxObjectSize || length > maxSize) {
+                return;
+            }
+            Entry previous = entries.put(path, new Entry(lastModified, content));
+            if (previous != null) {
+                size -= previous.content.capacity();
+            }
+            size += length;
+            // The direct buffers of evicted entries are freed by the GC
+            for (Iterator<Map.Entry<String, Entry>> iter = entries.entrySet().iterator();
+                    size > maxSize && iter.hasNext();) {
+                Entry eldest = iter.next().getValue();
+                iter.remove();
+                size -= eldest.content.capacity();
+            }
+        }
+
+        synchronized int count() {
+            return entries.size();
+        }
+
+        synchronized long size() {
+            return size;
+        }
+
+        private static final class Entry {
+            final long lastModified;
+            final ByteBuffer content;
+
+            Entry(long lastModified, ByteBuffer content) {
+                this.lastModified = lastModified;
+                this.content = content;
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import com.sun.enterprise.util.uuid.UuidGenerator;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * Session identifier generator for managers creating many sessions
+ * concurrently.
+ * <p>
+ * Session identifiers are hex encoded random bytes. The bytes are taken from
+ * a pool of {@link SecureRandom} instances, each guarded by its own lock and
+ * chosen by thread, and every instance generates the bytes for many
+ * identifiers at once. The generator can be configured as the
+ * <code>session-id-generator-classname</code> of a session manager.
+ */
+public class ConcurrentSessionIdGenerator implements UuidGenerator {
+
+    /**
+     * The default number of random bytes of a session identifier.
+     */
+    public static final int DEFAULT_ID_LENGTH = 16;
+
+    /**
+     * The number of identifiers generated by a single call of the
+     * {@link SecureRandom}.
+     */
+    private static final int IDS_PER_BATCH = 64;
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private final int idLength;
+    private final Source[] sources;
+
+
+    /**
+     * Creates a generator of identifiers with {@value #DEFAULT_ID_LENGTH}
+     * random bytes.
+     */
+    public ConcurrentSessionIdGenerator() {
+        this(DEFAULT_ID_LENGTH);
+    }
+
+
+    /**
+     * Creates a generator of identifiers with the given number of random bytes.
+     *
+     * @param idLength The number of random bytes of an identifier
+     */
+    public ConcurrentSessionIdGenerator(int idLength) {
+        if (idLength <= 0) {
+            throw new IllegalArgumentException("Invalid session id length: " + idLength);
+        }
+        this.idLength = idLength;
+
+        int sourceCount = 1;
+        while (sourceCount < Math.min(Runtime.getRuntime().availableProcessors(), 16)) {
+            sourceCount <<= 1;
+        }
+        sources = new Source[sourceCount];
+        for (int i = 0; i < sourceCount; i++) {
+            sources[i] = new Source(idLength * IDS_PER_BATCH);
+        }
+    }
+
+
+    /**
+     * Return the number of random bytes of an identifier.
+     */
+    public int getIdLength() {
+        return idLength;
+    }
+
+
+    @Override
+    public String generateUuid() {
+        byte[] bytes = new byte[idLength];
+        sources[(int) Thread.currentThread().getId() & (sources.length - 1)].nextBytes(bytes);
+
+        char[] chars = new char[idLength * 2];
+        for (int i = 0; i < idLength; i++) {
+            chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+
+    /**
+     * Generate a session identifier. The object does not contribute to the
+     * identifier, as the random bytes already make it unique.
+     */
+    @Override
+    public String generateUuid(Object obj) {
+        return generateUuid();
+    }
+
+
+    /**
+     * A <code>SecureRandom</code> and the bytes it generated in advance.
+     */
+    private static final class Source {
+
+        private final SecureRandom random = new SecureRandom();
+        private final byte[] batch;
+        private int position;
+
+        Source(int batchSize) {
+            batch = new byte[batchSize];
+            position = batchSize;
+        }
+
+        synchronized void nextBytes(byte[] bytes) {
+            if (position + bytes.length > batch.length) {
+                random.nextBytes(batch);
+                position = 0;
+            }
+            System.arraycopy(batch, position, bytes, 0, bytes.length);
+            // Bytes handed out once are not kept in memory
+            Arrays.fill(batch, position, position + bytes.length, (byte) 0);
+            position += bytes.length;
+        }
+    }
+}
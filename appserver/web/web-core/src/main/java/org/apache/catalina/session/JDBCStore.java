@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -28,12 +29,27 @@ import java.io.*;
 import java.sql.*;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.ResourceBundle;
 
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+
 /**
  * Implementation of the <code>Store</code> interface that stores
  * serialized session objects in a database.  Sessions that are
  * saved are still subject to being expired based on inactivity.
+ * <p>
+ * By default the store opens a single connection with the configured
+ * driver and serializes all accesses to it. If a data source name is
+ * set, the data source is looked up in JNDI (e.g. a JDBC resource backed
+ * by a connection pool) and every operation gets its own connection
+ * from it, so operations of concurrent requests run in parallel. In that
+ * mode, sessions saved together by the manager are written in JDBC
+ * batches of at most <code>batchSize</code> sessions, and expired
+ * sessions are found with a query and removed in batches.
  *
  * @author Bip Thelin
  * @version $Revision: 1.4 $, $Date: 2006/11/09 01:12:51 $
@@ -78,6 +94,22 @@ public class JDBCStore extends StoreBase {
      */
     protected String driverName = null;
 
+    /**
+     * JNDI name of the data source to get connections from, instead of
+     * opening a single connection with the driver.
+     */
+    protected String dataSourceName = null;
+
+    /**
+     * The data source, once looked up.
+     */
+    private volatile DataSource dataSource = null;
+
+    /**
+     * Max number of sessions written or removed in one JDBC batch.
+     */
+    protected int batchSize = 100;
+
     // ------------------------------------------------------------- Table & cols
 
     /**
@@ -233,6 +265,50 @@ public class JDBCStore extends StoreBase {
         return(this.connString);
     }
 
+    /**
+     * Set the JNDI name of the data source for this Store. If set, the
+     * driver and the connection URL are not used.
+     *
+     * @param dataSourceName The JNDI name of the data source
+     */
+    public void setDataSourceName(String dataSourceName) {
+        String oldDataSourceName = this.dataSourceName;
+        this.dataSourceName = dataSourceName;
+        this.dataSource = null;
+        support.firePropertyChange("dataSourceName",
+                                   oldDataSourceName,
+                                   this.dataSourceName);
+    }
+
+    /**
+     * Return the JNDI name of the data source for this Store.
+     */
+    public String getDataSourceName() {
+        return(this.dataSourceName);
+    }
+
+    /**
+     * Set the max number of sessions written or removed in one JDBC batch
+     * when a data source is used.
+     *
+     * @param batchSize The new batch size
+     */
+    public void setBatchSize(int batchSize) {
+        int oldBatchSize = this.batchSize;
+        this.batchSize = batchSize;
+        support.firePropertyChange("batchSize",
+                                   Integer.valueOf(oldBatchSize),
+                                   Integer.valueOf(this.batchSize));
+    }
+
+    /**
+     * Return the max number of sessions written or removed in one JDBC
+     * batch.
+     */
+    public int getBatchSize() {
+        return(this.batchSize);
+    }
+
     /**
      * Set the table for this Store.
      *
@@ -386,9 +462,25 @@ public class JDBCStore extends StoreBase {
         String keysSql =
             "SELECT " + sessionIdCol + " FROM " + sessionTable +
             " WHERE " + sessionAppCol + " = ?";
-        ResultSet rst = null;
+
+        if (dataSourceName != null) {
+            Connection _conn = getConnection();
+            if(_conn == null) {
+                return(new String[0]);
+            }
+
+            try (PreparedStatement stmt = _conn.prepareStatement(keysSql)) {
+                stmt.setString(1, getName());
+                return(executeKeys(stmt));
+            } catch(SQLException e) {
+                logSQLError(e);
+                return(new String[0]);
+            } finally {
+                release(_conn);
+            }
+        }
+
         String keys[] = null;
-        int i;
 
         synchronized(this) {
             Connection _conn = getConnection();
@@ -403,27 +495,10 @@ public class JDBCStore extends StoreBase {
                 }
 
                 preparedKeysSql.setString(1, getName());
-                rst = preparedKeysSql.executeQuery();
-                ArrayList<String> tmpkeys = new ArrayList<String>();
-                if (rst != null) {
-                    while(rst.next()) {
-                        tmpkeys.add(rst.getString(1));
-                    }
-                }
-                keys = tmpkeys.toArray(new String[tmpkeys.size()]);
+                keys = executeKeys(preparedKeysSql);
             } catch(SQLException e) {
-                String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
-                                                  e);
-                log(msg);
+                logSQLError(e);
             } finally {
-                try {
-                    if(rst != null) {
-                        rst.close();
-                    }
-                } catch(SQLException e) {
-                    // Ignore
-                }
-
                 release(_conn);
             }
         }
@@ -443,7 +518,23 @@ public class JDBCStore extends StoreBase {
         String sizeSql =
             "SELECT COUNT(" + sessionIdCol + ") FROM " + sessionTable +
             " WHERE " + sessionAppCol + " = ?";
-        ResultSet rst = null;
+
+        if (dataSourceName != null) {
+            Connection _conn = getConnection();
+            if(_conn == null) {
+                return(size);
+            }
+
+            try (PreparedStatement stmt = _conn.prepareStatement(sizeSql)) {
+                stmt.setString(1, getName());
+                size = executeSize(stmt);
+            } catch(SQLException e) {
+                logSQLError(e);
+            } finally {
+                release(_conn);
+            }
+            return(size);
+        }
 
         synchronized(this) {
             Connection _conn = getConnection();
@@ -458,22 +549,10 @@ public class JDBCStore extends StoreBase {
                 }
 
                 preparedSizeSql.setString(1, getName());
-                rst = preparedSizeSql.executeQuery();
-                if (rst.next()) {
-                    size = rst.getInt(1);
-                }
+                size = executeSize(preparedSizeSql);
             } catch(SQLException e) {
-                String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
-                                                  e);
-                log(msg);
+                logSQLError(e);
             } finally {
-                try {
-                    if(rst != null)
-                        rst.close();
-                } catch(SQLException e) {
-                    // Ignore
-                }
-
                 release(_conn);
             }
         }
@@ -491,18 +570,30 @@ public class JDBCStore extends StoreBase {
      */
     public Session load(String id)
         throws ClassNotFoundException, IOException {
-        ResultSet rst = null;
         StandardSession _session = null;
-        Loader loader = null;
-        ClassLoader classLoader = null;
-        ObjectInputStream ois = null;
-        BufferedInputStream bis = null;
-        Container container = manager.getContainer();
         String loadSql =
             "SELECT " + sessionIdCol + ", " + sessionDataCol + " FROM " +
             sessionTable + " WHERE " + sessionIdCol + " = ? AND " +
             sessionAppCol + " = ?";
 
+        if (dataSourceName != null) {
+            Connection _conn = getConnection();
+            if(_conn == null) {
+                return(null);
+            }
+
+            try (PreparedStatement stmt = _conn.prepareStatement(loadSql)) {
+                stmt.setString(1, id);
+                stmt.setString(2, getName());
+                _session = executeLoad(stmt, id);
+            } catch(SQLException e) {
+                logSQLError(e);
+            } finally {
+                release(_conn);
+            }
+            return(_session);
+        }
+
         synchronized(this) {
             Connection _conn = getConnection();
             if(_conn == null) {
@@ -516,54 +607,10 @@ public class JDBCStore extends StoreBase {
 
                 preparedLoadSql.setString(1, id);
                 preparedLoadSql.setString(2, getName());
-                rst = preparedLoadSql.executeQuery();
-                if (rst.next()) {
-                    bis = new BufferedInputStream(rst.getBinaryStream(2));
-
-                    if (container != null) {
-                        loader = container.getLoader();
-                    }
-                    if (loader != null) {
-                        classLoader = loader.getClassLoader();
-                    }
-                    if (classLoader != null) {
-                        ois = new CustomObjectInputStream(bis,
-                                                          classLoader);
-                    } else {
-                        ois = new ObjectInputStream(bis);
-                    }
-
-                    if (debug > 0) {
-                        String msg = MessageFormat.format(rb.getString(LogFacade.LOADING_SESSION_FROM_DATABASE),
-                                                          new Object[] {id, sessionTable});
-                        log(msg);
-                    }
-
-                    _session = StandardSession.deserialize(ois, manager);
-                    _session.setManager(manager);
-
-                } else if (debug > 0) {
-                    log(getStoreName()+": No persisted data object found");
-                }
+                _session = executeLoad(preparedLoadSql, id);
             } catch(SQLException e) {
-                String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
-                                                  e);
-                log(msg);
+                logSQLError(e);
             } finally {
-                try {
-                    if(rst != null) {
-                        rst.close();
-                    }
-                } catch(SQLException e) {
-                    // Ignore
-                }
-                if (ois != null) {
-                    try {
-                        ois.close();
-                    } catch (IOException e) {
-                        // Ignore
-                    }
-                }
                 release(_conn);
             }
         }
@@ -581,9 +628,10 @@ public class JDBCStore extends StoreBase {
      * @exception IOException if an input/output error occurs
      */
     public void remove(String id) throws IOException {
-        String removeSql =
-            "DELETE FROM " + sessionTable + " WHERE " + sessionIdCol +
-            " = ?  AND " + sessionAppCol + " = ?";
+        if (dataSourceName != null) {
+            removeAll(Arrays.asList(id));
+            return;
+        }
 
         synchronized(this) {
             Connection _conn = getConnection();
@@ -594,16 +642,14 @@ public class JDBCStore extends StoreBase {
 
             try {
                 if(preparedRemoveSql == null) {
-                    preparedRemoveSql = _conn.prepareStatement(removeSql);
+                    preparedRemoveSql = _conn.prepareStatement(getRemoveSql());
                 }
 
                 preparedRemoveSql.setString(1, id);
                 preparedRemoveSql.setString(2, getName());
                 preparedRemoveSql.execute();
             } catch(SQLException e) {
-                String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
-                                                  e);
-                log(msg);
+                logSQLError(e);
             } finally {
                 release(_conn);
             }
@@ -625,6 +671,23 @@ public class JDBCStore extends StoreBase {
         String clearSql =
             "DELETE FROM " + sessionTable + " WHERE " + sessionAppCol + " = ?";
 
+        if (dataSourceName != null) {
+            Connection _conn = getConnection();
+            if(_conn == null) {
+                return;
+            }
+
+            try (PreparedStatement stmt = _conn.prepareStatement(clearSql)) {
+                stmt.setString(1, getName());
+                stmt.execute();
+            } catch(SQLException e) {
+                logSQLError(e);
+            } finally {
+                release(_conn);
+            }
+            return;
+        }
+
         synchronized(this) {
             Connection _conn = getConnection();
             if(_conn == null) {
@@ -639,9 +702,7 @@ public class JDBCStore extends StoreBase {
                 preparedClearSql.setString(1, getName());
                 preparedClearSql.execute();
             } catch(SQLException e) {
-                String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
-                                                  e);
-                log(msg);
+                logSQLError(e);
             } finally {
                 release(_conn);
             }
@@ -655,17 +716,10 @@ public class JDBCStore extends StoreBase {
      * @exception IOException if an input/output error occurs
      */
     public void save(Session session) throws IOException {
-        String saveSql =
-            "INSERT INTO " + sessionTable + " (" + sessionIdCol + ", " +
-            sessionAppCol + ", " +
-            sessionDataCol + ", " +
-            sessionValidCol + ", " +
-            sessionMaxInactiveCol + ", " +
-            sessionLastAccessedCol + ") VALUES (?, ?, ?, ?, ?, ?)";
-        ObjectOutputStream oos = null;
-        ByteArrayOutputStream bos = null;
-        ByteArrayInputStream bis = null;
-        InputStream in = null;
+        if (dataSourceName != null) {
+            saveAll(new Session[] { session });
+            return;
+        }
 
         synchronized(this) {
             Connection _conn = getConnection();
@@ -679,45 +733,19 @@ public class JDBCStore extends StoreBase {
             remove(session.getIdInternal());
 
             try {
-                bos = new ByteArrayOutputStream();
-                oos = new ObjectOutputStream(new BufferedOutputStream(bos));
-
-                oos.writeObject(session);
-                oos.close();
-
-                byte[] obs = bos.toByteArray();
-                int size = obs.length;
-                bis = new ByteArrayInputStream(obs, 0, size);
-                in = new BufferedInputStream(bis, size);
+                byte[] obs = serialize(session);
 
                 if(preparedSaveSql == null) {
-                    preparedSaveSql = _conn.prepareStatement(saveSql);
+                    preparedSaveSql = _conn.prepareStatement(getSaveSql());
                 }
 
-                preparedSaveSql.setString(1, session.getIdInternal());
-                preparedSaveSql.setString(2, getName());
-                preparedSaveSql.setBinaryStream(3, in, size);
-                preparedSaveSql.setString(4, session.isValid()?"1":"0");
-                preparedSaveSql.setInt(5, session.getMaxInactiveInterval());
-                preparedSaveSql.setLong(6, session.getLastAccessedTime());
+                bindSave(preparedSaveSql, session, obs);
                 preparedSaveSql.execute();
             } catch(SQLException e) {
-                String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
-                                                  e);
-                log(msg);
+                logSQLError(e);
             } catch (IOException e) {
                 // Ignore
             } finally {
-                if (oos != null) {
-                    oos.close();
-                }
-                if(bis != null) {
-                    bis.close();
-                }
-                if(in != null) {
-                    in.close();
-                }
-
                 release(_conn);
             }
         }
@@ -729,16 +757,240 @@ public class JDBCStore extends StoreBase {
         }
     }
 
+    /**
+     * Save the given sessions to the Store. When a data source is used,
+     * the sessions are written in JDBC batches of at most
+     * <code>batchSize</code> sessions, each in its own transaction, and
+     * an error writing a batch is thrown instead of being logged.
+     *
+     * @param sessions the sessions to be stored
+     * @exception IOException if an input/output error occurs
+     */
+    @Override
+    public void saveAll(Session[] sessions) throws IOException {
+        if (dataSourceName == null) {
+            super.saveAll(sessions);
+            return;
+        }
+
+        int batch = Math.max(1, batchSize);
+        for (int from = 0; from < sessions.length; from += batch) {
+            int to = Math.min(sessions.length, from + batch);
+
+            // Serialize before taking a connection from the pool
+            byte[][] data = new byte[to - from][];
+            for (int i = from; i < to; i++) {
+                data[i - from] = serialize(sessions[i]);
+            }
+
+            Connection _conn = getConnection();
+            if(_conn == null) {
+                throw new IOException(rb.getString(LogFacade.RE_OPEN_DATABASE_FAILED));
+            }
+
+            try {
+                boolean autoCommit = _conn.getAutoCommit();
+                _conn.setAutoCommit(false);
+                try (PreparedStatement removeStmt = _conn.prepareStatement(getRemoveSql());
+                        PreparedStatement saveStmt = _conn.prepareStatement(getSaveSql())) {
+                    // If sessions already exist in DB, remove and insert again.
+                    for (int i = from; i < to; i++) {
+                        removeStmt.setString(1, sessions[i].getIdInternal());
+                        removeStmt.setString(2, getName());
+                        removeStmt.addBatch();
+                        bindSave(saveStmt, sessions[i], data[i - from]);
+                        saveStmt.addBatch();
+                    }
+                    removeStmt.executeBatch();
+                    saveStmt.executeBatch();
+                    _conn.commit();
+                } catch (SQLException e) {
+                    rollback(_conn);
+                    throw e;
+                } finally {
+                    _conn.setAutoCommit(autoCommit);
+                }
+            } catch(SQLException e) {
+                logSQLError(e);
+                throw new IOException(e);
+            } finally {
+                release(_conn);
+            }
+
+            if (debug > 0) {
+                for (int i = from; i < to; i++) {
+                    String msg = MessageFormat.format(rb.getString(LogFacade.SAVING_SESSION_TO_DATABASE),
+                                                      new Object[] {sessions[i].getIdInternal(), sessionTable});
+                    log(msg);
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the number of sessions written in one JDBC batch if a data
+     * source is used, otherwise 1.
+     */
+    @Override
+    public int getSaveBatchSize() {
+        return (dataSourceName != null) ? Math.max(1, batchSize) : 1;
+    }
+
+    /**
+     * Remove the expired Sessions from this Store. When a data source is
+     * used, only the sessions which may have expired according to the
+     * last accessed and max inactive columns are considered, and the
+     * expired ones are removed in batches. Swapped out sessions are still
+     * loaded and expired, so their listeners are notified; the stored
+     * copies of sessions loaded in the manager are removed without being
+     * loaded.
+     */
+    @Override
+    public void processExpires() {
+        if (dataSourceName == null) {
+            super.processExpires();
+            return;
+        }
+
+        if(!started) {
+            return;
+        }
+
+        long timeNow = System.currentTimeMillis();
+        String expiredSql =
+            "SELECT " + sessionIdCol + " FROM " + sessionTable +
+            " WHERE " + sessionAppCol + " = ? AND " +
+            sessionMaxInactiveCol + " >= 0 AND " +
+            sessionLastAccessedCol + " + " + sessionMaxInactiveCol +
+            " * 1000 <= ?";
+        String[] keys = null;
+
+        Connection _conn = getConnection();
+        if(_conn == null) {
+            return;
+        }
+
+        try (PreparedStatement stmt = _conn.prepareStatement(expiredSql)) {
+            stmt.setString(1, getName());
+            stmt.setLong(2, timeNow);
+            keys = executeKeys(stmt);
+        } catch(SQLException e) {
+            log("Error during processExpires", e);
+            return;
+        } finally {
+            release(_conn);
+        }
+
+        List<String> expired = new ArrayList<String>(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            if (((PersistentManagerBase) manager).isLoaded(keys[i])) {
+                // stale backup of an active session
+                expired.add(keys[i]);
+                continue;
+            }
+            try {
+                StandardSession session = (StandardSession) load(keys[i]);
+                if (session == null) {
+                    continue;
+                }
+                int timeIdle = (int) ((timeNow - session.thisAccessedTime) / 1000L);
+                if (timeIdle < session.getMaxInactiveInterval()) {
+                    continue;
+                }
+                // expire swapped out session
+                session.expire();
+                expired.add(keys[i]);
+            } catch (IOException e) {
+                log("Error during processExpires", e);
+            } catch (ClassNotFoundException e) {
+                log("Error during processExpires", e);
+            }
+        }
+
+        try {
+            removeAll(expired);
+        } catch (IOException e) {
+            log("Error during processExpires", e);
+        }
+    }
+
     // --------------------------------------------------------- Protected Methods
 
+    /**
+     * Remove the Sessions with the given identifiers from this Store, in
+     * JDBC batches of at most <code>batchSize</code> sessions. Only used
+     * with a data source.
+     *
+     * @param ids Session identifiers of the Sessions to be removed
+     *
+     * @exception IOException if an input/output error occurs
+     */
+    protected void removeAll(List<String> ids) throws IOException {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Connection _conn = getConnection();
+        if(_conn == null) {
+            return;
+        }
+
+        int batch = Math.max(1, batchSize);
+        try (PreparedStatement stmt = _conn.prepareStatement(getRemoveSql())) {
+            if (ids.size() == 1) {
+                stmt.setString(1, ids.get(0));
+                stmt.setString(2, getName());
+                stmt.execute();
+            } else {
+                for (int i = 0; i < ids.size(); i++) {
+                    stmt.setString(1, ids.get(i));
+                    stmt.setString(2, getName());
+                    stmt.addBatch();
+                    if ((i + 1) % batch == 0 || i == ids.size() - 1) {
+                        stmt.executeBatch();
+                    }
+                }
+            }
+        } catch(SQLException e) {
+            logSQLError(e);
+        } finally {
+            release(_conn);
+        }
+
+        if (debug > 0) {
+            for (String id : ids) {
+                String msg = MessageFormat.format(rb.getString(LogFacade.REMOVING_SESSION_FROM_DATABASE),
+                                                  new Object[] {id, sessionTable});
+                log(msg);
+            }
+        }
+    }
+
     /**
      * Check the connection associated with this store, if it's
-     * <code>null</code> or closed try to reopen it.
+     * <code>null</code> or closed try to reopen it. If a data source is
+     * used, get a new connection from it instead, which has to be given
+     * back with {@link #release(Connection)}.
      * Returns <code>null</code> if the connection could not be established.
      *
      * @return <code>Connection</code> if the connection succeeded
      */
     protected Connection getConnection(){
+        if (dataSourceName != null) {
+            try {
+                return getDataSource().getConnection();
+            } catch (NamingException ex) {
+                String msg = MessageFormat.format(rb.getString(LogFacade.DATA_SOURCE_LOOKUP_FAILED),
+                                                  dataSourceName, ex.toString());
+                log(msg);
+            } catch (SQLException ex) {
+                String msg = MessageFormat.format(rb.getString(LogFacade.SQL_EXCEPTION),
+                                                  ex.toString());
+                log(msg);
+            }
+            return null;
+        }
+
         try {
             if(conn == null || conn.isClosed()) {
                 Class.forName(driverName);
@@ -766,13 +1018,31 @@ public class JDBCStore extends StoreBase {
     }
 
     /**
-     * Release the connection, not needed here since the
-     * connection is not associated with a connection pool.
+     * Release the connection. Only needed if a data source is used, the
+     * connection is then given back to its pool.
      *
      * @param conn The connection to be released
      */
     protected void release(Connection conn) {
-        // NOOP
+        if (dataSourceName != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                // Ignore
+            }
+        }
+    }
+
+    /**
+     * Look up the data source, the first time it is needed.
+     */
+    private DataSource getDataSource() throws NamingException {
+        DataSource ds = dataSource;
+        if (ds == null) {
+            ds = (DataSource) new InitialContext().lookup(dataSourceName);
+            dataSource = ds;
+        }
+        return ds;
     }
 
     /**
@@ -781,8 +1051,11 @@ public class JDBCStore extends StoreBase {
     public void start() throws LifecycleException {
         super.start();
 
-        // Open connection to the database
-        this.conn = getConnection();
+        // Open connection to the database, connections from a data
+        // source are only taken when needed
+        if (dataSourceName == null) {
+            this.conn = getConnection();
+        }
     }
 
     /**
@@ -864,4 +1137,115 @@ public class JDBCStore extends StoreBase {
             this.conn = null;
         }
     }
+
+    // --------------------------------------------------------- Private Methods
+
+    private String getSaveSql() {
+        return "INSERT INTO " + sessionTable + " (" + sessionIdCol + ", " +
+            sessionAppCol + ", " +
+            sessionDataCol + ", " +
+            sessionValidCol + ", " +
+            sessionMaxInactiveCol + ", " +
+            sessionLastAccessedCol + ") VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    private String getRemoveSql() {
+        return "DELETE FROM " + sessionTable + " WHERE " + sessionIdCol +
+            " = ?  AND " + sessionAppCol + " = ?";
+    }
+
+    private String[] executeKeys(PreparedStatement stmt) throws SQLException {
+        ArrayList<String> tmpkeys = new ArrayList<String>();
+        try (ResultSet rst = stmt.executeQuery()) {
+            while(rst.next()) {
+                tmpkeys.add(rst.getString(1));
+            }
+        }
+        return tmpkeys.toArray(new String[tmpkeys.size()]);
+    }
+
+    private int executeSize(PreparedStatement stmt) throws SQLException {
+        try (ResultSet rst = stmt.executeQuery()) {
+            return rst.next() ? rst.getInt(1) : 0;
+        }
+    }
+
+    private StandardSession executeLoad(PreparedStatement stmt, String id)
+            throws SQLException, ClassNotFoundException, IOException {
+        try (ResultSet rst = stmt.executeQuery()) {
+            if (!rst.next()) {
+                if (debug > 0) {
+                    log(getStoreName()+": No persisted data object found");
+                }
+                return null;
+            }
+
+            BufferedInputStream bis = new BufferedInputStream(rst.getBinaryStream(2));
+            Container container = manager.getContainer();
+            Loader loader = null;
+            ClassLoader classLoader = null;
+            if (container != null) {
+                loader = container.getLoader();
+            }
+            if (loader != null) {
+                classLoader = loader.getClassLoader();
+            }
+            ObjectInputStream ois;
+            if (classLoader != null) {
+                ois = new CustomObjectInputStream(bis, classLoader);
+            } else {
+                ois = new ObjectInputStream(bis);
+            }
+
+            try {
+                if (debug > 0) {
+                    String msg = MessageFormat.format(rb.getString(LogFacade.LOADING_SESSION_FROM_DATABASE),
+                                                      new Object[] {id, sessionTable});
+                    log(msg);
+                }
+
+                StandardSession _session = StandardSession.deserialize(ois, manager);
+                _session.setManager(manager);
+                return _session;
+            } finally {
+                try {
+                    ois.close();
+                } catch (IOException e) {
+                    // Ignore
+                }
+            }
+        }
+    }
+
+    private byte[] serialize(Session session) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(bos))) {
+            oos.writeObject(session);
+        }
+        return bos.toByteArray();
+    }
+
+    private void bindSave(PreparedStatement stmt, Session session, byte[] data)
+            throws SQLException {
+        stmt.setString(1, session.getIdInternal());
+        stmt.setString(2, getName());
+        stmt.setBinaryStream(3, new ByteArrayInputStream(data), data.length);
+        stmt.setString(4, session.isValid()?"1":"0");
+        stmt.setInt(5, session.getMaxInactiveInterval());
+        stmt.setLong(6, session.getLastAccessedTime());
+    }
+
+    private void rollback(Connection _conn) {
+        try {
+            _conn.rollback();
+        } catch (SQLException e) {
+            // Ignore
+        }
+    }
+
+    private void logSQLError(SQLException e) {
+        String msg = MessageFormat.format(rb.getString(LogFacade.SQL_ERROR),
+                                          e);
+        log(msg);
+    }
 }
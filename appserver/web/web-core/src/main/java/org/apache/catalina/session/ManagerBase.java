@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -124,15 +125,16 @@ public abstract class ManagerBase implements Manager {
     /**
      * A random number generator to use when generating session identifiers.
      */
-    private Random random = null;
+    private volatile Random random = null;
 
 
     /**
      * The Uuid Generator to be used
      * when generating universally unique session identifiers.
+     * It is called concurrently, see {@link ConcurrentSessionIdGenerator}.
      * HERCULES: add
      */
-    protected UuidGenerator uuidGenerator = new UuidGeneratorImpl();
+    protected volatile UuidGenerator uuidGenerator = new UuidGeneratorImpl();
 
 
     /**
@@ -496,7 +498,17 @@ public abstract class ManagerBase implements Manager {
      * generating session identifiers.  If there is no such generator
      * currently defined, construct and seed a new one.
      */
-    public synchronized Random getRandom() {
+    public Random getRandom() {
+        Random random = this.random;
+        if (random != null) {
+            return random;
+        }
+        synchronized (this) {
+            return createRandom();
+        }
+    }
+
+    private Random createRandom() {
         if (this.random == null) {
             // Calculate the new random number generator seed
             long seed = System.currentTimeMillis();
@@ -908,9 +920,10 @@ public abstract class ManagerBase implements Manager {
 
     /**
      * Generate and return a new session identifier.
+     * Not synchronized, the UuidGenerator must be thread-safe.
      * Hercules:added
      */
-    protected synchronized String generateSessionId(Object obj) {
+    protected String generateSessionId(Object obj) {
         return uuidGenerator.generateUuid(obj);
     }
 
@@ -918,7 +931,7 @@ public abstract class ManagerBase implements Manager {
      * Generate and return a new session identifier.
      * Hercules:modified
      */
-    protected synchronized String generateSessionId() {
+    protected String generateSessionId() {
         return generateSessionId(new Object());
     }
 
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -29,6 +30,8 @@ import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -110,6 +113,27 @@ public abstract class PersistentManagerBase
         }
     }
 
+    private class PrivilegedStoreSaveAll
+        implements PrivilegedExceptionAction<Void> {
+
+        private Session[] sessions;
+
+        PrivilegedStoreSaveAll(Session[] sessions) {
+            this.sessions = sessions;
+        }
+
+        public Void run() throws Exception{
+           if (store instanceof StoreBase) {
+               ((StoreBase) store).saveAll(sessions);
+           } else {
+               for (int i = 0; i < sessions.length; i++) {
+                   store.save(sessions[i]);
+               }
+           }
+           return null;
+        }
+    }
+
     private class PrivilegedStoreKeys
         implements PrivilegedExceptionAction<String[]> {
 
@@ -905,6 +929,14 @@ public abstract class PersistentManagerBase
         if (log.isLoggable(Level.FINE)) {
             log.log(Level.FINE, LogFacade.SAVING_PERSISTED_SESSION, String.valueOf(n));
         }
+        int batchSize = getSaveBatchSize();
+        if (batchSize > 1) {
+            for (int from = 0; from < n; from += batchSize) {
+                swapOut(Arrays.copyOfRange(sessions, from, Math.min(n, from + batchSize)));
+            }
+            return;
+        }
+
         for (int i = 0; i < n; i++)
             try {
                 swapOut(sessions[i]);
@@ -1100,6 +1132,141 @@ public abstract class PersistentManagerBase
     }
 
 
+    /**
+     * Remove the provided sessions from the Manager's list of active
+     * sessions and write them out to the Store as one batch, see
+     * {@link #writeSessions(Session[])}. Sessions past their expiration
+     * or invalid are skipped. Sessions which could not be written are
+     * kept active.
+     *
+     * @param sessions The Sessions to write out.
+     */
+    protected void swapOut(Session[] sessions) {
+
+        if (store == null) {
+            return;
+        }
+
+        List<Session> valid = new ArrayList<Session>(sessions.length);
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i].isValid()) {
+                ((StandardSession)sessions[i]).passivate();
+                valid.add(sessions[i]);
+            }
+        }
+
+        for (Session session : writeSessions(valid.toArray(new Session[valid.size()]))) {
+            super.remove(session);
+            session.recycle();
+        }
+
+    }
+
+
+    /**
+     * Write the provided sessions to the Store as one batch, see
+     * {@link StoreBase#saveAll(Session[])}, without modifying the copies
+     * in memory or triggering passivation events. If the batch fails,
+     * the sessions are saved one by one, so that a session which cannot
+     * be saved does not keep the others from being written. Sessions
+     * past their expiration or invalid are skipped.
+     *
+     * @return the sessions written
+     */
+    protected List<Session> writeSessions(Session[] sessions) {
+        List<Session> written = new ArrayList<Session>(sessions.length);
+        if (store == null) {
+            return written;
+        }
+
+        List<Session> valid = new ArrayList<Session>(sessions.length);
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessions[i].isValid()) {
+                valid.add(sessions[i]);
+            }
+        }
+        if (valid.isEmpty()) {
+            return written;
+        }
+        Session[] toSave = valid.toArray(new Session[valid.size()]);
+
+        StandardContext ctx = (StandardContext) getContainer();
+        for (int i = 0; i < toSave.length; i++) {
+            StandardSession session = (StandardSession) toSave[i];
+            ctx.sessionPersistedStartEvent(session);
+            // See writeSession(Session)
+            if (isSessionVersioningSupported()
+                    && session.hasNonHttpLockOccurred()) {
+                session.incrementVersion();
+            }
+        }
+
+        try {
+            try {
+                storeSave(new PrivilegedStoreSaveAll(toSave));
+                written.addAll(valid);
+            } catch (IOException e) {
+                if (log.isLoggable(Level.FINE)) {
+                    log.log(Level.FINE, "Saving " + toSave.length + " sessions at once failed, saving them one by one", e);
+                }
+                for (int i = 0; i < toSave.length; i++) {
+                    try {
+                        storeSave(new PrivilegedStoreSave(toSave[i]));
+                        written.add(toSave[i]);
+                    } catch (IOException ex) {
+                        log.log(Level.SEVERE,LogFacade.SERIALIZING_SESSION_EXCEPTION, new Object[] {toSave[i].getIdInternal(), ex});
+                    }
+                }
+            }
+        } finally {
+            for (int i = 0; i < toSave.length; i++) {
+                ctx.sessionPersistedEndEvent((StandardSession) toSave[i]);
+            }
+        }
+        return written;
+    }
+
+
+    /**
+     * Run the given save of the Store, privileged if needed.
+     */
+    private void storeSave(PrivilegedExceptionAction<?> save) throws IOException {
+        if (SecurityUtil.isPackageProtectionEnabled()){
+            try{
+                AccessController.doPrivileged(save);
+            } catch(PrivilegedActionException ex){
+                Exception exception = ex.getException();
+                if (exception instanceof IOException) {
+                    throw (IOException) exception;
+                }
+                log.log(Level.SEVERE, LogFacade.STORE_WRITE_SESSION_EXCEPTION,
+                        exception);
+            }
+        } else {
+            try {
+                save.run();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+
+
+    /**
+     * @return the number of sessions the Store writes in one batch, see
+     *         {@link StoreBase#getSaveBatchSize()}; 1 if it saves them one
+     *         by one
+     */
+    protected int getSaveBatchSize() {
+        if (store instanceof StoreBase) {
+            return ((StoreBase) store).getSaveBatchSize();
+        }
+        return 1;
+    }
+
+
     // -------------------------------------------------- Lifecycle Methods
 
 
@@ -1268,6 +1435,8 @@ public abstract class PersistentManagerBase
         // FIXME: What's preventing us from mangling a session during
         // a request?
         if (maxIdleSwap >= 0) {
+            int batchSize = getSaveBatchSize();
+            List<Session> toSwap = new ArrayList<Session>();
             for (int i = 0; i < sessions.length; i++) {
                 StandardSession session = (StandardSession) sessions[i];
                 if (!session.isValid())
@@ -1279,6 +1448,14 @@ public abstract class PersistentManagerBase
                         log.log(Level.FINE, LogFacade.SWAPPING_SESSION_TO_STORE, new Object[] {session.getIdInternal(),
                                 Integer.valueOf(timeIdle)});
                     }
+                    if (batchSize > 1) {
+                        toSwap.add(session);
+                        if (toSwap.size() == batchSize) {
+                            swapOut(toSwap.toArray(new Session[toSwap.size()]));
+                            toSwap.clear();
+                        }
+                        continue;
+                    }
                     try {
                         swapOut(session);
                     } catch (IOException e) {
@@ -1286,6 +1463,9 @@ public abstract class PersistentManagerBase
                     }
                 }
             }
+            if (!toSwap.isEmpty()) {
+                swapOut(toSwap.toArray(new Session[toSwap.size()]));
+            }
         }
 
     }
@@ -1312,31 +1492,46 @@ public abstract class PersistentManagerBase
         int toswap = sessions.length - getMaxActiveSessions();
         long timeNow = System.currentTimeMillis();
 
-        for (int i = 0; i < sessions.length && toswap > 0; i++) {
-            int timeIdle = // Truncate, do not round up
-                (int) ((timeNow - sessions[i].getLastAccessedTime()) / 1000L);
-            if (timeIdle > minIdleSwap) {
-                StandardSession session = (StandardSession) sessions[i];
-                //skip the session if it cannot be locked
-                if(session.lockBackground()) {
-                    if(log.isLoggable(Level.FINE)) {
-                        log.log(Level.FINE, LogFacade.SWAP_OUT_SESSION, new Object[] {session.getIdInternal(),
-                                Integer.valueOf(timeIdle)});
-                    }
-                    try {
-                        swapOut(session);
-                    } catch (java.util.ConcurrentModificationException e1) {
-                        // This is logged in writeSession()
-                    } catch (IOException e) {
-                        // This is logged in writeSession()
-                    } catch (Exception e) {
-                        // This is logged in writeSession()
-                    } finally {
-                        session.unlockBackground();
+        // With a batching store, the sessions stay background locked until
+        // their batch is swapped out
+        int batchSize = getSaveBatchSize();
+        List<Session> locked = new ArrayList<Session>();
+        try {
+            for (int i = 0; i < sessions.length && toswap > 0; i++) {
+                int timeIdle = // Truncate, do not round up
+                    (int) ((timeNow - sessions[i].getLastAccessedTime()) / 1000L);
+                if (timeIdle > minIdleSwap) {
+                    StandardSession session = (StandardSession) sessions[i];
+                    //skip the session if it cannot be locked
+                    if(session.lockBackground()) {
+                        if(log.isLoggable(Level.FINE)) {
+                            log.log(Level.FINE, LogFacade.SWAP_OUT_SESSION, new Object[] {session.getIdInternal(),
+                                    Integer.valueOf(timeIdle)});
+                        }
+                        toswap--;
+                        if (batchSize > 1) {
+                            locked.add(session);
+                            if (locked.size() == batchSize) {
+                                processLocked(locked, true);
+                            }
+                            continue;
+                        }
+                        try {
+                            swapOut(session);
+                        } catch (java.util.ConcurrentModificationException e1) {
+                            // This is logged in writeSession()
+                        } catch (IOException e) {
+                            // This is logged in writeSession()
+                        } catch (Exception e) {
+                            // This is logged in writeSession()
+                        } finally {
+                            session.unlockBackground();
+                        }
                     }
-                    toswap--;
                 }
             }
+        } finally {
+            processLocked(locked, true);
         }
 
     }
@@ -1356,37 +1551,78 @@ public abstract class PersistentManagerBase
 
         // Back up all sessions idle longer than maxIdleBackup
         if (maxIdleBackup >= 0) {
-            for (int i = 0; i < sessions.length; i++) {
-                StandardSession session = (StandardSession) sessions[i];
-                if (!session.isValid())
-                    continue;
-                int timeIdle = // Truncate, do not round up
-                    (int) ((timeNow - session.getLastAccessedTime()) / 1000L);
-                if (timeIdle > maxIdleBackup) {
-                    //if session cannot be background locked then skip it
-                    if (session.lockBackground()) {
-                        if (log.isLoggable(Level.FINE)) {
-                            log.log(Level.FINE, LogFacade.BACKUP_SESSION_TO_STORE, new Object[] {session.getIdInternal(),
-                                    Integer.valueOf(timeIdle)});
-                        }
-                        try {
-                            writeSession(session);
-                        } catch (java.util.ConcurrentModificationException e1) {
-                            // This is logged in writeSession()
-                        } catch (IOException e) {
-                            // This is logged in writeSession()
-                        } catch (Exception e) {
-                            // This is logged in writeSession()
-                        } finally {
-                            session.unlockBackground();
+            // With a batching store, the sessions stay background locked
+            // until their batch is written
+            int batchSize = getSaveBatchSize();
+            List<Session> locked = new ArrayList<Session>();
+            try {
+                for (int i = 0; i < sessions.length; i++) {
+                    StandardSession session = (StandardSession) sessions[i];
+                    if (!session.isValid())
+                        continue;
+                    int timeIdle = // Truncate, do not round up
+                        (int) ((timeNow - session.getLastAccessedTime()) / 1000L);
+                    if (timeIdle > maxIdleBackup) {
+                        //if session cannot be background locked then skip it
+                        if (session.lockBackground()) {
+                            if (log.isLoggable(Level.FINE)) {
+                                log.log(Level.FINE, LogFacade.BACKUP_SESSION_TO_STORE, new Object[] {session.getIdInternal(),
+                                        Integer.valueOf(timeIdle)});
+                            }
+                            if (batchSize > 1) {
+                                locked.add(session);
+                                if (locked.size() == batchSize) {
+                                    processLocked(locked, false);
+                                }
+                                continue;
+                            }
+                            try {
+                                writeSession(session);
+                            } catch (java.util.ConcurrentModificationException e1) {
+                                // This is logged in writeSession()
+                            } catch (IOException e) {
+                                // This is logged in writeSession()
+                            } catch (Exception e) {
+                                // This is logged in writeSession()
+                            } finally {
+                                session.unlockBackground();
+                            }
                         }
                     }
                 }
+            } finally {
+                processLocked(locked, false);
             }
         }
 
     }
 
+
+    /**
+     * Swap out or write the given background locked sessions as one
+     * batch, then unlock them and clear the list.
+     */
+    private void processLocked(List<Session> locked, boolean swap) {
+        if (locked.isEmpty()) {
+            return;
+        }
+        Session[] batch = locked.toArray(new Session[locked.size()]);
+        locked.clear();
+        try {
+            if (swap) {
+                swapOut(batch);
+            } else {
+                writeSessions(batch);
+            }
+        } catch (Exception e) {
+            // This is logged in writeSessions()
+        } finally {
+            for (int i = 0; i < batch.length; i++) {
+                ((StandardSession) batch[i]).unlockBackground();
+            }
+        }
+    }
+
     public String getMonitorAttributeValues() {
         //FIXME if desired for monitoring 'file'
         return "";
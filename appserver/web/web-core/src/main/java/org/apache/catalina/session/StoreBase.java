@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997-2018 Oracle and/or its affiliates. All rights reserved.
  * Copyright 2004 The Apache Software Foundation
  *
@@ -244,6 +245,32 @@ public abstract class StoreBase
         return sess;
     }
 
+    /**
+     * Save the given sessions to the Store, e.g. sessions swapped out by
+     * one run of the manager background thread. Stores able to write
+     * several sessions at once override this method together with
+     * {@link #getSaveBatchSize()}, by default the sessions are saved one
+     * by one.
+     *
+     * @param sessions the sessions to be stored
+     * @exception IOException if an input/output error occurs; some of
+     *            the sessions may have been stored
+     */
+    public void saveAll(Session[] sessions) throws IOException {
+        for (int i = 0; i < sessions.length; i++) {
+            save(sessions[i]);
+        }
+    }
+
+    /**
+     * Return the number of sessions the manager should pass to
+     * {@link #saveAll(Session[])} at once. The default of 1 makes the
+     * manager save each session on its own.
+     */
+    public int getSaveBatchSize() {
+        return 1;
+    }
+
     /**
     * public wrapper for processExpires()
     * don't want to make processExpires() public
@@ -342,7 +369,7 @@ public abstract class StoreBase
      * @param message the message
      * @param t the Throwable
      */
-    private void log(String message, Throwable t) {
+    protected void log(String message, Throwable t) {
         Logger logger = null;
         String containerName = null;
         Container container = manager.getContainer();
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.core;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.GenericServlet;
+import jakarta.servlet.Servlet;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.lang.reflect.Field;
+import java.util.EnumSet;
+
+import org.apache.catalina.Globals;
+import org.apache.catalina.deploy.FilterDef;
+import org.apache.catalina.deploy.FilterMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ApplicationFilterFactoryTest {
+
+    private final ApplicationFilterFactory factory = ApplicationFilterFactory.getInstance();
+    private final Servlet servlet = new TestServlet();
+
+    private StandardContext context;
+    private StandardWrapper wrapper;
+
+    @BeforeEach
+    public void createContext() {
+        context = new StandardContext();
+        context.setName("testContext");
+        wrapper = new StandardWrapper();
+        wrapper.setName("testServlet");
+        wrapper.setParent(context);
+
+        context.addFilterDef(filterDef("secured"));
+        context.addFilterMap(urlFilterMap("secured", "/Secure/*"));
+        context.addFilterDef(filterDef("named"));
+        context.addFilterMap(servletFilterMap("named", "testServlet"));
+        context.filterStart();
+    }
+
+    @Test
+    public void reusesMatchedFilters() throws Exception {
+        ApplicationFilterChain first = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+        ApplicationFilterChain second = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+
+        assertArrayEquals(new Object[] {config("secured"), config("named")}, filters(first));
+        assertSame(getField(first, "filters"), getField(second, "filters"));
+        assertEquals(1, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void pathsMatchingTheSamePatternsShareTemplate() throws Exception {
+        ApplicationFilterChain first = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+        for (int i = 0; i < 2 * FilterChainCache.MAX_SIZE; i++) {
+            ApplicationFilterChain chain = factory.createFilterChain(request("/Secure/users/" + i), wrapper, servlet);
+            assertSame(getField(first, "filters"), getField(chain, "filters"));
+        }
+        factory.createFilterChain(request("/Secure"), wrapper, servlet);
+        assertEquals(1, context.getFilterChainCache().size());
+        assertSame(getField(first, "filters"), context.getFilterChainCache()
+            .get(new FilterChainCache.Key("testServlet", DispatcherType.REQUEST, "/Secure/*")));
+
+        assertEquals(1, filters(factory.createFilterChain(request("/Securely/a"), wrapper, servlet)).length);
+        assertEquals(1, filters(factory.createFilterChain(request("/public/b"), wrapper, servlet)).length);
+        assertEquals(2, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void nestedPrefixPatterns() throws Exception {
+        context.addFilterDef(filterDef("admin"));
+        context.addFilterMap(urlFilterMap("admin", "/Secure/admin/*"));
+        context.addFilterDef(filterDef("all"));
+        context.addFilterMap(urlFilterMap("all", "/*"));
+        context.filterStart();
+
+        assertArrayEquals(new Object[] {config("secured"), config("admin"), config("all"), config("named")},
+            filters(factory.createFilterChain(request("/Secure/admin/a/b"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("secured"), config("all"), config("named")},
+            filters(factory.createFilterChain(request("/Secure/adminx"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("all"), config("named")},
+            filters(factory.createFilterChain(request("/public"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("all"), config("named")},
+            filters(factory.createFilterChain(request("/"), wrapper, servlet)));
+        assertEquals(3, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void exactPatternsAreKeyedByPath() throws Exception {
+        context.addFilterDef(filterDef("login"));
+        context.addFilterMap(urlFilterMap("login", "/Secure/login"));
+        context.filterStart();
+
+        assertArrayEquals(new Object[] {config("secured"), config("login"), config("named")},
+            filters(factory.createFilterChain(request("/Secure/login"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("secured"), config("named")},
+            filters(factory.createFilterChain(request("/Secure/logout"), wrapper, servlet)));
+        assertEquals(2, context.getFilterChainCache().size());
+        assertEquals(3, context.getFilterChainCache()
+            .get(new FilterChainCache.Key("testServlet", DispatcherType.REQUEST, "=/Secure/login")).length);
+    }
+
+    @Test
+    public void extensionPatterns() throws Exception {
+        context.addFilterDef(filterDef("jsp"));
+        context.addFilterMap(urlFilterMap("jsp", "*.jsp"));
+        context.filterStart();
+
+        assertArrayEquals(new Object[] {config("secured"), config("jsp"), config("named")},
+            filters(factory.createFilterChain(request("/Secure/a.jsp"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("jsp"), config("named")},
+            filters(factory.createFilterChain(request("/b/c.jsp"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("named")},
+            filters(factory.createFilterChain(request("/b/c.jspx"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("named")},
+            filters(factory.createFilterChain(request("/b.jsp/c"), wrapper, servlet)));
+        assertArrayEquals(new Object[] {config("secured"), config("named")},
+            filters(factory.createFilterChain(request("/Secure/b.html"), wrapper, servlet)));
+        assertEquals(4, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void fullCacheEvictsSingleTemplate() {
+        FilterChainCache.Templates templates = context.getFilterChainCache().current();
+        for (int i = 0; i < FilterChainCache.MAX_SIZE; i++) {
+            templates.put(new FilterChainCache.Key("servlet" + i, DispatcherType.REQUEST, ""), FilterChainCache.NO_FILTERS);
+        }
+        FilterChainCache.Key key = new FilterChainCache.Key("last", DispatcherType.REQUEST, "");
+        templates.put(key, FilterChainCache.NO_FILTERS);
+
+        assertEquals(FilterChainCache.MAX_SIZE, context.getFilterChainCache().size());
+        assertSame(FilterChainCache.NO_FILTERS, context.getFilterChainCache().get(key));
+    }
+
+    @Test
+    public void cachesRequestsWithoutFilters() throws Exception {
+        StandardWrapper other = new StandardWrapper();
+        other.setName("otherServlet");
+        other.setParent(context);
+
+        assertNull(factory.createFilterChain(request("/public"), other, servlet));
+        assertSame(FilterChainCache.NO_FILTERS, context.getFilterChainCache()
+            .get(new FilterChainCache.Key("otherServlet", DispatcherType.REQUEST, "")));
+    }
+
+    @Test
+    public void addFilterDefClearsCache() throws Exception {
+        fillCache();
+        context.addFilterDef(filterDef("added"));
+        assertEquals(0, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void addFilterMapClearsCache() throws Exception {
+        fillCache();
+        context.addFilterMap(urlFilterMap("named", "/*"));
+        assertEquals(0, context.getFilterChainCache().size());
+
+        ApplicationFilterChain chain = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+        assertArrayEquals(new Object[] {config("secured"), config("named"), config("named")}, filters(chain));
+    }
+
+    @Test
+    public void removeFilterDefClearsCache() throws Exception {
+        fillCache();
+        context.removeFilterDef(context.findFilterDef("secured"));
+        assertEquals(0, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void removeFilterMapsClearsCache() throws Exception {
+        fillCache();
+        context.removeFilterMaps();
+        assertEquals(0, context.getFilterChainCache().size());
+        assertNull(factory.createFilterChain(request("/Secure/a"), wrapper, servlet));
+    }
+
+    @Test
+    public void filterStartClearsCache() throws Exception {
+        ApplicationFilterConfig[] before = filters(fillCache());
+        context.filterStart();
+        assertEquals(0, context.getFilterChainCache().size());
+
+        ApplicationFilterConfig[] after = filters(factory.createFilterChain(request("/Secure/a"), wrapper, servlet));
+        assertNotSame(before[0], after[0]);
+        assertSame(config("secured"), after[0]);
+    }
+
+    @Test
+    public void filterStopClearsCache() throws Exception {
+        fillCache();
+        context.filterStop();
+        assertEquals(0, context.getFilterChainCache().size());
+        assertNull(factory.createFilterChain(request("/Secure/a"), wrapper, servlet));
+    }
+
+    @Test
+    public void setCaseSensitiveMappingClearsCache() throws Exception {
+        fillCache();
+        context.setCaseSensitiveMapping(false);
+        assertEquals(0, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void caseSensitiveKeys() throws Exception {
+        assertEquals(2, filters(factory.createFilterChain(request("/Secure/a"), wrapper, servlet)).length);
+        assertEquals(1, filters(factory.createFilterChain(request("/SECURE/a"), wrapper, servlet)).length);
+        assertEquals(1, filters(factory.createFilterChain(request("/SECURE/b"), wrapper, servlet)).length);
+        assertEquals(2, context.getFilterChainCache().size());
+    }
+
+    @Test
+    public void caseInsensitiveKeys() throws Exception {
+        context.setCaseSensitiveMapping(false);
+        ApplicationFilterChain mixed = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+        ApplicationFilterChain upper = factory.createFilterChain(request("/SECURE/A"), wrapper, servlet);
+
+        assertEquals(2, filters(mixed).length);
+        assertSame(getField(mixed, "filters"), getField(upper, "filters"));
+        assertEquals(1, context.getFilterChainCache().size());
+        assertSame(getField(mixed, "filters"), context.getFilterChainCache()
+            .get(new FilterChainCache.Key("testServlet", DispatcherType.REQUEST, "/secure/*")));
+    }
+
+    @Test
+    public void addFilterCopiesSharedTemplate() throws Exception {
+        context.addFilterDef(filterDef("added"));
+        context.filterStart();
+        ApplicationFilterChain chain = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+        ApplicationFilterConfig[] template = (ApplicationFilterConfig[]) getField(chain, "filters");
+
+        chain.addFilter(config("added"));
+
+        assertArrayEquals(new Object[] {config("secured"), config("named"), config("added")}, filters(chain));
+        assertNotSame(template, getField(chain, "filters"));
+        assertArrayEquals(new Object[] {config("secured"), config("named")}, template);
+
+        ApplicationFilterChain next = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+        assertSame(template, getField(next, "filters"));
+        assertArrayEquals(new Object[] {config("secured"), config("named")}, filters(next));
+    }
+
+    private ApplicationFilterChain fillCache() {
+        ApplicationFilterChain chain = factory.createFilterChain(request("/Secure/a"), wrapper, servlet);
+        assertEquals(1, context.getFilterChainCache().size());
+        return chain;
+    }
+
+    private ApplicationFilterConfig config(String filterName) {
+        return (ApplicationFilterConfig) context.findFilterConfig(filterName);
+    }
+
+    private static ServletRequest request(String requestPath) {
+        ServletRequest request = createNiceMock(ServletRequest.class);
+        expect(request.getDispatcherType()).andReturn(DispatcherType.REQUEST).anyTimes();
+        expect(request.getAttribute(Globals.DISPATCHER_REQUEST_PATH_ATTR)).andReturn(requestPath).anyTimes();
+        replay(request);
+        return request;
+    }
+
+    private static FilterDef filterDef(String filterName) {
+        FilterDef filterDef = new FilterDef();
+        filterDef.setFilterName(filterName);
+        filterDef.setFilterClass(TestFilter.class);
+        return filterDef;
+    }
+
+    private static FilterMap urlFilterMap(String filterName, String urlPattern) {
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        filterMap.setURLPattern(urlPattern);
+        filterMap.setDispatcherTypes(EnumSet.of(DispatcherType.REQUEST));
+        return filterMap;
+    }
+
+    private static FilterMap servletFilterMap(String filterName, String servletName) {
+        FilterMap filterMap = new FilterMap();
+        filterMap.setFilterName(filterName);
+        filterMap.setServletName(servletName);
+        filterMap.setDispatcherTypes(EnumSet.of(DispatcherType.REQUEST));
+        return filterMap;
+    }
+
+    /**
+     * @return the filters of the chain, without the unused tail of the array
+     */
+    private static ApplicationFilterConfig[] filters(ApplicationFilterChain chain) throws Exception {
+        ApplicationFilterConfig[] filters = (ApplicationFilterConfig[]) getField(chain, "filters");
+        int n = (Integer) getField(chain, "n");
+        ApplicationFilterConfig[] result = new ApplicationFilterConfig[n];
+        System.arraycopy(filters, 0, result, 0, n);
+        return result;
+    }
+
+    private static Object getField(Object object, String name) throws Exception {
+        Field field = object.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    public static class TestFilter implements Filter {
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) {
+        }
+    }
+
+    private static class TestServlet extends GenericServlet {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void service(ServletRequest request, ServletResponse response) {
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.servlets;
+
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.catalina.Globals;
+import org.apache.naming.resources.FileDirContext;
+import org.apache.naming.resources.ProxyDirContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class DefaultServletTest {
+
+    private static final String PLAIN = "plain content of the resource";
+    private static final String GZIPPED = "gzip variant";
+    private static final String BROTLI = "brotli variant";
+
+    private Path docBase;
+
+    @BeforeEach
+    public void createDocBase() throws Exception {
+        docBase = Files.createTempDirectory("glassfish-test");
+        Files.write(docBase.resolve("index.txt"), PLAIN.getBytes(StandardCharsets.UTF_8));
+        Files.write(docBase.resolve("index.txt.gz"), GZIPPED.getBytes(StandardCharsets.UTF_8));
+        Files.write(docBase.resolve("index.txt.br"), BROTLI.getBytes(StandardCharsets.UTF_8));
+        Files.write(docBase.resolve("other.txt"), PLAIN.getBytes(StandardCharsets.UTF_8));
+        Files.write(docBase.resolve("other.txt.gz"), GZIPPED.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    public void deleteDocBase() throws Exception {
+        try (Stream<Path> files = Files.walk(docBase)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void sendsBrotliVariant() throws Exception {
+        TestResponse response = serve(true, "/index.txt", "gzip, deflate, br", null);
+        assertEquals("br", response.headers.get("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.headers.get("Vary"));
+        assertEquals("text/plain", response.contentType);
+        assertEquals(BROTLI.length(), response.contentLength);
+        assertEquals(BROTLI, response.body());
+    }
+
+    @Test
+    public void sendsGzipVariant() throws Exception {
+        TestResponse response = serve(true, "/index.txt", "br;q=0.5, gzip", null);
+        assertEquals("gzip", response.headers.get("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.headers.get("Vary"));
+        assertEquals("text/plain", response.contentType);
+        assertEquals(GZIPPED, response.body());
+    }
+
+    @Test
+    public void sendsOnlyExistingVariants() throws Exception {
+        TestResponse response = serve(true, "/other.txt", "br, gzip", null);
+        assertEquals("gzip", response.headers.get("Content-Encoding"));
+        assertEquals(GZIPPED, response.body());
+    }
+
+    @Test
+    public void sendsResourceIfNoVariantIsAccepted() throws Exception {
+        TestResponse response = serve(true, "/index.txt", "deflate", null);
+        assertNull(response.headers.get("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.headers.get("Vary"));
+        assertEquals(PLAIN.length(), response.contentLength);
+        assertEquals(PLAIN, response.body());
+
+        response = serve(true, "/index.txt", null, null);
+        assertNull(response.headers.get("Content-Encoding"));
+        assertEquals(PLAIN, response.body());
+    }
+
+    @Test
+    public void sendsRangesOfTheResource() throws Exception {
+        TestResponse response = serve(true, "/index.txt", "br, gzip", "bytes=0-4");
+        assertNull(response.headers.get("Content-Encoding"));
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.status);
+        assertEquals(PLAIN.substring(0, 5), response.body());
+    }
+
+    @Test
+    public void ignoresVariantsByDefault() throws Exception {
+        TestResponse response = serve(false, "/index.txt", "br, gzip", null);
+        assertNull(response.headers.get("Content-Encoding"));
+        assertNull(response.headers.get("Vary"));
+        assertEquals(PLAIN, response.body());
+    }
+
+    private TestResponse serve(boolean precompressed, String path, String acceptEncoding, String range)
+            throws Exception {
+        FileDirContext dirContext = new FileDirContext();
+        dirContext.setDocBase(docBase.toString());
+        ProxyDirContext resources = new ProxyDirContext(new Hashtable<>(), dirContext);
+
+        ServletContext servletContext = createNiceMock(ServletContext.class);
+        expect(servletContext.getAttribute(Globals.RESOURCES_ATTR)).andReturn(resources).anyTimes();
+        expect(servletContext.getMimeType(anyString())).andReturn("text/plain").anyTimes();
+        replay(servletContext);
+
+        ServletConfig config = createNiceMock(ServletConfig.class);
+        expect(config.getServletContext()).andReturn(servletContext).anyTimes();
+        if (precompressed) {
+            expect(config.getInitParameter("precompressed")).andReturn("true").anyTimes();
+        }
+        replay(config);
+
+        HttpServletRequest request = createNiceMock(HttpServletRequest.class);
+        expect(request.getServletPath()).andReturn(path).anyTimes();
+        expect(request.getHeader("Accept-Encoding")).andReturn(acceptEncoding).anyTimes();
+        expect(request.getHeader("Range")).andReturn(range).anyTimes();
+        expect(request.getDateHeader(anyString())).andReturn(-1L).anyTimes();
+        replay(request);
+
+        HttpServletResponse delegate = createNiceMock(HttpServletResponse.class);
+        replay(delegate);
+        TestResponse response = new TestResponse(delegate);
+
+        DefaultServlet servlet = new DefaultServlet();
+        servlet.init(config);
+        servlet.serveResource(request, response, true);
+        return response;
+    }
+
+    /**
+     * Records the headers and the content written by the servlet.
+     */
+    private static class TestResponse extends HttpServletResponseWrapper {
+
+        final Map<String, String> headers = new HashMap<>();
+        final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        int status = SC_OK;
+        String contentType;
+        long contentLength = -1L;
+
+        TestResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.merge(name, value, (first, second) -> first + ", " + second);
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void setContentType(String contentType) {
+            this.contentType = contentType;
+        }
+
+        @Override
+        public void setContentLength(int contentLength) {
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public void setContentLengthLong(long contentLength) {
+            this.contentLength = contentLength;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+
+                @Override
+                public void write(int b) {
+                    content.write(b);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                }
+            };
+        }
+
+        String body() {
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
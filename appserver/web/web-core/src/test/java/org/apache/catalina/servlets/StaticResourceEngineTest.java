@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.apache.catalina.servlets;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.apache.catalina.servlets.StaticResourceEngine.OffHeapCache;
+import org.apache.naming.resources.CacheEntry;
+import org.apache.naming.resources.Resource;
+import org.apache.naming.resources.ResourceAttributes;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.apache.catalina.servlets.StaticResourceEngine.BROTLI;
+import static org.apache.catalina.servlets.StaticResourceEngine.GZIP;
+import static org.apache.catalina.servlets.StaticResourceEngine.selectEncoding;
+import static org.easymock.EasyMock.capture;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.newCapture;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StaticResourceEngineTest {
+
+    private Path file;
+    private byte[] content;
+
+    @BeforeEach
+    public void createFile() throws Exception {
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = Files.createTempFile("glassfish-test", ".bin");
+        Files.write(file, content);
+    }
+
+
+    @AfterEach
+    public void deleteFile() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+
+    @Test
+    public void mapsPartsLargerThanTheMinSize() throws Exception {
+        StaticResourceEngine engine = new StaticResourceEngine(true, 100L, 0L, 0);
+        Capture<ByteBuffer> buffers = newCapture(CaptureType.ALL);
+        CoyoteOutputStream out = createMock(CoyoteOutputStream.class);
+        out.writeByteBuffer(capture(buffers));
+        expectLastCall().times(1);
+        replay(out);
+
+        assertTrue(engine.write(entry(), out, 100L, 500L));
+        verify(out);
+        ByteBuffer mapped = buffers.getValue();
+        assertTrue(mapped.isReadOnly());
+        byte[] written = new byte[mapped.remaining()];
+        mapped.get(written);
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 600), written);
+    }
+
+
+    @Test
+    public void copiesPartsUpToTheMinSize() throws Exception {
+        StaticResourceEngine engine = new StaticResourceEngine(true, 100L, 0L, 0);
+        CoyoteOutputStream out = createMock(CoyoteOutputStream.class);
+        replay(out);
+
+        assertFalse(engine.write(entry(), out, 0L, 100L));
+        verify(out);
+    }
+
+
+    @Test
+    public void copiesWithoutMappedFiles() throws Exception {
+        StaticResourceEngine engine = new StaticResourceEngine(false, 0L, 0L, 0);
+        CoyoteOutputStream out = createMock(CoyoteOutputStream.class);
+        replay(out);
+
+        assertFalse(engine.write(entry(), out, 0L, content.length));
+        verify(out);
+    }
+
+
+    @Test
+    public void copiesContentInTheHeapCache() throws Exception {
+        StaticResourceEngine engine = new StaticResourceEngine(true, 0L, 0L, 0);
+        CacheEntry entry = entry();
+        entry.resource.setContent(content);
+        CoyoteOutputStream out = createMock(CoyoteOutputStream.class);
+        replay(out);
+
+        assertFalse(engine.write(entry, out, 0L, content.length));
+        verify(out);
+    }
+
+
+    @Test
+    public void copiesToOtherStreams() throws Exception {
+        StaticResourceEngine engine = new StaticResourceEngine(true, 0L, 0L, 0);
+        ServletOutputStream out = new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                throw new AssertionError("Unexpected write");
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+        };
+
+        assertFalse(engine.write(entry(), out, 0L, content.length));
+    }
+
+
+    @Test
+    public void writesFilesFromTheOffHeapCache() throws Exception {
+        StaticResourceEngine engine = new StaticResourceEngine(false, 0L, 4096L, 2048);
+        Capture<ByteBuffer> buffers = newCapture(CaptureType.ALL);
+        CoyoteOutputStream out = createMock(CoyoteOutputStream.class);
+        out.writeByteBuffer(capture(buffers));
+        expectLastCall().times(2);
+        replay(out);
+
+        assertTrue(engine.write(entry(), out, 0L, content.length));
+        assertTrue(engine.write(entry(), out, 10L, 20L));
+        verify(out);
+        assertEquals(1, engine.getCachedCount());
+
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        for (ByteBuffer buffer : buffers.getValues()) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            written.write(bytes);
+        }
+        byte[] expected = new byte[content.length + 20];
+        System.arraycopy(content, 0, expected, 0, content.length);
+        System.arraycopy(content, 10, expected, content.length, 20);
+        assertArrayEquals(expected, written.toByteArray());
+    }
+
+    @Test
+    public void brotliIsPreferredForTheSameQuality() {
+        assertEquals(BROTLI, selectEncoding("gzip, deflate, br", true, true));
+        assertEquals(GZIP, selectEncoding("gzip, deflate, br", false, true));
+        assertEquals(BROTLI, selectEncoding("br", true, true));
+        assertNull(selectEncoding("deflate", true, true));
+        assertNull(selectEncoding(null, true, true));
+        assertNull(selectEncoding("gzip, br", false, false));
+    }
+
+
+    @Test
+    public void qualityValuesAreHonored() {
+        assertEquals(GZIP, selectEncoding("br;q=0.5, gzip", true, true));
+        assertEquals(GZIP, selectEncoding("br;q=0, gzip;q=0.1", true, true));
+        assertNull(selectEncoding("br;q=0, gzip;q=0", true, true));
+        assertEquals(BROTLI, selectEncoding("*", true, true));
+        assertEquals(GZIP, selectEncoding("br;q=0, *", true, true));
+        assertNull(selectEncoding("identity, *;q=0", true, true));
+        assertEquals(GZIP, selectEncoding("x-gzip", true, true));
+    }
+
+
+    @Test
+    public void cacheEvictsLeastRecentlyUsedEntries() {
+        OffHeapCache cache = new OffHeapCache(300, 200);
+        ByteBuffer a = ByteBuffer.allocateDirect(100);
+        ByteBuffer b = ByteBuffer.allocateDirect(100);
+        ByteBuffer c = ByteBuffer.allocateDirect(100);
+        cache.put("/a", 1L, a);
+        cache.put("/b", 1L, b);
+        cache.put("/c", 1L, c);
+        assertSame(a, cache.get("/a", 1L, 100));
+
+        cache.put("/d", 1L, ByteBuffer.allocateDirect(100));
+        assertNull(cache.get("/b", 1L, 100));
+        assertSame(a, cache.get("/a", 1L, 100));
+        assertSame(c, cache.get("/c", 1L, 100));
+        assertEquals(300, cache.size());
+
+        cache.put("/large", 1L, ByteBuffer.allocateDirect(201));
+        assertNull(cache.get("/large", 1L, 201));
+        assertEquals(3, cache.count());
+    }
+
+
+    @Test
+    public void cacheDropsModifiedFiles() {
+        OffHeapCache cache = new OffHeapCache(300, 200);
+        cache.put("/a", 1L, ByteBuffer.allocateDirect(100));
+        assertNull(cache.get("/a", 2L, 100));
+        assertEquals(0, cache.count());
+        assertEquals(0, cache.size());
+
+        cache.put("/a", 1L, ByteBuffer.allocateDirect(100));
+        assertNull(cache.get("/a", 1L, 101));
+        assertEquals(0, cache.size());
+    }
+
+
+    private CacheEntry entry() {
+        File canonicalFile = file.toFile();
+        CacheEntry entry = new CacheEntry();
+        entry.name = canonicalFile.getName();
+        entry.resource = new Resource();
+        entry.attributes = new ResourceAttributes() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public String getCanonicalPath() {
+                return canonicalFile.getAbsolutePath();
+            }
+        };
+        entry.attributes.setContentLength(content.length);
+        entry.attributes.setLastModified(canonicalFile.lastModified());
+        return entry;
+    }
+}
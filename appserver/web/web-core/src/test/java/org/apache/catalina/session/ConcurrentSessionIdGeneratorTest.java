@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package org.apache.catalina.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentSessionIdGeneratorTest {
+
+    @Test
+    public void idsAreHexEncodedRandomBytes() {
+        ConcurrentSessionIdGenerator generator = new ConcurrentSessionIdGenerator(20);
+        String id = generator.generateUuid(new Object());
+        assertEquals(40, id.length());
+        assertTrue(id.matches("[0-9A-F]+"), id);
+    }
+
+
+    @Test
+    public void idsAreUniqueAcrossThreads() throws Exception {
+        final int threadCount = 8;
+        final int idsPerThread = 10_000;
+        ConcurrentSessionIdGenerator generator = new ConcurrentSessionIdGenerator();
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                results.add(executor.submit(() -> {
+                    for (int j = 0; j < idsPerThread; j++) {
+                        ids.add(generator.generateUuid());
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(threadCount * idsPerThread, ids.size());
+    }
+
+
+    @Test
+    public void invalidLengthIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentSessionIdGenerator(0));
+    }
+}
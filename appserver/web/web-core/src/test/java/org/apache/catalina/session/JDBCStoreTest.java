@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.anyInt;
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.expectLastCall;
+import static org.easymock.EasyMock.geq;
+import static org.easymock.EasyMock.replay;
+import static org.easymock.EasyMock.verify;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JDBCStoreTest {
+
+    // built from the names of the engine, the host and the context
+    private static final String APP = "///test";
+    private static final String REMOVE_SQL =
+        "DELETE FROM tomcat$sessions WHERE id = ?  AND app = ?";
+    private static final String SAVE_SQL =
+        "INSERT INTO tomcat$sessions (id, app, data, valid, maxinactive, lastaccess) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String EXPIRED_SQL =
+        "SELECT id FROM tomcat$sessions WHERE app = ? AND maxinactive >= 0 AND lastaccess + maxinactive * 1000 <= ?";
+
+    private PersistentManager manager;
+    private TestJDBCStore store;
+    private Connection connection;
+
+    @BeforeEach
+    public void createStore() {
+        StandardContext context = new StandardContext();
+        context.setName("/test");
+        manager = new PersistentManager();
+        manager.setContainer(context);
+        store = new TestJDBCStore();
+        store.setDataSourceName("jdbc/sessions");
+        store.setBatchSize(2);
+        manager.setStore(store);
+        connection = createMock(Connection.class);
+    }
+
+    @Test
+    public void batchSizeOnlyWithDataSource() {
+        assertEquals(2, store.getSaveBatchSize());
+        store.setDataSourceName(null);
+        assertEquals(1, store.getSaveBatchSize());
+    }
+
+    @Test
+    public void saveAllWritesBatchesInTransactions() throws Exception {
+        PreparedStatement remove = createNiceMock(PreparedStatement.class);
+        PreparedStatement save = createNiceMock(PreparedStatement.class);
+        expectTransaction(remove, save);
+        expectTransaction(remove, save);
+        remove.setString(2, APP);
+        expectLastCall().times(3);
+        remove.addBatch();
+        expectLastCall().times(3);
+        expect(remove.executeBatch()).andReturn(new int[0]).times(2);
+        save.setString(2, APP);
+        expectLastCall().times(3);
+        save.setBinaryStream(eq(3), anyObject(InputStream.class), anyInt());
+        expectLastCall().times(3);
+        save.addBatch();
+        expectLastCall().times(3);
+        expect(save.executeBatch()).andReturn(new int[0]).times(2);
+        replay(connection, remove, save);
+
+        store.saveAll(new Session[] {session("a"), session("b"), session("c")});
+
+        verify(connection, remove, save);
+    }
+
+    @Test
+    public void failedBatchIsRolledBack() throws Exception {
+        PreparedStatement remove = createNiceMock(PreparedStatement.class);
+        PreparedStatement save = createNiceMock(PreparedStatement.class);
+        expect(connection.getAutoCommit()).andReturn(true);
+        connection.setAutoCommit(false);
+        expect(connection.prepareStatement(REMOVE_SQL)).andReturn(remove);
+        expect(connection.prepareStatement(SAVE_SQL)).andReturn(save);
+        expect(save.executeBatch()).andThrow(new SQLException("duplicate key"));
+        connection.rollback();
+        connection.setAutoCommit(true);
+        connection.close();
+        replay(connection, remove, save);
+
+        assertThrows(IOException.class, () -> store.saveAll(new Session[] {session("a")}));
+
+        verify(connection);
+    }
+
+    @Test
+    public void processExpiresQueriesExpiredRows() throws Exception {
+        session("a");
+        session("b");
+        long before = System.currentTimeMillis();
+
+        PreparedStatement select = createMock(PreparedStatement.class);
+        ResultSet rows = createMock(ResultSet.class);
+        expect(connection.prepareStatement(EXPIRED_SQL)).andReturn(select);
+        select.setString(1, APP);
+        select.setLong(eq(2), geq(before));
+        expect(select.executeQuery()).andReturn(rows);
+        expect(rows.next()).andReturn(true).times(2).andReturn(false);
+        expect(rows.getString(1)).andReturn("a").andReturn("b");
+        rows.close();
+        select.close();
+
+        // stale copies of active sessions are removed without being loaded
+        PreparedStatement remove = createMock(PreparedStatement.class);
+        expect(connection.prepareStatement(REMOVE_SQL)).andReturn(remove);
+        remove.setString(1, "a");
+        remove.setString(1, "b");
+        remove.setString(2, APP);
+        expectLastCall().times(2);
+        remove.addBatch();
+        expectLastCall().times(2);
+        expect(remove.executeBatch()).andReturn(new int[] {1, 1});
+        remove.close();
+        connection.close();
+        expectLastCall().times(2);
+        replay(connection, select, rows, remove);
+
+        store.start();
+        store.processExpires();
+
+        verify(connection, select, rows, remove);
+    }
+
+    private void expectTransaction(PreparedStatement remove, PreparedStatement save) throws SQLException {
+        expect(connection.getAutoCommit()).andReturn(true);
+        connection.setAutoCommit(false);
+        expect(connection.prepareStatement(REMOVE_SQL)).andReturn(remove);
+        expect(connection.prepareStatement(SAVE_SQL)).andReturn(save);
+        connection.commit();
+        connection.setAutoCommit(true);
+        connection.close();
+    }
+
+    private StandardSession session(String id) {
+        StandardSession session = new StandardSession(manager);
+        session.setValid(true);
+        session.setCreationTime(System.currentTimeMillis());
+        session.setMaxInactiveInterval(60);
+        session.setId(id);
+        return session;
+    }
+
+    /**
+     * Takes the connections from the test instead of a data source.
+     */
+    private class TestJDBCStore extends JDBCStore {
+
+        @Override
+        protected Connection getConnection() {
+            return connection;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.apache.catalina.session;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.core.StandardContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentManagerBaseTest {
+
+    private PersistentManager manager;
+    private TestStore store;
+
+    @BeforeEach
+    public void createManager() {
+        StandardContext context = new StandardContext();
+        context.setName("testContext");
+        manager = new PersistentManager();
+        manager.setContainer(context);
+        store = new TestStore();
+        manager.setStore(store);
+        manager.setStarted(true);
+    }
+
+    @Test
+    public void unloadSavesOtherSessionsIfOneFails() {
+        createSessions("a", "b", "c");
+        store.failing.add("b");
+
+        manager.unload();
+
+        assertEquals(Arrays.asList("save a", "save b", "save c"), store.calls);
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), store.saved);
+        assertFalse(manager.isLoaded("a"));
+        assertTrue(manager.isLoaded("b"));
+        assertFalse(manager.isLoaded("c"));
+    }
+
+    @Test
+    public void unloadWritesBatches() {
+        store.batchSize = 2;
+        createSessions("a", "b", "c");
+
+        manager.unload();
+
+        assertEquals(Arrays.asList("saveAll 2", "saveAll 1"), store.calls);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), store.saved);
+        assertEquals(0, manager.findSessions().length);
+    }
+
+    @Test
+    public void failedBatchIsSavedOneByOne() {
+        store.batchSize = 2;
+        createSessions("a", "b", "c");
+        store.failing.add("b");
+
+        manager.unload();
+
+        assertEquals(Arrays.asList("saveAll 2", "save a", "save b", "saveAll 1"), store.calls);
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), store.saved);
+        assertFalse(manager.isLoaded("a"));
+        assertTrue(manager.isLoaded("b"));
+        assertFalse(manager.isLoaded("c"));
+    }
+
+    @Test
+    public void maxActiveSwapsSaveOtherSessionsIfOneFails() {
+        List<StandardSession> sessions = createSessions("a", "b", "c");
+        store.failing.add("b");
+        manager.setMaxActiveSessions(0);
+        manager.setMinIdleSwap(-1);
+
+        manager.processMaxActiveSwaps();
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "c")), store.saved);
+        assertTrue(manager.isLoaded("b"));
+        assertUnlocked(sessions);
+    }
+
+    @Test
+    public void maxActiveSwapsLockOneBatchAtATime() {
+        store.batchSize = 2;
+        List<StandardSession> sessions = createSessions("a", "b", "c");
+        manager.setMaxActiveSessions(0);
+        manager.setMinIdleSwap(-1);
+
+        manager.processMaxActiveSwaps();
+
+        assertEquals(Arrays.asList("saveAll 2", "saveAll 1"), store.calls);
+        assertEquals(Arrays.asList(2, 1), store.lockedDuringSave);
+        assertEquals(0, manager.findSessions().length);
+        assertUnlocked(sessions);
+    }
+
+    @Test
+    public void idleBackupsKeepSessionsActive() {
+        store.batchSize = 2;
+        List<StandardSession> sessions = createSessions("a", "b", "c");
+        store.failing.add("c");
+        manager.setMaxIdleBackup(0);
+        for (StandardSession session : sessions) {
+            session.thisAccessedTime -= 5000L;
+            session.lastAccessedTime -= 5000L;
+        }
+
+        manager.processMaxIdleBackups();
+
+        assertEquals(Arrays.asList("saveAll 2", "saveAll 1", "save c"), store.calls);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), store.saved);
+        assertEquals(3, manager.findSessions().length);
+        assertUnlocked(sessions);
+    }
+
+    private List<StandardSession> createSessions(String... ids) {
+        List<StandardSession> sessions = new ArrayList<>();
+        for (String id : ids) {
+            StandardSession session = new StandardSession(manager);
+            session.setValid(true);
+            session.setCreationTime(System.currentTimeMillis());
+            session.setMaxInactiveInterval(3600);
+            session.setId(id);
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private void assertUnlocked(List<StandardSession> sessions) {
+        for (StandardSession session : sessions) {
+            assertFalse(session.getSessionLock().isBackgroundLocked(), session.getIdInternal());
+        }
+    }
+
+    /**
+     * Records the saved sessions, and fails to save the given ones.
+     */
+    private class TestStore extends StoreBase {
+
+        final List<String> calls = new ArrayList<>();
+        final Set<String> failing = new HashSet<>();
+        final Set<String> saved = new HashSet<>();
+        final List<Integer> lockedDuringSave = new ArrayList<>();
+        int batchSize = 1;
+
+        @Override
+        public int getSaveBatchSize() {
+            return batchSize;
+        }
+
+        @Override
+        public void saveAll(Session[] sessions) throws IOException {
+            calls.add("saveAll " + sessions.length);
+            int locked = 0;
+            for (Session session : manager.findSessions()) {
+                if (((StandardSession) session).getSessionLock().isBackgroundLocked()) {
+                    locked++;
+                }
+            }
+            lockedDuringSave.add(locked);
+            for (Session session : sessions) {
+                if (failing.contains(session.getIdInternal())) {
+                    throw new IOException("Cannot save " + session.getIdInternal());
+                }
+            }
+            for (Session session : sessions) {
+                saved.add(session.getIdInternal());
+            }
+        }
+
+        @Override
+        public void save(Session session) throws IOException {
+            calls.add("save " + session.getIdInternal());
+            if (failing.contains(session.getIdInternal())) {
+                throw new IOException("Cannot save " + session.getIdInternal());
+            }
+            saved.add(session.getIdInternal());
+        }
+
+        @Override
+        public Session load(String id) {
+            return null;
+        }
+
+        @Override
+        public void remove(String id) {
+            saved.remove(id);
+        }
+
+        @Override
+        public void clear() {
+            saved.clear();
+        }
+
+        @Override
+        public int getSize() {
+            return saved.size();
+        }
+
+        @Override
+        public String[] keys() {
+            return saved.toArray(new String[saved.size()]);
+        }
+    }
+}
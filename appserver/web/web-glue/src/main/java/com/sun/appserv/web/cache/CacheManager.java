@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -17,6 +18,8 @@
 package com.sun.appserv.web.cache;
 
 import com.sun.appserv.util.cache.Cache;
+import com.sun.appserv.util.cache.CacheListener;
+import com.sun.appserv.web.cache.filter.HttpCacheEntry;
 import com.sun.appserv.web.cache.mapping.CacheMapping;
 import org.apache.catalina.LifecycleException;
 import org.glassfish.web.LogFacade;
@@ -39,6 +42,18 @@ public class CacheManager {
     public static final String DEFAULT_CACHE_CLASSNAME =
         "com.sun.appserv.util.cache.LruCache";
 
+    /**
+     * Max total size of the response bodies kept outside of the heap, with
+     * an optional KB or MB suffix. The bodies are kept on the heap if not set.
+     */
+    public static final String OFF_HEAP_STORE_SIZE_PROP = "OffHeapStoreSize";
+
+    /**
+     * Size of the direct buffers of the off-heap store, with an optional KB
+     * or MB suffix.
+     */
+    public static final String OFF_HEAP_SLAB_SIZE_PROP = "OffHeapSlabSize";
+
     private static final Logger _logger = LogFacade.getLogger();
 
     /**
@@ -51,6 +66,9 @@ public class CacheManager {
     int defaultTimeout = DEFAULT_CACHE_TIMEOUT;
     String cacheClassName = DEFAULT_CACHE_CLASSNAME;
 
+    long offHeapStoreSize = -1;
+    long offHeapSlabSize = OffHeapResponseStore.DEFAULT_SLAB_SIZE;
+
     boolean enabled = false;
 
     // application servlet context
@@ -59,6 +77,7 @@ public class CacheManager {
     // XXX: potentially zero or more caches?
     Properties cacheProps;
     Cache defaultCache;
+    OffHeapResponseStore responseStore;
 
     // cache mappings indexed by the filter name
     HashMap<String, CacheMapping> cacheMappings =
@@ -124,6 +143,13 @@ public class CacheManager {
     public void addProperty(String name, String value) {
         if (name.equalsIgnoreCase("cacheClassName")) {
            cacheClassName = value;
+        } else if (name.equalsIgnoreCase(OFF_HEAP_STORE_SIZE_PROP)) {
+            offHeapStoreSize = OffHeapResponseStore.parseSize(value);
+        } else if (name.equalsIgnoreCase(OFF_HEAP_SLAB_SIZE_PROP)) {
+            long size = OffHeapResponseStore.parseSize(value);
+            if (size > 0 && size <= Integer.MAX_VALUE) {
+                offHeapSlabSize = size;
+            }
         } else {
             if (cacheProps == null) {
                 cacheProps = new Properties();
@@ -192,6 +218,20 @@ public class CacheManager {
             throw new LifecycleException(_rb.getString(LogFacade.CACHE_MANAGER_EXCEPTION_CREATING_CACHE), e);
         }
 
+        // create the store of the response bodies, if configured
+        if (offHeapStoreSize > 0) {
+            responseStore = new OffHeapResponseStore(offHeapStoreSize, (int) offHeapSlabSize);
+            // bodies of the entries trimmed by the cache free their slabs
+            defaultCache.addCacheListener(new CacheListener() {
+                @Override
+                public void trimEvent(Object key, Object value) {
+                    if (value instanceof HttpCacheEntry) {
+                        ((HttpCacheEntry) value).releaseBody();
+                    }
+                }
+            });
+        }
+
         // initialize the "default" helper
         defaultHelper = new DefaultCacheHelper();
         defaultHelper.setCacheManager(this);
@@ -286,6 +326,15 @@ public class CacheManager {
         return defaultCache;
     }
 
+    /**
+     * get the store of the cached response bodies
+     * @return the off-heap store, or <code>null</code> if the bodies are
+     * kept on the heap
+     */
+    public OffHeapResponseStore getResponseStore() {
+        return responseStore;
+    }
+
     /**
      * add cache mapping
      * @param name unique name of the mapping
@@ -392,5 +441,9 @@ public class CacheManager {
         cacheMappings.clear();
         cacheHelpersByFilterName.clear();
         listeners.clear();
+
+        if (responseStore != null) {
+            responseStore.clear();
+        }
     }
 }
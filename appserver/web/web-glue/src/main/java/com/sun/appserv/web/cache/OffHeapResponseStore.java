@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Stores the bodies of cached responses outside of the Java heap.
+ * <p>
+ * Bodies are appended to direct buffers (slabs) of a fixed size; a body
+ * larger than a slab gets a slab of its own. A body is released when its
+ * cache entry is replaced, removed or trimmed by the cache, and a slab
+ * without live bodies is reclaimed at once. The total size of the slabs is
+ * capped: when a new slab does not fit, the slabs with the fewest live bytes
+ * are reclaimed and their live bodies are moved to the new slab as long as
+ * they fit; the others are lost, i.e. the {@link Region}s referring to them
+ * return <code>null</code> from {@link Region#getBuffer()}.
+ * <p>
+ * Slabs are never reused nor freed explicitly, because a buffer still being
+ * written to a connection may refer to a reclaimed slab. The native memory
+ * of a reclaimed slab is released by the garbage collector, so the memory
+ * actually allocated can exceed the cap until the next collection; it stays
+ * bounded by the <code>-XX:MaxDirectMemorySize</code> of the JVM.
+ */
+public class OffHeapResponseStore {
+
+    public static final int DEFAULT_SLAB_SIZE = 1024 * 1024;
+
+    private final long maxSize;
+    private final int slabSize;
+
+    // Guarded by this
+    private final ArrayDeque<Slab> slabs = new ArrayDeque<Slab>();
+    private Slab current;
+    private long size;
+
+    /**
+     * @param maxSize max total size in bytes of the slabs
+     * @param slabSize size in bytes of a slab
+     */
+    public OffHeapResponseStore(long maxSize, int slabSize) {
+        if (maxSize <= 0 || slabSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxSize = maxSize;
+        this.slabSize = (int) Math.min(slabSize, maxSize);
+    }
+
+    /**
+     * copy the given bytes into the store
+     * @param bytes the response body
+     * @param off offset of the body in bytes
+     * @param len length of the body
+     * @return the region holding the body, or <code>null</code> if the body
+     * is larger than the store
+     */
+    public synchronized Region store(byte[] bytes, int off, int len) {
+        if (len > maxSize) {
+            return null;
+        }
+
+        Slab slab;
+        if (len > slabSize) {
+            slab = newSlab(len, len);
+        } else {
+            if (current == null || current.remaining() < len) {
+                Slab full = current;
+                current = newSlab(slabSize, len);
+                if (full != null && full.live == 0) {
+                    reclaim(full);
+                }
+            }
+            slab = current;
+        }
+        Region region = new Region(this, len);
+        region.placement = new Placement(slab, slab.append(bytes, off, len));
+        slab.regions.add(region);
+        slab.live += len;
+        return region;
+    }
+
+    /**
+     * reclaim all slabs
+     */
+    public synchronized void clear() {
+        for (Slab slab : slabs) {
+            slab.buffer = null;
+        }
+        slabs.clear();
+        current = null;
+        size = 0;
+    }
+
+    /**
+     * @return the total size in bytes of the slabs
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of slabs
+     */
+    public synchronized int getSlabCount() {
+        return slabs.size();
+    }
+
+    /**
+     * the body of the region is no longer needed; its slab is reclaimed if
+     * it holds no other live body and is not the one being filled
+     */
+    synchronized void release(Region region) {
+        if (region.released) {
+            return;
+        }
+        region.released = true;
+        Slab slab = region.placement.slab;
+        if (slab.buffer == null) {
+            return;
+        }
+        slab.live -= region.length;
+        if (slab.live == 0 && slab != current) {
+            reclaim(slab);
+        }
+    }
+
+    /**
+     * @param capacity capacity of the new slab
+     * @param reserved bytes of the new slab needed by the body being stored,
+     * which can't be used by moved bodies
+     */
+    private Slab newSlab(int capacity, int reserved) {
+        List<Slab> victims = new ArrayList<Slab>();
+        while (size + capacity > maxSize && !slabs.isEmpty()) {
+            Slab victim = leastLiveSlab();
+            slabs.remove(victim);
+            size -= victim.capacity;
+            if (victim == current) {
+                current = null;
+            }
+            victims.add(victim);
+        }
+
+        Slab slab = new Slab(capacity);
+        slabs.addLast(slab);
+        size += capacity;
+
+        // move the live bodies of the victims while they fit
+        int room = capacity - reserved;
+        for (Slab victim : victims) {
+            for (Region region : victim.regions) {
+                if (!region.released && region.placement.slab == victim && region.length <= room) {
+                    ByteBuffer body = victim.buffer.duplicate();
+                    int offset = region.placement.offset;
+                    body.limit(offset + region.length).position(offset);
+                    region.placement = new Placement(slab, slab.append(body));
+                    slab.regions.add(region);
+                    slab.live += region.length;
+                    room -= region.length;
+                }
+            }
+            victim.buffer = null;
+        }
+        return slab;
+    }
+
+    /**
+     * @return the slab with the fewest live bytes, the oldest one if several
+     */
+    private Slab leastLiveSlab() {
+        Slab least = null;
+        for (Iterator<Slab> iter = slabs.iterator(); iter.hasNext(); ) {
+            Slab slab = iter.next();
+            if (least == null || slab.live < least.live) {
+                least = slab;
+            }
+        }
+        return least;
+    }
+
+    private void reclaim(Slab slab) {
+        if (slabs.remove(slab)) {
+            size -= slab.capacity;
+        }
+        slab.buffer = null;
+    }
+
+    /**
+     * parse a size with an optional KB or MB suffix, like the MaxSize
+     * property of the caches
+     * @param value the property value
+     * @return the size in bytes, or -1 if the value is not a valid size
+     */
+    public static long parseSize(String value) {
+        if (value == null) {
+            return -1;
+        }
+
+        String prop = value.trim().toUpperCase(Locale.ENGLISH);
+        long multiplier = 1;
+        int index;
+        if ((index = prop.indexOf("KB")) != -1) {
+            multiplier = 1024;
+            prop = prop.substring(0, index);
+        } else if ((index = prop.indexOf("MB")) != -1) {
+            multiplier = 1024 * 1024;
+            prop = prop.substring(0, index);
+        }
+
+        try {
+            long size = Long.parseLong(prop.trim());
+            return (size > 0) ? size * multiplier : -1;
+        } catch (NumberFormatException nfe) {
+            return -1;
+        }
+    }
+
+    private static final class Slab {
+        final int capacity;
+        volatile ByteBuffer buffer;
+
+        // Guarded by the store
+        int used;
+        int live;
+        final List<Region> regions = new ArrayList<Region>();
+
+        Slab(int capacity) {
+            this.capacity = capacity;
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        int remaining() {
+            return capacity - used;
+        }
+
+        int append(byte[] bytes, int off, int len) {
+            ByteBuffer dup = buffer.duplicate();
+            dup.position(used);
+            dup.put(bytes, off, len);
+            int offset = used;
+            used += len;
+            return offset;
+        }
+
+        int append(ByteBuffer bytes) {
+            ByteBuffer dup = buffer.duplicate();
+            dup.position(used);
+            int offset = used;
+            used += bytes.remaining();
+            dup.put(bytes);
+            return offset;
+        }
+    }
+
+    /**
+     * Where a body is, replaced as a whole when the body is moved
+     */
+    private static final class Placement {
+        final Slab slab;
+        final int offset;
+
+        Placement(Slab slab, int offset) {
+            this.slab = slab;
+            this.offset = offset;
+        }
+    }
+
+    /**
+     * The part of a slab holding a response body
+     */
+    public static final class Region {
+        private final OffHeapResponseStore store;
+        private final int length;
+        private volatile Placement placement;
+
+        // Guarded by the store
+        private boolean released;
+
+        Region(OffHeapResponseStore store, int length) {
+            this.store = store;
+            this.length = length;
+        }
+
+        /**
+         * @return the length of the body
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * @return whether the slab holding the body was reclaimed
+         */
+        public boolean isReclaimed() {
+            return placement.slab.buffer == null;
+        }
+
+        /**
+         * @return a read only buffer with the body, or <code>null</code> if
+         * the slab holding it was reclaimed
+         */
+        public ByteBuffer getBuffer() {
+            Placement placement = this.placement;
+            ByteBuffer buffer = placement.slab.buffer;
+            if (buffer == null) {
+                return null;
+            }
+            ByteBuffer body = buffer.asReadOnlyBuffer();
+            body.limit(placement.offset + length).position(placement.offset);
+            return body.slice();
+        }
+
+        /**
+         * the body is no longer needed, e.g. its cache entry was replaced;
+         * buffers already returned by {@link #getBuffer()} stay readable
+         */
+        public void release() {
+            store.release(this);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2024 Contributors to Eclipse Foundation.
+ * Copyright (c) 2024, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,17 +22,23 @@ import com.sun.appserv.web.cache.CacheHelper;
 import com.sun.appserv.web.cache.CacheManager;
 import com.sun.appserv.web.cache.CacheManagerListener;
 import com.sun.appserv.web.cache.DefaultCacheHelper;
+import com.sun.appserv.web.cache.OffHeapResponseStore;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.StringTokenizer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.CRC32;
 
+import org.apache.catalina.connector.CoyoteOutputStream;
 import org.glassfish.web.LogFacade;
 
 public class CachingFilter implements Filter, CacheManagerListener {
@@ -50,6 +56,9 @@ public class CachingFilter implements Filter, CacheManagerListener {
     CacheHelper helper;
     Cache cache;
 
+    // store of the response bodies, null if they are kept on the heap
+    OffHeapResponseStore store;
+
     boolean isEnabled = false;
 
     private static final Logger _logger = LogFacade.getLogger();
@@ -75,6 +84,7 @@ public class CachingFilter implements Filter, CacheManagerListener {
         if (manager != null && manager.isEnabled()) {
             this.cache = manager.getDefaultCache();
             this.helper = manager.getCacheHelperByFilterName(filterName);
+            this.store = manager.getResponseStore();
 
             // add filter as a listener so caching can be disabled at runtime.
             manager.addCacheManagerListener(this);
@@ -175,12 +185,23 @@ public class CachingFilter implements Filter, CacheManagerListener {
                 }
             }
 
+            // the body in the off-heap store may be gone since the lookup
+            ByteBuffer body = null;
+            if (entryReady && entry.region != null) {
+                body = entry.region.getBuffer();
+                entryReady = (body != null);
+            }
+
             // do we have a valid response?
             if (entryReady) {
                 if (isFine) {
                     _logger.log(Level.FINE, LogFacade.CACHING_FILTER_SERVING_RESPONSE, new Object[]{request.getServletPath(), key});
                 }
-                sendCachedResponse(entry, response);
+                if (isNotModified(entry, request)) {
+                    sendNotModified(entry, response);
+                } else {
+                    sendCachedResponse(entry, body, response);
+                }
             } else {
                 // call the target servlet
 
@@ -203,6 +224,14 @@ public class CachingFilter implements Filter, CacheManagerListener {
 
                         // previous entry gets replaced
                         entry = wrapper.cacheResponse();
+                        byte[] bytes = entry.bytes;
+                        setETag(entry, response);
+                        if (store != null && bytes.length > 0) {
+                            entry.region = store.store(bytes, 0, bytes.length);
+                            if (entry.region != null) {
+                                entry.bytes = null;
+                            }
+                        }
 
                         if (timeout == CacheHelper.TIMEOUT_VALUE_NOT_SET) {
                             // extracts this from the Expires: date header
@@ -221,19 +250,19 @@ public class CachingFilter implements Filter, CacheManagerListener {
                             entry.computeExpireTime(timeout);
                         }
 
-                        cache.put(key, entry, entry.getSize());
+                        releaseBody(cache.put(key, entry, entry.getSize()));
 
                         cache.notifyRefresh(index);
                         needNotify = false;
 
                         // transmit the response body content
-                        writeBody(entry, response);
+                        response.getOutputStream().write(bytes);
                     } else {
                         /** either there was an error or response from this
                          *  resource is not cacheable anymore; so, remove the
                          *  old entry from the cache.
                          */
-                        cache.remove(key);
+                        releaseBody(cache.remove(key));
                     }
                 } finally {
                     // IT 12891
@@ -273,10 +302,12 @@ public class CachingFilter implements Filter, CacheManagerListener {
     /**
      * called by doFilter to send out the cached response
      * @param entry cached response entry
+     * @param body the body from the off-heap store, or null if the entry
+     * holds the bytes
      * @param response response object to write out the response
      * @throws IOException and ServletException.
      */
-    private void sendCachedResponse(HttpCacheEntry entry,
+    private void sendCachedResponse(HttpCacheEntry entry, ByteBuffer body,
                                     HttpServletResponse response)
             throws IOException {
 
@@ -285,6 +316,52 @@ public class CachingFilter implements Filter, CacheManagerListener {
             response.setStatus(entry.statusCode);
         }
 
+        addHeaders(entry, response);
+
+        // cookies
+        for (int i = 0; i < entry.cookies.size(); i++) {
+            response.addCookie(entry.cookies.get(i));
+        }
+
+        // content type, length and locale
+        if (entry.contentLength != HttpCacheEntry.VALUE_NOT_SET) {
+            response.setContentLength(entry.contentLength);
+        }
+        if (entry.contentType != null) {
+            response.setContentType(entry.contentType);
+        }
+        if (entry.locale != null) {
+            response.setLocale(entry.locale);
+        }
+
+        // the response body
+        if (body != null) {
+            writeBody(body, response);
+        } else {
+            response.getOutputStream().write(entry.bytes);
+        }
+    }
+
+    /**
+     * called by doFilter to answer a conditional request from the cached
+     * response without the body
+     * @param entry cached response entry
+     * @param response response object to write out the response
+     */
+    private void sendNotModified(HttpCacheEntry entry,
+                                 HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        addHeaders(entry, response);
+    }
+
+    /**
+     * add the cached response and date headers to the response
+     * @param entry cached response entry
+     * @param response response object to write out the response
+     */
+    private void addHeaders(HttpCacheEntry entry,
+                            HttpServletResponse response) {
+
         // set the outbound response headers
         for (Iterator iter = entry.responseHeaders.keySet().iterator();
                                                          iter.hasNext(); ) {
@@ -306,38 +383,114 @@ public class CachingFilter implements Filter, CacheManagerListener {
                 response.addDateHeader(name, (values.get(i)).longValue());
             }
         }
+    }
 
-        // cookies
-        for (int i = 0; i < entry.cookies.size(); i++) {
-            response.addCookie(entry.cookies.get(i));
+    /**
+     * called by sendCachedResponse to write the body from the off-heap
+     * store; the buffer is handed over to the connector without copying it
+     * to the heap if the response is not wrapped by the application
+     * @param body the cached body
+     * @param response response object to write out the response
+     * @throws IOException
+     */
+    private void writeBody(ByteBuffer body,
+                           HttpServletResponse response)
+                           throws IOException {
+        ServletOutputStream out = response.getOutputStream();
+        if (out instanceof CoyoteOutputStream) {
+            ((CoyoteOutputStream) out).writeByteBuffer(body);
+            return;
         }
 
-        // content type, length and locale
-        if (entry.contentLength != HttpCacheEntry.VALUE_NOT_SET) {
-            response.setContentLength(entry.contentLength);
+        byte[] chunk = new byte[Math.min(body.remaining(), 8192)];
+        while (body.hasRemaining()) {
+            int len = Math.min(chunk.length, body.remaining());
+            body.get(chunk, 0, len);
+            out.write(chunk, 0, len);
         }
-        if (entry.contentType != null) {
-            response.setContentType(entry.contentType);
+    }
+
+    /**
+     * set the entity tag of a new entry: the ETag header set by the
+     * resource, or a weak tag computed from the body of a successful
+     * response, which is added to the response and the cached headers.
+     * @param entry the new entry, holding the body bytes
+     * @param response response object to write out the response
+     */
+    private void setETag(HttpCacheEntry entry, HttpServletResponse response) {
+        for (Iterator<String> iter = entry.responseHeaders.keySet().iterator();
+                                                    iter.hasNext(); ) {
+            String name = iter.next();
+            if ("ETag".equalsIgnoreCase(name)) {
+                ArrayList<String> values = entry.responseHeaders.get(name);
+                if (values.size() > 0) {
+                    entry.etag = values.get(0);
+                }
+                return;
+            }
         }
-        if (entry.locale != null) {
-            response.setLocale(entry.locale);
+
+        if (entry.statusCode != HttpCacheEntry.VALUE_NOT_SET &&
+                entry.statusCode != HttpServletResponse.SC_OK) {
+            return;
         }
 
-        // the response body
-        writeBody(entry, response);
+        CRC32 crc = new CRC32();
+        crc.update(entry.bytes);
+        entry.etag = "W/\"" + entry.bytes.length + "-" +
+                     Long.toHexString(crc.getValue()) + "\"";
+
+        ArrayList<String> values = new ArrayList<String>(1);
+        values.add(entry.etag);
+        entry.responseHeaders.put("ETag", values);
+        if (!response.isCommitted()) {
+            response.setHeader("ETag", entry.etag);
+        }
     }
 
     /**
-     * called by doFilter/sendCachedResponse to write the body content
+     * does an If-None-Match header of the request match the entity tag of
+     * the cached response? Entity tags are compared weakly.
      * @param entry cached response entry
-     * @param response response object to write out the response
-     * @throws IOException and ServletException.
+     * @param request the request
      */
-    private void writeBody(HttpCacheEntry entry,
-                           HttpServletResponse response)
-                           throws IOException {
-        ServletOutputStream out = response.getOutputStream();
-        out.write(entry.bytes);
+    private boolean isNotModified(HttpCacheEntry entry,
+                                  HttpServletRequest request) {
+        if (entry.etag == null || (entry.statusCode != HttpCacheEntry.VALUE_NOT_SET &&
+                entry.statusCode != HttpServletResponse.SC_OK)) {
+            return false;
+        }
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+
+        String etag = opaqueTag(entry.etag);
+        Enumeration<String> headers = request.getHeaders("If-None-Match");
+        while (headers != null && headers.hasMoreElements()) {
+            StringTokenizer tokens = new StringTokenizer(headers.nextElement(), ",");
+            while (tokens.hasMoreTokens()) {
+                String tag = tokens.nextToken().trim();
+                if (tag.equals("*") || opaqueTag(tag).equals(etag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * release the off-heap body of an entry replaced or removed from the cache
+     * @param entry the old entry, may be null
+     */
+    private static void releaseBody(Object entry) {
+        if (entry instanceof HttpCacheEntry) {
+            ((HttpCacheEntry) entry).releaseBody();
+        }
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
     }
 
     /**
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -16,6 +17,8 @@
 
 package com.sun.appserv.web.cache.filter;
 
+import com.sun.appserv.web.cache.OffHeapResponseStore;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Locale;
@@ -46,6 +49,12 @@ public class HttpCacheEntry {
     // XXX: other cacheable response info
     byte[] bytes;
 
+    // the body, if kept in the off-heap store; bytes is null then
+    OffHeapResponseStore.Region region;
+
+    // entity tag of the response, to answer conditional requests
+    String etag;
+
     volatile long expireTime = 0;
 
     /**
@@ -72,14 +81,29 @@ public class HttpCacheEntry {
      * is this response still valid?
      */
     public boolean isValid() {
+        if (region != null && region.isReclaimed()) {
+            return false;
+        }
         return (expireTime > System.currentTimeMillis() || expireTime == -1);
     }
 
+    /**
+     * release the body kept in the off-heap store, as the entry is no
+     * longer in the cache
+     */
+    public void releaseBody() {
+        OffHeapResponseStore.Region region = this.region;
+        if (region != null) {
+            region.release();
+        }
+    }
+
     /**
      * clear the contents
      */
     public void clear() {
         bytes = null;
+        region = null;
         responseHeaders = null;
         cookies = null;
     }
@@ -93,6 +117,8 @@ public class HttpCacheEntry {
         int size = 0;
         if (bytes != null) {
             size = bytes.length;
+        } else if (region != null) {
+            size = region.getLength();
         }
 
         // size of response bytes plus headers (each approx 20 chars or 40 bytes)
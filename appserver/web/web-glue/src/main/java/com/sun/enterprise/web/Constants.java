@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Contributors to Eclipse Foundation.
+ * Copyright (c) 2021, 2026 Contributors to Eclipse Foundation.
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -88,6 +88,8 @@ public final class Constants {
     public static final String ACCESS_LOG_WRITE_INTERVAL_PROPERTY =
         "accessLogWriteInterval";
 
+    public static final String ACCESS_LOG_ASYNC_PROPERTY = "accessLogAsync";
+
     public static final String ACCESS_LOGGING_ENABLED = "accessLoggingEnabled";
 
     public static final String SSO_ENABLED = "sso-enabled";
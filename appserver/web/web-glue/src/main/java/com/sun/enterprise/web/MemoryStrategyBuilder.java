@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -67,9 +68,18 @@ public class MemoryStrategyBuilder extends BasePersistenceStrategyBuilder {
         if (sessionIdGeneratorClassname != null &&
                 sessionIdGeneratorClassname.length() > 0) {
             try {
+                Class<?> generatorClass;
+                try {
+                    generatorClass = serverConfigLookup.loadClass(
+                        sessionIdGeneratorClassname);
+                } catch (ClassNotFoundException cnfe) {
+                    // Generators shipped with the web container,
+                    // like ConcurrentSessionIdGenerator
+                    generatorClass = Class.forName(sessionIdGeneratorClassname,
+                        true, StandardManager.class.getClassLoader());
+                }
                 UuidGenerator generator = (UuidGenerator)
-                    serverConfigLookup.loadClass(
-                        sessionIdGeneratorClassname).newInstance();
+                    generatorClass.getDeclaredConstructor().newInstance();
                 mgr.setUuidGenerator(generator);
             } catch (Exception ex) {
                 String msg = _rb.getString(LogFacade.UNABLE_TO_LOAD_SESSION_UUID_GENERATOR);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -44,6 +44,8 @@ import java.time.format.DateTimeFormatter;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -68,6 +70,10 @@ import static java.time.Instant.ofEpochMilli;
  * </p>This class uses a direct <code>ByteBuffer</code> to store and write
  * logs.
  *
+ * <p>In asynchronous mode, request threads append their entries to a
+ * {@link StripedAccessLogBuffer} without taking the lock of the valve, and
+ * the background writer thread writes them to the file.
+ *
  * @author Jean-Francois Arcand
  * @author Charlie J. Hunt
  */
@@ -105,6 +111,13 @@ public final class PEAccessLogValve
     private final static int MIN_BUFFER_SIZE = 5120;
 
 
+    /**
+     * The interval (in seconds) between writing the logs in asynchronous
+     * mode if no write interval has been set.
+     */
+    private final static int DEFAULT_ASYNC_WRITE_INTERVAL = 1;
+
+
     // ----------------------------------------------------- Instance Variables
 
 
@@ -204,13 +217,13 @@ public final class PEAccessLogValve
     /**
      * The background writerThread.
      */
-    private Thread writerThread;
+    private volatile Thread writerThread;
 
 
     /**
      * The background writerThread completion semaphore.
      */
-    private boolean threadDone;
+    private volatile boolean threadDone;
 
 
     /**
@@ -279,6 +292,19 @@ public final class PEAccessLogValve
     private final Object lock = new Object();
 
 
+    /**
+     * Are request threads appending to the <code>asyncBuffer</code>
+     * instead of the <code>charBuffer</code>?
+     */
+    private boolean async;
+
+
+    /**
+     * The buffer used in asynchronous mode, null otherwise.
+     */
+    private volatile StripedAccessLogBuffer asyncBuffer;
+
+
     /**
      * Return writerThread interval (seconds)
      */
@@ -335,6 +361,23 @@ public final class PEAccessLogValve
         return bufferSize;
     }
 
+    /**
+     * Is the access log written asynchronously?
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Set whether the access log is written asynchronously by the background
+     * writer thread, which then writes the log at least every
+     * <code>writerInterval</code> seconds, or every second if no interval
+     * has been set, and whenever a buffer is full.
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
     // ------------------------------------------------------------- Properties
 
 
@@ -548,6 +591,18 @@ public final class PEAccessLogValve
             return;
         }
 
+        StripedAccessLogBuffer asyncBuffer = this.asyncBuffer;
+        if (asyncBuffer != null) {
+            if (formatter != null) {
+                try {
+                    asyncBuffer.append(formatter, request, response);
+                } catch (BufferOverflowException ex) {
+                    _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+                }
+            }
+            return;
+        }
+
         synchronized (lock){
             // Reset properly the buffer in case of an unexpected
             // exception.
@@ -610,6 +665,22 @@ public final class PEAccessLogValve
             }
         }
 
+        StripedAccessLogBuffer asyncBuffer = this.asyncBuffer;
+        if (asyncBuffer != null) {
+            synchronized (this) {
+                try {
+                    asyncBuffer.writeTo(fileChannel);
+                } catch (IOException ex) {
+                    _logger.log(Level.SEVERE, LogFacade.ACCESS_LOG_UNABLE_TO_WRITE, new Object[] {ex});
+                }
+                long droppedEntries = asyncBuffer.takeDroppedEntries();
+                if (droppedEntries > 0L) {
+                    _logger.log(Level.WARNING, LogFacade.ACCESS_LOG_ENTRIES_DROPPED, droppedEntries);
+                }
+            }
+            return;
+        }
+
         synchronized (lock) {
             try {
                 charBuffer.flip();
@@ -745,6 +816,8 @@ public final class PEAccessLogValve
             }
         }
 
+        setAsync(Boolean.parseBoolean(vsBean.getPropertyValue(Constants.ACCESS_LOG_ASYNC_PROPERTY)));
+
         return true;
     }
 
@@ -994,6 +1067,7 @@ public final class PEAccessLogValve
         }
 
         charBuffer = CharBuffer.allocate(bufferSize);
+        asyncBuffer = async ? new StripedAccessLogBuffer(bufferSize, Charset.defaultCharset(), this::wakeUpWriter) : null;
 
         if (fileDateFormat == null) {
             fileDateFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd");
@@ -1008,7 +1082,7 @@ public final class PEAccessLogValve
         }
         lastAccessLogCreationTime = systime;
 
-        if (!flushRealTime){
+        if (!flushRealTime || asyncBuffer != null){
             // Start the background writer writerThread
             threadStart();
         }
@@ -1036,12 +1110,13 @@ public final class PEAccessLogValve
         lifecycle.fireLifecycleEvent(STOP_EVENT, null);
         started = false;
 
-        if (!flushRealTime){
+        if (!flushRealTime || asyncBuffer != null){
             // Stop the background writer thread
             threadStop();
         }
 
         close();
+        asyncBuffer = null;
     }
 
 
@@ -1070,6 +1145,16 @@ public final class PEAccessLogValve
      */
     private void threadSleep() {
 
+        StripedAccessLogBuffer asyncBuffer = this.asyncBuffer;
+        if (asyncBuffer != null) {
+            if (!asyncBuffer.hasFilledBuffers()) {
+                int interval = writeInterval > 0 ? writeInterval : DEFAULT_ASYNC_WRITE_INTERVAL;
+                LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(interval));
+                Thread.interrupted();
+            }
+            return;
+        }
+
         if (writerThread == null || writeInterval == 0) {
             return;
         }
@@ -1088,7 +1173,7 @@ public final class PEAccessLogValve
      */
     private void threadStart() {
 
-        if (writerThread != null || writeInterval == 0) {
+        if (writerThread != null || writeInterval == 0 && asyncBuffer == null) {
             return;
         }
 
@@ -1106,12 +1191,17 @@ public final class PEAccessLogValve
      */
     private void threadStop() {
 
-        if (writerThread == null || writeInterval == 0) {
+        if (writerThread == null) {
             return;
         }
 
         threadDone = true;
-        writerThread.interrupt();
+        if (asyncBuffer != null) {
+            // An interrupt would close the file channel while writing
+            LockSupport.unpark(writerThread);
+        } else {
+            writerThread.interrupt();
+        }
         try {
             writerThread.join();
         } catch (InterruptedException e) {
@@ -1122,6 +1212,17 @@ public final class PEAccessLogValve
     }
 
 
+    /**
+     * Wake up the background writerThread, as a buffer is full.
+     */
+    private void wakeUpWriter() {
+        Thread writerThread = this.writerThread;
+        if (writerThread != null) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+
     private LocalDateTime toLocalDateTime(long millis) {
         return ofEpochMilli(millis).atZone(ZoneId.systemDefault()).toLocalDateTime();
     }
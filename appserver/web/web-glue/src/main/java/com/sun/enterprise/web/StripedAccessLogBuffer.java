@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import com.sun.enterprise.web.accesslog.AccessLogFormatter;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+
+/**
+ * Access log buffer of the asynchronous mode of {@link PEAccessLogValve}.
+ * <p>
+ * Request threads format and encode their entries into one of several
+ * stripes, chosen by thread, so they only compete with the threads sharing
+ * the stripe. A full stripe buffer is queued for the writer and replaced by
+ * a recycled one. The writer collects the queued and partially filled
+ * buffers and writes them with a single gathering write.
+ * <p>
+ * The number of buffers is limited. When all of them are waiting for the
+ * writer, a request thread waits for a free buffer at most
+ * {@link #FREE_BUFFER_WAIT_MILLIS}, then its entry is dropped and counted,
+ * so a slow disk cannot exhaust the direct memory nor block requests.
+ */
+final class StripedAccessLogBuffer {
+
+    /**
+     * Longest time a request thread waits for the writer to free a buffer.
+     */
+    static final long FREE_BUFFER_WAIT_MILLIS = 100L;
+
+    private final Stripe[] stripes;
+    private final int maxBuffers;
+    private final int charBufferSize;
+    private final int byteBufferSize;
+    private final Charset charset;
+    private final Runnable bufferFilledListener;
+
+    private final Queue<ByteBuffer> filledBuffers = new ConcurrentLinkedQueue<>();
+    private final Queue<ByteBuffer> freeBuffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger allocatedBuffers = new AtomicInteger();
+    private final LongAdder droppedEntries = new LongAdder();
+
+    /**
+     * @param bufferSize maximum number of characters of an entry
+     * @param charset encoding of the access log file
+     * @param bufferFilledListener called by a request thread which queued a full buffer
+     *            or which waits for a free one
+     */
+    StripedAccessLogBuffer(int bufferSize, Charset charset, Runnable bufferFilledListener) {
+        this(bufferSize, charset, bufferFilledListener, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+    }
+
+    /**
+     * @param bufferSize maximum number of characters of an entry
+     * @param charset encoding of the access log file
+     * @param bufferFilledListener called by a request thread which queued a full buffer
+     *            or which waits for a free one
+     * @param parallelism expected number of concurrent request threads, rounded up to
+     *            a power of two to get the number of stripes
+     */
+    StripedAccessLogBuffer(int bufferSize, Charset charset, Runnable bufferFilledListener, int parallelism) {
+        this.charBufferSize = bufferSize;
+        this.charset = charset;
+        this.bufferFilledListener = bufferFilledListener;
+        // Every entry fits into an empty byte buffer, so entries are never split
+        this.byteBufferSize = (int) Math.ceil(bufferSize * newEncoder().maxBytesPerChar());
+
+        int stripeCount = 1;
+        while (stripeCount < parallelism) {
+            stripeCount <<= 1;
+        }
+        // A current and a spare buffer per stripe, and as many queued for the writer
+        maxBuffers = 4 * stripeCount;
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Formats and encodes the log entry of the request.
+     *
+     * @throws BufferOverflowException if the entry is longer than the buffer size
+     */
+    void append(AccessLogFormatter formatter, Request request, Response response) {
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+        boolean queued;
+        synchronized (stripe) {
+            if (!stripe.reserveBuffers()) {
+                droppedEntries.increment();
+                return;
+            }
+            CharBuffer chars = stripe.chars;
+            chars.clear();
+            formatter.appendLogEntry(request, response, chars);
+            chars.put('\n');
+            chars.flip();
+
+            queued = !stripe.encode();
+            if (queued) {
+                // Not enough room for the entry, continue in the spare buffer
+                stripe.queueBytes();
+                stripe.bytes = stripe.spare;
+                stripe.spare = null;
+                chars.rewind();
+                stripe.encode();
+            }
+        }
+        if (queued) {
+            bufferFilledListener.run();
+        }
+    }
+
+    /**
+     * @return number of entries dropped since the last call, because no buffer was free
+     */
+    long takeDroppedEntries() {
+        return droppedEntries.sumThenReset();
+    }
+
+    /**
+     * @return true if there are full buffers waiting for the writer
+     */
+    boolean hasFilledBuffers() {
+        return !filledBuffers.isEmpty();
+    }
+
+    /**
+     * Writes all entries appended so far. Must not be called concurrently.
+     *
+     * @param channel the channel of the access log file
+     * @throws IOException if writing fails; the entries are discarded
+     */
+    void writeTo(GatheringByteChannel channel) throws IOException {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                if (stripe.bytes != null && stripe.bytes.position() > 0) {
+                    stripe.queueBytes();
+                    stripe.bytes = stripe.spare;
+                    stripe.spare = null;
+                }
+            }
+        }
+
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (ByteBuffer buffer = filledBuffers.poll(); buffer != null; buffer = filledBuffers.poll()) {
+            buffers.add(buffer);
+        }
+        if (buffers.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer[] batch = buffers.toArray(new ByteBuffer[buffers.size()]);
+        try {
+            int offset = 0;
+            while (offset < batch.length) {
+                channel.write(batch, offset, batch.length - offset);
+                while (offset < batch.length && !batch[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+        } finally {
+            for (ByteBuffer buffer : batch) {
+                buffer.clear();
+                freeBuffers.offer(buffer);
+            }
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    stripe.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a recycled or new buffer, null if all allowed buffers are in use
+     */
+    private ByteBuffer takeFreeBuffer() {
+        ByteBuffer buffer = freeBuffers.poll();
+        if (buffer != null) {
+            return buffer;
+        }
+        for (int allocated = allocatedBuffers.get(); allocated < maxBuffers; allocated = allocatedBuffers.get()) {
+            if (allocatedBuffers.compareAndSet(allocated, allocated + 1)) {
+                return ByteBuffer.allocateDirect(byteBufferSize);
+            }
+        }
+        return freeBuffers.poll();
+    }
+
+    private CharsetEncoder newEncoder() {
+        return charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Buffers of the threads mapped to a stripe, guarded by the stripe.
+     */
+    private final class Stripe {
+
+        private final CharBuffer chars = CharBuffer.allocate(charBufferSize);
+        private final CharsetEncoder encoder = newEncoder();
+        private ByteBuffer bytes;
+        private ByteBuffer spare;
+
+        /**
+         * Makes sure any entry fits, either into the current buffer or into the spare
+         * one, waiting for the writer if there is no free buffer. The stripe is
+         * released while waiting, the characters are not used yet.
+         *
+         * @return false if no buffer got free in time
+         */
+        private boolean reserveBuffers() {
+            long deadline = 0L;
+            while (true) {
+                if (bytes == null) {
+                    bytes = takeFreeBuffer();
+                }
+                if (bytes != null && (bytes.position() == 0 || spare != null)) {
+                    return true;
+                }
+                if (bytes != null) {
+                    spare = takeFreeBuffer();
+                    if (spare != null) {
+                        return true;
+                    }
+                }
+                long now = System.nanoTime();
+                if (deadline == 0L) {
+                    deadline = now + TimeUnit.MILLISECONDS.toNanos(FREE_BUFFER_WAIT_MILLIS);
+                    bufferFilledListener.run();
+                } else if (now - deadline >= 0L) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, deadline - now);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+
+        /**
+         * Encodes the characters into the byte buffer.
+         *
+         * @return false if the entry does not fit, the byte buffer is unchanged
+         */
+        private boolean encode() {
+            int start = bytes.position();
+            encoder.reset();
+            CoderResult result = encoder.encode(chars, bytes, true);
+            if (!result.isOverflow()) {
+                result = encoder.flush(bytes);
+            }
+            if (result.isOverflow()) {
+                bytes.position(start);
+                return false;
+            }
+            return true;
+        }
+
+        private void queueBytes() {
+            bytes.flip();
+            filledBuffers.offer(bytes);
+        }
+    }
+}
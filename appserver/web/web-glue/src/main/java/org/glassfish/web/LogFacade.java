@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -1548,4 +1548,11 @@ public class LogFacade {
         message = "Exception getting Validator Factory from JNDI: {0}",
         level = "WARNING")
     public static final String EXCEPTION_GETTING_VALIDATOR_FACTORY = prefix + "00285";
+
+    @LogMessageInfo(
+        message = "Dropped {0} access log entries, the access log writer could not keep up",
+        level = "WARNING",
+        cause = "All access log buffers were waiting to be written to the access log file",
+        action = "Check the performance of the disk of the access log file")
+    public static final String ACCESS_LOG_ENTRIES_DROPPED = prefix + "00286";
 }
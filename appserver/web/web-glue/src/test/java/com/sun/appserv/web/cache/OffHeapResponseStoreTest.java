@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache;
+
+import com.sun.appserv.web.cache.OffHeapResponseStore.Region;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapResponseStoreTest {
+
+    @Test
+    public void appendsBodiesToSlab() {
+        OffHeapResponseStore store = new OffHeapResponseStore(64, 16);
+        Region first = store.store(bytes("xxhello"), 2, 5);
+        Region second = store.store(bytes("world"), 0, 5);
+
+        assertEquals("hello", body(first));
+        assertEquals("world", body(second));
+        assertEquals(5, first.getLength());
+        assertEquals(1, store.getSlabCount());
+        assertEquals(16, store.getSize());
+
+        store.store(bytes("0123456789"), 0, 10);
+        assertEquals(2, store.getSlabCount());
+        assertEquals(32, store.getSize());
+    }
+
+    @Test
+    public void bufferIsReadOnlySlice() {
+        OffHeapResponseStore store = new OffHeapResponseStore(64, 16);
+        store.store(bytes("abc"), 0, 3);
+        ByteBuffer buffer = store.store(bytes("def"), 0, 3).getBuffer();
+
+        assertTrue(buffer.isReadOnly());
+        assertEquals(0, buffer.position());
+        assertEquals(3, buffer.remaining());
+    }
+
+    @Test
+    public void oversizeBodyGetsSlabOfItsOwn() {
+        OffHeapResponseStore store = new OffHeapResponseStore(64, 16);
+        Region small = store.store(bytes("abc"), 0, 3);
+        Region large = store.store(new byte[40], 0, 40);
+
+        assertEquals(40, large.getLength());
+        assertEquals(2, store.getSlabCount());
+        assertEquals(56, store.getSize());
+
+        // the slab being filled is still used for small bodies
+        Region next = store.store(bytes("def"), 0, 3);
+        assertEquals(2, store.getSlabCount());
+        assertEquals("abc", body(small));
+        assertEquals("def", body(next));
+
+        assertNull(store.store(new byte[65], 0, 65));
+    }
+
+    @Test
+    public void releasedBodiesFreeTheirSlab() {
+        OffHeapResponseStore store = new OffHeapResponseStore(64, 16);
+        Region first = store.store(new byte[8], 0, 8);
+        Region second = store.store(new byte[8], 0, 8);
+        Region third = store.store(new byte[8], 0, 8);
+        assertEquals(2, store.getSlabCount());
+
+        first.release();
+        assertEquals(2, store.getSlabCount());
+        second.release();
+        second.release();
+        assertEquals(1, store.getSlabCount());
+        assertEquals(16, store.getSize());
+        assertTrue(first.isReclaimed());
+
+        // the slab being filled is kept
+        third.release();
+        assertEquals(1, store.getSlabCount());
+        assertFalse(third.isReclaimed());
+    }
+
+    @Test
+    public void reclaimMovesLiveBodiesOfLeastUsedSlab() {
+        OffHeapResponseStore store = new OffHeapResponseStore(32, 16);
+        Region a1 = store.store(bytes("aaaaaaaa"), 0, 8);
+        Region a2 = store.store(bytes("AAAAAAAA"), 0, 8);
+        Region b1 = store.store(bytes("bbbbbbbb"), 0, 8);
+        Region b2 = store.store(bytes("BBBBBBBB"), 0, 8);
+        ByteBuffer before = a2.getBuffer();
+        a1.release();
+
+        Region c = store.store(bytes("cccccccc"), 0, 8);
+
+        assertEquals(2, store.getSlabCount());
+        assertEquals(32, store.getSize());
+        assertFalse(a2.isReclaimed());
+        assertEquals("AAAAAAAA", body(a2));
+        assertEquals("bbbbbbbb", body(b1));
+        assertEquals("BBBBBBBB", body(b2));
+        assertEquals("cccccccc", body(c));
+        // a buffer obtained before the move stays readable
+        assertEquals("AAAAAAAA", StandardCharsets.US_ASCII.decode(before).toString());
+    }
+
+    @Test
+    public void regionsOfReclaimedSlabAreInvalid() {
+        OffHeapResponseStore store = new OffHeapResponseStore(32, 16);
+        Region first = store.store(new byte[16], 0, 16);
+        store.store(new byte[16], 0, 16);
+        ByteBuffer before = first.getBuffer();
+
+        Region third = store.store(new byte[16], 0, 16);
+
+        assertTrue(first.isReclaimed());
+        assertNull(first.getBuffer());
+        assertEquals(16, before.remaining());
+        assertFalse(third.isReclaimed());
+        assertEquals(2, store.getSlabCount());
+
+        store.clear();
+        assertTrue(third.isReclaimed());
+        assertEquals(0, store.getSize());
+        assertEquals(0, store.getSlabCount());
+    }
+
+    @Test
+    public void parseSize() {
+        assertEquals(10L, OffHeapResponseStore.parseSize("10"));
+        assertEquals(2048L, OffHeapResponseStore.parseSize("2KB"));
+        assertEquals(3L * 1024 * 1024, OffHeapResponseStore.parseSize("3mb"));
+        assertEquals(4L * 1024 * 1024, OffHeapResponseStore.parseSize(" 4 MB "));
+        assertEquals(-1L, OffHeapResponseStore.parseSize("0"));
+        assertEquals(-1L, OffHeapResponseStore.parseSize("-5"));
+        assertEquals(-1L, OffHeapResponseStore.parseSize("big"));
+        assertEquals(-1L, OffHeapResponseStore.parseSize(null));
+    }
+
+    @Test
+    public void rejectsInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapResponseStore(0, 16));
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapResponseStore(16, 0));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String body(Region region) {
+        return StandardCharsets.US_ASCII.decode(region.getBuffer()).toString();
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.web.cache.filter;
+
+import com.sun.appserv.util.cache.LruCache;
+import com.sun.appserv.web.cache.CacheHelper;
+import com.sun.appserv.web.cache.OffHeapResponseStore;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachingFilterTest {
+
+    private static final String BODY = "hello, world";
+
+    private final CachingFilter filter = new CachingFilter();
+    private int generated;
+
+    @BeforeEach
+    public void createFilter() throws Exception {
+        LruCache cache = new LruCache();
+        cache.init(16, new Properties());
+        filter.filterName = "test";
+        filter.cache = cache;
+        filter.helper = new TestCacheHelper();
+        filter.isEnabled = true;
+    }
+
+    @Test
+    public void synthesizesWeakETag() throws Exception {
+        TestResponse response = doFilter("GET", null);
+
+        assertEquals(200, response.status);
+        assertEquals(BODY, response.body());
+        String etag = response.headers.get("ETag");
+        assertTrue(etag.matches("W/\"12-[0-9a-f]+\""), etag);
+
+        // the cached response has the same tag
+        TestResponse cached = doFilter("GET", null);
+        assertEquals(BODY, cached.body());
+        assertEquals(etag, cached.headers.get("ETag"));
+        assertEquals(1, generated);
+    }
+
+    @Test
+    public void keepsETagOfResource() throws Exception {
+        FilterChain chain = (request, response) -> {
+            ((HttpServletResponse) response).setHeader("ETag", "\"v1\"");
+            response.getOutputStream().write(BODY.getBytes(StandardCharsets.US_ASCII));
+        };
+        assertEquals("\"v1\"", doFilter("GET", null, chain).headers.get("ETag"));
+
+        TestResponse response = doFilter("GET", "W/\"v1\"", chain);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.status);
+    }
+
+    @Test
+    public void matchingGetIsNotModified() throws Exception {
+        String etag = doFilter("GET", null).headers.get("ETag");
+
+        TestResponse response = doFilter("GET", etag);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.status);
+        assertEquals("", response.body());
+        assertEquals(etag, response.headers.get("ETag"));
+    }
+
+    @Test
+    public void matchingHeadIsNotModified() throws Exception {
+        String etag = doFilter("GET", null).headers.get("ETag");
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, doFilter("HEAD", etag).status);
+    }
+
+    @Test
+    public void tagsAreComparedWeakly() throws Exception {
+        String etag = doFilter("GET", null).headers.get("ETag");
+        String strong = etag.substring(2);
+
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, doFilter("GET", strong).status);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, doFilter("GET", "\"other\", " + etag).status);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, doFilter("GET", "*").status);
+    }
+
+    @Test
+    public void otherTagGetsCachedBody() throws Exception {
+        doFilter("GET", null);
+
+        TestResponse response = doFilter("GET", "W/\"other\"");
+
+        assertEquals(HttpServletResponse.SC_OK, response.status);
+        assertEquals(BODY, response.body());
+        assertEquals(1, generated);
+    }
+
+    @Test
+    public void postGetsCachedBody() throws Exception {
+        String etag = doFilter("GET", null).headers.get("ETag");
+
+        TestResponse response = doFilter("POST", etag);
+
+        assertEquals(HttpServletResponse.SC_OK, response.status);
+        assertEquals(BODY, response.body());
+    }
+
+    @Test
+    public void servesBodyFromStore() throws Exception {
+        OffHeapResponseStore store = new OffHeapResponseStore(1024, 256);
+        filter.store = store;
+        assertEquals(BODY, doFilter("GET", null).body());
+        assertEquals(256, store.getSize());
+
+        assertEquals(BODY, doFilter("GET", null).body());
+        assertEquals(1, generated);
+
+        // a body lost from the store is generated again
+        store.clear();
+        assertEquals(BODY, doFilter("GET", null).body());
+        assertEquals(2, generated);
+    }
+
+    @Test
+    public void replacedEntryReleasesBody() throws Exception {
+        OffHeapResponseStore store = new OffHeapResponseStore(1024, 16);
+        filter.store = store;
+        ((TestCacheHelper) filter.helper).refresh = true;
+
+        doFilter("GET", null);
+        doFilter("GET", null);
+        doFilter("GET", null);
+
+        // the slabs of the replaced bodies are reclaimed
+        assertEquals(3, generated);
+        assertEquals(1, store.getSlabCount());
+    }
+
+    private TestResponse doFilter(String method, String ifNoneMatch) throws Exception {
+        return doFilter(method, ifNoneMatch, (request, response) ->
+            response.getOutputStream().write(BODY.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private TestResponse doFilter(String method, String ifNoneMatch, FilterChain chain) throws Exception {
+        TestResponse response = new TestResponse();
+        filter.doFilter(new TestRequest(method, ifNoneMatch), response, (request, resp) -> {
+            generated++;
+            chain.doFilter(request, resp);
+        });
+        return response;
+    }
+
+    private static final class TestCacheHelper implements CacheHelper {
+
+        boolean refresh;
+
+        @Override
+        public void init(ServletContext context, Map<String, String> props) {
+        }
+
+        @Override
+        public String getCacheKey(HttpServletRequest request) {
+            return "/test";
+        }
+
+        @Override
+        public boolean isCacheable(HttpServletRequest request) {
+            return true;
+        }
+
+        @Override
+        public boolean isRefreshNeeded(HttpServletRequest request) {
+            return refresh;
+        }
+
+        @Override
+        public int getTimeout(HttpServletRequest request) {
+            return 60;
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+
+    private static final class TestRequest extends HttpServletRequestWrapper {
+
+        private final String method;
+        private final String ifNoneMatch;
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        TestRequest(String method, String ifNoneMatch) {
+            super(niceMock(HttpServletRequest.class));
+            this.method = method;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public String getMethod() {
+            return method;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (ifNoneMatch == null || !"If-None-Match".equalsIgnoreCase(name)) {
+                return Collections.emptyEnumeration();
+            }
+            return Collections.enumeration(Collections.singleton(ifNoneMatch));
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+    }
+
+    private static final class TestResponse extends HttpServletResponseWrapper {
+
+        final Map<String, String> headers = new HashMap<>();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int status = HttpServletResponse.SC_OK;
+
+        TestResponse() {
+            super(niceMock(HttpServletResponse.class));
+        }
+
+        String body() {
+            return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            assertNull(headers.put(name, value), name);
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return new ServletOutputStream() {
+
+                @Override
+                public void write(int b) {
+                    out.write(b);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener listener) {
+                }
+            };
+        }
+    }
+
+    private static <T> T niceMock(Class<T> type) {
+        T mock = createNiceMock(type);
+        replay(mock);
+        return mock;
+    }
+}
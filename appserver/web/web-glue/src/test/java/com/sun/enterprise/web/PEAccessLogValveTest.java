@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import com.sun.enterprise.web.StripedAccessLogBufferTest.EntryFormatter;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PEAccessLogValveTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void stopWritesAppendedEntries() throws Exception {
+        PEAccessLogValve valve = createValve();
+        valve.start();
+        for (int i = 0; i < 1000; i++) {
+            valve.postInvoke(null, null);
+        }
+        valve.stop();
+
+        List<Path> files = listFiles();
+        assertEquals(1, files.size());
+        assertEquals(1000, Files.readAllLines(files.get(0)).size());
+    }
+
+    @Test
+    public void rotationWritesQueuedEntriesToPreviousFile() throws Exception {
+        PEAccessLogValve valve = createValve();
+        valve.setRotatable(true);
+        valve.setRotationInterval(3600);
+        valve.setAddDateStampToFirstAccessLogFile(true);
+        valve.setFileDateFormat("HHmmssSSS");
+        valve.start();
+        for (int i = 0; i < 1000; i++) {
+            valve.postInvoke(null, null);
+        }
+        Path first = listFiles().get(0);
+        // The writer thread may rotate too, the first rotation writes all queued entries
+        valve.setRotationInterval(0);
+        Thread.sleep(10L);
+        valve.log();
+
+        List<Path> files = listFiles();
+        assertTrue(files.size() >= 2);
+        assertEquals(first, files.get(0));
+        assertEquals(1000, Files.readAllLines(first).size());
+
+        for (int i = 0; i < 10; i++) {
+            valve.postInvoke(null, null);
+        }
+        valve.stop();
+
+        int lines = 0;
+        for (Path file : listFiles()) {
+            lines += Files.readAllLines(file).size();
+        }
+        assertEquals(1010, lines);
+        assertTrue(Files.readAllLines(first).get(999).startsWith("entry 999 "));
+    }
+
+    private PEAccessLogValve createValve() throws Exception {
+        PEAccessLogValve valve = new PEAccessLogValve();
+        valve.setDirectory(directory.toString());
+        valve.setPrefix("access");
+        valve.setSuffix(".txt");
+        valve.setAsync(true);
+        Field formatter = PEAccessLogValve.class.getDeclaredField("formatter");
+        formatter.setAccessible(true);
+        formatter.set(valve, new EntryFormatter("entry", 100));
+        return valve;
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(toList());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.enterprise.web;
+
+import com.sun.enterprise.web.accesslog.AccessLogFormatter;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.catalina.Request;
+import org.apache.catalina.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedAccessLogBufferTest {
+
+    private static final int BUFFER_SIZE = 1000;
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private FileChannel channel;
+
+    @BeforeEach
+    public void openFile() throws IOException {
+        file = directory.resolve("access.txt");
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    @AfterEach
+    public void closeFile() throws IOException {
+        channel.close();
+    }
+
+    @Test
+    public void writesEntriesOfConcurrentThreads() throws Exception {
+        AtomicInteger wakeUps = new AtomicInteger();
+        Thread[] writer = new Thread[1];
+        StripedAccessLogBuffer buffer = new StripedAccessLogBuffer(BUFFER_SIZE, StandardCharsets.UTF_8, () -> {
+            wakeUps.incrementAndGet();
+            LockSupport.unpark(writer[0]);
+        }, 4);
+        CountDownLatch appended = new CountDownLatch(4);
+        writer[0] = new Thread(() -> {
+            try {
+                while (appended.getCount() > 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10L));
+                    buffer.writeTo(channel);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        writer[0].start();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            String name = "thread" + i;
+            Thread thread = new Thread(() -> {
+                EntryFormatter formatter = new EntryFormatter(name, 50);
+                for (int j = 0; j < 2000; j++) {
+                    buffer.append(formatter, null, null);
+                }
+                appended.countDown();
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer[0].join();
+        buffer.writeTo(channel);
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(8000 - buffer.takeDroppedEntries(), lines.size());
+        // Entries of a thread are written in order
+        Map<String, Integer> sequences = new HashMap<>();
+        for (String line : lines) {
+            String[] fields = line.split(" ");
+            int sequence = Integer.parseInt(fields[1]);
+            assertTrue(sequence > sequences.getOrDefault(fields[0], -1), line);
+            sequences.put(fields[0], sequence);
+        }
+        assertTrue(wakeUps.get() > 0);
+    }
+
+    @Test
+    public void dropsEntriesWhenAllBuffersWaitForWriter() throws Exception {
+        AtomicInteger wakeUps = new AtomicInteger();
+        StripedAccessLogBuffer buffer = new StripedAccessLogBuffer(BUFFER_SIZE, StandardCharsets.US_ASCII,
+            wakeUps::incrementAndGet, 1);
+        // One entry per buffer; a single stripe has four buffers
+        EntryFormatter formatter = new EntryFormatter("entry", BUFFER_SIZE - 1);
+        for (int i = 0; i < 4; i++) {
+            buffer.append(formatter, null, null);
+        }
+        assertEquals(3, wakeUps.get());
+        assertEquals(0L, buffer.takeDroppedEntries());
+
+        long start = System.nanoTime();
+        buffer.append(formatter, null, null);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(
+            StripedAccessLogBuffer.FREE_BUFFER_WAIT_MILLIS));
+        assertEquals(4, wakeUps.get());
+        assertEquals(1L, buffer.takeDroppedEntries());
+        assertEquals(0L, buffer.takeDroppedEntries());
+
+        buffer.writeTo(channel);
+        assertEquals(4, Files.readAllLines(file).size());
+
+        buffer.append(formatter, null, null);
+        buffer.writeTo(channel);
+        assertEquals(5, Files.readAllLines(file).size());
+        assertEquals(0L, buffer.takeDroppedEntries());
+    }
+
+    @Test
+    public void waitingThreadContinuesWhenWriterFreesBuffers() throws Exception {
+        CountDownLatch waiting = new CountDownLatch(4);
+        StripedAccessLogBuffer buffer = new StripedAccessLogBuffer(BUFFER_SIZE, StandardCharsets.US_ASCII,
+            waiting::countDown, 1);
+        EntryFormatter formatter = new EntryFormatter("entry", BUFFER_SIZE - 1);
+        for (int i = 0; i < 4; i++) {
+            buffer.append(formatter, null, null);
+        }
+        Thread thread = new Thread(() -> buffer.append(formatter, null, null));
+        thread.start();
+        assertTrue(waiting.await(10, TimeUnit.SECONDS));
+
+        buffer.writeTo(channel);
+        thread.join();
+        buffer.writeTo(channel);
+
+        assertFalse(thread.isAlive());
+        assertEquals(0L, buffer.takeDroppedEntries());
+        assertEquals(5, Files.readAllLines(file).size());
+    }
+
+    /**
+     * Appends the name, a sequence number and padding up to the given length.
+     */
+    static final class EntryFormatter extends AccessLogFormatter {
+
+        private final String name;
+        private final int length;
+        private int sequence;
+
+        EntryFormatter(String name, int length) {
+            super(null);
+            this.name = name;
+            this.length = length;
+        }
+
+        @Override
+        public void appendLogEntry(Request request, Response response, CharBuffer charBuffer) {
+            int start = charBuffer.position();
+            charBuffer.put(name).put(' ').put(Integer.toString(sequence++)).put(' ');
+            while (charBuffer.position() - start < length) {
+                charBuffer.put('x');
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encoding of the state of a {@link SessionAttributeMetadata.Operation#DELTA}
+ * attribute: the version of the attribute followed by either its full
+ * serialized state, or the version the replica must hold and a
+ * {@link BinaryDelta} against the state of that version.
+ */
+final class AttributeDeltas {
+
+    private static final byte FULL = 0;
+    private static final byte DIFF = 1;
+
+    private AttributeDeltas() {
+    }
+
+    static byte[] full(long version, byte[] state) {
+        ByteBuffer buffer = ByteBuffer.allocate(9 + state.length);
+        buffer.put(FULL).putLong(version).put(state);
+        return buffer.array();
+    }
+
+    static byte[] diff(long baseVersion, long version, byte[] delta) {
+        ByteBuffer buffer = ByteBuffer.allocate(17 + delta.length);
+        buffer.put(DIFF).putLong(version).putLong(baseVersion).put(delta);
+        return buffer.array();
+    }
+
+    /**
+     * Apply a DELTA attribute to the state held by the replica.
+     *
+     * @param attributeName the attribute name
+     * @param current the attribute held by the replica, or null
+     * @param data the state of the DELTA attribute
+     * @return the new attribute, or null if the delta was computed against a
+     *         version the replica does not hold
+     * @throws IOException if the data is malformed
+     */
+    static SessionAttributeMetadata apply(String attributeName,
+            SessionAttributeMetadata current, byte[] data) throws IOException {
+        if (data.length < 9) {
+            throw new IOException("Malformed attribute delta");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte kind = buffer.get();
+        long version = buffer.getLong();
+        if (kind == FULL) {
+            return new SessionAttributeMetadata(attributeName,
+                SessionAttributeMetadata.Operation.UPDATE,
+                Arrays.copyOfRange(data, 9, data.length), version);
+        }
+        if (kind != DIFF || data.length < 17) {
+            throw new IOException("Malformed attribute delta");
+        }
+
+        long baseVersion = buffer.getLong();
+        if (current == null || current.getState() == null
+                || current.getVersion() != baseVersion) {
+            return null;
+        }
+        byte[] state = BinaryDelta.apply(current.getState(),
+            Arrays.copyOfRange(data, 17, data.length));
+        return new SessionAttributeMetadata(attributeName,
+            SessionAttributeMetadata.Operation.UPDATE, state, version);
+    }
+}
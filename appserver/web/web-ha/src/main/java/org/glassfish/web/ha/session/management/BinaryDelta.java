@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+/**
+ * Binary diff of two byte arrays, used to replicate a modified session
+ * attribute as the difference between its serialized state and the state
+ * the replica already holds.
+ * <p>
+ * The base is indexed in blocks of {@link #BLOCK_SIZE} bytes. The target is
+ * scanned for blocks found in the base; matches are extended in both
+ * directions and encoded as copies from the base, everything else as
+ * literal bytes. A delta starts with the length and the CRC32 of its base,
+ * so it is never applied to a different base.
+ */
+final class BinaryDelta {
+
+    static final int BLOCK_SIZE = 16;
+
+    private static final int COPY = 0;
+    private static final int INSERT = 1;
+
+    private BinaryDelta() {
+    }
+
+    /**
+     * @param base the state the replica holds
+     * @param target the new state
+     * @return the delta, or <code>null</code> if it is not smaller than the
+     *         target
+     */
+    static byte[] encode(byte[] base, byte[] target) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(target.length, 256));
+        writeVarInt(out, base.length);
+        writeInt(out, crc(base));
+        writeVarInt(out, target.length);
+
+        int[] index = index(base);
+        int mask = index.length - 1;
+        int literalStart = 0;
+        int pos = 0;
+        int limit = target.length - BLOCK_SIZE;
+        while (pos <= limit) {
+            int candidate = index[hash(target, pos) & mask] - 1;
+            if (candidate < 0 || !equal(base, candidate, target, pos, BLOCK_SIZE)) {
+                pos++;
+                continue;
+            }
+
+            // extend the match backwards into the pending literal
+            int start = pos;
+            int baseStart = candidate;
+            while (start > literalStart && baseStart > 0
+                    && target[start - 1] == base[baseStart - 1]) {
+                start--;
+                baseStart--;
+            }
+            int end = pos + BLOCK_SIZE;
+            int baseEnd = candidate + BLOCK_SIZE;
+            while (end < target.length && baseEnd < base.length
+                    && target[end] == base[baseEnd]) {
+                end++;
+                baseEnd++;
+            }
+
+            writeInsert(out, target, literalStart, start - literalStart);
+            out.write(COPY);
+            writeVarInt(out, baseStart);
+            writeVarInt(out, end - start);
+            if (out.size() >= target.length) {
+                return null;
+            }
+            pos = end;
+            literalStart = end;
+        }
+        writeInsert(out, target, literalStart, target.length - literalStart);
+
+        return out.size() < target.length ? out.toByteArray() : null;
+    }
+
+    /**
+     * @param base the state the delta was computed against
+     * @param delta a delta created by {@link #encode(byte[], byte[])}
+     * @return the new state
+     * @throws IOException if the delta is malformed or was computed
+     *         against another base
+     */
+    static byte[] apply(byte[] base, byte[] delta) throws IOException {
+        int[] pos = new int[1];
+        int baseLength = readVarInt(delta, pos);
+        int baseCrc = readInt(delta, pos);
+        if (baseLength != base.length || baseCrc != crc(base)) {
+            throw new IOException("Delta does not match its base");
+        }
+
+        // every operation takes at least two bytes and copies at most the
+        // whole base, so a larger target cannot be valid
+        int targetLength = readVarInt(delta, pos);
+        long maxTargetLength = (long) delta.length * Math.max(1, base.length);
+        if (targetLength < 0 || targetLength > maxTargetLength) {
+            throw new IOException("Malformed delta");
+        }
+        byte[] target = new byte[targetLength];
+        int targetPos = 0;
+        while (pos[0] < delta.length) {
+            int op = delta[pos[0]++];
+            if (op == COPY) {
+                int offset = readVarInt(delta, pos);
+                int length = readVarInt(delta, pos);
+                checkRange(offset, length, base.length);
+                checkRange(targetPos, length, target.length);
+                System.arraycopy(base, offset, target, targetPos, length);
+                targetPos += length;
+            } else if (op == INSERT) {
+                int length = readVarInt(delta, pos);
+                checkRange(pos[0], length, delta.length);
+                checkRange(targetPos, length, target.length);
+                System.arraycopy(delta, pos[0], target, targetPos, length);
+                pos[0] += length;
+                targetPos += length;
+            } else {
+                throw new IOException("Unknown delta operation " + op);
+            }
+        }
+        if (targetPos != target.length) {
+            throw new IOException("Truncated delta");
+        }
+        return target;
+    }
+
+    // index of the aligned blocks of the base, by hash; 0 is an empty slot
+    private static int[] index(byte[] base) {
+        int blocks = base.length / BLOCK_SIZE;
+        int capacity = Integer.highestOneBit(Math.max(16, blocks * 2) - 1) << 1;
+        int[] index = new int[capacity];
+        int mask = capacity - 1;
+        for (int offset = 0; offset + BLOCK_SIZE <= base.length; offset += BLOCK_SIZE) {
+            int slot = hash(base, offset) & mask;
+            // keep the first occurrence of a block
+            if (index[slot] == 0) {
+                index[slot] = offset + 1;
+            }
+        }
+        return index;
+    }
+
+    private static int hash(byte[] bytes, int offset) {
+        int h = 0;
+        for (int i = offset; i < offset + BLOCK_SIZE; i++) {
+            h = 31 * h + bytes[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean equal(byte[] a, int aOffset, byte[] b, int bOffset, int length) {
+        if (aOffset + length > a.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (a[aOffset + i] != b[bOffset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    private static void checkRange(int offset, int length, int size) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > size || offset + length < 0) {
+            throw new IOException("Malformed delta");
+        }
+    }
+
+    private static void writeInsert(ByteArrayOutputStream out, byte[] target, int offset, int length) {
+        if (length > 0) {
+            out.write(INSERT);
+            writeVarInt(out, length);
+            out.write(target, offset, length);
+        }
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static int readVarInt(byte[] bytes, int[] pos) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (pos[0] >= bytes.length) {
+                throw new IOException("Truncated delta");
+            }
+            int b = bytes[pos[0]++];
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed delta");
+    }
+
+    private static int readInt(byte[] bytes, int[] pos) throws IOException {
+        if (pos[0] + 4 > bytes.length) {
+            throw new IOException("Truncated delta");
+        }
+        int value = ((bytes[pos[0]] & 0xFF) << 24) | ((bytes[pos[0] + 1] & 0xFF) << 16)
+            | ((bytes[pos[0] + 2] & 0xFF) << 8) | (bytes[pos[0] + 3] & 0xFF);
+        pos[0] += 4;
+        return value;
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -219,7 +220,8 @@ public final class CompositeMetadata implements Storeable {
                         dos.write(attrNameData);
 
                         if ((attr.getOperation() == SessionAttributeMetadata.Operation.ADD) ||
-                                attr.getOperation() == SessionAttributeMetadata.Operation.UPDATE) {
+                                attr.getOperation() == SessionAttributeMetadata.Operation.UPDATE ||
+                                attr.getOperation() == SessionAttributeMetadata.Operation.DELTA) {
                             byte[] attrData = attr.getState();
                             if (attrData == null) {
                                 dos.writeInt(0);
@@ -298,6 +300,22 @@ public final class CompositeMetadata implements Storeable {
                                 attributesMap.put(attrName, new SessionAttributeMetadata(attrName, smdOpcode, attrData));
                                 break;
 
+                            case DELTA:
+                                int deltaLen = dis.readInt();
+                                byte[] deltaData = new byte[deltaLen];
+                                dis.readFully(deltaData);
+                                SessionAttributeMetadata attr = AttributeDeltas.apply(attrName,
+                                        attributesMap.get(attrName), deltaData);
+                                if (attr == null) {
+                                    // computed against a state this replica
+                                    // does not hold; a stale value would be
+                                    // worse than none
+                                    attributesMap.remove(attrName);
+                                } else {
+                                    attributesMap.put(attrName, attr);
+                                }
+                                break;
+
                             case DELETE:
                                 attributesMap.remove(attrName);
                                 break;
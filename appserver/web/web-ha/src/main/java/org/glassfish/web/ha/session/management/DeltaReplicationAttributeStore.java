@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import com.sun.enterprise.container.common.spi.util.JavaEEIOUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.apache.catalina.Session;
+import org.apache.catalina.session.StandardSession;
+
+/**
+ * A {@link ReplicationAttributeStore} replicating modified attributes as
+ * binary deltas, used for the "modified-attribute-delta" persistence scope.
+ * <p>
+ * Each session keeps, in a note, the version and the serialized state of its
+ * attributes as last saved to its replica. An added or modified attribute is
+ * sent as a {@link SessionAttributeMetadata.Operation#DELTA} holding either a
+ * {@link BinaryDelta} against that state, or the full state if there is none
+ * or the delta would not be smaller. Attributes whose state did not change at
+ * all are not sent. The replica applies a delta only to the version it was
+ * computed against and drops the attribute otherwise.
+ * <p>
+ * The backing store does not confirm that the replica applied a delta, only
+ * which instance it sent the session to. The states sent are used as bases
+ * for further deltas only if they went to the same replica as their bases.
+ * After a failover, or when the backing store picked another replica, e.g.
+ * while the previous one restarted, the session is saved again at once with
+ * the full state of all its attributes. The full state of an attribute is
+ * also sent again after {@link #MAX_DELTAS} deltas.
+ * <p>
+ * The states kept as bases add to the memory of every replicated session, so
+ * a state is kept only up to {@link #MAX_BASE_SIZE} bytes and while the states
+ * kept for its session total at most {@link #MAX_SESSION_BASE_SIZE} bytes.
+ * Attributes without a base are sent in full, i.e. as they would be by the
+ * "modified-attribute" scope.
+ * <p>
+ * Saves of a session by concurrent requests are coalesced: while a save is
+ * in progress, other saves of the session only mark it to be saved again,
+ * which the saving thread does once its save completed, sending all changes
+ * made in the meantime in a single message.
+ */
+public class DeltaReplicationAttributeStore extends ReplicationAttributeStore {
+
+    static final String DELTA_STATE_NOTE =
+        "org.glassfish.web.ha.session.management.DeltaReplicationState";
+
+    /**
+     * Max number of consecutive deltas of an attribute
+     */
+    static final int MAX_DELTAS = 32;
+
+    /**
+     * States larger than this are not kept as a base for deltas
+     */
+    static final int MAX_BASE_SIZE = 64 * 1024;
+
+    /**
+     * Max total size of the states kept as bases for the deltas of a session
+     */
+    static final int MAX_SESSION_BASE_SIZE = 256 * 1024;
+
+    public DeltaReplicationAttributeStore(JavaEEIOUtils ioUtils) {
+        super(ioUtils);
+    }
+
+    @Override
+    public void doValveSave(Session session) throws IOException {
+        DeltaState state = getDeltaState(session);
+        if (!state.beginSave()) {
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.fine("DeltaReplicationAttributeStore>>doValveSave: coalesced save of " + session.getIdInternal());
+            }
+            return;
+        }
+        boolean done = false;
+        try {
+            do {
+                super.doValveSave(session);
+            } while (state.saveAgain());
+            done = true;
+        } finally {
+            if (!done) {
+                state.rollback();
+                state.endSave();
+            }
+        }
+    }
+
+    @Override
+    public void doSave(Session session) throws IOException {
+        DeltaState state = getDeltaState(session);
+        if (!state.beginSave()) {
+            return;
+        }
+        boolean done = false;
+        try {
+            do {
+                super.doSave(session);
+            } while (state.saveAgain());
+            done = true;
+        } finally {
+            if (!done) {
+                state.rollback();
+                state.endSave();
+            }
+        }
+    }
+
+    @Override
+    protected CompositeMetadata createCompositeMetadata(ModifiedAttributeHASession modAttrSession) {
+        DeltaState state = getDeltaState(modAttrSession);
+
+        byte[] trunkState = null;
+        if (modAttrSession.isNew()) {
+            try {
+                trunkState = this.getByteArray(modAttrSession);
+            } catch(IOException ex) {
+                //no op
+            }
+        }
+
+        state.clearPending();
+        List<SessionAttributeMetadata> entries = new ArrayList<SessionAttributeMetadata>();
+        Map<String, Object> attributes = ((StandardSession) modAttrSession).getAttributes();
+        if (state.resync) {
+            // the replica may lack any of the attributes; the bases were
+            // dropped, so all of them are sent in full
+            addDeltaEntries(modAttrSession, state, entries, new ArrayList<String>(attributes.keySet()));
+        } else {
+            addDeltaEntries(modAttrSession, state, entries, modAttrSession.getAddedAttributes());
+            addDeltaEntries(modAttrSession, state, entries, modAttrSession.getModifiedAttributes());
+        }
+        for (String name : modAttrSession.getDeletedAttributes()) {
+            entries.add(new SessionAttributeMetadata(name,
+                SessionAttributeMetadata.Operation.DELETE, null));
+            state.putPending(name, null);
+        }
+        state.sendsAll = state.coversAll(attributes.keySet());
+
+        return new CompositeMetadata(modAttrSession.getVersion(),
+                modAttrSession.getLastAccessedTimeInternal(),
+                modAttrSession.getMaxInactiveInterval()*1000L,
+                entries, trunkState, null);
+    }
+
+    @Override
+    protected void compositeMetadataSaved(ModifiedAttributeHASession modAttrSession,
+            CompositeMetadata compositeMetadata, String replica) {
+        DeltaState state = getDeltaState(modAttrSession);
+        if (replica != null && (state.sendsAll || replica.equals(state.replica))) {
+            state.commit();
+            state.replica = replica;
+            state.resync = false;
+            return;
+        }
+
+        // The replica may not hold the bases of the deltas just sent, and
+        // drops those attributes
+        state.invalidate();
+        state.replica = replica;
+        if (replica != null) {
+            if (_logger.isLoggable(Level.FINE)) {
+                _logger.fine("DeltaReplicationAttributeStore: replica of " + modAttrSession.getIdInternal()
+                    + " is now " + replica + ", sending all attributes");
+            }
+            state.resync = true;
+            state.requestSave();
+        }
+    }
+
+    @Override
+    protected void compositeMetadataNotSaved(ModifiedAttributeHASession modAttrSession,
+            CompositeMetadata compositeMetadata) {
+        getDeltaState(modAttrSession).rollback();
+    }
+
+    private void addDeltaEntries(ModifiedAttributeHASession modAttrSession,
+            DeltaState state, List<SessionAttributeMetadata> entries,
+            List<String> attrList) {
+        for (int i = 0; i < attrList.size(); i++) {
+            String name = attrList.get(i);
+            Object value = ((StandardSession) modAttrSession).getAttribute(name);
+            AttributeVersion acked = state.acked.get(name);
+
+            byte[] bytes;
+            try {
+                bytes = getByteArray(value);
+            } catch (IOException ex) {
+                if (_logger.isLoggable(Level.FINE)) {
+                    _logger.log(Level.FINE, "Cannot serialize session attribute " + name, ex);
+                }
+                // the replica must not keep the previous state
+                entries.add(new SessionAttributeMetadata(name,
+                    SessionAttributeMetadata.Operation.DELETE, null));
+                state.putPending(name, null);
+                continue;
+            }
+
+            byte[] data = null;
+            int deltas = 0;
+            long version = (acked == null) ? 1L : acked.version + 1;
+            if (acked != null && acked.state != null && acked.deltas < MAX_DELTAS) {
+                if (Arrays.equals(acked.state, bytes)) {
+                    // unchanged, e.g. set again with the same value
+                    continue;
+                }
+                byte[] delta = BinaryDelta.encode(acked.state, bytes);
+                if (delta != null) {
+                    data = AttributeDeltas.diff(acked.version, version, delta);
+                    deltas = acked.deltas + 1;
+                }
+            }
+            if (data == null) {
+                data = AttributeDeltas.full(version, bytes);
+            }
+
+            entries.add(new SessionAttributeMetadata(name,
+                SessionAttributeMetadata.Operation.DELTA, data));
+            state.putPending(name, new AttributeVersion(version,
+                state.canKeepBase(name, bytes.length) ? bytes : null, deltas));
+        }
+    }
+
+    static DeltaState getDeltaState(Session session) {
+        DeltaState state = (DeltaState) session.getNote(DELTA_STATE_NOTE);
+        if (state == null) {
+            synchronized (session) {
+                state = (DeltaState) session.getNote(DELTA_STATE_NOTE);
+                if (state == null) {
+                    state = new DeltaState();
+                    session.setNote(DELTA_STATE_NOTE, state);
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * An attribute state as acknowledged by the backing store
+     */
+    static final class AttributeVersion {
+        final long version;
+        // null if not kept as a base for deltas
+        final byte[] state;
+        // number of deltas since the full state was sent
+        final int deltas;
+
+        AttributeVersion(long version, byte[] state, int deltas) {
+            this.version = version;
+            this.state = state;
+            this.deltas = deltas;
+        }
+    }
+
+    /**
+     * The replication state of a session. Only the thread saving the session
+     * accesses the attribute versions.
+     */
+    static final class DeltaState {
+
+        // acknowledged attribute versions, by attribute name
+        final Map<String, AttributeVersion> acked = new HashMap<String, AttributeVersion>();
+
+        // versions of the save in progress; null for a deleted attribute.
+        // Updated through putPending, which keeps pendingBaseSize.
+        final Map<String, AttributeVersion> pending = new HashMap<String, AttributeVersion>();
+
+        // total size of the acknowledged states
+        long ackedBaseSize;
+
+        // change of ackedBaseSize once the pending versions are acknowledged
+        long pendingBaseSize;
+
+        // the instance holding the acknowledged versions, null if unknown
+        String replica;
+
+        // true if the next save has to send the full state of all attributes
+        boolean resync;
+
+        // true if the save in progress sends the full state of all attributes
+        boolean sendsAll;
+
+        // Guarded by this
+        private boolean saving;
+        private boolean saveRequested;
+
+        /**
+         * @return true if the caller has to save the session, false if a
+         *         save is in progress and will save it again
+         */
+        synchronized boolean beginSave() {
+            if (saving) {
+                saveRequested = true;
+                return false;
+            }
+            saving = true;
+            return true;
+        }
+
+        /**
+         * @return true if the session has to be saved again, otherwise the
+         *         save ends
+         */
+        synchronized boolean saveAgain() {
+            if (saveRequested) {
+                saveRequested = false;
+                return true;
+            }
+            saving = false;
+            return false;
+        }
+
+        synchronized void endSave() {
+            saving = false;
+            saveRequested = false;
+        }
+
+        /**
+         * Makes the thread saving the session save it again.
+         */
+        synchronized void requestSave() {
+            saveRequested = true;
+        }
+
+        /**
+         * @return true if the state of the given attribute can be kept as a
+         *         base, i.e. it is not larger than {@link #MAX_BASE_SIZE} and
+         *         the states of the session would not exceed
+         *         {@link #MAX_SESSION_BASE_SIZE} once acknowledged
+         */
+        boolean canKeepBase(String name, int length) {
+            if (length > MAX_BASE_SIZE) {
+                return false;
+            }
+            long others = ackedBaseSize + pendingBaseSize - size(acked.get(name));
+            if (pending.containsKey(name)) {
+                others -= size(pending.get(name)) - size(acked.get(name));
+            }
+            return others + length <= MAX_SESSION_BASE_SIZE;
+        }
+
+        void putPending(String name, AttributeVersion version) {
+            int ackedSize = size(acked.get(name));
+            if (pending.containsKey(name)) {
+                pendingBaseSize -= size(pending.get(name)) - ackedSize;
+            }
+            pending.put(name, version);
+            pendingBaseSize += size(version) - ackedSize;
+        }
+
+        void clearPending() {
+            pending.clear();
+            pendingBaseSize = 0L;
+        }
+
+        /**
+         * @return true if the pending versions are full states of all the
+         *         given attributes
+         */
+        boolean coversAll(Collection<String> attributeNames) {
+            for (String name : attributeNames) {
+                if (!pending.containsKey(name)) {
+                    return false;
+                }
+                AttributeVersion version = pending.get(name);
+                if (version != null && version.deltas > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void commit() {
+            for (Map.Entry<String, AttributeVersion> entry : pending.entrySet()) {
+                if (entry.getValue() == null) {
+                    acked.remove(entry.getKey());
+                } else {
+                    acked.put(entry.getKey(), entry.getValue());
+                }
+            }
+            ackedBaseSize += pendingBaseSize;
+            clearPending();
+        }
+
+        void rollback() {
+            // the replica may or may not hold the new states; send the full
+            // states next time, keeping the versions increasing
+            for (Map.Entry<String, AttributeVersion> entry : pending.entrySet()) {
+                AttributeVersion version = entry.getValue();
+                if (version == null) {
+                    version = acked.get(entry.getKey());
+                }
+                if (version != null) {
+                    ackedBaseSize -= size(acked.get(entry.getKey()));
+                    acked.put(entry.getKey(), new AttributeVersion(version.version, null, 0));
+                }
+            }
+            clearPending();
+        }
+
+        /**
+         * Drops the states of all attributes, so that no delta is sent
+         * against a state the replica may not hold.
+         */
+        void invalidate() {
+            rollback();
+            for (Map.Entry<String, AttributeVersion> entry : acked.entrySet()) {
+                AttributeVersion version = entry.getValue();
+                if (version.state != null) {
+                    entry.setValue(new AttributeVersion(version.version, null, 0));
+                }
+            }
+            ackedBaseSize = 0L;
+        }
+
+        private static int size(AttributeVersion version) {
+            return (version == null || version.state == null) ? 0 : version.state.length;
+        }
+    }
+}
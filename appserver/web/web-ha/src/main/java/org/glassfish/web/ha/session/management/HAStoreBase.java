@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -46,6 +47,11 @@ public abstract class HAStoreBase extends StoreBase {
 
     static final Logger _logger = LogFacade.getLogger();
 
+    /**
+     * The buffers sessions and attributes are serialized into
+     */
+    static final SerializationBufferPool bufferPool = new SerializationBufferPool();
+
 
     /** Creates a new instance of HAStoreBase */
     public HAStoreBase(JavaEEIOUtils ioUtils) {
@@ -162,32 +168,33 @@ public abstract class HAStoreBase extends StoreBase {
     */
     protected byte[] getByteArray(Session session, boolean compress)
       throws IOException {
-        ByteArrayOutputStream bos = null;
+        // the object stream buffers its output, the pooled buffer does not
+        // need another buffered stream in front of it
+        SerializationBufferPool.Buffer bos = bufferPool.acquire();
         ObjectOutputStream oos = null;
 
 
 
         byte[] obs;
         try {
-            bos = new ByteArrayOutputStream();
             // ObjectInputOutputStreamFactory oiosf = ObjectInputOutputStreamFactoryFactory.getFactory();
 
 
             try {
                 if (compress) {
                     oos = ioUtils.createObjectOutputStream(
-                        new GZIPOutputStream(new BufferedOutputStream(bos)), true);
+                        new GZIPOutputStream(bos), true);
                 } else {
-                    oos = ioUtils.createObjectOutputStream(new BufferedOutputStream(bos), true);
+                    oos = ioUtils.createObjectOutputStream(bos, true);
                 }
             } catch (Exception ex) {}
 
             //use normal ObjectOutputStream if there is a failure during stream creation
             if(oos == null) {
                 if (compress) {
-                    oos = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(bos)));
+                    oos = new ObjectOutputStream(new GZIPOutputStream(bos));
                 } else {
-                    oos = new ObjectOutputStream(new BufferedOutputStream(bos));
+                    oos = new ObjectOutputStream(bos);
                 }
             }
 
@@ -199,8 +206,12 @@ public abstract class HAStoreBase extends StoreBase {
             //for monitoring
         }
         finally {
-            if ( oos != null )  {
-                oos.close();
+            try {
+                if ( oos != null )  {
+                    oos.close();
+                }
+            } finally {
+                bufferPool.release(bos);
             }
         }
 
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -140,12 +140,14 @@ public class ReplicationAttributeStore extends ReplicationStore {
             if (_logger.isLoggable(Level.FINE)) {
                 _logger.fine("CompositeMetadata is " + compositeMetadata + " id is " + session.getIdInternal());
             }
-            replicator.save(session.getIdInternal(), //id
+            String replica = replicator.save(session.getIdInternal(), //id
                     compositeMetadata, !((HASession) session).isPersistent());
+            compositeMetadataSaved(modAttrSession, compositeMetadata, replica);
             modAttrSession.resetAttributeState();
             postSaveUpdate(modAttrSession);
         } catch (BackingStoreException ex) {
             //FIXME
+            compositeMetadataNotSaved(modAttrSession, compositeMetadata);
         }
     }
 
@@ -185,12 +187,14 @@ public class ReplicationAttributeStore extends ReplicationStore {
                 _logger.fine("CompositeMetadata is " + compositeMetadata + " id is " + session.getIdInternal());
             }
 
-            replicator.save(session.getIdInternal(), //id
+            String replica = replicator.save(session.getIdInternal(), //id
                     compositeMetadata, !((HASession) session).isPersistent());
+            compositeMetadataSaved(modAttrSession, compositeMetadata, replica);
             modAttrSession.resetAttributeState();
             postSaveUpdate(modAttrSession);
         } catch (BackingStoreException ex) {
             //FIXME
+            compositeMetadataNotSaved(modAttrSession, compositeMetadata);
         }
     }
 
@@ -382,7 +386,26 @@ public class ReplicationAttributeStore extends ReplicationStore {
         }
     }
 
-    private CompositeMetadata createCompositeMetadata(ModifiedAttributeHASession modAttrSession) {
+    /**
+     * called after the backing store saved the metadata of a session
+     * @param modAttrSession the session
+     * @param compositeMetadata the saved metadata
+     * @param replica the instance the backing store saved it to, or null if unknown
+     */
+    protected void compositeMetadataSaved(ModifiedAttributeHASession modAttrSession,
+            CompositeMetadata compositeMetadata, String replica) {
+    }
+
+    /**
+     * called if the backing store failed to save the metadata of a session
+     * @param modAttrSession the session
+     * @param compositeMetadata the metadata
+     */
+    protected void compositeMetadataNotSaved(ModifiedAttributeHASession modAttrSession,
+            CompositeMetadata compositeMetadata) {
+    }
+
+    protected CompositeMetadata createCompositeMetadata(ModifiedAttributeHASession modAttrSession) {
 
         byte[] trunkState = null;
         if (modAttrSession.isNew()) {
@@ -459,22 +482,19 @@ public class ReplicationAttributeStore extends ReplicationStore {
     */
     protected byte[] getByteArray(Object attributeValue)
       throws IOException {
-        ByteArrayOutputStream bos = null;
+        SerializationBufferPool.Buffer bos = bufferPool.acquire();
         ObjectOutputStream oos = null;
 
 
         byte[] obs;
         try {
-            bos = new ByteArrayOutputStream();
-
-
             try {
-                oos = ioUtils.createObjectOutputStream(new BufferedOutputStream(bos), true);
+                oos = ioUtils.createObjectOutputStream(bos, true);
             } catch (Exception ex) {}
 
             //use normal ObjectOutputStream if there is a failure during stream creation
             if(oos == null) {
-                oos = new ObjectOutputStream(new BufferedOutputStream(bos));
+                oos = new ObjectOutputStream(bos);
             }
             oos.writeObject(attributeValue);
             oos.close();
@@ -483,8 +503,12 @@ public class ReplicationAttributeStore extends ReplicationStore {
             obs = bos.toByteArray();
         }
         finally {
-            if ( oos != null )  {
-                oos.close();
+            try {
+                if ( oos != null )  {
+                    oos.close();
+                }
+            } finally {
+                bufferPool.release(bos);
             }
         }
 
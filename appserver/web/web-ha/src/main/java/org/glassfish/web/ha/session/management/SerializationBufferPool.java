@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pool of the buffers sessions and attributes are serialized into before
+ * they are replicated, so the buffers do not have to grow from scratch for
+ * each save. Buffers which grew larger than {@link #MAX_RETAINED_CAPACITY}
+ * are not pooled.
+ */
+final class SerializationBufferPool {
+
+    static final int MAX_POOLED = 32;
+
+    static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final ArrayBlockingQueue<Buffer> buffers = new ArrayBlockingQueue<Buffer>(MAX_POOLED);
+
+    Buffer acquire() {
+        Buffer buffer = buffers.poll();
+        return (buffer == null) ? new Buffer() : buffer;
+    }
+
+    void release(Buffer buffer) {
+        if (buffer.capacity() <= MAX_RETAINED_CAPACITY) {
+            buffer.reset();
+            buffers.offer(buffer);
+        }
+    }
+
+    int size() {
+        return buffers.size();
+    }
+
+    static final class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(INITIAL_CAPACITY);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
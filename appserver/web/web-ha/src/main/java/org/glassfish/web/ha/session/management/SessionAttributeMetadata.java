@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -39,17 +40,31 @@ import java.io.Serializable;
  */
 public final class SessionAttributeMetadata implements Serializable {
 
+    // the value computed for the class before the version was added, so
+    // the serialized form stays compatible
+    private static final long serialVersionUID = -8914522790521066142L;
+
     private String attributeName;
 
     private Operation opcode;
 
     private byte[] data;
 
+    // version of the data, for the attributes of the delta replication;
+    // kept in the serialized form, 0 when read from an older release
+    private long version;
+
     /**
      * Operation to be performed on this attribute
      */
     public enum Operation {
-        ADD, DELETE, UPDATE
+        ADD, DELETE, UPDATE,
+
+        /**
+         * The data is a full state or a binary delta against the previous
+         * state, both with the version of the attribute.
+         */
+        DELTA
     };
 
     /**
@@ -68,6 +83,23 @@ public final class SessionAttributeMetadata implements Serializable {
         this.data = data;
     }
 
+    /**
+     * Construct an AtributeMetadata with the version of its data
+     *
+     * @param attributeName
+     *            the attribute name
+     * @param opcode
+     *            The operation to be performed on the AttrbuteMetadata
+     * @param data
+     *            The attribute data
+     * @param version
+     *            The version of the attribute data
+     */
+    public SessionAttributeMetadata(String attributeName, Operation opcode, byte[] data, long version) {
+        this(attributeName, opcode, data);
+        this.version = version;
+    }
+
     /**
      * Returns name of the attribute
      *
@@ -95,6 +127,15 @@ public final class SessionAttributeMetadata implements Serializable {
         return data;
     }
 
+    /**
+     * Get the version of the attribute data, if replicated with deltas
+     *
+     * @return the version, or 0 if unknown
+     */
+    public long getVersion() {
+        return version;
+    }
+
     public boolean equals(Object obj) {
         if (this == obj) {
             return true;
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -75,6 +76,11 @@ public class ReplicatedWebMethodSessionStrategyBuilder extends BasePersistenceSt
                     new ModifiedAttributeSessionFactory(),
                     new ReplicationAttributeStore(ioUtils),
                     ctx, serverConfigLookup);
+        } else if (this.getPersistenceScope().equals("modified-attribute-delta")) {
+            setupReplicationWebEventPersistentManager(CompositeMetadata.class,
+                    new ModifiedAttributeSessionFactory(),
+                    new DeltaReplicationAttributeStore(ioUtils),
+                    ctx, serverConfigLookup);
         } else {
             throw new IllegalArgumentException(this.getPersistenceScope());
         }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.glassfish.web.ha.session.management.SessionAttributeMetadata.Operation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AttributeDeltasTest {
+
+    private final byte[] base = new byte[1024];
+    private final byte[] target;
+
+    public AttributeDeltasTest() {
+        new Random(42L).nextBytes(base);
+        target = base.clone();
+        target[100] ^= 1;
+    }
+
+    @Test
+    public void appliesFullState() throws Exception {
+        SessionAttributeMetadata attribute = AttributeDeltas.apply("cart", null, AttributeDeltas.full(3L, target));
+        assertEquals("cart", attribute.getAttributeName());
+        assertEquals(Operation.UPDATE, attribute.getOperation());
+        assertEquals(3L, attribute.getVersion());
+        assertArrayEquals(target, attribute.getState());
+    }
+
+    @Test
+    public void appliesDiffToItsBaseVersion() throws Exception {
+        byte[] data = AttributeDeltas.diff(3L, 4L, BinaryDelta.encode(base, target));
+        SessionAttributeMetadata attribute = AttributeDeltas.apply("cart", current(3L), data);
+        assertEquals(Operation.UPDATE, attribute.getOperation());
+        assertEquals(4L, attribute.getVersion());
+        assertArrayEquals(target, attribute.getState());
+    }
+
+    @Test
+    public void ignoresDiffWithoutItsBaseVersion() throws Exception {
+        byte[] data = AttributeDeltas.diff(3L, 4L, BinaryDelta.encode(base, target));
+        assertNull(AttributeDeltas.apply("cart", null, data));
+        assertNull(AttributeDeltas.apply("cart", current(2L), data));
+        assertNull(AttributeDeltas.apply("cart", new SessionAttributeMetadata("cart", Operation.UPDATE, null, 3L),
+            data));
+    }
+
+    @Test
+    public void rejectsMalformedData() {
+        assertThrows(IOException.class, () -> AttributeDeltas.apply("cart", current(3L), new byte[0]));
+        assertThrows(IOException.class, () -> AttributeDeltas.apply("cart", current(3L), new byte[8]));
+
+        byte[] unknownKind = AttributeDeltas.full(3L, target);
+        unknownKind[0] = 5;
+        assertThrows(IOException.class, () -> AttributeDeltas.apply("cart", current(3L), unknownKind));
+
+        byte[] shortDiff = Arrays.copyOf(AttributeDeltas.diff(3L, 4L, new byte[0]), 16);
+        assertThrows(IOException.class, () -> AttributeDeltas.apply("cart", current(3L), shortDiff));
+
+        byte[] corruptDiff = AttributeDeltas.diff(3L, 4L, BinaryDelta.encode(base, target));
+        corruptDiff[corruptDiff.length - 1] ^= 1;
+        corruptDiff[20] ^= 1;
+        assertThrows(IOException.class, () -> AttributeDeltas.apply("cart", current(3L), corruptDiff));
+    }
+
+    @Test
+    public void versionIsSerialized() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(current(7L));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            SessionAttributeMetadata attribute = (SessionAttributeMetadata) in.readObject();
+            assertEquals(7L, attribute.getVersion());
+            assertArrayEquals(base, attribute.getState());
+        }
+    }
+
+    private SessionAttributeMetadata current(long version) {
+        return new SessionAttributeMetadata("cart", Operation.UPDATE, base, version);
+    }
+}
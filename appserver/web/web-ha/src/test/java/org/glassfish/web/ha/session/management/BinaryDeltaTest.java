@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BinaryDeltaTest {
+
+    private final Random random = new Random(42L);
+
+    @Test
+    public void roundTripOfModifiedState() throws Exception {
+        byte[] base = randomBytes(4096);
+
+        byte[] changed = base.clone();
+        changed[2000] ^= 1;
+        assertRoundTrip(base, changed);
+
+        byte[] inserted = new byte[base.length + 10];
+        System.arraycopy(base, 0, inserted, 0, 1000);
+        System.arraycopy(base, 1000, inserted, 1010, base.length - 1000);
+        assertRoundTrip(base, inserted);
+
+        byte[] appended = Arrays.copyOf(base, base.length + 100);
+        assertRoundTrip(base, appended);
+
+        byte[] truncated = Arrays.copyOfRange(base, 100, base.length - 100);
+        assertRoundTrip(base, truncated);
+
+        byte[] moved = new byte[base.length];
+        System.arraycopy(base, 2048, moved, 0, 2048);
+        System.arraycopy(base, 0, moved, 2048, 2048);
+        assertRoundTrip(base, moved);
+    }
+
+    @Test
+    public void noDeltaIfNotSmaller() {
+        assertNull(BinaryDelta.encode(randomBytes(4096), randomBytes(4096)));
+        assertNull(BinaryDelta.encode(randomBytes(100), new byte[0]));
+        assertNull(BinaryDelta.encode(new byte[0], randomBytes(10)));
+    }
+
+    @Test
+    public void rejectsOtherBase() throws Exception {
+        byte[] base = randomBytes(1024);
+        byte[] target = base.clone();
+        target[10] ^= 1;
+        byte[] delta = BinaryDelta.encode(base, target);
+        assertNotNull(delta);
+
+        byte[] otherBase = base.clone();
+        otherBase[500] ^= 1;
+        assertThrows(IOException.class, () -> BinaryDelta.apply(otherBase, delta));
+        assertThrows(IOException.class, () -> BinaryDelta.apply(Arrays.copyOf(base, 1023), delta));
+    }
+
+    @Test
+    public void rejectsTruncatedDelta() throws Exception {
+        byte[] base = randomBytes(1024);
+        byte[] target = base.clone();
+        target[10] ^= 1;
+        byte[] delta = BinaryDelta.encode(base, target);
+        for (int length = 0; length < delta.length; length++) {
+            byte[] truncated = Arrays.copyOf(delta, length);
+            assertThrows(IOException.class, () -> BinaryDelta.apply(base, truncated), "length " + length);
+        }
+    }
+
+    @Test
+    public void rejectsMalformedDelta() throws Exception {
+        byte[] base = randomBytes(1024);
+        byte[] target = base.clone();
+        target[10] ^= 1;
+        byte[] delta = BinaryDelta.encode(base, target);
+        // varint of the base length, CRC of the base, varint of the target length
+        int operations = 2 + 4 + 2;
+
+        byte[] unknownOperation = delta.clone();
+        unknownOperation[operations] = 7;
+        assertThrows(IOException.class, () -> BinaryDelta.apply(base, unknownOperation));
+
+        byte[] hugeTarget = replace(delta, operations - 2, 2,
+            new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+        assertThrows(IOException.class, () -> BinaryDelta.apply(base, hugeTarget));
+
+        byte[] overlongVarInt = replace(delta, operations - 2, 2,
+            new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x01});
+        assertThrows(IOException.class, () -> BinaryDelta.apply(base, overlongVarInt));
+
+        byte[] shortTarget = delta.clone();
+        shortTarget[operations - 2] = 0x7F;
+        shortTarget[operations - 1] = 0x07;
+        assertThrows(IOException.class, () -> BinaryDelta.apply(base, shortTarget));
+
+        byte[] trailingBytes = Arrays.copyOf(delta, delta.length + 3);
+        trailingBytes[delta.length] = 1;
+        trailingBytes[delta.length + 1] = 1;
+        assertThrows(IOException.class, () -> BinaryDelta.apply(base, trailingBytes));
+    }
+
+    @Test
+    public void corruptDeltaFailsWithIOExceptionOnly() throws Exception {
+        byte[] base = randomBytes(2048);
+        byte[] target = base.clone();
+        target[100] ^= 1;
+        target[1500] ^= 1;
+        byte[] delta = BinaryDelta.encode(base, target);
+        for (int i = 0; i < 2000; i++) {
+            byte[] corrupt = delta.clone();
+            corrupt[random.nextInt(corrupt.length)] = (byte) random.nextInt();
+            try {
+                byte[] result = BinaryDelta.apply(base, corrupt);
+                assertTrue(result.length <= corrupt.length * base.length);
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+
+    private static void assertRoundTrip(byte[] base, byte[] target) throws IOException {
+        byte[] delta = BinaryDelta.encode(base, target);
+        assertNotNull(delta);
+        assertTrue(delta.length < target.length);
+        assertArrayEquals(target, BinaryDelta.apply(base, delta));
+    }
+
+    private static byte[] replace(byte[] bytes, int offset, int length, byte[] replacement) {
+        byte[] result = new byte[bytes.length - length + replacement.length];
+        System.arraycopy(bytes, 0, result, 0, offset);
+        System.arraycopy(replacement, 0, result, offset, replacement.length);
+        System.arraycopy(bytes, offset + length, result, offset + replacement.length,
+            bytes.length - offset - length);
+        return result;
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
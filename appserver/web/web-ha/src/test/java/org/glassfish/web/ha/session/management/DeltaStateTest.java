@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.web.ha.session.management;
+
+import java.util.Arrays;
+
+import org.glassfish.web.ha.session.management.DeltaReplicationAttributeStore.AttributeVersion;
+import org.glassfish.web.ha.session.management.DeltaReplicationAttributeStore.DeltaState;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DeltaStateTest {
+
+    private final DeltaState state = new DeltaState();
+
+    @Test
+    public void coversAllOnlyWithFullStatesOfAllAttributes() {
+        state.putPending("a", new AttributeVersion(1L, new byte[1], 0));
+        state.putPending("b", null);
+        assertTrue(state.coversAll(Arrays.asList("a", "b")));
+        assertFalse(state.coversAll(Arrays.asList("a", "b", "c")));
+
+        state.putPending("c", new AttributeVersion(5L, new byte[1], 2));
+        assertFalse(state.coversAll(Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void invalidateKeepsLatestVersionsOnly() {
+        state.putPending("a", new AttributeVersion(2L, new byte[1], 1));
+        state.commit();
+        state.putPending("a", new AttributeVersion(3L, new byte[2], 2));
+
+        state.invalidate();
+
+        assertTrue(state.pending.isEmpty());
+        AttributeVersion version = state.acked.get("a");
+        assertEquals(3L, version.version);
+        assertNull(version.state);
+        assertEquals(0, version.deltas);
+    }
+
+    @Test
+    public void keepsBasesWithinSessionBudget() {
+        int quarter = DeltaReplicationAttributeStore.MAX_SESSION_BASE_SIZE / 4;
+        assertFalse(state.canKeepBase("a", DeltaReplicationAttributeStore.MAX_BASE_SIZE + 1));
+        assertTrue(state.canKeepBase("a", quarter));
+
+        state.putPending("a", new AttributeVersion(1L, new byte[quarter], 0));
+        state.putPending("b", new AttributeVersion(1L, new byte[quarter], 0));
+        state.putPending("c", new AttributeVersion(1L, new byte[quarter], 0));
+        state.commit();
+        state.putPending("d", new AttributeVersion(1L, new byte[quarter], 0));
+        assertEquals(4L * quarter, state.ackedBaseSize + state.pendingBaseSize);
+        assertFalse(state.canKeepBase("e", 1));
+        // a new state of an attribute replaces its base
+        assertTrue(state.canKeepBase("a", quarter));
+        assertTrue(state.canKeepBase("d", quarter));
+
+        state.putPending("e", new AttributeVersion(1L, null, 0));
+        state.putPending("a", null);
+        state.commit();
+        assertEquals(3L * quarter, state.ackedBaseSize);
+        assertTrue(state.canKeepBase("e", quarter));
+    }
+
+    @Test
+    public void droppedBasesFreeTheBudget() {
+        state.putPending("a", new AttributeVersion(1L, new byte[10], 0));
+        state.putPending("b", new AttributeVersion(1L, new byte[20], 0));
+        state.commit();
+        state.putPending("a", new AttributeVersion(2L, new byte[30], 1));
+        assertEquals(50L, state.ackedBaseSize + state.pendingBaseSize);
+
+        state.rollback();
+        assertEquals(20L, state.ackedBaseSize);
+        assertEquals(0L, state.pendingBaseSize);
+
+        state.invalidate();
+        assertEquals(0L, state.ackedBaseSize);
+    }
+
+    @Test
+    public void requestedSaveRunsAgain() {
+        assertTrue(state.beginSave());
+        state.requestSave();
+        assertTrue(state.saveAgain());
+        assertFalse(state.saveAgain());
+        assertTrue(state.beginSave());
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -52,4 +53,12 @@ public class Constants {
 
     public final static String STAT_BOUNDEDMULTILRUCACHE_CURRENT_SIZE="cache.BoundedMultiLruCache.stat_currentSize";
     public final static String STAT_BOUNDEDMULTILRUCACHE_MAX_SIZE="cache.BoundedMultiLruCache.stat_maxSize";
+
+    public final static String STAT_TINYLFUCACHE_WINDOW_LENGTH="cache.TinyLfuCache.stat_windowLength";
+    public final static String STAT_TINYLFUCACHE_PROBATION_LENGTH="cache.TinyLfuCache.stat_probationLength";
+    public final static String STAT_TINYLFUCACHE_PROTECTED_LENGTH="cache.TinyLfuCache.stat_protectedLength";
+    public final static String STAT_TINYLFUCACHE_EVICTION_COUNT="cache.TinyLfuCache.stat_evictionCount";
+    public final static String STAT_TINYLFUCACHE_REJECTION_COUNT="cache.TinyLfuCache.stat_rejectionCount";
+    public final static String STAT_TINYLFUCACHE_CURRENT_SIZE="cache.TinyLfuCache.stat_currentSize";
+    public final static String STAT_TINYLFUCACHE_MAX_SIZE="cache.TinyLfuCache.stat_maxSize";
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+/**
+ * FrequencySketch
+ * approximate access frequency of the keys of a {@link TinyLfuCache}
+ *
+ * A count-min sketch with four 4-bit counters per key. All counters are
+ * halved once the number of recorded accesses reaches ten times the cache
+ * capacity, so the frequencies of keys which are no longer used decay.
+ *
+ * Not thread safe; the cache guards it with its policy lock.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+        0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+
+    // the maximum value of a counter
+    static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    /**
+     * @param maxEntries the capacity of the cache
+     */
+    FrequencySketch(int maxEntries) {
+        int capacity = Math.min(Math.max(maxEntries, 8), 1 << 30);
+        int tableSize = 1;
+        while (tableSize < capacity)
+            tableSize <<= 1;
+
+        table = new long[tableSize];
+        tableMask = tableSize - 1;
+        sampleSize = (capacity > Integer.MAX_VALUE / 10) ?
+            Integer.MAX_VALUE : capacity * 10;
+    }
+
+    /**
+     * get the estimated number of accesses of the key
+     * @param hashCode of the key
+     * @return the frequency, at most {@link #MAX_FREQUENCY}
+     */
+    int frequency(int hashCode) {
+        int item = spread(hashCode);
+        int start = (item & 3) << 2;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int offset = (start + i) << 2;
+            int count = (int) ((table[indexOf(item, i)] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * record an access of the key
+     * @param hashCode of the key
+     */
+    void increment(int hashCode) {
+        int item = spread(hashCode);
+        int start = (item & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(item, i), start + i);
+        }
+
+        if (added && (++size == sampleSize))
+            reset();
+    }
+
+    private boolean incrementAt(int index, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) != mask) {
+            table[index] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * halve all counters
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (odd >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int item, int i) {
+        long hash = (item + SEEDS[i]) * SEEDS[i];
+        hash += hash >>> 32;
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
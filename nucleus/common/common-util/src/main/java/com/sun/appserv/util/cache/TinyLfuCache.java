@@ -0,0 +1,637 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import com.sun.enterprise.util.CULoggerInfo;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * TinyLfuCache
+ * in-memory bounded cache with a W-TinyLFU admission and eviction policy
+ *
+ * New items enter a small LRU window. Items leaving the window compete with
+ * the least recently used item of the probation segment of the main space
+ * for admission; the one accessed less often according to a frequency
+ * sketch is evicted. Items accessed in probation are promoted to the
+ * protected segment. A scan of one-time keys therefore only churns the
+ * window and does not flush the frequently used items.
+ *
+ * Unlike the other caches, the cache never raises its threshold: it holds
+ * at most max-entries items and, if the <code>MaxSize</code> property is
+ * set, at most <code>MaxSize</code> bytes of items of known size.
+ *
+ * Accesses are recorded in lossy buffers, striped by thread, and applied
+ * to the policy under a lock by the thread which fills a buffer, so reads
+ * only contend on the bucket lock of their key.
+ */
+public class TinyLfuCache extends BaseCache {
+
+    // the item never expires
+    public static final long NO_TIMEOUT = -1;
+
+    // share of the entries in the window and of the main space in protected
+    static final float WINDOW_RATIO = 0.01f;
+    static final float PROTECTED_RATIO = 0.8f;
+
+    // queues of the items
+    static final int NO_QUEUE = 0;
+    static final int WINDOW = 1;
+    static final int PROBATION = 2;
+    static final int PROTECTED = 3;
+
+    protected int defaultMaxEntries = Constants.DEFAULT_MAX_ENTRIES;
+    protected long timeout = NO_TIMEOUT;
+
+    // upper bound on the cache size
+    protected long maxSize = Constants.DEFAULT_MAX_CACHE_SIZE;
+    protected long currentSize;
+
+    // the number of items evicted by the policy, and of those rejected for admission
+    protected int evictionCount;
+    protected int rejectionCount;
+
+    private int windowMaxEntries;
+    private int protectedMaxEntries;
+
+    // guards the queues, the sketch and the sizes
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final AccessQueue window = new AccessQueue();
+    private final AccessQueue probation = new AccessQueue();
+    private final AccessQueue protectedQueue = new AccessQueue();
+    private FrequencySketch sketch;
+
+    private AccessBuffer[] accessBuffers;
+
+    // evicted items beyond the one returned by itemAdded
+    private final Queue<CacheItem> pendingTrims = new ConcurrentLinkedQueue<>();
+
+    /**
+     * default constructor
+     */
+    public TinyLfuCache() { }
+
+    /**
+     * constructor with specified max entries.
+     * @param defaultMaxEntries specifies the default max entries
+     *        to use when the maxEntries is <= 0.
+     */
+    public TinyLfuCache(int defaultMaxEntries) {
+        this.defaultMaxEntries = defaultMaxEntries;
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries expected in the cache
+     * @param timeout to be used to trim the expired entries
+     * @param loadFactor the load factor
+     * @param props opaque list of properties for a given cache implementation
+     */
+    public void init(int maxEntries, long timeout, float loadFactor, Properties props) {
+        setTimeout(timeout);
+        init(maxEntries, loadFactor, props);
+    }
+
+    /**
+     * initialize the cache
+     * @param maxEntries maximum number of entries in the cache; the default
+     *        max entries if <= 0
+     * @param loadFactor the load factor
+     * @param props opaque list of properties; <code>MaxSize</code> bounds
+     *        the cache size in bytes (KB or MB units)
+     */
+    public void init(int maxEntries, float loadFactor, Properties props) {
+        if (maxEntries <= 0)
+            maxEntries = defaultMaxEntries;
+
+        super.init(maxEntries, loadFactor, props);
+
+        windowMaxEntries = Math.max(1, (int) (this.maxEntries * WINDOW_RATIO));
+        protectedMaxEntries = (int) ((this.maxEntries - windowMaxEntries) * PROTECTED_RATIO);
+        sketch = new FrequencySketch(this.maxEntries);
+        currentSize = 0;
+
+        int stripes = 1;
+        while (stripes < Math.min(Runtime.getRuntime().availableProcessors(), 16))
+            stripes <<= 1;
+        accessBuffers = new AccessBuffer[stripes];
+        for (int i = 0; i < stripes; i++)
+            accessBuffers[i] = new AccessBuffer();
+
+        if (props != null && props.getProperty("MaxSize") != null)
+            maxSize = parseSize(props.getProperty("MaxSize"));
+    }
+
+    /**
+     * sets the timeout value
+     * @param timeout to be used to trim the expired entries
+     */
+    public void setTimeout(long timeout) {
+        // accept a positive timeout
+        if (timeout > 0)
+            this.timeout = timeout;
+    }
+
+    /**
+     * create new item
+     * @param hashCode for the entry
+     * @param key <code>Object</code> key
+     * @param value <code>Object</code> value
+     * @param size size in bytes of the item
+     */
+    protected CacheItem createItem(int hashCode, Object key,
+                                        Object value, int size) {
+        return new TinyLfuCacheItem(hashCode, key, value, size);
+    }
+
+    /**
+     * the cache is never unbounded
+     */
+    protected boolean isThresholdReached() {
+        return (entryCount > maxEntries || currentSize > maxSize);
+    }
+
+    /**
+     * cache the value and trim the items evicted to make room for it
+     */
+    protected Object _put(int hashCode, Object key,
+                            Object value, int size, boolean addValue) {
+        Object oldValue = super._put(hashCode, key, value, size, addValue);
+
+        for (CacheItem item = pendingTrims.poll(); item != null;
+                                    item = pendingTrims.poll()) {
+            trimItem(item);
+        }
+        return oldValue;
+    }
+
+    /**
+     * this item is just added to the cache
+     * @param item <code>CacheItem</code> that was created
+     * @return a overflow item; may be null
+     *
+     * Cache bucket is already synchronized by the caller
+     */
+    protected CacheItem itemAdded(CacheItem item) {
+        if (!(item instanceof TinyLfuCacheItem))
+            return null;
+        TinyLfuCacheItem lc = (TinyLfuCacheItem) item;
+        lc.lastAccessed = System.currentTimeMillis();
+
+        ArrayList<TinyLfuCacheItem> evicted = new ArrayList<>();
+        policyLock.lock();
+        try {
+            drainAccessBuffers();
+            sketch.increment(lc.hashCode);
+
+            lc.queue = WINDOW;
+            window.addLast(lc);
+            currentSize += lc.weight();
+
+            evict(evicted);
+        } finally {
+            policyLock.unlock();
+        }
+
+        if (evicted.isEmpty())
+            return null;
+        for (int i = 1; i < evicted.size(); i++)
+            pendingTrims.add(evicted.get(i));
+        return evicted.get(0);
+    }
+
+    /**
+     * this item is accessed
+     * @param item <code>CacheItem</code> accessed
+     *
+     * Cache bucket is already synchronized by the caller
+     */
+    protected void itemAccessed(CacheItem item) {
+        if (!(item instanceof TinyLfuCacheItem))
+            return;
+        TinyLfuCacheItem lc = (TinyLfuCacheItem) item;
+        lc.lastAccessed = System.currentTimeMillis();
+
+        AccessBuffer buffer = accessBuffers[
+            (int) Thread.currentThread().getId() & (accessBuffers.length - 1)];
+        if (buffer.offer(lc) && policyLock.tryLock()) {
+            try {
+                drainAccessBuffers();
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * item value has been refreshed
+     * @param item <code>CacheItem</code> that was refreshed
+     * @param oldSize size of the previous value that was refreshed
+     * Cache bucket is already synchronized by the caller
+     */
+    protected void itemRefreshed(CacheItem item, int oldSize) {
+        if (!(item instanceof TinyLfuCacheItem))
+            return;
+        TinyLfuCacheItem lc = (TinyLfuCacheItem) item;
+        lc.lastAccessed = System.currentTimeMillis();
+
+        ArrayList<TinyLfuCacheItem> evicted = new ArrayList<>();
+        policyLock.lock();
+        try {
+            drainAccessBuffers();
+            if (lc.queue != NO_QUEUE) {
+                currentSize += lc.weight() - Math.max(oldSize, 0);
+                onAccess(lc);
+                evict(evicted);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+        pendingTrims.addAll(evicted);
+    }
+
+    /**
+     * item value has been removed from the cache
+     * @param item <code>CacheItem</code> that was just removed
+     *
+     * Cache bucket is already synchronized by the caller
+     */
+    protected void itemRemoved(CacheItem item) {
+        if (!(item instanceof TinyLfuCacheItem))
+            return;
+        TinyLfuCacheItem lc = (TinyLfuCacheItem) item;
+
+        policyLock.lock();
+        try {
+            unlink(lc);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * trim the expired entries from the cache.
+     * @param maxCount maximum number of invalid entries to trim
+     *        specify Integer.MAX_VALUE to trim all invalid entries
+     * This call is to be scheduled by a thread managed by the container.
+     */
+    public void trimExpiredEntries(int maxCount) {
+        if (timeout == NO_TIMEOUT)
+            return;
+
+        long expiry = System.currentTimeMillis() - timeout;
+        ArrayList<TinyLfuCacheItem> list = new ArrayList<>();
+
+        policyLock.lock();
+        try {
+            drainAccessBuffers();
+            AccessQueue[] queues = { window, probation, protectedQueue };
+            for (AccessQueue queue : queues) {
+                // recorded accesses may be lost, so the queues are not
+                // strictly ordered by the access time
+                TinyLfuCacheItem item = queue.first;
+                while (item != null && list.size() < maxCount) {
+                    TinyLfuCacheItem next = item.qNext;
+                    if (item.lastAccessed <= expiry) {
+                        unlink(item);
+                        list.add(item);
+                    }
+                    item = next;
+                }
+            }
+        } finally {
+            policyLock.unlock();
+        }
+
+        for (TinyLfuCacheItem item : list) {
+            trimItem(item);
+        }
+    }
+
+    /**
+     * admit or evict items until the cache is within its bounds
+     * @param evicted the list of the evicted items
+     *
+     * the policy lock is held by the caller
+     */
+    private void evict(ArrayList<TinyLfuCacheItem> evicted) {
+        // items leaving the window are candidates for the main space
+        TinyLfuCacheItem candidate = null;
+        while (window.count > windowMaxEntries) {
+            candidate = window.first;
+            window.remove(candidate);
+            candidate.queue = PROBATION;
+            probation.addLast(candidate);
+        }
+
+        while (queuedCount() > maxEntries || currentSize > maxSize) {
+            TinyLfuCacheItem victim = probation.first;
+            if (candidate != null && victim != null && victim != candidate) {
+                if (sketch.frequency(candidate.hashCode) <= sketch.frequency(victim.hashCode)) {
+                    // the candidate is not admitted
+                    victim = candidate;
+                    rejectionCount++;
+                }
+                candidate = null;
+            } else if (victim == null) {
+                victim = (window.first != null) ? window.first : protectedQueue.first;
+            }
+            if (victim == null)
+                break;
+
+            unlink(victim);
+            evictionCount++;
+            evicted.add(victim);
+        }
+    }
+
+    /**
+     * apply a recorded access to the policy
+     *
+     * the policy lock is held by the caller
+     */
+    private void onAccess(TinyLfuCacheItem item) {
+        switch (item.queue) {
+        case WINDOW:
+            sketch.increment(item.hashCode);
+            window.moveToEnd(item);
+            break;
+        case PROBATION:
+            sketch.increment(item.hashCode);
+            probation.remove(item);
+            item.queue = PROTECTED;
+            protectedQueue.addLast(item);
+
+            // demote the least recently used protected items
+            while (protectedQueue.count > protectedMaxEntries) {
+                TinyLfuCacheItem demoted = protectedQueue.first;
+                protectedQueue.remove(demoted);
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+            }
+            break;
+        case PROTECTED:
+            sketch.increment(item.hashCode);
+            protectedQueue.moveToEnd(item);
+            break;
+        default:
+            // the item is no longer in the cache
+            break;
+        }
+    }
+
+    /**
+     * remove the item from its queue
+     *
+     * the policy lock is held by the caller
+     */
+    private void unlink(TinyLfuCacheItem item) {
+        switch (item.queue) {
+        case WINDOW:
+            window.remove(item);
+            break;
+        case PROBATION:
+            probation.remove(item);
+            break;
+        case PROTECTED:
+            protectedQueue.remove(item);
+            break;
+        default:
+            return;
+        }
+        item.queue = NO_QUEUE;
+        currentSize -= item.weight();
+    }
+
+    private void drainAccessBuffers() {
+        for (AccessBuffer buffer : accessBuffers) {
+            buffer.drainTo(this);
+        }
+    }
+
+    private int queuedCount() {
+        return window.count + probation.count + protectedQueue.count;
+    }
+
+    /**
+     * parse a size in bytes, KB or MB
+     */
+    private static long parseSize(String strMaxSize) {
+        int multiplier = 1;
+        long size = -1;
+
+        // upper case the string
+        String prop = strMaxSize.toUpperCase(Locale.ENGLISH);
+        int index;
+
+        // look for 200KB or 80Kb or 1MB or 2Mb like suffixes
+        if ((index = prop.indexOf("KB")) != -1) {
+            multiplier = Constants.KB;
+            prop = prop.substring(0, index);
+        } else if ((index = prop.indexOf("MB")) != -1) {
+            multiplier = Constants.MB;
+            prop = prop.substring(0, index);
+        }
+
+        try {
+            size = Long.parseLong(prop.trim());
+        } catch (NumberFormatException nfe) {}
+
+        if (size <= 0) {
+            String msg = CULoggerInfo.getString(CULoggerInfo.boundedMultiLruCacheIllegalMaxSize);
+            Object[] params = { strMaxSize };
+            throw new IllegalArgumentException(MessageFormat.format(msg, params));
+        }
+        return size * multiplier;
+    }
+
+    /**
+     * get generic stats from subclasses
+     */
+
+    /**
+     * get the desired statistic counter
+     * @param key to corresponding stat
+     * @return an Object corresponding to the stat
+     * See also: Constant.java for the key
+     */
+    public Object getStatByName(String key) {
+        Object stat = super.getStatByName(key);
+
+        if (stat == null && key != null) {
+            if (key.equals(Constants.STAT_TINYLFUCACHE_WINDOW_LENGTH))
+                stat = Integer.valueOf(window.count);
+            else if (key.equals(Constants.STAT_TINYLFUCACHE_PROBATION_LENGTH))
+                stat = Integer.valueOf(probation.count);
+            else if (key.equals(Constants.STAT_TINYLFUCACHE_PROTECTED_LENGTH))
+                stat = Integer.valueOf(protectedQueue.count);
+            else if (key.equals(Constants.STAT_TINYLFUCACHE_EVICTION_COUNT))
+                stat = Integer.valueOf(evictionCount);
+            else if (key.equals(Constants.STAT_TINYLFUCACHE_REJECTION_COUNT))
+                stat = Integer.valueOf(rejectionCount);
+            else if (key.equals(Constants.STAT_TINYLFUCACHE_CURRENT_SIZE))
+                stat = Long.valueOf(currentSize);
+            else if (key.equals(Constants.STAT_TINYLFUCACHE_MAX_SIZE)) {
+                if (maxSize == Constants.DEFAULT_MAX_CACHE_SIZE)
+                    stat = Constants.STAT_DEFAULT;
+                else
+                    stat = Long.valueOf(maxSize);
+            }
+        }
+        return stat;
+    }
+
+    public Map getStats() {
+        Map stats = super.getStats();
+        stats.put(Constants.STAT_TINYLFUCACHE_WINDOW_LENGTH,
+                  Integer.valueOf(window.count));
+        stats.put(Constants.STAT_TINYLFUCACHE_PROBATION_LENGTH,
+                  Integer.valueOf(probation.count));
+        stats.put(Constants.STAT_TINYLFUCACHE_PROTECTED_LENGTH,
+                  Integer.valueOf(protectedQueue.count));
+        stats.put(Constants.STAT_TINYLFUCACHE_EVICTION_COUNT,
+                  Integer.valueOf(evictionCount));
+        stats.put(Constants.STAT_TINYLFUCACHE_REJECTION_COUNT,
+                  Integer.valueOf(rejectionCount));
+        stats.put(Constants.STAT_TINYLFUCACHE_CURRENT_SIZE,
+                  Long.valueOf(currentSize));
+        if (maxSize == Constants.DEFAULT_MAX_CACHE_SIZE) {
+            stats.put(Constants.STAT_TINYLFUCACHE_MAX_SIZE,
+                      Constants.STAT_DEFAULT);
+        } else {
+            stats.put(Constants.STAT_TINYLFUCACHE_MAX_SIZE,
+                      Long.valueOf(maxSize));
+        }
+        return stats;
+    }
+
+    /**
+     * clear the stats
+     */
+    public void clearStats() {
+        super.clearStats();
+        evictionCount = 0;
+        rejectionCount = 0;
+    }
+
+    /** default CacheItem class implementation  ***/
+    protected static class TinyLfuCacheItem extends CacheItem {
+
+        // double linked list of the queue of the item
+        TinyLfuCacheItem qNext;
+        TinyLfuCacheItem qPrev;
+        int queue = NO_QUEUE;
+        protected volatile long lastAccessed;
+
+        protected TinyLfuCacheItem(int hashCode, Object key, Object value, int size) {
+            super(hashCode, key, value, size);
+        }
+
+        /**
+         * @return the size counted against MaxSize; zero if unknown
+         */
+        int weight() {
+            return Math.max(size, 0);
+        }
+
+        /**
+         * Return the last accessed timestamp
+         */
+        public long getLastAccessed() {
+            return lastAccessed;
+        }
+    }
+
+    /**
+     * LRU ordered queue of items; guarded by the policy lock
+     */
+    private static final class AccessQueue {
+        TinyLfuCacheItem first;
+        TinyLfuCacheItem last;
+        int count;
+
+        void addLast(TinyLfuCacheItem item) {
+            item.qPrev = last;
+            item.qNext = null;
+            if (last == null)
+                first = item;
+            else
+                last.qNext = item;
+            last = item;
+            count++;
+        }
+
+        void remove(TinyLfuCacheItem item) {
+            TinyLfuCacheItem prev = item.qPrev;
+            TinyLfuCacheItem next = item.qNext;
+            if (prev == null)
+                first = next;
+            else
+                prev.qNext = next;
+            if (next == null)
+                last = prev;
+            else
+                next.qPrev = prev;
+            item.qPrev = item.qNext = null;
+            count--;
+        }
+
+        void moveToEnd(TinyLfuCacheItem item) {
+            if (item != last) {
+                remove(item);
+                addLast(item);
+            }
+        }
+    }
+
+    /**
+     * lossy ring buffer of accessed items; an access may overwrite one
+     * which was not applied yet
+     */
+    private static final class AccessBuffer {
+        private static final int SIZE = 16;
+
+        private final AtomicReferenceArray<TinyLfuCacheItem> items =
+            new AtomicReferenceArray<>(SIZE);
+        private final AtomicInteger writeIndex = new AtomicInteger();
+
+        /**
+         * @return true if the buffer should be drained
+         */
+        boolean offer(TinyLfuCacheItem item) {
+            int index = writeIndex.getAndIncrement() & (SIZE - 1);
+            items.lazySet(index, item);
+            return index == SIZE - 1;
+        }
+
+        void drainTo(TinyLfuCache cache) {
+            for (int i = 0; i < SIZE; i++) {
+                TinyLfuCacheItem item = items.getAndSet(i, null);
+                if (item != null)
+                    cache.onAccess(item);
+            }
+        }
+    }
+}
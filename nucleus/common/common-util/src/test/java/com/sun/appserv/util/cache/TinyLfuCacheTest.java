@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package com.sun.appserv.util.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TinyLfuCacheTest {
+
+    @Test
+    public void entryCountIsBounded() throws Exception {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(100, null);
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        assertEquals(100, cache.getEntryCount());
+        assertEquals(cache.getEntryCount(), countKeys(cache));
+    }
+
+    @Test
+    public void frequentlyUsedEntriesSurviveScan() throws Exception {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(100, null);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, "value" + i);
+        }
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get("hot" + i);
+            }
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("scan" + i, "value" + i);
+        }
+
+        int hits = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.get("hot" + i) != null) {
+                hits++;
+            }
+        }
+        assertTrue(hits >= 45, "hot entries left: " + hits);
+    }
+
+    @Test
+    public void sizeIsBounded() throws Exception {
+        Properties props = new Properties();
+        props.setProperty("MaxSize", "10 KB");
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(1000, props);
+        for (int i = 0; i < 1000; i++) {
+            cache.put("key" + i, "value" + i, 100);
+        }
+        long currentSize = (Long) cache.getStatByName(Constants.STAT_TINYLFUCACHE_CURRENT_SIZE);
+        assertTrue(currentSize <= 10 * 1024, "size: " + currentSize);
+        assertEquals(currentSize, cache.getEntryCount() * 100L);
+    }
+
+    @Test
+    public void evictedEntriesAreReportedToListeners() throws Exception {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(10, null);
+        List<Object> trimmed = new ArrayList<>();
+        cache.addCacheListener((key, value) -> trimmed.add(key));
+        for (int i = 0; i < 30; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        assertEquals(20, trimmed.size());
+    }
+
+    @Test
+    public void removedEntriesLeaveThePolicy() throws Exception {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(10, null);
+        cache.put("a", "1", 5);
+        cache.put("b", "2", 5);
+        assertEquals("1", cache.remove("a"));
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertEquals(5L, cache.getStatByName(Constants.STAT_TINYLFUCACHE_CURRENT_SIZE));
+        cache.clear();
+        assertEquals(0L, cache.getStatByName(Constants.STAT_TINYLFUCACHE_CURRENT_SIZE));
+    }
+
+    @Test
+    public void expiredEntriesAreTrimmed() throws Exception {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(10, 1L, 0.75f, null);
+        cache.put("a", "1");
+        Thread.sleep(10L);
+        cache.trimExpiredEntries(Integer.MAX_VALUE);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getEntryCount());
+    }
+
+    @Test
+    public void concurrentAccessKeepsTheBound() throws Exception {
+        TinyLfuCache cache = new TinyLfuCache();
+        cache.init(500, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        String key = "key" + ((i * 31 + thread) % 2000);
+                        if (cache.get(key) == null) {
+                            cache.put(key, key);
+                        }
+                        if (i % 100 == 0) {
+                            cache.remove(key);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(60L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(cache.getEntryCount() <= 500, "entries: " + cache.getEntryCount());
+        assertEquals(cache.getEntryCount(), countKeys(cache));
+    }
+
+    @Test
+    public void invalidMaxSizeIsRejected() {
+        Properties props = new Properties();
+        props.setProperty("MaxSize", "lots");
+        assertThrows(IllegalArgumentException.class, () -> new TinyLfuCache().init(10, props));
+    }
+
+    private static int countKeys(Cache cache) {
+        int count = 0;
+        for (Iterator<?> keys = cache.keys(); keys.hasNext(); keys.next()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2006, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -26,6 +26,30 @@ import org.jvnet.hk2.annotations.Contract;
 @Contract
 public interface InvocationManager {
 
+    /**
+     * Name of the system property selecting the {@link InvocationStackMode} of the default implementation.
+     */
+    String INVOCATION_STACK_MODE_PROPERTY = "org.glassfish.invocation.stack.mode";
+
+    /**
+     * The way the invocations of a thread are kept.
+     */
+    enum InvocationStackMode {
+
+        /**
+         * A mutable invocation list per thread. Threads started from a component invocation inherit a copy of the current
+         * invocation.
+         */
+        INHERITABLE,
+
+        /**
+         * Immutable linked frames referenced by a plain thread local, so that a push or pop is a single allocation or
+         * reference change and nothing is copied into child threads. Meant for servers running the components on many
+         * short-lived (virtual) threads.
+         */
+        FRAMES
+    }
+
     /**
      * To be called by a Container to indicate that the Container is about to invoke a method on a component. The preInvoke
      * and postInvoke must be called in pairs and well-nested.
@@ -92,4 +116,11 @@ public interface InvocationManager {
      */
     void popAppEnvironment();
 
+    /**
+     * @return the way the invocations of a thread are kept by this manager
+     */
+    default InvocationStackMode getInvocationStackMode() {
+        return InvocationStackMode.INHERITABLE;
+    }
+
 }
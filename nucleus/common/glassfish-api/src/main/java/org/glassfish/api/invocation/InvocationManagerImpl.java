@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2022 Contributors to the Eclipse Foundation
+ * Copyright (c) 2022, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2008, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -22,9 +22,12 @@ import jakarta.inject.Singleton;
 
 import java.lang.System.Logger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Stack;
 
@@ -34,36 +37,41 @@ import org.jvnet.hk2.annotations.Optional;
 import org.jvnet.hk2.annotations.Service;
 
 import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.WARNING;
 
 @Service
 @Singleton
 public class InvocationManagerImpl implements InvocationManager {
     private static final Logger LOG = System.getLogger(InvocationManagerImpl.class.getName());
 
-    // This TLS variable stores an ArrayList.
-    // The ArrayList contains ComponentInvocation objects which represent
-    // the stack of invocations on this thread. Accesses to the ArrayList
-    // dont need to be synchronized because each thread has its own ArrayList.
-    private InheritableThreadLocal<InvocationArray<ComponentInvocation>> frames;
+    // This TLS variable stores the stack of invocations and application
+    // environments on this thread, an InvocationArray in INHERITABLE mode
+    // and a FrameStack in FRAMES mode. Accesses to it dont need to be
+    // synchronized because each thread has its own stack.
+    private final ThreadLocal<InvocationStack> frames;
 
-    private final ThreadLocal<Stack<ApplicationEnvironment>> applicationEnvironments = new ThreadLocal<>() {
-        @Override
-        protected Stack<ApplicationEnvironment> initialValue() {
-            return new Stack<>();
-        }
-    };
+    private final InvocationStackMode mode;
 
     private final Map<ComponentInvocationType, List<RegisteredComponentInvocationHandler>> regCompInvHandlerMap = new HashMap<>();
 
     private final ComponentInvocationHandler[] invHandlers;
 
     public InvocationManagerImpl() {
-        this(null);
+        this(null, getConfiguredMode());
+    }
+
+    InvocationManagerImpl(InvocationStackMode mode) {
+        this(null, mode);
     }
 
     @Inject
     private InvocationManagerImpl(@Optional IterableProvider<ComponentInvocationHandler> handlers) {
-        LOG.log(DEBUG, "InvocationManagerImpl(handlers={0})", handlers);
+        this(handlers, getConfiguredMode());
+    }
+
+    private InvocationManagerImpl(IterableProvider<ComponentInvocationHandler> handlers, InvocationStackMode mode) {
+        LOG.log(DEBUG, "InvocationManagerImpl(handlers={0}, mode={1})", handlers, mode);
+        this.mode = mode;
         if (handlers == null) {
             invHandlers = null;
         } else {
@@ -78,10 +86,15 @@ public class InvocationManagerImpl implements InvocationManager {
             }
         }
 
+        if (mode == InvocationStackMode.FRAMES) {
+            frames = ThreadLocal.withInitial(FrameStack::new);
+            return;
+        }
+
         frames = new InheritableThreadLocal<>() {
             @Override
-            protected InvocationArray<ComponentInvocation> initialValue() {
-                return new InvocationArray<>();
+            protected InvocationStack initialValue() {
+                return new InvocationArray();
             }
 
             // if this is a thread created by user in servlet's service method
@@ -89,13 +102,12 @@ public class InvocationManagerImpl implements InvocationManager {
             // set to null and instance set to null
             // so that the resource won't be enlisted or registered
             @Override
-            protected InvocationArray<ComponentInvocation> childValue(
-                final InvocationArray<ComponentInvocation> parentValue) {
+            protected InvocationStack childValue(final InvocationStack parentValue) {
                 // always creates a new ArrayList
-                InvocationArray<ComponentInvocation> result = new InvocationArray<>();
+                InvocationArray result = new InvocationArray();
                 if (!parentValue.isEmpty() && parentValue.outsideStartup()) {
                     // get current invocation
-                    ComponentInvocation parentInv = parentValue.get(parentValue.size() - 1);
+                    ComponentInvocation parentInv = parentValue.current();
                     /*
                      * TODO: The following is ugly. The logic of what needs to be in the new ComponentInvocation should be with the
                      * respective container
@@ -126,17 +138,30 @@ public class InvocationManagerImpl implements InvocationManager {
         };
     }
 
+    private static InvocationStackMode getConfiguredMode() {
+        String value = System.getProperty(INVOCATION_STACK_MODE_PROPERTY);
+        if (value == null || value.isBlank()) {
+            return InvocationStackMode.INHERITABLE;
+        }
+        try {
+            return InvocationStackMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            LOG.log(WARNING, "Unknown value {0} of {1}, using {2}", value, INVOCATION_STACK_MODE_PROPERTY,
+                InvocationStackMode.INHERITABLE);
+            return InvocationStackMode.INHERITABLE;
+        }
+    }
+
     @Override
     public <T extends ComponentInvocation> void preInvoke(T invocation) throws InvocationException {
         LOG.log(DEBUG, "preInvoke(invocation={0})", invocation);
-        InvocationArray<ComponentInvocation> invocations = frames.get();
+        InvocationStack invocations = frames.get();
         if (invocation.getInvocationType() == ComponentInvocationType.SERVICE_STARTUP) {
             invocations.setInvocationAttribute(ComponentInvocationType.SERVICE_STARTUP);
             return;
         }
 
-        int beforeSize = invocations.size();
-        ComponentInvocation prevInv = beforeSize == 0 ? null : invocations.get(beforeSize - 1);
+        ComponentInvocation prevInv = invocations.current();
 
         // if ejb call EJBSecurityManager, for servlet call RealmAdapter
         ComponentInvocationType invType = invocation.getInvocationType();
@@ -155,7 +180,7 @@ public class InvocationManagerImpl implements InvocationManager {
         }
 
         // push this invocation on the stack
-        invocations.add(invocation);
+        invocations.push(invocation);
 
         if (invHandlers != null) {
             for (ComponentInvocationHandler handler : invHandlers) {
@@ -174,20 +199,19 @@ public class InvocationManagerImpl implements InvocationManager {
     @Override
     public <T extends ComponentInvocation> void postInvoke(T invocation) throws InvocationException {
         LOG.log(DEBUG, "postInvoke(invocation={0})", invocation);
-        // Get this thread's ArrayList
-        InvocationArray<ComponentInvocation> invocations = frames.get();
+        // Get this thread's stack
+        InvocationStack invocations = frames.get();
         if (invocation.getInvocationType() == ComponentInvocationType.SERVICE_STARTUP) {
             invocations.setInvocationAttribute(ComponentInvocationType.UN_INITIALIZED);
             return;
         }
 
-        int beforeSize = invocations.size();
-        if (beforeSize == 0) {
+        if (invocations.isEmpty()) {
             throw new InvocationException("BeforeSize is null.");
         }
 
-        ComponentInvocation prevInv = beforeSize > 1 ? invocations.get(beforeSize - 2) : null;
-        ComponentInvocation curInv = invocations.get(beforeSize - 1);
+        ComponentInvocation prevInv = invocations.previous();
+        ComponentInvocation curInv = invocations.current();
         try {
             ComponentInvocationType invType = invocation.getInvocationType();
             if (invHandlers != null) {
@@ -203,7 +227,7 @@ public class InvocationManagerImpl implements InvocationManager {
             }
         } finally {
             // pop the stack
-            invocations.remove(beforeSize - 1);
+            invocations.pop();
 
             if (invHandlers != null) {
                 for (ComponentInvocationHandler handler : invHandlers) {
@@ -226,7 +250,7 @@ public class InvocationManagerImpl implements InvocationManager {
      */
     @Override
     public boolean isInvocationStackEmpty() {
-        InvocationArray<ComponentInvocation> v = frames.get();
+        InvocationStack v = frames.get();
         return v == null || v.isEmpty();
     }
 
@@ -235,12 +259,7 @@ public class InvocationManagerImpl implements InvocationManager {
      */
     @Override
     public <T extends ComponentInvocation> T getCurrentInvocation() {
-        InvocationArray<ComponentInvocation> v = frames.get();
-        int size = v.size();
-        if (size == 0) {
-            return null;
-        }
-        return (T) v.get(size - 1);
+        return (T) frames.get().current();
     }
 
     /**
@@ -248,33 +267,207 @@ public class InvocationManagerImpl implements InvocationManager {
      */
     @Override
     public <T extends ComponentInvocation> T getPreviousInvocation() throws InvocationException {
-        InvocationArray<ComponentInvocation> v = frames.get();
-        int i = v.size();
-        if (i < 2) {
-            return null;
-        }
-        return (T) v.get(i - 2);
+        return (T) frames.get().previous();
     }
 
+    /**
+     * In FRAMES mode the returned list is an unmodifiable snapshot of the stack.
+     */
     @Override
     public List<ComponentInvocation> getAllInvocations() {
-        return frames.get();
+        return frames.get().toList();
+    }
+
+    @Override
+    public InvocationStackMode getInvocationStackMode() {
+        return mode;
     }
 
-    static class InvocationArray<T extends ComponentInvocation> extends java.util.ArrayList<T> {
+    /**
+     * The invocations and application environments of a thread, the most recent on top.
+     */
+    interface InvocationStack {
+
+        void push(ComponentInvocation invocation);
+
+        void pop();
+
+        ComponentInvocation current();
+
+        ComponentInvocation previous();
+
+        boolean isEmpty();
+
+        List<ComponentInvocation> toList();
+
+        void setInvocationAttribute(ComponentInvocationType attribute);
+
+        ComponentInvocationType getInvocationAttribute();
+
+        default boolean outsideStartup() {
+            return getInvocationAttribute() != ComponentInvocationType.SERVICE_STARTUP;
+        }
+
+        void pushAppEnvironment(ApplicationEnvironment env);
+
+        ApplicationEnvironment peekAppEnvironment();
+
+        void popAppEnvironment();
+    }
+
+    static class InvocationArray extends java.util.ArrayList<ComponentInvocation> implements InvocationStack {
         private static final long serialVersionUID = 1L;
         private ComponentInvocationType invocationAttribute;
+        private transient Stack<ApplicationEnvironment> applicationEnvironments;
+
+        @Override
+        public void push(ComponentInvocation invocation) {
+            add(invocation);
+        }
+
+        @Override
+        public void pop() {
+            remove(size() - 1);
+        }
 
+        @Override
+        public ComponentInvocation current() {
+            int size = size();
+            return size == 0 ? null : get(size - 1);
+        }
+
+        @Override
+        public ComponentInvocation previous() {
+            int size = size();
+            return size < 2 ? null : get(size - 2);
+        }
+
+        @Override
+        public List<ComponentInvocation> toList() {
+            return this;
+        }
+
+        @Override
         public void setInvocationAttribute(ComponentInvocationType attribute) {
             this.invocationAttribute = attribute;
         }
 
+        @Override
         public ComponentInvocationType getInvocationAttribute() {
             return invocationAttribute;
         }
 
-        public boolean outsideStartup() {
-            return getInvocationAttribute() != ComponentInvocationType.SERVICE_STARTUP;
+        @Override
+        public void pushAppEnvironment(ApplicationEnvironment env) {
+            if (applicationEnvironments == null) {
+                applicationEnvironments = new Stack<>();
+            }
+            applicationEnvironments.push(env);
+        }
+
+        @Override
+        public ApplicationEnvironment peekAppEnvironment() {
+            if (applicationEnvironments == null || applicationEnvironments.isEmpty()) {
+                return null;
+            }
+            return applicationEnvironments.peek();
+        }
+
+        @Override
+        public void popAppEnvironment() {
+            if (applicationEnvironments != null && !applicationEnvironments.isEmpty()) {
+                applicationEnvironments.pop();
+            }
+        }
+    }
+
+    /**
+     * Keeps the top of immutable linked frames, so pushing allocates one frame, popping just moves the reference and the
+     * current invocation is read without any indexing.
+     */
+    static final class FrameStack implements InvocationStack {
+        private Frame<ComponentInvocation> invocations;
+        private Frame<ApplicationEnvironment> applicationEnvironments;
+        private ComponentInvocationType invocationAttribute;
+
+        @Override
+        public void push(ComponentInvocation invocation) {
+            invocations = new Frame<>(invocation, invocations);
+        }
+
+        @Override
+        public void pop() {
+            invocations = invocations.previous;
+        }
+
+        @Override
+        public ComponentInvocation current() {
+            Frame<ComponentInvocation> top = invocations;
+            return top == null ? null : top.value;
+        }
+
+        @Override
+        public ComponentInvocation previous() {
+            Frame<ComponentInvocation> top = invocations;
+            return top == null || top.previous == null ? null : top.previous.value;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return invocations == null;
+        }
+
+        @Override
+        public List<ComponentInvocation> toList() {
+            Frame<ComponentInvocation> frame = invocations;
+            if (frame == null) {
+                return Collections.emptyList();
+            }
+            ComponentInvocation[] result = new ComponentInvocation[frame.depth];
+            for (; frame != null; frame = frame.previous) {
+                result[frame.depth - 1] = frame.value;
+            }
+            return Collections.unmodifiableList(Arrays.asList(result));
+        }
+
+        @Override
+        public void setInvocationAttribute(ComponentInvocationType attribute) {
+            this.invocationAttribute = attribute;
+        }
+
+        @Override
+        public ComponentInvocationType getInvocationAttribute() {
+            return invocationAttribute;
+        }
+
+        @Override
+        public void pushAppEnvironment(ApplicationEnvironment env) {
+            applicationEnvironments = new Frame<>(env, applicationEnvironments);
+        }
+
+        @Override
+        public ApplicationEnvironment peekAppEnvironment() {
+            Frame<ApplicationEnvironment> top = applicationEnvironments;
+            return top == null ? null : top.value;
+        }
+
+        @Override
+        public void popAppEnvironment() {
+            if (applicationEnvironments != null) {
+                applicationEnvironments = applicationEnvironments.previous;
+            }
+        }
+    }
+
+    private static final class Frame<T> {
+        final T value;
+        final Frame<T> previous;
+        final int depth;
+
+        Frame(T value, Frame<T> previous) {
+            this.value = value;
+            this.previous = previous;
+            this.depth = previous == null ? 1 : previous.depth + 1;
         }
     }
 
@@ -292,24 +485,16 @@ public class InvocationManagerImpl implements InvocationManager {
 
     @Override
     public void pushAppEnvironment(ApplicationEnvironment env) {
-        Stack<ApplicationEnvironment> stack = applicationEnvironments.get();
-        stack.push(env);
+        frames.get().pushAppEnvironment(env);
     }
 
     @Override
     public ApplicationEnvironment peekAppEnvironment() {
-        Stack<ApplicationEnvironment> stack = applicationEnvironments.get();
-        if (stack.isEmpty()) {
-            return null;
-        }
-        return stack.peek();
+        return frames.get().peekAppEnvironment();
     }
 
     @Override
     public void popAppEnvironment() {
-        Stack<ApplicationEnvironment> stack = applicationEnvironments.get();
-        if (!stack.isEmpty()) {
-            stack.pop();
-        }
+        frames.get().popAppEnvironment();
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.api.invocation;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.glassfish.api.invocation.ComponentInvocation.ComponentInvocationType;
+import org.glassfish.api.invocation.InvocationManager.InvocationStackMode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvocationManagerImplTest {
+
+    @Test
+    public void invocationsAreNested() throws Exception {
+        for (InvocationStackMode mode : InvocationStackMode.values()) {
+            invocationsAreNested(mode);
+        }
+    }
+
+    @Test
+    public void appEnvironmentsAreNested() {
+        for (InvocationStackMode mode : InvocationStackMode.values()) {
+            appEnvironmentsAreNested(mode);
+        }
+    }
+
+    private void invocationsAreNested(InvocationStackMode mode) throws Exception {
+        InvocationManagerImpl manager = new InvocationManagerImpl(mode);
+        ComponentInvocation servlet = invocation("servlet", ComponentInvocationType.SERVLET_INVOCATION);
+        ComponentInvocation ejb = invocation("ejb", ComponentInvocationType.EJB_INVOCATION);
+
+        assertTrue(manager.isInvocationStackEmpty());
+        manager.preInvoke(servlet);
+        manager.preInvoke(ejb);
+        assertAll(
+            () -> assertEquals(mode, manager.getInvocationStackMode()),
+            () -> assertFalse(manager.isInvocationStackEmpty()),
+            () -> assertSame(ejb, manager.getCurrentInvocation()),
+            () -> assertSame(servlet, manager.getPreviousInvocation()),
+            () -> assertEquals(List.of(servlet, ejb), manager.getAllInvocations())
+        );
+
+        manager.postInvoke(ejb);
+        assertSame(servlet, manager.getCurrentInvocation());
+        assertNull(manager.getPreviousInvocation());
+
+        manager.postInvoke(servlet);
+        assertTrue(manager.isInvocationStackEmpty());
+        assertNull(manager.getCurrentInvocation());
+        assertThrows(InvocationException.class, () -> manager.postInvoke(servlet));
+    }
+
+    private void appEnvironmentsAreNested(InvocationStackMode mode) {
+        InvocationManagerImpl manager = new InvocationManagerImpl(mode);
+        ApplicationEnvironment first = () -> "first";
+        ApplicationEnvironment second = () -> "second";
+
+        assertNull(manager.peekAppEnvironment());
+        manager.pushAppEnvironment(first);
+        manager.pushAppEnvironment(second);
+        assertSame(second, manager.peekAppEnvironment());
+        manager.popAppEnvironment();
+        assertSame(first, manager.peekAppEnvironment());
+        manager.popAppEnvironment();
+        manager.popAppEnvironment();
+        assertNull(manager.peekAppEnvironment());
+    }
+
+    @Test
+    public void inheritableModeCopiesServletInvocationToChildThread() throws Exception {
+        InvocationManagerImpl manager = new InvocationManagerImpl(InvocationStackMode.INHERITABLE);
+        ComponentInvocation servlet = invocation("servlet", ComponentInvocationType.SERVLET_INVOCATION);
+        manager.preInvoke(servlet);
+        try {
+            ComponentInvocation inherited = runInChildThread(manager::getCurrentInvocation);
+            assertEquals("servlet", inherited.getComponentId());
+            assertNull(inherited.getTransaction());
+        } finally {
+            manager.postInvoke(servlet);
+        }
+    }
+
+    @Test
+    public void framesModeDoesNotCopyIntoChildThread() throws Exception {
+        InvocationManagerImpl manager = new InvocationManagerImpl(InvocationStackMode.FRAMES);
+        ComponentInvocation servlet = invocation("servlet", ComponentInvocationType.SERVLET_INVOCATION);
+        manager.preInvoke(servlet);
+        try {
+            assertNull(runInChildThread(manager::getCurrentInvocation));
+        } finally {
+            manager.postInvoke(servlet);
+        }
+    }
+
+    @Test
+    public void framesModeSnapshotIsUnmodifiable() throws Exception {
+        InvocationManagerImpl manager = new InvocationManagerImpl(InvocationStackMode.FRAMES);
+        ComponentInvocation servlet = invocation("servlet", ComponentInvocationType.SERVLET_INVOCATION);
+        manager.preInvoke(servlet);
+        try {
+            List<ComponentInvocation> invocations = manager.getAllInvocations();
+            assertThrows(UnsupportedOperationException.class, () -> invocations.remove(0));
+        } finally {
+            manager.postInvoke(servlet);
+        }
+    }
+
+    private static ComponentInvocation invocation(String componentId, ComponentInvocationType type) {
+        return new ComponentInvocation(componentId, type, new Object(), null, new Object());
+    }
+
+    private static <T> T runInChildThread(Supplier<T> supplier) throws InterruptedException {
+        AtomicReference<T> result = new AtomicReference<>();
+        Thread thread = new Thread(() -> result.set(supplier.get()));
+        thread.start();
+        thread.join();
+        return result.get();
+    }
+}
@@ -1,4 +1,5 @@
 /*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 1997, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -74,6 +75,9 @@ public class CreateThreadpool implements AdminCommand, AdminCommandSecurity.Prea
     @Param(name="maxqueuesize", optional=true, alias="maxQueueSize", defaultValue = "4096")
     String maxQueueSize;
 
+    @Param(name="virtualthreadsenabled", optional=true, alias="virtualThreadsEnabled", defaultValue = "false")
+    String virtualThreadsEnabled;
+
     @Param(name = "target", optional = true, defaultValue = SystemPropertyConstants.DEFAULT_SERVER_INSTANCE_NAME)
     String target;
 
@@ -132,6 +136,7 @@ public class CreateThreadpool implements AdminCommand, AdminCommandSecurity.Prea
                     newPool.setMinThreadPoolSize(minthreadpoolsize);
                     newPool.setMaxQueueSize(maxQueueSize);
                     newPool.setIdleThreadTimeoutSeconds(idletimeout);
+                    newPool.setVirtualThreadsEnabled(virtualThreadsEnabled);
                     param.getThreadPool().add(newPool);
                     return newPool;
                 }
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2007, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -600,9 +600,23 @@ public class GenericGrizzlyListener implements GrizzlyListener {
         }
 
         try {
+            final ThreadPoolConfig poolConfig = configureThreadPoolConfig(networkListener, threadPool);
+            if (Boolean.parseBoolean(threadPool.getVirtualThreadsEnabled())) {
+                final ThreadFactory virtualThreadFactory =
+                        VirtualThreadPool.createVirtualThreadFactory(poolConfig.getPoolName() + "-virtual-");
+                if (virtualThreadFactory != null) {
+                    workerExecutorService = new VirtualThreadPool(poolConfig, virtualThreadFactory);
+                    transport.setWorkerThreadPool(workerExecutorService);
+                    return;
+                }
+
+                LOGGER.log(Level.WARNING,
+                        "Virtual threads are not supported by this JVM, thread-pool {0} will use platform threads",
+                        threadPool.getName());
+            }
+
             // Use standard Grizzly thread pool
-            workerExecutorService = GrizzlyExecutorService.createInstance(
-                    configureThreadPoolConfig(networkListener, threadPool));
+            workerExecutorService = GrizzlyExecutorService.createInstance(poolConfig);
             transport.setWorkerThreadPool(workerExecutorService);
         } catch (NumberFormatException ex) {
             LOGGER.log(Level.WARNING, "Invalid thread-pool attribute", ex);
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.grizzly.Grizzly;
+import org.glassfish.grizzly.threadpool.AbstractThreadPool;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
+
+/**
+ * Thread pool, which executes every task on a new thread created by the given factory,
+ * usually a virtual thread. Pool size and queue settings of the {@link ThreadPoolConfig}
+ * are ignored, tasks are never queued.
+ * <p>
+ * The pool notifies the same {@link ThreadPoolProbe} events as the standard Grizzly pools,
+ * so the monitoring reports one allocated thread per running task.
+ */
+public class VirtualThreadPool extends AbstractThreadPool {
+
+    private static final Logger LOGGER = Grizzly.logger(VirtualThreadPool.class);
+
+    private final ThreadFactory threadFactory;
+    private final Set<Thread> activeThreads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger activeTaskCount = new AtomicInteger();
+
+    public VirtualThreadPool(ThreadPoolConfig config, ThreadFactory threadFactory) {
+        super(config);
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Creates a factory of virtual threads. Reflection is used because the server still
+     * runs on JVMs without virtual threads.
+     *
+     * @param namePrefix prefix of thread names, followed by a counter
+     * @return the factory or null if this JVM does not support virtual threads
+     */
+    public static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(Level.FINEST, "Virtual threads are not supported", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        // Counted first, so a concurrent shutdown cannot report termination before the task ends
+        activeTaskCount.incrementAndGet();
+        if (!running) {
+            activeTaskCount.decrementAndGet();
+            throw new RejectedExecutionException("ThreadPool is not running");
+        }
+
+        try {
+            final Thread thread = threadFactory.newThread(() -> runTask(command));
+            if (config.getInitialClassLoader() != null) {
+                thread.setContextClassLoader(config.getInitialClassLoader());
+            }
+            onTaskQueued(command);
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            // The task will never run, so it must not block termination
+            taskFinished();
+            throw e;
+        }
+    }
+
+    private void runTask(Runnable task) {
+        final Thread thread = Thread.currentThread();
+        activeThreads.add(thread);
+        notifyThreadAllocated(thread);
+        onTaskDequeued(task);
+        try {
+            task.run();
+        } catch (Throwable t) {
+            uncaughtException(thread, t);
+        } finally {
+            onTaskCompletedEvent(task);
+            notifyThreadReleased(thread);
+            activeThreads.remove(thread);
+            taskFinished();
+        }
+    }
+
+    private void taskFinished() {
+        if (activeTaskCount.decrementAndGet() == 0 && !running) {
+            synchronized (stateLock) {
+                stateLock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        synchronized (stateLock) {
+            if (running) {
+                running = false;
+                stateLock.notifyAll();
+                notifyThreadPoolStopped();
+            }
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        for (Thread thread : activeThreads) {
+            thread.interrupt();
+        }
+        // Nothing is ever queued
+        return new ArrayList<>(0);
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return !running && activeTaskCount.get() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (stateLock) {
+            while (!isTerminated()) {
+                final long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return false;
+                }
+                stateLock.wait(remainingMillis);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    protected void poisonAll() {
+        // There are no idle workers waiting on a queue
+    }
+
+    private void notifyThreadAllocated(Thread thread) {
+        final ThreadPoolProbe[] probes = monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (ThreadPoolProbe probe : probes) {
+                probe.onThreadAllocateEvent(this, thread);
+            }
+        }
+    }
+
+    private void notifyThreadReleased(Thread thread) {
+        final ThreadPoolProbe[] probes = monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (ThreadPoolProbe probe : probes) {
+                probe.onThreadReleaseEvent(this, thread);
+            }
+        }
+    }
+
+    private void notifyThreadPoolStopped() {
+        final ThreadPoolProbe[] probes = monitoringConfig.getProbesUnsafe();
+        if (probes != null) {
+            for (ThreadPoolProbe probe : probes) {
+                probe.onThreadPoolStopEvent(this);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2023 Contributors to the Eclipse Foundation
+ * Copyright (c) 2023, 2026 Contributors to the Eclipse Foundation
  * Copyright (c) 2009, 2018 Oracle and/or its affiliates. All rights reserved.
  *
  * This program and the accompanying materials are made available under the
@@ -45,6 +45,8 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     int MIN_THREADPOOL_SIZE = 5;
 
+    boolean VIRTUAL_THREADS_ENABLED = false;
+
     /**
      * The classname of a thread pool implementation.
      */
@@ -108,6 +110,16 @@ public interface ThreadPool extends ConfigBeanProxy, PropertyBag {
 
     void setThreadPoolId(String threadPoolId);
 
+    /**
+     * If {@code true}, every task runs on its own virtual thread and the thread pool
+     * size and queue size limits are not used. Requires a JVM supporting virtual threads,
+     * otherwise the standard thread pool is used.
+     */
+    @Attribute(defaultValue = "" + VIRTUAL_THREADS_ENABLED, dataType = Boolean.class)
+    String getVirtualThreadsEnabled();
+
+    void setVirtualThreadsEnabled(String virtualThreadsEnabled);
+
     default List<NetworkListener> findNetworkListeners() {
         NetworkConfig config = getParent().getParent(NetworkConfig.class);
         Dom configProxy = Objects.requireNonNull(Dom.unwrap(config));
@@ -1,6 +1,6 @@
 /*
  * Copyright (c) 2010, 2018 Oracle and/or its affiliates. All rights reserved.
- * Copyright (c) 2021 Contributors to the Eclipse Foundation
+ * Copyright (c) 2021, 2026 Contributors to the Eclipse Foundation
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License v. 2.0, which is available at
@@ -328,6 +328,28 @@ public class GrizzlyConfigTest {
         }
     }
 
+    @Test
+    public void virtualThreads() throws IOException, InstantiationException {
+        GrizzlyConfig grizzlyConfig = null;
+        try {
+            grizzlyConfig = new GrizzlyConfig("grizzly-config-virtual-threads.xml");
+            grizzlyConfig.setupNetwork();
+            GenericGrizzlyListener genericGrizzlyListener = (GenericGrizzlyListener) getListener(grizzlyConfig, "http-listener-1");
+            helper.addStaticHttpHandler(genericGrizzlyListener, 0);
+
+            final String content = helper.getContent(new URL("http://localhost:38082").openConnection());
+            assertEquals("<html><body>You've found the server on port 38082</body></html>", content);
+            // Older JVMs fall back to the standard pool
+            final boolean virtualThreadsSupported = VirtualThreadPool.createVirtualThreadFactory("test") != null;
+            assertEquals(virtualThreadsSupported,
+                genericGrizzlyListener.getTransport().getWorkerThreadPool() instanceof VirtualThreadPool);
+        } finally {
+            if (grizzlyConfig != null) {
+                grizzlyConfig.shutdown();
+            }
+        }
+    }
+
     @Test
     public void schemeOverride() throws IOException, InstantiationException {
         GrizzlyConfig grizzlyConfig = null;
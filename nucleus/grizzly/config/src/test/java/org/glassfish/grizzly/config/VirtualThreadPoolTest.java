@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package org.glassfish.grizzly.config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.grizzly.threadpool.AbstractThreadPool;
+import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
+import org.glassfish.grizzly.threadpool.ThreadPoolProbe;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Uses platform threads, the pool does not depend on the kind of threads it creates.
+ */
+public class VirtualThreadPoolTest {
+
+    @Test
+    public void tasksAreNotLimitedByPoolSize() throws Exception {
+        final CountingProbe probe = new CountingProbe();
+        final ThreadPoolConfig config = ThreadPoolConfig.defaultConfig().setPoolName("test").setMaxPoolSize(1);
+        config.getInitialMonitoringConfig().addProbes(probe);
+        final VirtualThreadPool pool = new VirtualThreadPool(config, Executors.defaultThreadFactory());
+
+        final int taskCount = 20;
+        final CountDownLatch allRunning = new CountDownLatch(taskCount);
+        final CountDownLatch finish = new CountDownLatch(1);
+        for (int i = 0; i < taskCount; i++) {
+            pool.execute(() -> {
+                allRunning.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertTrue(allRunning.await(10, TimeUnit.SECONDS), "All tasks should run in parallel");
+        assertEquals(taskCount, probe.busyThreads.get());
+
+        pool.shutdown();
+        assertFalse(pool.isTerminated(), "Tasks are still running");
+        assertThrows(RejectedExecutionException.class, () -> pool.execute(() -> { }));
+
+        finish.countDown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertAll(
+            () -> assertEquals(0, probe.allocatedThreads.get(), "allocatedThreads"),
+            () -> assertEquals(0, probe.busyThreads.get(), "busyThreads"),
+            () -> assertEquals(taskCount, probe.completedTasks.get(), "completedTasks")
+        );
+    }
+
+    @Test
+    public void shutdownNowInterruptsTasks() throws Exception {
+        final VirtualThreadPool pool = new VirtualThreadPool(ThreadPoolConfig.defaultConfig(),
+            Executors.defaultThreadFactory());
+        final CountDownLatch running = new CountDownLatch(1);
+        pool.execute(() -> {
+            running.countDown();
+            try {
+                Thread.sleep(60_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+
+        assertTrue(pool.shutdownNow().isEmpty());
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(pool.isTerminated());
+    }
+
+    @Test
+    public void failedThreadCreationDoesNotBlockTermination() throws Exception {
+        final VirtualThreadPool pool = new VirtualThreadPool(ThreadPoolConfig.defaultConfig(), runnable -> {
+            throw new IllegalStateException("No threads");
+        });
+        assertThrows(IllegalStateException.class, () -> pool.execute(() -> { }));
+
+        pool.shutdown();
+        assertTrue(pool.isTerminated());
+        assertTrue(pool.awaitTermination(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedThreadStartDoesNotBlockTermination() throws Exception {
+        final VirtualThreadPool pool = new VirtualThreadPool(ThreadPoolConfig.defaultConfig(),
+            runnable -> new Thread(runnable) {
+
+                @Override
+                public synchronized void start() {
+                    throw new OutOfMemoryError("unable to create native thread");
+                }
+            });
+        assertThrows(OutOfMemoryError.class, () -> pool.execute(() -> { }));
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(pool.isTerminated());
+    }
+
+
+    private static class CountingProbe extends ThreadPoolProbe.Adapter {
+
+        final AtomicInteger allocatedThreads = new AtomicInteger();
+        final AtomicInteger busyThreads = new AtomicInteger();
+        final AtomicInteger completedTasks = new AtomicInteger();
+
+        @Override
+        public void onThreadAllocateEvent(AbstractThreadPool threadPool, Thread thread) {
+            allocatedThreads.incrementAndGet();
+        }
+
+        @Override
+        public void onThreadReleaseEvent(AbstractThreadPool threadPool, Thread thread) {
+            allocatedThreads.decrementAndGet();
+        }
+
+        @Override
+        public void onTaskDequeueEvent(AbstractThreadPool threadPool, Runnable task) {
+            busyThreads.incrementAndGet();
+        }
+
+        @Override
+        public void onTaskCompleteEvent(AbstractThreadPool threadPool, Runnable task) {
+            busyThreads.decrementAndGet();
+            completedTasks.incrementAndGet();
+        }
+    }
+}